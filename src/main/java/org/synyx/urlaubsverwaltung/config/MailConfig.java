@@ -5,8 +5,6 @@ import org.apache.velocity.app.VelocityEngine;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import org.springframework.mail.javamail.JavaMailSenderImpl;
-
 import java.util.Properties;
 
 
@@ -18,13 +16,6 @@ import java.util.Properties;
 @Configuration
 public class MailConfig {
 
-    @Bean(name = "javaMailSender")
-    public JavaMailSenderImpl javaMailSender() {
-
-        return new JavaMailSenderImpl();
-    }
-
-
     @Bean(name = "velocityEngine")
     public VelocityEngine velocityEngine() {
 
@@ -2,11 +2,17 @@
 package org.synyx.urlaubsverwaltung.core.account.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
 import org.synyx.urlaubsverwaltung.core.account.domain.Account;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
 
 /**
  * Repository for {@link org.synyx.urlaubsverwaltung.core.account.domain.Account} entities.
@@ -15,6 +21,27 @@ import org.synyx.urlaubsverwaltung.core.person.Person;
  */
 public interface AccountDAO extends JpaRepository<Account, Integer> {
 
-    @Query("select x from Account x where YEAR(x.validFrom) = ?1 and x.person = ?2")
-    Account getHolidaysAccountByYearAndPerson(int year, Person person);
+    /**
+     * Gets the holidays account of the given person valid from within the year given by its first day and the first
+     * day of the following year. The half-open range on the valid from date keeps the index on person and valid from
+     * date usable.
+     */
+    @Query("select x from Account x where x.person = ?1 and x.validFrom >= ?2 and x.validFrom < ?3")
+    Account getHolidaysAccountByYearAndPerson(Person person, Date firstDayOfYear, Date firstDayOfNextYear);
+
+
+    /**
+     * Like {@link #getHolidaysAccountByYearAndPerson(Person, Date, Date)}, but for several persons at once.
+     */
+    @Query("select x from Account x where x.person in ?1 and x.validFrom >= ?2 and x.validFrom < ?3")
+    List<Account> findHolidaysAccountsByYear(List<Person> persons, Date firstDayOfYear, Date firstDayOfNextYear);
+
+
+    /**
+     * Locks the given holidays account until the end of the current transaction, e.g. to serialize calculations
+     * concerning the account.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select x from Account x where x = ?1")
+    Account lockHolidaysAccount(Account account);
 }
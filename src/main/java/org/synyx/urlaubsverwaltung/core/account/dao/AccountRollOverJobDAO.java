@@ -0,0 +1,36 @@
+package org.synyx.urlaubsverwaltung.core.account.dao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOverJob;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOverJobStatus;
+
+import java.util.Date;
+
+import javax.persistence.LockModeType;
+
+
+/**
+ * Repository for {@link AccountRollOverJob} entities.
+ */
+public interface AccountRollOverJobDAO extends JpaRepository<AccountRollOverJob, Integer> {
+
+    /**
+     * Finds the job of the given year and locks it until the end of the current transaction, so the job is taken over
+     * by one application node only.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT x FROM AccountRollOverJob x WHERE x.year = ?1")
+    AccountRollOverJob findByYearForUpdate(int year);
+
+
+    /**
+     * Sets the last checkpoint of the given job to the given date, if the job has the given status.
+     */
+    @Modifying
+    @Query("UPDATE AccountRollOverJob x SET x.lastCheckpoint = ?2 WHERE x.id = ?1 AND x.status = ?3")
+    void renewCheckpoint(Integer id, Date lastCheckpoint, AccountRollOverJobStatus status);
+}
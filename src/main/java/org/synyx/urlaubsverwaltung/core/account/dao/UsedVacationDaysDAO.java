@@ -0,0 +1,49 @@
+package org.synyx.urlaubsverwaltung.core.account.dao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import org.synyx.urlaubsverwaltung.core.account.domain.UsedVacationDays;
+import org.synyx.urlaubsverwaltung.core.person.Person;
+
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+
+/**
+ * Repository for {@link UsedVacationDays} entities.
+ */
+public interface UsedVacationDaysDAO extends JpaRepository<UsedVacationDays, Integer> {
+
+    @Query("SELECT x FROM UsedVacationDays x WHERE x.person = ?1 AND x.year = ?2")
+    UsedVacationDays findByPersonAndYear(Person person, int year);
+
+
+    /**
+     * Like {@link #findByPersonAndYear(Person, int)}, but locks the used vacation days until the end of the current
+     * transaction, so concurrent updates are not lost.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT x FROM UsedVacationDays x WHERE x.person = ?1 AND x.year = ?2")
+    UsedVacationDays findByPersonAndYearForUpdate(Person person, int year);
+
+
+    @Query("SELECT DISTINCT x.year FROM UsedVacationDays x ORDER BY x.year")
+    List<Integer> findYears();
+
+
+    @Query("SELECT x FROM UsedVacationDays x WHERE x.year = ?1")
+    List<UsedVacationDays> findByYear(int year);
+
+
+    @Query("SELECT x FROM UsedVacationDays x WHERE x.year = ?1 AND x.person IN ?2")
+    List<UsedVacationDays> findByYearAndPersons(int year, List<Person> persons);
+
+
+    @Modifying
+    @Query("DELETE FROM UsedVacationDays x WHERE x.person = ?1")
+    void deleteByPerson(Person person);
+}
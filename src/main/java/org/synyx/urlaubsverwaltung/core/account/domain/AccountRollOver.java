@@ -0,0 +1,96 @@
+package org.synyx.urlaubsverwaltung.core.account.domain;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import org.synyx.urlaubsverwaltung.core.person.Person;
+
+import java.math.BigDecimal;
+
+import java.util.Optional;
+
+
+/**
+ * Result of the update of the holidays account of a person at the turn of the year: the remaining vacation days taken
+ * over from the last year.
+ */
+public final class AccountRollOver {
+
+    private final Person person;
+    private final int year;
+    private final BigDecimal previousRemainingVacationDays;
+    private final BigDecimal remainingVacationDays;
+    private final Account account;
+
+    /**
+     * @param  person  whose holidays account is updated
+     * @param  year  of the updated holidays account
+     * @param  previousRemainingVacationDays  remaining vacation days before the update, {@code null} if the holidays
+     *                                        account is created
+     * @param  remainingVacationDays  remaining vacation days after the update
+     * @param  account  the updated holidays account, {@code null} for a dry run that creates no holidays account
+     */
+    public AccountRollOver(Person person, int year, BigDecimal previousRemainingVacationDays,
+        BigDecimal remainingVacationDays, Account account) {
+
+        this.person = person;
+        this.year = year;
+        this.previousRemainingVacationDays = previousRemainingVacationDays;
+        this.remainingVacationDays = remainingVacationDays;
+        this.account = account;
+    }
+
+    public Person getPerson() {
+
+        return person;
+    }
+
+
+    public int getYear() {
+
+        return year;
+    }
+
+
+    /**
+     * @return  the remaining vacation days before the update, empty if the holidays account is created
+     */
+    public Optional<BigDecimal> getPreviousRemainingVacationDays() {
+
+        return Optional.ofNullable(previousRemainingVacationDays);
+    }
+
+
+    public BigDecimal getRemainingVacationDays() {
+
+        return remainingVacationDays;
+    }
+
+
+    /**
+     * @return  the change of the remaining vacation days by the update
+     */
+    public BigDecimal getDelta() {
+
+        return previousRemainingVacationDays == null
+            ? remainingVacationDays : remainingVacationDays.subtract(previousRemainingVacationDays);
+    }
+
+
+    public Optional<Account> getAccount() {
+
+        return Optional.ofNullable(account);
+    }
+
+
+    @Override
+    public String toString() {
+
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("person", person.getLoginName())
+            .append("year", year)
+            .append("previousRemainingVacationDays", previousRemainingVacationDays)
+            .append("remainingVacationDays", remainingVacationDays)
+            .append("delta", getDelta())
+            .toString();
+    }
+}
@@ -0,0 +1,154 @@
+package org.synyx.urlaubsverwaltung.core.account.domain;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import org.springframework.data.jpa.domain.AbstractPersistable;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Temporal;
+
+
+/**
+ * Progress of the update of the holidays accounts at the turn of the year. There is only one job per year, so the
+ * holidays accounts are never updated twice, and an interrupted job is resumed from its last checkpoint.
+ */
+@Entity
+public class AccountRollOverJob extends AbstractPersistable<Integer> {
+
+    private static final long serialVersionUID = 2863418950128716432L;
+
+    @Column(nullable = false)
+    private int year;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AccountRollOverJobStatus status;
+
+    /**
+     * The id of the last person whose holidays account has been updated, the persons are processed ordered by id.
+     */
+    private Integer lastPersonId;
+
+    private int updatedAccounts;
+
+    @Column(nullable = false)
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date started;
+
+    @Column(nullable = false)
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date lastCheckpoint;
+
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date finished;
+
+    AccountRollOverJob() {
+
+        // OK
+    }
+
+
+    public AccountRollOverJob(int year) {
+
+        this.year = year;
+        this.status = AccountRollOverJobStatus.RUNNING;
+        this.started = new Date();
+        this.lastCheckpoint = this.started;
+    }
+
+    public int getYear() {
+
+        return year;
+    }
+
+
+    public AccountRollOverJobStatus getStatus() {
+
+        return status;
+    }
+
+
+    public Integer getLastPersonId() {
+
+        return lastPersonId;
+    }
+
+
+    public int getUpdatedAccounts() {
+
+        return updatedAccounts;
+    }
+
+
+    public Date getLastCheckpoint() {
+
+        return new Date(lastCheckpoint.getTime());
+    }
+
+
+    /**
+     * @param  staleBefore  a running job without checkpoint since this date is considered to be interrupted
+     *
+     * @return  {@code true} if the job failed or has been interrupted, {@code false} else
+     */
+    public boolean isInterrupted(Date staleBefore) {
+
+        return status == AccountRollOverJobStatus.FAILED
+            || (status == AccountRollOverJobStatus.RUNNING && lastCheckpoint.before(staleBefore));
+    }
+
+
+    /**
+     * Marks the job as running again, it continues after the last checkpoint.
+     */
+    public void resume() {
+
+        this.status = AccountRollOverJobStatus.RUNNING;
+        this.lastCheckpoint = new Date();
+    }
+
+
+    /**
+     * Records the progress of the job.
+     *
+     * @param  lastPersonId  id of the last person whose holidays account has been updated, all persons with a lower
+     *                       id must have been processed as well
+     * @param  updatedAccounts  number of holidays accounts updated since the last checkpoint
+     */
+    public void checkpoint(int lastPersonId, int updatedAccounts) {
+
+        this.lastPersonId = lastPersonId;
+        this.updatedAccounts += updatedAccounts;
+        this.lastCheckpoint = new Date();
+    }
+
+
+    public void complete() {
+
+        this.status = AccountRollOverJobStatus.COMPLETED;
+        this.finished = new Date();
+    }
+
+
+    public void fail() {
+
+        this.status = AccountRollOverJobStatus.FAILED;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("year", year)
+            .append("status", status)
+            .append("lastPersonId", lastPersonId)
+            .append("updatedAccounts", updatedAccounts)
+            .toString();
+    }
+}
@@ -0,0 +1,22 @@
+package org.synyx.urlaubsverwaltung.core.account.domain;
+
+/**
+ * Describes the state of an {@link AccountRollOverJob}.
+ */
+public enum AccountRollOverJobStatus {
+
+    /**
+     * The holidays accounts are being updated, or the update has been interrupted without further notice.
+     */
+    RUNNING,
+
+    /**
+     * The update of the holidays accounts failed, it is resumed from the last checkpoint.
+     */
+    FAILED,
+
+    /**
+     * All holidays accounts have been updated, the job must not run again.
+     */
+    COMPLETED
+}
@@ -0,0 +1,161 @@
+package org.synyx.urlaubsverwaltung.core.account.domain;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import org.springframework.data.jpa.domain.AbstractPersistable;
+
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.person.Person;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.ManyToOne;
+
+
+/**
+ * Ledger of the vacation days a person has used within a year, split into the days before and after April and into the
+ * days of waiting and allowed applications for leave. Kept up to date on every status change of an application for
+ * leave, so the vacation days left can be read without calculating the work days of every application for leave.
+ */
+@Entity
+public class UsedVacationDays extends AbstractPersistable<Integer> {
+
+    private static final long serialVersionUID = 6186853216874357091L;
+
+    @ManyToOne
+    private Person person;
+
+    @Column(nullable = false)
+    private int year;
+
+    private BigDecimal waitingDaysBeforeApril = BigDecimal.ZERO;
+    private BigDecimal allowedDaysBeforeApril = BigDecimal.ZERO;
+    private BigDecimal waitingDaysAfterApril = BigDecimal.ZERO;
+    private BigDecimal allowedDaysAfterApril = BigDecimal.ZERO;
+
+    UsedVacationDays() {
+
+        // OK
+    }
+
+
+    public UsedVacationDays(Person person, int year) {
+
+        this.person = person;
+        this.year = year;
+    }
+
+    public Person getPerson() {
+
+        return person;
+    }
+
+
+    public int getYear() {
+
+        return year;
+    }
+
+
+    public BigDecimal getWaitingDaysBeforeApril() {
+
+        return waitingDaysBeforeApril;
+    }
+
+
+    public BigDecimal getAllowedDaysBeforeApril() {
+
+        return allowedDaysBeforeApril;
+    }
+
+
+    public BigDecimal getWaitingDaysAfterApril() {
+
+        return waitingDaysAfterApril;
+    }
+
+
+    public BigDecimal getAllowedDaysAfterApril() {
+
+        return allowedDaysAfterApril;
+    }
+
+
+    /**
+     * @return  the days of waiting and allowed applications for leave before April
+     */
+    public BigDecimal getUsedDaysBeforeApril() {
+
+        return waitingDaysBeforeApril.add(allowedDaysBeforeApril);
+    }
+
+
+    /**
+     * @return  the days of waiting and allowed applications for leave after April
+     */
+    public BigDecimal getUsedDaysAfterApril() {
+
+        return waitingDaysAfterApril.add(allowedDaysAfterApril);
+    }
+
+
+    /**
+     * Adds the given days of an application for leave with the given status, negative days are subtracted. Only the
+     * days of waiting and allowed applications for leave are used days, the days of any other status are ignored.
+     *
+     * @param  status  of the application for leave
+     * @param  daysBeforeApril  days of the application for leave before April
+     * @param  daysAfterApril  days of the application for leave after April
+     */
+    public void add(ApplicationStatus status, BigDecimal daysBeforeApril, BigDecimal daysAfterApril) {
+
+        if (status == ApplicationStatus.WAITING) {
+            waitingDaysBeforeApril = waitingDaysBeforeApril.add(daysBeforeApril);
+            waitingDaysAfterApril = waitingDaysAfterApril.add(daysAfterApril);
+        } else if (status == ApplicationStatus.ALLOWED) {
+            allowedDaysBeforeApril = allowedDaysBeforeApril.add(daysBeforeApril);
+            allowedDaysAfterApril = allowedDaysAfterApril.add(daysAfterApril);
+        }
+    }
+
+
+    /**
+     * @return  {@code true} if the given used vacation days contain the same number of days, {@code false} else
+     */
+    public boolean hasSameDaysAs(UsedVacationDays other) {
+
+        return waitingDaysBeforeApril.compareTo(other.waitingDaysBeforeApril) == 0
+            && allowedDaysBeforeApril.compareTo(other.allowedDaysBeforeApril) == 0
+            && waitingDaysAfterApril.compareTo(other.waitingDaysAfterApril) == 0
+            && allowedDaysAfterApril.compareTo(other.allowedDaysAfterApril) == 0;
+    }
+
+
+    /**
+     * Replaces the number of days by the number of days of the given used vacation days.
+     */
+    public void setDaysOf(UsedVacationDays other) {
+
+        this.waitingDaysBeforeApril = other.waitingDaysBeforeApril;
+        this.allowedDaysBeforeApril = other.allowedDaysBeforeApril;
+        this.waitingDaysAfterApril = other.waitingDaysAfterApril;
+        this.allowedDaysAfterApril = other.allowedDaysAfterApril;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("person",
+                    person == null ? null : person.getLoginName())
+            .append("year", year)
+            .append("waitingDaysBeforeApril", waitingDaysBeforeApril)
+            .append("allowedDaysBeforeApril", allowedDaysBeforeApril)
+            .append("waitingDaysAfterApril", waitingDaysAfterApril)
+            .append("allowedDaysAfterApril", allowedDaysAfterApril)
+            .toString();
+    }
+}
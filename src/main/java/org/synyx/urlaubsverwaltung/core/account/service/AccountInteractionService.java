@@ -5,6 +5,7 @@ import org.synyx.urlaubsverwaltung.core.account.domain.Account;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 /**
  * Provides interactions with {@link org.synyx.urlaubsverwaltung.core.account.domain.Account}s like creating or editing.
@@ -75,6 +76,24 @@ public interface AccountInteractionService {
      */
     Account autoCreateOrUpdateNextYearsHolidaysAccount(Account referenceAccount);
 
+    /**
+     * Auto-creates a new {@link Account} or updates the given existing {@link Account} for the next year like
+     * {@link #autoCreateOrUpdateNextYearsHolidaysAccount(Account)}, but based on the already loaded holidays account of
+     * the next year and the already calculated left vacation days, so several accounts can be handled without further
+     * queries.
+     *
+     * @param referenceAccount
+     *            to get the information about annual vacation days etc.
+     * @param nextYearsAccount
+     *            the existing holidays account of the next year, empty if it is to be created
+     * @param leftVacationDays
+     *            the left vacation days of the given reference account
+     *
+     * @return the created/updated holidays account
+     */
+    Account autoCreateOrUpdateNextYearsHolidaysAccount(Account referenceAccount, Optional<Account> nextYearsAccount,
+        BigDecimal leftVacationDays);
+
     /**
      * Updates the remaining vacation days of all {@link Account}s that follow the {@link Account} of the given year. Updating is stopped when there is no next year's
      * {@link Account}.
@@ -38,6 +38,18 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
         BigDecimal annualVacationDays, BigDecimal actualVacationDays, BigDecimal remainingDays,
         BigDecimal remainingDaysNotExpiring, String comment) {
 
+        Account account = saveNewHolidaysAccount(person, validFrom, validTo, annualVacationDays, actualVacationDays,
+                remainingDays, remainingDaysNotExpiring, comment);
+
+        LOG.info("Created holidays account: " + account);
+
+        return account;
+    }
+
+    private Account saveNewHolidaysAccount(Person person, DateMidnight validFrom, DateMidnight validTo,
+        BigDecimal annualVacationDays, BigDecimal actualVacationDays, BigDecimal remainingDays,
+        BigDecimal remainingDaysNotExpiring, String comment) {
+
         Account account = new Account(person, validFrom.toDate(), validTo.toDate(), annualVacationDays, remainingDays,
             remainingDaysNotExpiring, comment);
 
@@ -45,8 +57,6 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
 
         accountService.save(account);
 
-        LOG.info("Created holidays account: " + account);
-
         return account;
     }
 
@@ -85,9 +95,12 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
                 Account changedHolidaysAccount = accountService.getHolidaysAccount(startYear, person).get();
                 Account nextYearsHolidaysAccount = nextYearsHolidaysAccountOptional.get();
 
-                updateRemainingVacationDays(nextYearsHolidaysAccount, changedHolidaysAccount);
+                updateRemainingVacationDays(nextYearsHolidaysAccount,
+                    vacationDaysService.calculateTotalLeftVacationDays(changedHolidaysAccount));
 
-                LOG.info("Updated remaining vacation days of holidays account: " + nextYearsHolidaysAccount);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Updated remaining vacation days of holidays account: " + nextYearsHolidaysAccount);
+                }
 
                 startYear++;
             } else {
@@ -97,16 +110,14 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
     }
 
     /**
-     * Updates the remaining vacation days of the given new account by using data of the given last account.
+     * Updates the remaining vacation days of the given new account to the left vacation days of the last account.
      *
      * @param newAccount
-     *            to calculate and update remaining vacation days for
-     * @param lastAccount
-     *            as reference to be used for calculation of remaining vacation days
+     *            to update remaining vacation days for
+     * @param leftVacationDays
+     *            the left vacation days of the last account
      */
-    private void updateRemainingVacationDays(Account newAccount, Account lastAccount) {
-
-        BigDecimal leftVacationDays = vacationDaysService.calculateTotalLeftVacationDays(lastAccount);
+    private void updateRemainingVacationDays(Account newAccount, BigDecimal leftVacationDays) {
 
         newAccount.setRemainingVacationDays(leftVacationDays);
 
@@ -126,19 +137,37 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
         Optional<Account> nextYearAccountOptional = accountService.getHolidaysAccount(nextYear,
             referenceAccount.getPerson());
 
-        if (nextYearAccountOptional.isPresent()) {
-            Account nextYearAccount = nextYearAccountOptional.get();
-            updateRemainingVacationDays(nextYearAccount, referenceAccount);
+        BigDecimal leftVacationDays = vacationDaysService.calculateTotalLeftVacationDays(referenceAccount);
+
+        return autoCreateOrUpdateNextYearsHolidaysAccount(referenceAccount, nextYearAccountOptional, leftVacationDays);
+    }
+
+    @Override
+    public Account autoCreateOrUpdateNextYearsHolidaysAccount(Account referenceAccount,
+        Optional<Account> nextYearsAccount, BigDecimal leftVacationDays) {
+
+        int nextYear = referenceAccount.getYear() + 1;
+
+        if (nextYearsAccount.isPresent()) {
+            Account nextYearAccount = nextYearsAccount.get();
+            updateRemainingVacationDays(nextYearAccount, leftVacationDays);
 
-            LOG.info("Updated existing holidays account for " + nextYear + ": " + nextYearAccount);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Updated existing holidays account for " + nextYear + ": " + nextYearAccount);
+            }
 
             return nextYearAccount;
         }
 
-        BigDecimal leftVacationDays = vacationDaysService.calculateTotalLeftVacationDays(referenceAccount);
+        Account nextYearAccount = saveNewHolidaysAccount(referenceAccount.getPerson(),
+                DateUtil.getFirstDayOfYear(nextYear), DateUtil.getLastDayOfYear(nextYear),
+                referenceAccount.getAnnualVacationDays(), referenceAccount.getAnnualVacationDays(), leftVacationDays,
+                BigDecimal.ZERO, referenceAccount.getComment());
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Created holidays account for " + nextYear + ": " + nextYearAccount);
+        }
 
-        return createHolidaysAccount(referenceAccount.getPerson(), DateUtil.getFirstDayOfYear(nextYear),
-            DateUtil.getLastDayOfYear(nextYear), referenceAccount.getAnnualVacationDays(),
-            referenceAccount.getAnnualVacationDays(), leftVacationDays, BigDecimal.ZERO, referenceAccount.getComment());
+        return nextYearAccount;
     }
 }
@@ -0,0 +1,216 @@
+package org.synyx.urlaubsverwaltung.core.account.service;
+
+import org.apache.log4j.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.stereotype.Service;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import org.synyx.urlaubsverwaltung.core.account.dao.AccountRollOverJobDAO;
+import org.synyx.urlaubsverwaltung.core.account.domain.Account;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOver;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOverJob;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOverJobStatus;
+import org.synyx.urlaubsverwaltung.core.account.domain.UsedVacationDays;
+import org.synyx.urlaubsverwaltung.core.person.Person;
+
+import java.math.BigDecimal;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+
+/**
+ * Updates the holidays accounts at the turn of the year: takes over the left vacation days of the last year as
+ * remaining vacation days of the new year, creating the holidays accounts of the new year if needed.
+ *
+ * <p>The holidays accounts are updated in chunks of persons, each chunk within its own transaction. The progress is
+ * recorded by an {@link AccountRollOverJob}. A running job is considered to be interrupted, e.g. by a crash, if it has
+ * not been renewed for the configured timeout. The holidays accounts of the next year are created or updated the same
+ * way as by {@link AccountInteractionService#autoCreateOrUpdateNextYearsHolidaysAccount(Account)}.</p>
+ */
+@Service
+@Transactional
+public class AccountRollOverService {
+
+    private static final Logger LOG = Logger.getLogger(AccountRollOverService.class);
+
+    private final AccountRollOverJobDAO accountRollOverJobDAO;
+    private final AccountService accountService;
+    private final AccountInteractionService accountInteractionService;
+    private final UsedVacationDaysService usedVacationDaysService;
+    private final VacationDaysService vacationDaysService;
+    private final long jobTimeoutInMillis;
+
+    @Autowired
+    public AccountRollOverService(AccountRollOverJobDAO accountRollOverJobDAO, AccountService accountService,
+        AccountInteractionService accountInteractionService, UsedVacationDaysService usedVacationDaysService,
+        VacationDaysService vacationDaysService,
+        @Value("${uv.cron.updateHolidaysAccounts.timeout}") long jobTimeoutInMinutes) {
+
+        this.accountRollOverJobDAO = accountRollOverJobDAO;
+        this.accountService = accountService;
+        this.accountInteractionService = accountInteractionService;
+        this.usedVacationDaysService = usedVacationDaysService;
+        this.vacationDaysService = vacationDaysService;
+        this.jobTimeoutInMillis = TimeUnit.MINUTES.toMillis(jobTimeoutInMinutes);
+    }
+
+    /**
+     * Starts the job of the given year, or takes over the job of the given year if it has been interrupted.
+     *
+     * @param  year  the new year
+     *
+     * @return  the started job, empty if the job of the given year is already completed or running
+     */
+    public Optional<AccountRollOverJob> startJob(int year) {
+
+        AccountRollOverJob job = accountRollOverJobDAO.findByYearForUpdate(year);
+
+        if (job == null) {
+            // the unique year prevents two application nodes from starting a job concurrently
+            return Optional.of(accountRollOverJobDAO.save(new AccountRollOverJob(year)));
+        }
+
+        return resumeIfInterrupted(job);
+    }
+
+
+    /**
+     * Takes over the job of the given year if it has been interrupted, it continues after its last checkpoint.
+     *
+     * @param  year  the new year
+     *
+     * @return  the resumed job, empty if there is no interrupted job of the given year
+     */
+    public Optional<AccountRollOverJob> resumeJob(int year) {
+
+        AccountRollOverJob job = accountRollOverJobDAO.findByYearForUpdate(year);
+
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        return resumeIfInterrupted(job);
+    }
+
+
+    private Optional<AccountRollOverJob> resumeIfInterrupted(AccountRollOverJob job) {
+
+        Date staleBefore = new Date(System.currentTimeMillis() - jobTimeoutInMillis);
+
+        if (!job.isInterrupted(staleBefore)) {
+            return Optional.empty();
+        }
+
+        job.resume();
+
+        LOG.info("Resuming interrupted update of holidays accounts: " + job);
+
+        return Optional.of(accountRollOverJobDAO.save(job));
+    }
+
+
+    /**
+     * Renews the last checkpoint of the given running job without recording any progress, so the job is not taken
+     * over by another application node while a chunk of persons is processed.
+     *
+     * @param  job  to renew
+     */
+    public void renewJob(AccountRollOverJob job) {
+
+        accountRollOverJobDAO.renewCheckpoint(job.getId(), new Date(), AccountRollOverJobStatus.RUNNING);
+    }
+
+
+    public AccountRollOverJob checkpoint(AccountRollOverJob job, int lastPersonId, int updatedAccounts) {
+
+        job.checkpoint(lastPersonId, updatedAccounts);
+
+        return accountRollOverJobDAO.save(job);
+    }
+
+
+    public AccountRollOverJob completeJob(AccountRollOverJob job) {
+
+        job.complete();
+
+        return accountRollOverJobDAO.save(job);
+    }
+
+
+    public AccountRollOverJob failJob(AccountRollOverJob job) {
+
+        job.fail();
+
+        return accountRollOverJobDAO.save(job);
+    }
+
+
+    /**
+     * Updates the holidays accounts of the given persons for the given new year, based on their holidays accounts of
+     * the last year. Persons without holidays account or annual vacation days in the last year are skipped. Updating a
+     * holidays account again yields the same result, so a chunk may be repeated after an interruption.
+     *
+     * @param  year  the new year
+     * @param  persons  to update the holidays accounts of
+     * @param  dryRun  {@code true} to calculate the changes only without saving anything
+     *
+     * @return  the changes of the holidays accounts
+     */
+    public List<AccountRollOver> rollOver(int year, List<Person> persons, boolean dryRun) {
+
+        int lastYear = year - 1;
+
+        List<Account> lastYearsAccounts = accountService.getHolidaysAccounts(lastYear, persons)
+                .stream()
+                .filter(account -> account.getAnnualVacationDays() != null)
+                .collect(Collectors.toList());
+
+        Map<Person, Account> nextYearsAccounts = accountService.getHolidaysAccounts(year, persons)
+                .stream()
+                .collect(Collectors.toMap(Account::getPerson, Function.identity(), (first, second) -> first));
+
+        Map<Person, UsedVacationDays> usedVacationDays = dryRun
+            ? usedVacationDaysService.calculateUsedVacationDays(lastYear, lastYearsAccounts)
+            : usedVacationDaysService.getUsedVacationDays(lastYear, lastYearsAccounts);
+
+        List<AccountRollOver> rollOvers = new ArrayList<>(lastYearsAccounts.size());
+
+        for (Account lastYearsAccount : lastYearsAccounts) {
+            Person person = lastYearsAccount.getPerson();
+
+            BigDecimal leftVacationDays = vacationDaysService.calculateTotalLeftVacationDays(lastYearsAccount,
+                    usedVacationDays.get(person));
+
+            Optional<Account> nextYearsAccount = Optional.ofNullable(nextYearsAccounts.get(person));
+            BigDecimal previousRemainingVacationDays = nextYearsAccount.map(Account::getRemainingVacationDays)
+                    .orElse(null);
+
+            Account updatedAccount = dryRun
+                ? null
+                : accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(lastYearsAccount,
+                    nextYearsAccount, leftVacationDays);
+
+            AccountRollOver rollOver = new AccountRollOver(person, year, previousRemainingVacationDays,
+                    leftVacationDays, updatedAccount);
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug((dryRun ? "Dry run: " : "") + "Updated remaining vacation days: " + rollOver);
+            }
+
+            rollOvers.add(rollOver);
+        }
+
+        return rollOvers;
+    }
+}
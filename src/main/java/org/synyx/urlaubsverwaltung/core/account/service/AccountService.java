@@ -3,6 +3,7 @@ package org.synyx.urlaubsverwaltung.core.account.service;
 import org.synyx.urlaubsverwaltung.core.account.domain.Account;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -25,6 +26,18 @@ public interface AccountService {
     Optional<Account> getHolidaysAccount(int year, Person person);
 
 
+    /**
+     * Gets the {@link org.synyx.urlaubsverwaltung.core.account.domain.Account}s for the given year and persons.
+     *
+     * @param  year  to get the holidays accounts for
+     * @param  persons  to get the holidays accounts for
+     *
+     * @return  the holidays accounts of the given persons, persons without holidays account for the given year are
+     *          not contained
+     */
+    List<Account> getHolidaysAccounts(int year, List<Person> persons);
+
+
     /**
      * Saves the given {@link Account}.
      *
@@ -7,7 +7,10 @@ import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.core.account.dao.AccountDAO;
 import org.synyx.urlaubsverwaltung.core.account.domain.Account;
 import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.util.DateUtil;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -30,7 +33,20 @@ public class AccountServiceImpl implements AccountService {
     @Override
     public Optional<Account> getHolidaysAccount(int year, Person person) {
 
-        return Optional.ofNullable(accountDAO.getHolidaysAccountByYearAndPerson(year, person));
+        return Optional.ofNullable(accountDAO.getHolidaysAccountByYearAndPerson(person,
+                    DateUtil.getFirstDayOfYear(year).toDate(), DateUtil.getFirstDayOfYear(year + 1).toDate()));
+    }
+
+
+    @Override
+    public List<Account> getHolidaysAccounts(int year, List<Person> persons) {
+
+        if (persons.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return accountDAO.findHolidaysAccountsByYear(persons, DateUtil.getFirstDayOfYear(year).toDate(),
+                DateUtil.getFirstDayOfYear(year + 1).toDate());
     }
 
 
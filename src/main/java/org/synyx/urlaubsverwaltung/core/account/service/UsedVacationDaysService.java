@@ -0,0 +1,384 @@
+package org.synyx.urlaubsverwaltung.core.account.service;
+
+import org.apache.log4j.Logger;
+
+import org.joda.time.DateMidnight;
+import org.joda.time.DateTimeConstants;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.springframework.context.event.EventListener;
+
+import org.springframework.stereotype.Service;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import org.synyx.urlaubsverwaltung.core.account.dao.AccountDAO;
+import org.synyx.urlaubsverwaltung.core.account.dao.UsedVacationDaysDAO;
+import org.synyx.urlaubsverwaltung.core.account.domain.Account;
+import org.synyx.urlaubsverwaltung.core.account.domain.UsedVacationDays;
+import org.synyx.urlaubsverwaltung.core.application.domain.Application;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.VacationCategory;
+import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.core.util.DateUtil;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkDaysService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeUpdatedEvent;
+
+import java.math.BigDecimal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+
+/**
+ * Keeps the ledger of the {@link UsedVacationDays} of a person per year.
+ *
+ * <p>The used vacation days are calculated from the applications for leave of the year on first usage and updated on
+ * every status change of an application for leave afterwards. They are calculated again after the working time of
+ * the person or the settings have been changed, since the work days of the applications for leave depend on
+ * them.</p>
+ */
+@Service
+@Transactional
+public class UsedVacationDaysService {
+
+    private static final Logger LOG = Logger.getLogger(UsedVacationDaysService.class);
+
+    private final UsedVacationDaysDAO usedVacationDaysDAO;
+    private final AccountDAO accountDAO;
+    private final ApplicationService applicationService;
+    private final WorkDaysService workDaysService;
+
+    @Autowired
+    public UsedVacationDaysService(UsedVacationDaysDAO usedVacationDaysDAO, AccountDAO accountDAO,
+        ApplicationService applicationService, WorkDaysService workDaysService) {
+
+        this.usedVacationDaysDAO = usedVacationDaysDAO;
+        this.accountDAO = accountDAO;
+        this.applicationService = applicationService;
+        this.workDaysService = workDaysService;
+    }
+
+    /**
+     * Get the used vacation days of the person and year of the given holidays account, they are calculated from the
+     * applications for leave and stored if there are no used vacation days stored yet.
+     *
+     * @param  account  to get the used vacation days for
+     *
+     * @return  the used vacation days of the person and year of the given holidays account
+     */
+    public UsedVacationDays getUsedVacationDays(Account account) {
+
+        Person person = account.getPerson();
+        int year = account.getYear();
+
+        UsedVacationDays usedVacationDays = usedVacationDaysDAO.findByPersonAndYear(person, year);
+
+        if (usedVacationDays != null) {
+            return usedVacationDays;
+        }
+
+        if (!account.isNew()) {
+            // ensure that concurrent calculations for the same account do not store the used vacation days twice,
+            // the locking read sees used vacation days stored concurrently even if this transaction began before
+            accountDAO.lockHolidaysAccount(account);
+
+            usedVacationDays = usedVacationDaysDAO.findByPersonAndYearForUpdate(person, year);
+
+            if (usedVacationDays != null) {
+                return usedVacationDays;
+            }
+        }
+
+        usedVacationDays = calculateUsedVacationDays(person, year);
+
+        usedVacationDaysDAO.save(usedVacationDays);
+
+        return usedVacationDays;
+    }
+
+
+    /**
+     * Like {@link #getUsedVacationDays(Account)}, but for the holidays accounts of several persons of the same year,
+     * reading all stored used vacation days with a single query.
+     *
+     * @param  year  of the holidays accounts
+     * @param  accounts  holidays accounts of the given year
+     *
+     * @return  the used vacation days per person of the given holidays accounts
+     */
+    public Map<Person, UsedVacationDays> getUsedVacationDays(int year, List<Account> accounts) {
+
+        return getUsedVacationDays(year, accounts, this::getUsedVacationDays);
+    }
+
+
+    /**
+     * Like {@link #getUsedVacationDays(int, List)}, but the used vacation days that are not stored yet are calculated
+     * only and not stored, e.g. for a dry run that must not change anything.
+     *
+     * @param  year  of the holidays accounts
+     * @param  accounts  holidays accounts of the given year
+     *
+     * @return  the used vacation days per person of the given holidays accounts
+     */
+    public Map<Person, UsedVacationDays> calculateUsedVacationDays(int year, List<Account> accounts) {
+
+        return getUsedVacationDays(year, accounts,
+                account -> calculateUsedVacationDays(account.getPerson(), account.getYear()));
+    }
+
+
+    private Map<Person, UsedVacationDays> getUsedVacationDays(int year, List<Account> accounts,
+        Function<Account, UsedVacationDays> notStoredUsedVacationDays) {
+
+        if (accounts.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Person> persons = accounts.stream().map(Account::getPerson).collect(Collectors.toList());
+
+        Map<Person, UsedVacationDays> usedVacationDaysByPerson = usedVacationDaysDAO.findByYearAndPersons(year,
+                    persons)
+            .stream()
+            .collect(Collectors.toMap(UsedVacationDays::getPerson, Function.identity()));
+
+        for (Account account : accounts) {
+            if (!usedVacationDaysByPerson.containsKey(account.getPerson())) {
+                usedVacationDaysByPerson.put(account.getPerson(), notStoredUsedVacationDays.apply(account));
+            }
+        }
+
+        return usedVacationDaysByPerson;
+    }
+
+
+    /**
+     * Updates the used vacation days after the status of the given application for leave has been changed and the
+     * application for leave has been saved.
+     *
+     * <p>Used vacation days that are not stored yet are calculated including the changed application for leave and
+     * stored, holding the same lock of the holidays account as the first calculation in
+     * {@link #getUsedVacationDays(Account)}. Otherwise a concurrent first calculation that does not see the changed
+     * application for leave yet could store used vacation days missing it.</p>
+     *
+     * @param  application  for leave with the new status
+     * @param  previousStatus  of the application for leave, empty for a new application for leave
+     */
+    public void updateUsedVacationDays(Application application, Optional<ApplicationStatus> previousStatus) {
+
+        if (!VacationCategory.HOLIDAY.equals(application.getVacationType().getCategory())) {
+            return;
+        }
+
+        Person person = application.getPerson();
+
+        for (int year = application.getStartDate().getYear(); year <= application.getEndDate().getYear(); year++) {
+            UsedVacationDays usedVacationDays = getStoredUsedVacationDaysForUpdate(person, year);
+
+            if (usedVacationDays == null) {
+                continue;
+            }
+
+            BigDecimal daysBeforeApril = getWorkDays(application, getFirstOfJanuary(year), getLastOfMarch(year));
+            BigDecimal daysAfterApril = getWorkDays(application, getFirstOfApril(year), getLastOfDecember(year));
+
+            previousStatus.ifPresent(status ->
+                    usedVacationDays.add(status, daysBeforeApril.negate(), daysAfterApril.negate()));
+            usedVacationDays.add(application.getStatus(), daysBeforeApril, daysAfterApril);
+
+            usedVacationDaysDAO.save(usedVacationDays);
+        }
+    }
+
+
+    /**
+     * Gets the stored used vacation days of the given person and year to be updated. Used vacation days that are not
+     * stored yet are calculated and stored under the lock of the holidays account instead.
+     *
+     * @return  the stored used vacation days to be updated, {@code null} if they have been calculated just now or if
+     *          there is no holidays account for the year
+     */
+    private UsedVacationDays getStoredUsedVacationDaysForUpdate(Person person, int year) {
+
+        UsedVacationDays usedVacationDays = usedVacationDaysDAO.findByPersonAndYearForUpdate(person, year);
+
+        if (usedVacationDays != null) {
+            return usedVacationDays;
+        }
+
+        Account account = accountDAO.getHolidaysAccountByYearAndPerson(person,
+                DateUtil.getFirstDayOfYear(year).toDate(), DateUtil.getFirstDayOfYear(year + 1).toDate());
+
+        if (account == null) {
+            // used vacation days are calculated for holidays accounts only
+            return null;
+        }
+
+        accountDAO.lockHolidaysAccount(account);
+
+        usedVacationDays = usedVacationDaysDAO.findByPersonAndYearForUpdate(person, year);
+
+        if (usedVacationDays == null) {
+            // the changed application for leave has already been saved, so it is part of the calculation
+            usedVacationDaysDAO.save(calculateUsedVacationDays(person, year));
+        }
+
+        return usedVacationDays;
+    }
+
+
+    /**
+     * @return  the years there are used vacation days stored for, in ascending order
+     */
+    public List<Integer> getYearsOfUsedVacationDays() {
+
+        return usedVacationDaysDAO.findYears();
+    }
+
+
+    /**
+     * Calculates the used vacation days of all stored used vacation days of the given year from scratch and corrects
+     * the stored ones if they differ.
+     *
+     * @param  year  to verify the used vacation days for
+     *
+     * @return  the number of corrected used vacation days
+     */
+    public int verifyUsedVacationDays(int year) {
+
+        List<UsedVacationDays> storedUsedVacationDays = usedVacationDaysDAO.findByYear(year);
+
+        int corrected = 0;
+
+        for (UsedVacationDays stored : storedUsedVacationDays) {
+            UsedVacationDays usedVacationDays = usedVacationDaysDAO.findByPersonAndYearForUpdate(stored.getPerson(),
+                    year);
+            UsedVacationDays calculated = calculateUsedVacationDays(stored.getPerson(), year);
+
+            if (!usedVacationDays.hasSameDaysAs(calculated)) {
+                LOG.warn("Correcting used vacation days " + usedVacationDays + " to " + calculated);
+
+                usedVacationDays.setDaysOf(calculated);
+                usedVacationDaysDAO.save(usedVacationDays);
+
+                corrected++;
+            }
+        }
+
+        LOG.info("Verified used vacation days of " + storedUsedVacationDays.size() + " persons for " + year
+            + ", corrected: " + corrected);
+
+        return corrected;
+    }
+
+
+    /**
+     * Removes all stored used vacation days, they are calculated from scratch on next usage.
+     */
+    public void rebuildUsedVacationDays() {
+
+        usedVacationDaysDAO.deleteAllInBatch();
+
+        LOG.info("Removed all used vacation days, they are calculated again on next usage");
+    }
+
+
+    @EventListener
+    public void onWorkingTimeUpdated(WorkingTimeUpdatedEvent event) {
+
+        usedVacationDaysDAO.deleteByPerson(event.getPerson());
+    }
+
+
+    @EventListener
+    public void onSettingsUpdated(SettingsUpdatedEvent event) {
+
+        if (event.isWorkDaysAffected()) {
+            rebuildUsedVacationDays();
+        }
+    }
+
+
+    /**
+     * Calculates the used vacation days of the given person and year from scratch, based on the waiting and allowed
+     * applications for leave of type holiday of the year.
+     */
+    UsedVacationDays calculateUsedVacationDays(Person person, int year) {
+
+        UsedVacationDays usedVacationDays = new UsedVacationDays(person, year);
+
+        List<Application> applications = applicationService.getApplicationsForACertainPeriodAndPerson(
+                getFirstOfJanuary(year), getLastOfDecember(year), person);
+
+        for (Application application : applications) {
+            boolean isRelevant = VacationCategory.HOLIDAY.equals(application.getVacationType().getCategory())
+                && (application.hasStatus(ApplicationStatus.WAITING)
+                    || application.hasStatus(ApplicationStatus.ALLOWED));
+
+            if (isRelevant) {
+                usedVacationDays.add(application.getStatus(),
+                    getWorkDays(application, getFirstOfJanuary(year), getLastOfMarch(year)),
+                    getWorkDays(application, getFirstOfApril(year), getLastOfDecember(year)));
+            }
+        }
+
+        return usedVacationDays;
+    }
+
+
+    /**
+     * @return  the work days of the given application for leave between the given milestones
+     */
+    private BigDecimal getWorkDays(Application application, DateMidnight firstMilestone,
+        DateMidnight lastMilestone) {
+
+        DateMidnight startDate = application.getStartDate();
+        DateMidnight endDate = application.getEndDate();
+
+        if (startDate.isAfter(lastMilestone) || endDate.isBefore(firstMilestone)) {
+            return BigDecimal.ZERO;
+        }
+
+        if (startDate.isBefore(firstMilestone)) {
+            startDate = firstMilestone;
+        }
+
+        if (endDate.isAfter(lastMilestone)) {
+            endDate = lastMilestone;
+        }
+
+        return workDaysService.getWorkDays(application.getDayLength(), startDate, endDate, application.getPerson());
+    }
+
+
+    private static DateMidnight getFirstOfJanuary(int year) {
+
+        return DateUtil.getFirstDayOfMonth(year, DateTimeConstants.JANUARY);
+    }
+
+
+    private static DateMidnight getLastOfMarch(int year) {
+
+        return DateUtil.getLastDayOfMonth(year, DateTimeConstants.MARCH);
+    }
+
+
+    private static DateMidnight getFirstOfApril(int year) {
+
+        return DateUtil.getFirstDayOfMonth(year, DateTimeConstants.APRIL);
+    }
+
+
+    private static DateMidnight getLastOfDecember(int year) {
+
+        return DateUtil.getLastDayOfMonth(year, DateTimeConstants.DECEMBER);
+    }
+}
@@ -8,15 +8,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import org.synyx.urlaubsverwaltung.core.account.domain.Account;
+import org.synyx.urlaubsverwaltung.core.account.domain.UsedVacationDays;
 import org.synyx.urlaubsverwaltung.core.account.domain.VacationDaysLeft;
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.core.application.domain.VacationCategory;
-import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.period.NowService;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.util.DateUtil;
 import org.synyx.urlaubsverwaltung.core.workingtime.WorkDaysService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeTimeline;
 
 import java.math.BigDecimal;
 
@@ -34,15 +36,15 @@ public class VacationDaysService {
 
     private final WorkDaysService calendarService;
     private final NowService nowService;
-    private final ApplicationService applicationService;
+    private final UsedVacationDaysService usedVacationDaysService;
 
     @Autowired
     public VacationDaysService(WorkDaysService calendarService, NowService nowService,
-        ApplicationService applicationService) {
+        UsedVacationDaysService usedVacationDaysService) {
 
         this.calendarService = calendarService;
         this.nowService = nowService;
-        this.applicationService = applicationService;
+        this.usedVacationDaysService = usedVacationDaysService;
     }
 
     /**
@@ -58,7 +60,47 @@ public class VacationDaysService {
      */
     public BigDecimal calculateTotalLeftVacationDays(Account account) {
 
-        VacationDaysLeft vacationDaysLeft = getVacationDaysLeft(account);
+        return getTotalLeftVacationDays(account, getVacationDaysLeft(account));
+    }
+
+
+    /**
+     * Calculates the total number of days that are left to be used for applying for leave like
+     * {@link #calculateTotalLeftVacationDays(Account)}, but based on the already loaded used vacation days of the
+     * person of the given account.
+     *
+     * @param  account  {@link org.synyx.urlaubsverwaltung.core.account.domain.Account}
+     * @param  usedVacationDays  used vacation days of the person of the account within the year of the account
+     *
+     * @return  total number of left vacation days
+     */
+    public BigDecimal calculateTotalLeftVacationDays(Account account, UsedVacationDays usedVacationDays) {
+
+        return getTotalLeftVacationDays(account,
+                getVacationDaysLeft(account, usedVacationDays.getUsedDaysBeforeApril(),
+                    usedVacationDays.getUsedDaysAfterApril()));
+    }
+
+
+    /**
+     * Calculates the total number of days that are left to be used for applying for leave like
+     * {@link #calculateTotalLeftVacationDays(Account)}, but based on the already loaded applications for leave and
+     * working times of the person of the given account, so several accounts can be handled without further queries.
+     *
+     * @param  account  {@link org.synyx.urlaubsverwaltung.core.account.domain.Account}
+     * @param  applications  applications for leave of the person of the account within the year of the account
+     * @param  workingTimes  timeline of all working times of the person of the account
+     *
+     * @return  total number of left vacation days
+     */
+    public BigDecimal calculateTotalLeftVacationDays(Account account, List<Application> applications,
+        WorkingTimeTimeline workingTimes) {
+
+        return getTotalLeftVacationDays(account, getVacationDaysLeft(account, applications, workingTimes));
+    }
+
+
+    private BigDecimal getTotalLeftVacationDays(Account account, VacationDaysLeft vacationDaysLeft) {
 
         // it's before April - the left remaining vacation days must be used
         if (DateUtil.isBeforeApril(nowService.now()) && account.getYear() == nowService.currentYear()) {
@@ -70,15 +112,63 @@ public class VacationDaysService {
     }
 
 
+    /**
+     * Get the left vacation days of the given account, based on the stored {@link UsedVacationDays} of the person of
+     * the account.
+     *
+     * @param  account  {@link org.synyx.urlaubsverwaltung.core.account.domain.Account}
+     *
+     * @return  the left vacation days of the given account
+     */
     public VacationDaysLeft getVacationDaysLeft(Account account) {
 
+        UsedVacationDays usedVacationDays = getUsedVacationDays(account);
+
+        return getVacationDaysLeft(account, usedVacationDays.getUsedDaysBeforeApril(),
+                usedVacationDays.getUsedDaysAfterApril());
+    }
+
+
+    UsedVacationDays getUsedVacationDays(Account account) {
+
+        return usedVacationDaysService.getUsedVacationDays(account);
+    }
+
+
+    /**
+     * Like {@link #getVacationDaysLeft(Account)}, but based on the already loaded applications for leave and working
+     * times of the person of the given account.
+     *
+     * @param  account  {@link org.synyx.urlaubsverwaltung.core.account.domain.Account}
+     * @param  applications  applications for leave of the person of the account within the year of the account
+     * @param  workingTimes  timeline of all working times of the person of the account
+     *
+     * @return  the left vacation days of the given account
+     */
+    public VacationDaysLeft getVacationDaysLeft(Account account, List<Application> applications,
+        WorkingTimeTimeline workingTimes) {
+
+        Person person = account.getPerson();
+
+        WorkDaysCalculation workDaysCalculation = (dayLength, startDate, endDate) ->
+                calendarService.getWorkDays(dayLength, startDate, endDate, person, workingTimes);
+
+        BigDecimal daysBeforeApril = getUsedDays(applications, getFirstOfJanuary(account), getLastOfMarch(account),
+                workDaysCalculation);
+        BigDecimal daysAfterApril = getUsedDays(applications, getFirstOfApril(account), getLastOfDecember(account),
+                workDaysCalculation);
+
+        return getVacationDaysLeft(account, daysBeforeApril, daysAfterApril);
+    }
+
+
+    private static VacationDaysLeft getVacationDaysLeft(Account account, BigDecimal daysBeforeApril,
+        BigDecimal daysAfterApril) {
+
         BigDecimal vacationDays = account.getVacationDays();
         BigDecimal remainingVacationDays = account.getRemainingVacationDays();
         BigDecimal remainingVacationDaysNotExpiring = account.getRemainingVacationDaysNotExpiring();
 
-        BigDecimal daysBeforeApril = getUsedDaysBeforeApril(account);
-        BigDecimal daysAfterApril = getUsedDaysAfterApril(account);
-
         return VacationDaysLeft.builder()
             .withAnnualVacation(vacationDays)
             .withRemainingVacation(remainingVacationDays)
@@ -89,36 +179,43 @@ public class VacationDaysService {
     }
 
 
-    BigDecimal getUsedDaysBeforeApril(Account account) {
+    private static DateMidnight getFirstOfJanuary(Account account) {
 
-        DateMidnight firstOfJanuary = DateUtil.getFirstDayOfMonth(account.getYear(), DateTimeConstants.JANUARY);
-        DateMidnight lastOfMarch = DateUtil.getLastDayOfMonth(account.getYear(), DateTimeConstants.MARCH);
-
-        return getUsedDaysBetweenTwoMilestones(account.getPerson(), firstOfJanuary, lastOfMarch);
+        return DateUtil.getFirstDayOfMonth(account.getYear(), DateTimeConstants.JANUARY);
     }
 
 
-    BigDecimal getUsedDaysAfterApril(Account account) {
+    private static DateMidnight getLastOfMarch(Account account) {
+
+        return DateUtil.getLastDayOfMonth(account.getYear(), DateTimeConstants.MARCH);
+    }
+
 
-        DateMidnight firstOfApril = DateUtil.getFirstDayOfMonth(account.getYear(), DateTimeConstants.APRIL);
-        DateMidnight lastOfDecember = DateUtil.getLastDayOfMonth(account.getYear(), DateTimeConstants.DECEMBER);
+    private static DateMidnight getFirstOfApril(Account account) {
 
-        return getUsedDaysBetweenTwoMilestones(account.getPerson(), firstOfApril, lastOfDecember);
+        return DateUtil.getFirstDayOfMonth(account.getYear(), DateTimeConstants.APRIL);
     }
 
 
-    BigDecimal getUsedDaysBetweenTwoMilestones(Person person, DateMidnight firstMilestone, DateMidnight lastMilestone) {
+    private static DateMidnight getLastOfDecember(Account account) {
+
+        return DateUtil.getLastDayOfMonth(account.getYear(), DateTimeConstants.DECEMBER);
+    }
 
-        // get all applications for leave
-        List<Application> allApplicationsForLeave = applicationService.getApplicationsForACertainPeriodAndPerson(
-                firstMilestone, lastMilestone, person);
 
-        // filter them since only waiting and allowed applications for leave of type holiday are relevant
+    private static BigDecimal getUsedDays(List<Application> allApplicationsForLeave, DateMidnight firstMilestone,
+        DateMidnight lastMilestone, WorkDaysCalculation workDaysCalculation) {
+
+        // filter them since only waiting and allowed applications for leave of type holiday within the milestones
+        // are relevant
         List<Application> applicationsForLeave = allApplicationsForLeave.stream()
                 .filter(input ->
                             VacationCategory.HOLIDAY.equals(input.getVacationType().getCategory())
                             && (input.hasStatus(ApplicationStatus.WAITING)
                                 || input.hasStatus(ApplicationStatus.ALLOWED)))
+                .filter(input ->
+                            !input.getStartDate().isAfter(lastMilestone)
+                            && !input.getEndDate().isBefore(firstMilestone))
                 .collect(Collectors.toList());
 
         BigDecimal usedDays = BigDecimal.ZERO;
@@ -135,10 +232,19 @@ public class VacationDaysService {
                 endDate = lastMilestone;
             }
 
-            usedDays = usedDays.add(calendarService.getWorkDays(applicationForLeave.getDayLength(), startDate, endDate,
-                        person));
+            usedDays = usedDays.add(workDaysCalculation.getWorkDays(applicationForLeave.getDayLength(), startDate,
+                        endDate));
         }
 
         return usedDays;
     }
+
+    /**
+     * Calculates the workdays of a person for a period.
+     */
+    @FunctionalInterface
+    private interface WorkDaysCalculation {
+
+        BigDecimal getWorkDays(DayLength dayLength, DateMidnight startDate, DateMidnight endDate);
+    }
 }
@@ -1,11 +1,16 @@
 package org.synyx.urlaubsverwaltung.core.application.dao;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import org.springframework.transaction.annotation.Transactional;
+
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 
 import java.math.BigDecimal;
@@ -17,14 +22,48 @@ import java.util.List;
 /**
  * Repository for {@link Application} entities.
  *
+ * <p>Single applications are loaded with all their associations, lists of applications only with their person and
+ * vacation type, see {@link Application}.</p>
+ *
  * @author  Aljona Murygina - murygina@synyx.de
  */
 public interface ApplicationDAO extends JpaRepository<Application, Integer> {
 
+    String SUMMARY = "SELECT new org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary(x.id, "
+        + "person.id, person.loginName, person.firstName, person.lastName, person.email, x.startDate, x.endDate, "
+        + "x.dayLength, x.status, vacationType.category, vacationType.displayName) "
+        + "FROM Application x JOIN x.person person JOIN x.vacationType vacationType ";
+
+    @Override
+    @EntityGraph(Application.WITH_DETAILS)
+    Application findOne(Integer id);
+
+
+    @EntityGraph(Application.WITH_PERSON_AND_VACATION_TYPE)
     @Query("select x from Application x where x.status = ?1")
     List<Application> getApplicationsForACertainState(ApplicationStatus status);
 
 
+    /**
+     * Finds the applications with the given status that have never been reminded and were applied for on or before
+     * the given application date, or that have been reminded before the given remind date.
+     */
+    @EntityGraph(Application.WITH_PERSON_AND_VACATION_TYPE)
+    @Query(
+        "select x from Application x "
+        + "where x.status = ?1 and ((x.remindDate is null and x.applicationDate <= ?2) or x.remindDate < ?3)"
+    )
+    List<Application> getApplicationsToRemind(ApplicationStatus status, Date lastApplicationDate,
+        Date remindedBefore);
+
+
+    @Transactional
+    @Modifying
+    @Query("update Application x set x.remindDate = ?1 where x.id in ?2")
+    int updateRemindDate(Date remindDate, List<Integer> applicationIds);
+
+
+    @EntityGraph(Application.WITH_PERSON_AND_VACATION_TYPE)
     @Query(
         "select x from Application x "
         + "where x.status = ?3 and ((x.startDate between ?1 and ?2) or (x.endDate between ?1 and ?2) "
@@ -34,6 +73,7 @@ public interface ApplicationDAO extends JpaRepository<Application, Integer> {
     List<Application> getApplicationsForACertainTimeAndState(Date startDate, Date endDate, ApplicationStatus status);
 
 
+    @EntityGraph(Application.WITH_PERSON_AND_VACATION_TYPE)
     @Query(
         "select x from Application x "
         + "where x.person = ?3 and ((x.startDate between ?1 and ?2) or (x.endDate between ?1 and ?2) "
@@ -43,6 +83,46 @@ public interface ApplicationDAO extends JpaRepository<Application, Integer> {
     List<Application> getApplicationsForACertainTimeAndPerson(Date startDate, Date endDate, Person person);
 
 
+    @EntityGraph(Application.WITH_PERSON_AND_VACATION_TYPE)
+    @Query(
+        "select x from Application x "
+        + "where x.person in ?3 and ((x.startDate between ?1 and ?2) or (x.endDate between ?1 and ?2) "
+        + "or (x.startDate < ?1 and x.endDate > ?2)) "
+        + "order by x.startDate"
+    )
+    List<Application> getApplicationsForACertainTimeAndPersons(Date startDate, Date endDate, List<Person> persons);
+
+
+    @EntityGraph(Application.WITH_PERSON_AND_VACATION_TYPE)
+    @Query(
+        "select x from Application x "
+        + "where x.person in ?3 and x.status in ?4 and ((x.startDate between ?1 and ?2) "
+        + "or (x.endDate between ?1 and ?2) or (x.startDate < ?1 and x.endDate > ?2)) "
+        + "order by x.startDate"
+    )
+    List<Application> getApplicationsForACertainTimeAndPersonsAndStates(Date startDate, Date endDate,
+        List<Person> persons, List<ApplicationStatus> statuses);
+
+
+    @Query(
+        SUMMARY + "where x.status in ?3 and ((x.startDate between ?1 and ?2) or (x.endDate between ?1 and ?2) "
+        + "or (x.startDate < ?1 and x.endDate > ?2)) "
+        + "order by x.startDate"
+    )
+    List<ApplicationSummary> getApplicationSummariesForACertainTimeAndStates(Date startDate, Date endDate,
+        List<ApplicationStatus> statuses);
+
+
+    @Query(
+        SUMMARY + "where x.person in ?3 and x.status in ?4 and ((x.startDate between ?1 and ?2) "
+        + "or (x.endDate between ?1 and ?2) or (x.startDate < ?1 and x.endDate > ?2)) "
+        + "order by x.startDate"
+    )
+    List<ApplicationSummary> getApplicationSummariesForACertainTimeAndPersonsAndStates(Date startDate, Date endDate,
+        List<Person> persons, List<ApplicationStatus> statuses);
+
+
+    @EntityGraph(Application.WITH_PERSON_AND_VACATION_TYPE)
     @Query(
         "select x from Application x "
         + "where x.person = ?3 and x.status = ?4 and ((x.startDate between ?1 and ?2) or (x.endDate between ?1 and ?2) "
@@ -59,4 +139,17 @@ public interface ApplicationDAO extends JpaRepository<Application, Integer> {
         + "AND (application.status = 'WAITING' OR application.status = 'ALLOWED')"
     )
     BigDecimal calculateTotalOvertimeOfPerson(@Param("person") Person person);
+
+
+    /**
+     * @return  the id of every given person with overtime reduction and the total overtime reduction of the person
+     */
+    @Query(
+        "SELECT application.person.id, SUM(application.hours) FROM Application application "
+        + "WHERE application.person IN :persons "
+        + "AND application.vacationType.category = 'OVERTIME' "
+        + "AND (application.status = 'WAITING' OR application.status = 'ALLOWED') "
+        + "GROUP BY application.person.id"
+    )
+    List<Object[]> calculateTotalOvertimeOfPersons(@Param("persons") List<Person> persons);
 }
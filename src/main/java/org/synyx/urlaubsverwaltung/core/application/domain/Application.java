@@ -24,44 +24,78 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
 import javax.persistence.Temporal;
 
 
 /**
  * This class describes an application for leave.
  *
+ * <p>The associated persons and the vacation type are loaded lazily. Queries for lists of applications load them with
+ * the entity graph {@value #WITH_PERSON_AND_VACATION_TYPE}, single applications are loaded with the entity graph
+ * {@value #WITH_DETAILS} containing all associations.</p>
+ *
  * @author  Johannes Reuter
  * @author  Aljona Murygina
  */
 @Entity
+@NamedEntityGraphs(
+    {
+        @NamedEntityGraph(
+            name = Application.WITH_PERSON_AND_VACATION_TYPE,
+            attributeNodes = { @NamedAttributeNode("person"), @NamedAttributeNode("vacationType") }
+        ),
+        @NamedEntityGraph(
+            name = Application.WITH_DETAILS,
+            attributeNodes = {
+                @NamedAttributeNode("person"), @NamedAttributeNode("applier"), @NamedAttributeNode("boss"),
+                @NamedAttributeNode("canceller"), @NamedAttributeNode("vacationType"),
+                @NamedAttributeNode("holidayReplacement")
+            }
+        )
+    }
+)
 public class Application extends AbstractPersistable<Integer> {
 
+    /**
+     * Name of the entity graph fetching the person and the vacation type of an application.
+     */
+    public static final String WITH_PERSON_AND_VACATION_TYPE = "Application.personAndVacationType";
+
+    /**
+     * Name of the entity graph fetching all associations of an application.
+     */
+    public static final String WITH_DETAILS = "Application.details";
+
     private static final long serialVersionUID = 1234589209309L;
 
     /**
      * Person that will be on vacation if this application for leave is allowed.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Person person;
 
     /**
      * Person that made the application - can be different to the person that will be on vacation.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Person applier;
 
     /**
      * Person that allowed or rejected the application for leave.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Person boss;
 
     /**
      * Person that cancelled the application.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Person canceller;
 
     /**
@@ -100,7 +134,7 @@ public class Application extends AbstractPersistable<Integer> {
     /**
      * Type of vacation, e.g. holiday, special leave etc.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private VacationType vacationType;
 
     /**
@@ -117,7 +151,7 @@ public class Application extends AbstractPersistable<Integer> {
     /**
      * Person that is the holiday replacement during the vacation.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "rep_id")
     private Person holidayReplacement;
 
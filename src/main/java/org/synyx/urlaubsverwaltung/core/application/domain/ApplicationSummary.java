@@ -0,0 +1,87 @@
+package org.synyx.urlaubsverwaltung.core.application.domain;
+
+import org.joda.time.DateMidnight;
+import org.joda.time.DateTime;
+
+import org.synyx.urlaubsverwaltung.core.period.DayLength;
+import org.synyx.urlaubsverwaltung.core.person.PersonSummary;
+
+import java.util.Date;
+
+
+/**
+ * Lightweight, immutable view of an {@link Application} containing only the data needed to list applications, e.g.
+ * for absence calendars. Selected by a single query without loading any person or vacation type entity.
+ */
+public final class ApplicationSummary {
+
+    private final Integer id;
+    private final PersonSummary person;
+    private final DateMidnight startDate;
+    private final DateMidnight endDate;
+    private final DayLength dayLength;
+    private final ApplicationStatus status;
+    private final VacationCategory vacationCategory;
+    private final String vacationTypeDisplayName;
+
+    public ApplicationSummary(Integer id, Integer personId, String personLoginName, String personFirstName,
+        String personLastName, String personEmail, Date startDate, Date endDate, DayLength dayLength,
+        ApplicationStatus status, VacationCategory vacationCategory, String vacationTypeDisplayName) {
+
+        this.id = id;
+        this.person = new PersonSummary(personId, personLoginName, personFirstName, personLastName, personEmail);
+        this.startDate = new DateTime(startDate).toDateMidnight();
+        this.endDate = new DateTime(endDate).toDateMidnight();
+        this.dayLength = dayLength;
+        this.status = status;
+        this.vacationCategory = vacationCategory;
+        this.vacationTypeDisplayName = vacationTypeDisplayName;
+    }
+
+    public Integer getId() {
+
+        return id;
+    }
+
+
+    public PersonSummary getPerson() {
+
+        return person;
+    }
+
+
+    public DateMidnight getStartDate() {
+
+        return startDate;
+    }
+
+
+    public DateMidnight getEndDate() {
+
+        return endDate;
+    }
+
+
+    public DayLength getDayLength() {
+
+        return dayLength;
+    }
+
+
+    public ApplicationStatus getStatus() {
+
+        return status;
+    }
+
+
+    public VacationCategory getVacationCategory() {
+
+        return vacationCategory;
+    }
+
+
+    public String getVacationTypeDisplayName() {
+
+        return vacationTypeDisplayName;
+    }
+}
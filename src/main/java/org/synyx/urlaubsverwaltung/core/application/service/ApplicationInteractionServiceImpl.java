@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.synyx.urlaubsverwaltung.core.account.service.AccountInteractionService;
+import org.synyx.urlaubsverwaltung.core.account.service.UsedVacationDaysService;
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationAction;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationComment;
@@ -26,8 +27,6 @@ import org.synyx.urlaubsverwaltung.core.settings.CalendarSettings;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.core.sync.CalendarSyncService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
-import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMapping;
-import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMappingService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceTimeConfiguration;
 import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceType;
 import org.synyx.urlaubsverwaltung.core.sync.absence.EventType;
@@ -52,9 +51,9 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
     private final ApplicationCommentService commentService;
     private final MailService mailService;
     private final CalendarSyncService calendarSyncService;
-    private final AbsenceMappingService absenceMappingService;
     private final SettingsService settingsService;
     private final DepartmentService departmentService;
+    private final UsedVacationDaysService usedVacationDaysService;
 
     @Autowired
     public ApplicationInteractionServiceImpl(ApplicationService applicationService,
@@ -62,18 +61,18 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
                                              AccountInteractionService accountInteractionService,
                                              MailService mailService,
                                              CalendarSyncService calendarSyncService,
-                                             AbsenceMappingService absenceMappingService,
                                              SettingsService settingsService,
-                                             DepartmentService departmentService) {
+                                             DepartmentService departmentService,
+                                             UsedVacationDaysService usedVacationDaysService) {
 
         this.applicationService = applicationService;
         this.commentService = commentService;
         this.accountInteractionService = accountInteractionService;
         this.mailService = mailService;
         this.calendarSyncService = calendarSyncService;
-        this.absenceMappingService = absenceMappingService;
         this.settingsService = settingsService;
         this.departmentService = departmentService;
+        this.usedVacationDaysService = usedVacationDaysService;
     }
 
     @Override
@@ -92,6 +91,7 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
         application.setApplicationDate(DateMidnight.now());
 
         applicationService.save(application);
+        usedVacationDaysService.updateUsedVacationDays(application, Optional.empty());
 
         LOG.info("Created application for leave: " + application.toString());
 
@@ -119,12 +119,9 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
         CalendarSettings calendarSettings = settingsService.getSettings().getCalendarSettings();
         AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(calendarSettings);
 
-        Optional<String> eventId = calendarSyncService.addAbsence(new Absence(application.getPerson(),
-                    application.getPeriod(), EventType.WAITING_APPLICATION, timeConfiguration));
-
-        if (eventId.isPresent()) {
-            absenceMappingService.create(application.getId(), AbsenceType.VACATION, eventId.get());
-        }
+        calendarSyncService.addAbsence(application.getId(), AbsenceType.VACATION,
+            new Absence(application.getPerson(), application.getPeriod(), EventType.WAITING_APPLICATION,
+                timeConfiguration));
 
         return application;
     }
@@ -182,11 +179,14 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
             return applicationForLeave;
         }
 
+        ApplicationStatus previousStatus = applicationForLeave.getStatus();
+
         applicationForLeave.setStatus(ApplicationStatus.TEMPORARY_ALLOWED);
         applicationForLeave.setBoss(privilegedUser);
         applicationForLeave.setEditedDate(DateMidnight.now());
 
         applicationService.save(applicationForLeave);
+        usedVacationDaysService.updateUsedVacationDays(applicationForLeave, Optional.ofNullable(previousStatus));
 
         LOG.info("Temporary allowed application for leave: " + applicationForLeave.toString());
 
@@ -210,11 +210,14 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
             return applicationForLeave;
         }
 
+        ApplicationStatus previousStatus = applicationForLeave.getStatus();
+
         applicationForLeave.setStatus(ApplicationStatus.ALLOWED);
         applicationForLeave.setBoss(privilegedUser);
         applicationForLeave.setEditedDate(DateMidnight.now());
 
         applicationService.save(applicationForLeave);
+        usedVacationDaysService.updateUsedVacationDays(applicationForLeave, Optional.ofNullable(previousStatus));
 
         LOG.info("Allowed application for leave: " + applicationForLeave.toString());
 
@@ -227,15 +230,11 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
             mailService.notifyHolidayReplacement(applicationForLeave);
         }
 
-        Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(
-                applicationForLeave.getId(), AbsenceType.VACATION);
-
-        if (absenceMapping.isPresent()) {
-            CalendarSettings calendarSettings = settingsService.getSettings().getCalendarSettings();
-            AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(calendarSettings);
-            calendarSyncService.update(new Absence(applicationForLeave.getPerson(), applicationForLeave.getPeriod(),
-                    EventType.ALLOWED_APPLICATION, timeConfiguration), absenceMapping.get().getEventId());
-        }
+        CalendarSettings calendarSettings = settingsService.getSettings().getCalendarSettings();
+        AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(calendarSettings);
+        calendarSyncService.updateAbsence(applicationForLeave.getId(), AbsenceType.VACATION,
+            new Absence(applicationForLeave.getPerson(), applicationForLeave.getPeriod(),
+                EventType.ALLOWED_APPLICATION, timeConfiguration));
 
         return applicationForLeave;
     }
@@ -244,11 +243,14 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
     @Override
     public Application reject(Application application, Person privilegedUser, Optional<String> comment) {
 
+        ApplicationStatus previousStatus = application.getStatus();
+
         application.setStatus(ApplicationStatus.REJECTED);
         application.setBoss(privilegedUser);
         application.setEditedDate(DateMidnight.now());
 
         applicationService.save(application);
+        usedVacationDaysService.updateUsedVacationDays(application, Optional.ofNullable(previousStatus));
 
         LOG.info("Rejected application for leave: " + application.toString());
 
@@ -257,13 +259,7 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
 
         mailService.sendRejectedNotification(application, createdComment);
 
-        Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(application.getId(),
-                AbsenceType.VACATION);
-
-        if (absenceMapping.isPresent()) {
-            calendarSyncService.deleteAbsence(absenceMapping.get().getEventId());
-            absenceMappingService.delete(absenceMapping.get());
-        }
+        calendarSyncService.deleteAbsence(application.getId(), AbsenceType.VACATION);
 
         return application;
     }
@@ -286,13 +282,7 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
 
         accountInteractionService.updateRemainingVacationDays(application.getStartDate().getYear(), person);
 
-        Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(application.getId(),
-                AbsenceType.VACATION);
-
-        if (absenceMapping.isPresent()) {
-            calendarSyncService.deleteAbsence(absenceMapping.get().getEventId());
-            absenceMappingService.delete(absenceMapping.get());
-        }
+        calendarSyncService.deleteAbsence(application.getId(), AbsenceType.VACATION);
 
         return application;
     }
@@ -300,9 +290,12 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
 
     private Application revokeApplication(Application application, Person canceller, Optional<String> comment) {
 
+        ApplicationStatus previousStatus = application.getStatus();
+
         application.setStatus(ApplicationStatus.REVOKED);
 
         applicationService.save(application);
+        usedVacationDaysService.updateUsedVacationDays(application, Optional.ofNullable(previousStatus));
 
         LOG.info("Revoked application for leave: " + application);
 
@@ -324,9 +317,12 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
          * users have to request cancellation
          */
         if (canceller.hasRole(Role.OFFICE)) {
+            ApplicationStatus previousStatus = application.getStatus();
+
             application.setStatus(ApplicationStatus.CANCELLED);
 
             applicationService.save(application);
+            usedVacationDaysService.updateUsedVacationDays(application, Optional.ofNullable(previousStatus));
 
             LOG.info("Cancelled application for leave: " + application);
 
@@ -366,6 +362,7 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
         application.setStatus(ApplicationStatus.ALLOWED);
 
         applicationService.save(application);
+        usedVacationDaysService.updateUsedVacationDays(application, Optional.empty());
 
         commentService.create(application, ApplicationAction.CONVERTED, Optional.<String>empty(), creator);
         mailService.sendSickNoteConvertedToVacationNotification(application);
@@ -4,11 +4,13 @@ import org.joda.time.DateMidnight;
 
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 
 import java.math.BigDecimal;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -49,6 +51,27 @@ public interface ApplicationService {
     List<Application> getApplicationsForACertainState(ApplicationStatus state);
 
 
+    /**
+     * Gets all waiting {@link Application}s for leave to be reminded on the given date: the ones never reminded that
+     * have been waiting for at least the given number of days and the ones not reminded on the given date yet.
+     *
+     * @param  date  of the reminder
+     * @param  daysBeforeRemind  number of days an {@link Application} for leave is waiting before it is reminded
+     *
+     * @return  all waiting {@link Application}s for leave to be reminded
+     */
+    List<Application> getWaitingApplicationsToRemind(DateMidnight date, int daysBeforeRemind);
+
+
+    /**
+     * Sets the remind date of the given {@link Application}s for leave with a single update.
+     *
+     * @param  applications  to set the remind date of
+     * @param  remindDate  to be set
+     */
+    void updateRemindDate(List<Application> applications, DateMidnight remindDate);
+
+
     /**
      * Gets all {@link Application}s with vacation time between startDate x and endDate y for the given person.
      *
@@ -62,6 +85,36 @@ public interface ApplicationService {
         Person person);
 
 
+    /**
+     * Gets all {@link Application}s with vacation time between startDate x and endDate y for the given persons.
+     *
+     * @param  startDate {@link DateMidnight}
+     * @param  endDate {@link DateMidnight}
+     * @param  persons  to get the {@link Application}s for
+     *
+     * @return  all {@link Application}s of the given persons with vacation time between startDate x and endDate y,
+     *          ordered by start date
+     */
+    List<Application> getApplicationsForACertainPeriodAndPersons(DateMidnight startDate, DateMidnight endDate,
+        List<Person> persons);
+
+
+    /**
+     * Gets all {@link Application}s with vacation time between startDate x and endDate y for the given persons and
+     * states.
+     *
+     * @param  startDate {@link DateMidnight}
+     * @param  endDate {@link DateMidnight}
+     * @param  persons  to get the {@link Application}s for
+     * @param  statuses  the {@link Application}s must have one of
+     *
+     * @return  all {@link Application}s of the given persons with vacation time between startDate x and endDate y and
+     *          with one of the given states, ordered by start date
+     */
+    List<Application> getApplicationsForACertainPeriodAndPersonsAndStates(DateMidnight startDate,
+        DateMidnight endDate, List<Person> persons, List<ApplicationStatus> statuses);
+
+
     /**
      * Gets all {@link Application}s with vacation time between startDate x and endDate y for the given state.
      *
@@ -91,6 +144,37 @@ public interface ApplicationService {
         Person person, ApplicationStatus status);
 
 
+    /**
+     * Gets summaries of all {@link Application}s with vacation time between startDate x and endDate y for the given
+     * states.
+     *
+     * @param  startDate {@link DateMidnight}
+     * @param  endDate {@link DateMidnight}
+     * @param  statuses  the {@link Application}s must have one of
+     *
+     * @return  summaries of all {@link Application}s with vacation time between startDate x and endDate y and with
+     *          one of the given states, ordered by start date
+     */
+    List<ApplicationSummary> getApplicationSummariesForACertainPeriodAndStates(DateMidnight startDate,
+        DateMidnight endDate, List<ApplicationStatus> statuses);
+
+
+    /**
+     * Gets summaries of all {@link Application}s with vacation time between startDate x and endDate y for the given
+     * persons and states.
+     *
+     * @param  startDate {@link DateMidnight}
+     * @param  endDate {@link DateMidnight}
+     * @param  persons  to get the {@link Application}s for
+     * @param  statuses  the {@link Application}s must have one of
+     *
+     * @return  summaries of all {@link Application}s of the given persons with vacation time between startDate x and
+     *          endDate y and with one of the given states, ordered by start date
+     */
+    List<ApplicationSummary> getApplicationSummariesForACertainPeriodAndPersonsAndStates(DateMidnight startDate,
+        DateMidnight endDate, List<Person> persons, List<ApplicationStatus> statuses);
+
+
     /**
      * Get the total hours of overtime reduction for a certain person.
      *
@@ -99,4 +183,14 @@ public interface ApplicationService {
      * @return  the total overtime reduction of a person, never {@code null}
      */
     BigDecimal getTotalOvertimeReductionOfPerson(Person person);
+
+
+    /**
+     * Get the total hours of overtime reduction for several persons at once.
+     *
+     * @param  persons  to get the total hours of overtime reduction for
+     *
+     * @return  the total overtime reduction per person, persons without overtime reduction are not contained
+     */
+    Map<Person, BigDecimal> getTotalOvertimeReductionOfPersons(List<Person> persons);
 }
@@ -12,12 +12,18 @@ import org.springframework.util.Assert;
 import org.synyx.urlaubsverwaltung.core.application.dao.ApplicationDAO;
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 
 import java.math.BigDecimal;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 /**
@@ -57,6 +63,29 @@ class ApplicationServiceImpl implements ApplicationService {
     }
 
 
+    @Override
+    public List<Application> getWaitingApplicationsToRemind(DateMidnight date, int daysBeforeRemind) {
+
+        return applicationDAO.getApplicationsToRemind(ApplicationStatus.WAITING,
+                date.minusDays(daysBeforeRemind).toDate(), date.toDate());
+    }
+
+
+    @Override
+    public void updateRemindDate(List<Application> applications, DateMidnight remindDate) {
+
+        if (applications.isEmpty()) {
+            return;
+        }
+
+        List<Integer> applicationIds = applications.stream().map(Application::getId).collect(Collectors.toList());
+
+        applicationDAO.updateRemindDate(remindDate.toDate(), applicationIds);
+
+        applications.forEach(application -> application.setRemindDate(remindDate));
+    }
+
+
     @Override
     public List<Application> getApplicationsForACertainPeriodAndPerson(DateMidnight startDate, DateMidnight endDate,
         Person person) {
@@ -65,6 +94,31 @@ class ApplicationServiceImpl implements ApplicationService {
     }
 
 
+    @Override
+    public List<Application> getApplicationsForACertainPeriodAndPersons(DateMidnight startDate, DateMidnight endDate,
+        List<Person> persons) {
+
+        if (persons.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return applicationDAO.getApplicationsForACertainTimeAndPersons(startDate.toDate(), endDate.toDate(), persons);
+    }
+
+
+    @Override
+    public List<Application> getApplicationsForACertainPeriodAndPersonsAndStates(DateMidnight startDate,
+        DateMidnight endDate, List<Person> persons, List<ApplicationStatus> statuses) {
+
+        if (persons.isEmpty() || statuses.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return applicationDAO.getApplicationsForACertainTimeAndPersonsAndStates(startDate.toDate(), endDate.toDate(),
+                persons, statuses);
+    }
+
+
     @Override
     public List<Application> getApplicationsForACertainPeriodAndState(DateMidnight startDate, DateMidnight endDate,
         ApplicationStatus status) {
@@ -82,6 +136,32 @@ class ApplicationServiceImpl implements ApplicationService {
     }
 
 
+    @Override
+    public List<ApplicationSummary> getApplicationSummariesForACertainPeriodAndStates(DateMidnight startDate,
+        DateMidnight endDate, List<ApplicationStatus> statuses) {
+
+        if (statuses.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return applicationDAO.getApplicationSummariesForACertainTimeAndStates(startDate.toDate(), endDate.toDate(),
+                statuses);
+    }
+
+
+    @Override
+    public List<ApplicationSummary> getApplicationSummariesForACertainPeriodAndPersonsAndStates(DateMidnight startDate,
+        DateMidnight endDate, List<Person> persons, List<ApplicationStatus> statuses) {
+
+        if (persons.isEmpty() || statuses.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return applicationDAO.getApplicationSummariesForACertainTimeAndPersonsAndStates(startDate.toDate(),
+                endDate.toDate(), persons, statuses);
+    }
+
+
     @Override
     public BigDecimal getTotalOvertimeReductionOfPerson(Person person) {
 
@@ -96,4 +176,24 @@ class ApplicationServiceImpl implements ApplicationService {
 
         return BigDecimal.ZERO;
     }
+
+
+    @Override
+    public Map<Person, BigDecimal> getTotalOvertimeReductionOfPersons(List<Person> persons) {
+
+        Map<Person, BigDecimal> overtimeReductionByPerson = new HashMap<>();
+
+        if (persons.isEmpty()) {
+            return overtimeReductionByPerson;
+        }
+
+        Map<Integer, Person> personsById = persons.stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity(), (first, second) -> first));
+
+        for (Object[] row : applicationDAO.calculateTotalOvertimeOfPersons(persons)) {
+            overtimeReductionByPerson.put(personsById.get((Integer) row[0]), (BigDecimal) row[1]);
+        }
+
+        return overtimeReductionByPerson;
+    }
 }
@@ -1,29 +1,52 @@
 package org.synyx.urlaubsverwaltung.core.application.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 
 import org.springframework.stereotype.Service;
 
 import org.synyx.urlaubsverwaltung.core.application.dao.VacationTypeDAO;
 import org.synyx.urlaubsverwaltung.core.application.domain.VacationType;
+import org.synyx.urlaubsverwaltung.core.util.ExpiringCache;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 
+/**
+ * Implementation for {@link VacationTypeService}.
+ *
+ * <p>The vacation types are cached in memory for the configured time to live, the number of cache hits and misses is
+ * exposed as actuator metrics.</p>
+ */
 @Service
-public class VacationTypeServiceImpl implements VacationTypeService {
+public class VacationTypeServiceImpl implements VacationTypeService, PublicMetrics {
 
     private final VacationTypeDAO vacationTypeDAO;
+    private final ExpiringCache<Class<VacationType>, List<VacationType>> cache;
 
     @Autowired
-    public VacationTypeServiceImpl(VacationTypeDAO vacationTypeDAO) {
+    public VacationTypeServiceImpl(VacationTypeDAO vacationTypeDAO,
+        @Value("${uv.referencedata.cache.timeToLive}") long timeToLiveInSeconds) {
 
         this.vacationTypeDAO = vacationTypeDAO;
+        this.cache = new ExpiringCache<>("vacationtypes", timeToLiveInSeconds);
     }
 
     @Override
     public List<VacationType> getVacationTypes() {
 
-        return this.vacationTypeDAO.findAll();
+        return cache.get(VacationType.class, type -> Collections.unmodifiableList(vacationTypeDAO.findAll()));
+    }
+
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+
+        return cache.metrics();
     }
 }
@@ -2,9 +2,9 @@
 package org.synyx.urlaubsverwaltung.core.cron;
 
 import org.apache.log4j.Logger;
+
 import org.joda.time.DateMidnight;
 
-import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,16 +12,14 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
-import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.core.mail.MailService;
+import org.synyx.urlaubsverwaltung.core.settings.AbsenceSettings;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteService;
 
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 
 /**
@@ -66,56 +64,25 @@ public class CronMailService {
     @Scheduled(cron = "${uv.cron.daysBeforeWaitingApplicationsReminderNotification}")
     public void sendWaitingApplicationsReminderNotification() {
 
-        boolean isRemindForWaitingApplicationsActive =
-                settingsService.getSettings().getAbsenceSettings().getRemindForWaitingApplications();
+        AbsenceSettings absenceSettings = settingsService.getSettings().getAbsenceSettings();
 
-        if (isRemindForWaitingApplicationsActive) {
-            List<Application> allWaitingApplications =
-                    applicationService.getApplicationsForACertainState(ApplicationStatus.WAITING);
+        if (absenceSettings.getRemindForWaitingApplications()) {
+            DateMidnight today = DateMidnight.now();
 
-            List<Application> longWaitingApplications = allWaitingApplications.stream()
-                    .filter(isLongWaitingApplications())
-                    .collect(Collectors.toList());
+            List<Application> longWaitingApplications = applicationService.getWaitingApplicationsToRemind(today,
+                    absenceSettings.getDaysBeforeRemindForWaitingApplications());
 
             if (!longWaitingApplications.isEmpty()) {
                 LOG.info(String.format("%d long waiting applications found. Sending Notification...", longWaitingApplications.size()));
 
                 mailService.sendRemindForWaitingApplicationsReminderNotification(longWaitingApplications);
 
-                for (Application longWaitingApplication : longWaitingApplications) {
-                    longWaitingApplication.setRemindDate(DateMidnight.now());
-                    applicationService.save(longWaitingApplication);
-                }
+                applicationService.updateRemindDate(longWaitingApplications, today);
 
                 LOG.info("Sending Notification for waiting applications finished.");
             } else {
                 LOG.info("No long waiting application found.");
             }
-
         }
-
-    }
-
-    private Predicate<Application> isLongWaitingApplications() {
-        return application -> {
-
-            DateMidnight remindDate = application.getRemindDate();
-            if (remindDate == null) {
-                Integer daysBeforeRemindForWaitingApplications =
-                        settingsService.getSettings().getAbsenceSettings().getDaysBeforeRemindForWaitingApplications();
-
-                // never reminded before
-                DateMidnight minDateForNotification = application.getApplicationDate()
-                        .plusDays(daysBeforeRemindForWaitingApplications);
-
-                // true -> remind!
-                // false -> to early for notification
-                return minDateForNotification.isBeforeNow();
-            } else {
-                // true -> not reminded today
-                // false -> already reminded today
-                return !remindDate.isEqual(DateMidnight.now());
-            }
-        };
     }
 }
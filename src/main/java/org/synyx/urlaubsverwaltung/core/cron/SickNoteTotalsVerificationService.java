@@ -0,0 +1,42 @@
+package org.synyx.urlaubsverwaltung.core.cron;
+
+import org.apache.log4j.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import org.springframework.stereotype.Service;
+
+import org.synyx.urlaubsverwaltung.core.sicknote.statistics.SickNoteStatisticsService;
+
+
+/**
+ * Is to be scheduled every night: verifies the stored sick note totals of every year against the sick notes and
+ * repairs them if they differ. Each year is verified within a transaction of its own.
+ */
+@Service
+public class SickNoteTotalsVerificationService {
+
+    private static final Logger LOG = Logger.getLogger(SickNoteTotalsVerificationService.class);
+
+    private final SickNoteStatisticsService sickNoteStatisticsService;
+
+    @Autowired
+    public SickNoteTotalsVerificationService(SickNoteStatisticsService sickNoteStatisticsService) {
+
+        this.sickNoteStatisticsService = sickNoteStatisticsService;
+    }
+
+    @Scheduled(cron = "${uv.cron.verifySickNoteTotals}")
+    void verifySickNoteTotals() {
+
+        LOG.info("Starting verification of sick note totals.");
+
+        for (Integer year : sickNoteStatisticsService.getYearsOfTotals()) {
+            sickNoteStatisticsService.recalculateStatistics(year);
+        }
+
+        LOG.info("Verification of sick note totals finished.");
+    }
+}
@@ -1,4 +1,3 @@
-
 package org.synyx.urlaubsverwaltung.core.cron;
 
 import org.apache.log4j.Logger;
@@ -6,26 +5,42 @@ import org.apache.log4j.Logger;
 import org.joda.time.DateMidnight;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.dao.DataIntegrityViolationException;
 
 import org.springframework.scheduling.annotation.Scheduled;
 
 import org.springframework.stereotype.Service;
 
 import org.synyx.urlaubsverwaltung.core.account.domain.Account;
-import org.synyx.urlaubsverwaltung.core.account.service.AccountInteractionService;
-import org.synyx.urlaubsverwaltung.core.account.service.AccountService;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOver;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOverJob;
+import org.synyx.urlaubsverwaltung.core.account.service.AccountRollOverService;
 import org.synyx.urlaubsverwaltung.core.mail.MailService;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.person.PersonService;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 
 /**
  * Is to be scheduled every turn of the year: calculates the remaining vacation days for the new year.
  *
+ * <p>The persons are processed ordered by id in chunks on a bounded pool of workers, each chunk within its own
+ * transaction. After each chunk a checkpoint is recorded, so an interrupted update is resumed after the last
+ * checkpoint and the holidays accounts are never updated twice. The job is renewed before each chunk is processed, so
+ * it is not taken over by another application node while it is alive. A dry run calculates and logs the changes of the
+ * remaining vacation days without saving anything.</p>
+ *
  * @author  Aljona Murygina - murygina@synyx.de
  */
 @Service
@@ -34,51 +49,203 @@ public class TurnOfTheYearAccountUpdaterService {
     private static final Logger LOG = Logger.getLogger(TurnOfTheYearAccountUpdaterService.class);
 
     private final PersonService personService;
-    private final AccountService accountService;
-    private final AccountInteractionService accountInteractionService;
+    private final AccountRollOverService accountRollOverService;
     private final MailService mailService;
+    private final int chunkSize;
+    private final int threads;
+    private final boolean dryRun;
 
     @Autowired
-    public TurnOfTheYearAccountUpdaterService(PersonService personService, AccountService accountService,
-        AccountInteractionService accountInteractionService, MailService mailService) {
+    public TurnOfTheYearAccountUpdaterService(PersonService personService,
+        AccountRollOverService accountRollOverService, MailService mailService,
+        @Value("${uv.cron.updateHolidaysAccounts.chunkSize}") int chunkSize,
+        @Value("${uv.cron.updateHolidaysAccounts.threads}") int threads,
+        @Value("${uv.cron.updateHolidaysAccounts.dryRun}") boolean dryRun) {
 
         this.personService = personService;
-        this.accountService = accountService;
-        this.accountInteractionService = accountInteractionService;
+        this.accountRollOverService = accountRollOverService;
         this.mailService = mailService;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.dryRun = dryRun;
     }
 
     @Scheduled(cron = "${uv.cron.updateHolidaysAccounts}")
     void updateHolidaysAccounts() {
 
-        LOG.info("Starting update of holidays accounts to calculate the remaining vacation days.");
-
         // what's the new year?
         int year = DateMidnight.now().getYear();
 
-        // get all persons
-        List<Person> persons = personService.getActivePersons();
+        if (dryRun) {
+            dryRun(year);
 
-        List<Account> updatedAccounts = new ArrayList<>();
+            return;
+        }
+
+        Optional<AccountRollOverJob> job;
 
-        // get all their accounts and calculate the remaining vacation days for the new year
-        for (Person person : persons) {
-            LOG.info("Updating account of " + person.getLoginName());
+        try {
+            job = accountRollOverService.startJob(year);
+        } catch (DataIntegrityViolationException ex) {
+            LOG.info("Update of holidays accounts for " + year + " has been started by another node.");
+
+            return;
+        }
+
+        if (job.isPresent()) {
+            updateHolidaysAccounts(job.get());
+        } else {
+            LOG.info("Holidays accounts for " + year + " are already updated, do nothing.");
+        }
+    }
+
+
+    @Scheduled(cron = "${uv.cron.resumeHolidaysAccountsUpdate}")
+    void resumeHolidaysAccountsUpdate() {
+
+        if (!dryRun) {
+            accountRollOverService.resumeJob(DateMidnight.now().getYear()).ifPresent(this::updateHolidaysAccounts);
+        }
+    }
 
-            Optional<Account> accountLastYear = accountService.getHolidaysAccount(year - 1, person);
 
-            if (accountLastYear.isPresent() && accountLastYear.get().getAnnualVacationDays() != null) {
-                Account holidaysAccount = accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(
-                        accountLastYear.get());
+    /**
+     * Calculates the changes of the remaining vacation days for the given new year without saving anything.
+     *
+     * @param  year  the new year
+     *
+     * @return  the changes of the remaining vacation days
+     */
+    List<AccountRollOver> dryRun(int year) {
 
-                LOG.info("Setting remaining vacation days of " + person.getLoginName() + " to "
-                    + holidaysAccount.getRemainingVacationDays() + " for " + year);
+        LOG.info("Starting dry run of update of holidays accounts for " + year);
 
-                updatedAccounts.add(holidaysAccount);
+        List<AccountRollOver> rollOvers = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            for (CompletableFuture<ProcessedChunk> chunk :
+                    rollOver(year, getActivePersons(null), Optional.empty(), executor)) {
+                rollOvers.addAll(chunk.join().getRollOvers());
             }
+        } finally {
+            executor.shutdownNow();
         }
 
-        LOG.info("Successfully updated holidays accounts: " + updatedAccounts.size() + "/" + persons.size());
+        rollOvers.forEach(rollOver -> LOG.info("Dry run: " + rollOver));
+
+        LOG.info("Dry run of update of holidays accounts for " + year + " finished: " + rollOvers.size()
+            + " holidays accounts would be updated");
+
+        return rollOvers;
+    }
+
+
+    private void updateHolidaysAccounts(AccountRollOverJob startedJob) {
+
+        AccountRollOverJob job = startedJob;
+        int year = job.getYear();
+
+        List<Person> persons = getActivePersons(job.getLastPersonId());
+
+        LOG.info("Starting update of holidays accounts for " + year + " to calculate the remaining vacation days of "
+            + persons.size() + " persons.");
+
+        List<Account> updatedAccounts = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            // the chunks are joined in the order of the persons, so all persons before a checkpoint are processed
+            for (CompletableFuture<ProcessedChunk> future :
+                    rollOver(year, persons, Optional.of(startedJob), executor)) {
+                ProcessedChunk chunk = future.join();
+
+                chunk.getRollOvers().forEach(rollOver -> rollOver.getAccount().ifPresent(updatedAccounts::add));
+
+                job = accountRollOverService.checkpoint(job, chunk.getLastPersonId(), chunk.getRollOvers().size());
+            }
+        } catch (CompletionException ex) {
+            LOG.error("Update of holidays accounts for " + year + " failed, it is resumed after the last checkpoint: "
+                + job, ex.getCause());
+
+            accountRollOverService.failJob(job);
+
+            return;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        job = accountRollOverService.completeJob(job);
+
+        LOG.info("Successfully updated " + job.getUpdatedAccounts() + " holidays accounts for " + year);
         mailService.sendSuccessfullyUpdatedAccountsNotification(updatedAccounts);
     }
+
+
+    /**
+     * @return  the active persons with an id greater than the given one ordered by id
+     */
+    private List<Person> getActivePersons(Integer lastPersonId) {
+
+        return personService.getActivePersons()
+            .stream()
+            .filter(person -> lastPersonId == null || person.getId() > lastPersonId)
+            .sorted(Comparator.comparing(Person::getId))
+            .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Submits the update of the holidays accounts of the given persons in chunks to the given executor.
+     *
+     * @param  job  the running job to renew before each chunk, empty for a dry run
+     *
+     * @return  the processed chunks in the order of the persons
+     */
+    private List<CompletableFuture<ProcessedChunk>> rollOver(int year, List<Person> persons,
+        Optional<AccountRollOverJob> job, ExecutorService executor) {
+
+        List<CompletableFuture<ProcessedChunk>> chunks = new ArrayList<>();
+
+        for (int from = 0; from < persons.size(); from += chunkSize) {
+            List<Person> chunk = persons.subList(from, Math.min(from + chunkSize, persons.size()));
+
+            chunks.add(CompletableFuture.supplyAsync(() -> {
+                        job.ifPresent(accountRollOverService::renewJob);
+
+                        return new ProcessedChunk(chunk,
+                                accountRollOverService.rollOver(year, chunk, !job.isPresent()));
+                    }, executor));
+        }
+
+        return chunks;
+    }
+
+    /**
+     * The changes of the holidays accounts of a chunk of persons.
+     */
+    private static final class ProcessedChunk {
+
+        private final List<Person> persons;
+        private final List<AccountRollOver> rollOvers;
+
+        ProcessedChunk(List<Person> persons, List<AccountRollOver> rollOvers) {
+
+            this.persons = persons;
+            this.rollOvers = rollOvers;
+        }
+
+        int getLastPersonId() {
+
+            return persons.get(persons.size() - 1).getId();
+        }
+
+
+        List<AccountRollOver> getRollOvers() {
+
+            return rollOvers;
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package org.synyx.urlaubsverwaltung.core.cron;
+
+import org.apache.log4j.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import org.springframework.stereotype.Service;
+
+import org.synyx.urlaubsverwaltung.core.account.service.UsedVacationDaysService;
+
+
+/**
+ * Is to be scheduled every night: verifies the stored used vacation days of every year against the applications for
+ * leave and repairs them if they differ. Each year is verified within a transaction of its own.
+ */
+@Service
+public class UsedVacationDaysVerificationService {
+
+    private static final Logger LOG = Logger.getLogger(UsedVacationDaysVerificationService.class);
+
+    private final UsedVacationDaysService usedVacationDaysService;
+
+    @Autowired
+    public UsedVacationDaysVerificationService(UsedVacationDaysService usedVacationDaysService) {
+
+        this.usedVacationDaysService = usedVacationDaysService;
+    }
+
+    @Scheduled(cron = "${uv.cron.verifyUsedVacationDays}")
+    void verifyUsedVacationDays() {
+
+        LOG.info("Starting verification of used vacation days.");
+
+        int corrected = 0;
+
+        for (Integer year : usedVacationDaysService.getYearsOfUsedVacationDays()) {
+            corrected += usedVacationDaysService.verifyUsedVacationDays(year);
+        }
+
+        LOG.info("Verification of used vacation days finished, corrected: " + corrected);
+    }
+}
@@ -3,8 +3,8 @@ package org.synyx.urlaubsverwaltung.core.department;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
-import org.hibernate.annotations.LazyCollection;
-import org.hibernate.annotations.LazyCollectionOption;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import org.joda.time.DateTime;
 
@@ -23,6 +23,8 @@ import javax.persistence.CollectionTable;
 import javax.persistence.Column;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 
@@ -30,12 +32,22 @@ import javax.persistence.TemporalType;
 /**
  * Department represents an organisation unit of a company.
  *
+ * <p>The members, department heads and second stage authorities are loaded lazily, the collections of all departments
+ * loaded by the same query are initialized at once. Use cases that need the members of a department up front load the
+ * department with the entity graph {@value #WITH_MEMBERS}.</p>
+ *
  * @author  Daniel Hammann - <hammann@synyx.de>
  */
 
 @Entity
+@NamedEntityGraph(name = Department.WITH_MEMBERS, attributeNodes = @NamedAttributeNode("members"))
 public class Department extends AbstractPersistable<Integer> {
 
+    /**
+     * Name of the entity graph fetching the members of a department.
+     */
+    public static final String WITH_MEMBERS = "Department.members";
+
     @Column(nullable = false)
     private String name;
 
@@ -49,17 +61,17 @@ public class Department extends AbstractPersistable<Integer> {
 
     @CollectionTable(name = "Department_Member")
     @ElementCollection
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Person> members = new ArrayList<>();
 
     @CollectionTable(name = "Department_DepartmentHead")
     @ElementCollection
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Person> departmentHeads = new ArrayList<>();
 
     @CollectionTable(name = "Department_SecondStageAuthority")
     @ElementCollection
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Person> secondStageAuthorities = new ArrayList<>();
 
     public Department() {
@@ -1,8 +1,10 @@
 package org.synyx.urlaubsverwaltung.core.department;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import org.synyx.urlaubsverwaltung.core.person.MailNotification;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 
 import java.util.List;
@@ -15,6 +17,19 @@ import java.util.List;
  */
 public interface DepartmentDAO extends JpaRepository<Department, Integer> {
 
+    @EntityGraph(Department.WITH_MEMBERS)
+    Department findFirstByName(String name);
+
+
+    @Query(
+        "SELECT new org.synyx.urlaubsverwaltung.core.department.DepartmentSummary(d.id, d.name, d.description, "
+        + "d.lastModification, d.twoStageApproval, COUNT(departmentMember)) FROM Department d "
+        + "LEFT JOIN d.members departmentMember "
+        + "GROUP BY d.id, d.name, d.description, d.lastModification, d.twoStageApproval ORDER BY d.name"
+    )
+    List<DepartmentSummary> getDepartmentSummaries();
+
+
     @Query("SELECT d FROM Department d, in (d.departmentHeads) person WHERE person = ?1")
     List<Department> getManagedDepartments(Person person);
 
@@ -25,4 +40,66 @@ public interface DepartmentDAO extends JpaRepository<Department, Integer> {
 
     @Query("SELECT d FROM Department d, in (d.members) person WHERE person = ?1")
     List<Department> getAssignedDepartments(Person person);
+
+
+    @Query(
+        "SELECT DISTINCT departmentMember FROM Department d JOIN d.members assigned JOIN d.members departmentMember "
+        + "WHERE assigned = ?1"
+    )
+    List<Person> getMembersOfAssignedDepartments(Person person);
+
+
+    @Query(
+        "SELECT DISTINCT departmentMember FROM Department d JOIN d.departmentHeads head "
+        + "JOIN d.members departmentMember WHERE head = ?1"
+    )
+    List<Person> getMembersOfManagedDepartments(Person departmentHead);
+
+
+    @Query(
+        "SELECT DISTINCT departmentMember FROM Department d JOIN d.secondStageAuthorities authority "
+        + "JOIN d.members departmentMember WHERE authority = ?1"
+    )
+    List<Person> getMembersOfDepartmentsForSecondStageAuthority(Person secondStageAuthority);
+
+
+    /**
+     * @return  pairs of the ids of a department head and of a member of a department managed by the department
+     *          head
+     */
+    @Query(
+        "SELECT head.id, departmentMember.id FROM Department d JOIN d.departmentHeads head "
+        + "JOIN d.members departmentMember"
+    )
+    List<Object[]> getDepartmentHeadAndMemberIds();
+
+
+    /**
+     * @return  pairs of the ids of a second stage authority and of a member of a department the authority is
+     *          responsible for
+     */
+    @Query(
+        "SELECT authority.id, departmentMember.id FROM Department d JOIN d.secondStageAuthorities authority "
+        + "JOIN d.members departmentMember"
+    )
+    List<Object[]> getSecondStageAuthorityAndMemberIds();
+
+
+    @Query(
+        "SELECT DISTINCT head FROM Department d JOIN d.members departmentMember JOIN d.departmentHeads head "
+        + "JOIN head.permissions permission JOIN head.notifications notification "
+        + "WHERE departmentMember = ?1 AND head <> ?1 AND permission = 'DEPARTMENT_HEAD' AND notification = ?2 "
+        + "AND head NOT IN (SELECT p FROM Person p JOIN p.permissions role WHERE role = 'INACTIVE')"
+    )
+    List<Person> getDepartmentHeadsOfMember(Person member, MailNotification notification);
+
+
+    @Query(
+        "SELECT DISTINCT authority FROM Department d JOIN d.members departmentMember "
+        + "JOIN d.secondStageAuthorities authority JOIN authority.permissions permission "
+        + "JOIN authority.notifications notification WHERE departmentMember = ?1 AND authority <> ?1 "
+        + "AND permission = 'SECOND_STAGE_AUTHORITY' AND notification = ?2 "
+        + "AND authority NOT IN (SELECT p FROM Person p JOIN p.permissions role WHERE role = 'INACTIVE')"
+    )
+    List<Person> getSecondStageAuthoritiesOfMember(Person member, MailNotification notification);
 }
@@ -0,0 +1,88 @@
+package org.synyx.urlaubsverwaltung.core.department;
+
+import org.synyx.urlaubsverwaltung.core.person.Person;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Immutable snapshot of the relations between persons and departments, used to check if a person is responsible for
+ * another person without accessing the database.
+ *
+ * <p>The persons are identified by their ids, the members managed by a person are kept as bit set of member ids.</p>
+ */
+final class DepartmentGraph {
+
+    private final Map<Integer, BitSet> membersByDepartmentHead;
+    private final Map<Integer, BitSet> membersBySecondStageAuthority;
+
+    private DepartmentGraph(Map<Integer, BitSet> membersByDepartmentHead,
+        Map<Integer, BitSet> membersBySecondStageAuthority) {
+
+        this.membersByDepartmentHead = Collections.unmodifiableMap(membersByDepartmentHead);
+        this.membersBySecondStageAuthority = Collections.unmodifiableMap(membersBySecondStageAuthority);
+    }
+
+    /**
+     * Builds the graph of the given relations.
+     *
+     * @param  departmentHeadAndMemberIds  pairs of the ids of a department head and a member of a managed department
+     * @param  secondStageAuthorityAndMemberIds  pairs of the ids of a second stage authority and a member of a
+     *                                           department the authority is responsible for
+     *
+     * @return  the graph of the given relations
+     */
+    static DepartmentGraph of(List<Object[]> departmentHeadAndMemberIds,
+        List<Object[]> secondStageAuthorityAndMemberIds) {
+
+        return new DepartmentGraph(toMembersByResponsible(departmentHeadAndMemberIds),
+                toMembersByResponsible(secondStageAuthorityAndMemberIds));
+    }
+
+
+    private static Map<Integer, BitSet> toMembersByResponsible(List<Object[]> responsibleAndMemberIds) {
+
+        Map<Integer, BitSet> membersByResponsible = new HashMap<>();
+
+        for (Object[] ids : responsibleAndMemberIds) {
+            membersByResponsible.computeIfAbsent((Integer) ids[0], id -> new BitSet()).set((Integer) ids[1]);
+        }
+
+        return membersByResponsible;
+    }
+
+
+    /**
+     * @return  {@code true} if the given person is member of a department the given department head manages
+     */
+    boolean isDepartmentHeadOfPerson(Person departmentHead, Person person) {
+
+        return isMember(membersByDepartmentHead, departmentHead, person);
+    }
+
+
+    /**
+     * @return  {@code true} if the given person is member of a department the given second stage authority is
+     *          responsible for
+     */
+    boolean isSecondStageAuthorityOfPerson(Person secondStageAuthority, Person person) {
+
+        return isMember(membersBySecondStageAuthority, secondStageAuthority, person);
+    }
+
+
+    private static boolean isMember(Map<Integer, BitSet> membersByResponsible, Person responsible, Person person) {
+
+        if (responsible.getId() == null || person.getId() == null) {
+            return false;
+        }
+
+        BitSet members = membersByResponsible.get(responsible.getId());
+
+        return members != null && members.get(person.getId());
+    }
+}
@@ -3,6 +3,8 @@ package org.synyx.urlaubsverwaltung.core.department;
 import org.joda.time.DateMidnight;
 
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
+import org.synyx.urlaubsverwaltung.core.person.MailNotification;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 
 import java.util.List;
@@ -25,6 +27,16 @@ public interface DepartmentService {
     Optional<Department> getDepartmentById(Integer departmentId);
 
 
+    /**
+     * Finds the department with the given name, the members of the department are loaded at once.
+     *
+     * @param  name  of the department
+     *
+     * @return  the department with the given name, if there is more than one the first one
+     */
+    Optional<Department> getDepartmentByName(String name);
+
+
     /**
      * adds the given department to repository.
      *
@@ -55,6 +67,13 @@ public interface DepartmentService {
     List<Department> getAllDepartments();
 
 
+    /**
+     * @return  summaries of all departments of the application ordered by name, containing the number of members
+     *          instead of the members
+     */
+    List<DepartmentSummary> getDepartmentSummaries();
+
+
     /**
      * Finds all departments the given person is member of.
      *
@@ -93,12 +112,27 @@ public interface DepartmentService {
      * @param  startDate  of the period
      * @param  endDate  of the period
      *
-     * @return  list of waiting or allowed applications for leave of departments members
+     * @return  list of waiting or allowed applications for leave of departments members, ordered by start date
      */
     List<Application> getApplicationsForLeaveOfMembersInDepartmentsOfPerson(Person member, DateMidnight startDate,
         DateMidnight endDate);
 
 
+    /**
+     * Get summaries of all active (waiting or allowed) applications for leave of the members of the departments of
+     * the given person for the provided period.
+     *
+     * @param  member  to get the departments of
+     * @param  startDate  of the period
+     * @param  endDate  of the period
+     *
+     * @return  list of summaries of waiting or allowed applications for leave of departments members, ordered by
+     *          start date
+     */
+    List<ApplicationSummary> getApplicationSummariesOfMembersInDepartmentsOfPerson(Person member,
+        DateMidnight startDate, DateMidnight endDate);
+
+
     /**
      * Get all members (including the given person) of the departments where the given person is the department head.
      *
@@ -143,4 +177,28 @@ public interface DepartmentService {
      *          assigned to, else {@code false}
      */
     boolean isSecondStageAuthorityOfPerson(Person secondStageAuthority, Person person);
+
+
+    /**
+     * Get the active department heads of the departments the given person is assigned to, that have the given mail
+     * notification type.
+     *
+     * @param  person  to get the department heads of
+     * @param  notification  the department heads must have
+     *
+     * @return  the unique department heads of the given person, never containing the given person itself
+     */
+    List<Person> getDepartmentHeadsOfPerson(Person person, MailNotification notification);
+
+
+    /**
+     * Get the active second stage authorities of the departments the given person is assigned to, that have the given
+     * mail notification type.
+     *
+     * @param  person  to get the second stage authorities of
+     * @param  notification  the second stage authorities must have
+     *
+     * @return  the unique second stage authorities of the given person, never containing the given person itself
+     */
+    List<Person> getSecondStageAuthoritiesOfPerson(Person person, MailNotification notification);
 }
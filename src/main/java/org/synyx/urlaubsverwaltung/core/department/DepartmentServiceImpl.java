@@ -6,42 +6,68 @@ import org.joda.time.DateMidnight;
 import org.joda.time.DateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 
 import org.springframework.stereotype.Service;
 
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.core.person.MailNotification;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.person.Role;
+import org.synyx.urlaubsverwaltung.core.util.ExpiringCache;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 
 /**
  * Implementation for {@link DepartmentService}.
  *
+ * <p>Whether a person is department head or second stage authority of another person is checked using an in-memory
+ * {@link DepartmentGraph} of all departments, that is rebuilt after a department has been created, updated or
+ * deleted and reloaded after the configured time to live to take changes of other application nodes into account. The
+ * number of cache hits and misses is exposed as actuator metrics. The members of departments are selected by queries
+ * per use case, so that the lazy member collections of the departments do not need to be loaded.</p>
+ *
  * @author  Daniel Hammann - <hammann@synyx.de>
  * @author  Aljona Murygina - <murygina@synyx.de>
  */
 @Service
-public class DepartmentServiceImpl implements DepartmentService {
+public class DepartmentServiceImpl implements DepartmentService, PublicMetrics {
 
     private static final Logger LOG = Logger.getLogger(DepartmentServiceImpl.class);
 
+    /**
+     * Applications for leave of department members with one of these states are relevant for the other members.
+     */
+    private static final List<ApplicationStatus> DEPARTMENT_APPLICATION_STATUSES = Arrays.asList(
+            ApplicationStatus.ALLOWED, ApplicationStatus.TEMPORARY_ALLOWED, ApplicationStatus.WAITING);
+
     private final DepartmentDAO departmentDAO;
     private final ApplicationService applicationService;
 
+    /**
+     * Relations between persons and departments, rebuilt on next access after a department has been changed.
+     */
+    private final ExpiringCache<Class<DepartmentGraph>, DepartmentGraph> departmentGraphCache;
+
     @Autowired
-    public DepartmentServiceImpl(DepartmentDAO departmentDAO, ApplicationService applicationService) {
+    public DepartmentServiceImpl(DepartmentDAO departmentDAO, ApplicationService applicationService,
+        @Value("${uv.department.cache.timeToLive}") long timeToLiveInSeconds) {
 
         this.departmentDAO = departmentDAO;
         this.applicationService = applicationService;
+        this.departmentGraphCache = new ExpiringCache<>("departmentgraph", timeToLiveInSeconds);
     }
 
     @Override
@@ -55,6 +81,7 @@ public class DepartmentServiceImpl implements DepartmentService {
     public void create(Department department) {
 
         departmentDAO.save(department);
+        invalidateDepartmentGraph();
 
         LOG.info("Created department: " + department.toString());
     }
@@ -66,6 +93,7 @@ public class DepartmentServiceImpl implements DepartmentService {
         department.setLastModification(DateTime.now());
 
         departmentDAO.save(department);
+        invalidateDepartmentGraph();
 
         LOG.info("Updated department: " + department.toString());
     }
@@ -78,10 +106,18 @@ public class DepartmentServiceImpl implements DepartmentService {
             LOG.info("No department found for ID = " + departmentId + ", deletion is not necessary.");
         } else {
             departmentDAO.delete(departmentId);
+            invalidateDepartmentGraph();
         }
     }
 
 
+    @Override
+    public Optional<Department> getDepartmentByName(String name) {
+
+        return Optional.ofNullable(departmentDAO.findFirstByName(name));
+    }
+
+
     @Override
     public List<Department> getAllDepartments() {
 
@@ -89,6 +125,13 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
 
+    @Override
+    public List<DepartmentSummary> getDepartmentSummaries() {
+
+        return departmentDAO.getDepartmentSummaries();
+    }
+
+
     @Override
     public List<Department> getAssignedDepartmentsOfMember(Person member) {
 
@@ -114,96 +157,102 @@ public class DepartmentServiceImpl implements DepartmentService {
     public List<Application> getApplicationsForLeaveOfMembersInDepartmentsOfPerson(Person member,
         DateMidnight startDate, DateMidnight endDate) {
 
-        List<Person> departmentMembers = getMembersOfAssignedDepartments(member);
-        List<Application> departmentApplications = new ArrayList<>();
+        List<Person> departmentMembers = getOtherMembersOfAssignedDepartments(member);
 
-        departmentMembers.stream()
-            .filter(departmentMember -> !departmentMember.equals(member))
-            .forEach(departmentMember ->
-                    departmentApplications.addAll(
-                        applicationService.getApplicationsForACertainPeriodAndPerson(startDate, endDate,
-                                departmentMember)
-                            .stream()
-                            .filter(application ->
-                                        application.hasStatus(ApplicationStatus.ALLOWED)
-                                        || application.hasStatus(ApplicationStatus.TEMPORARY_ALLOWED)
-                                        || application.hasStatus(ApplicationStatus.WAITING))
-                            .collect(Collectors.toList())));
+        if (departmentMembers.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-        return departmentApplications;
+        return applicationService.getApplicationsForACertainPeriodAndPersonsAndStates(startDate, endDate,
+                departmentMembers, DEPARTMENT_APPLICATION_STATUSES);
     }
 
 
-    private List<Person> getMembersOfAssignedDepartments(Person member) {
+    @Override
+    public List<ApplicationSummary> getApplicationSummariesOfMembersInDepartmentsOfPerson(Person member,
+        DateMidnight startDate, DateMidnight endDate) {
 
-        Set<Person> relevantPersons = new HashSet<>();
-        List<Department> departments = getAssignedDepartmentsOfMember(member);
+        List<Person> departmentMembers = getOtherMembersOfAssignedDepartments(member);
 
-        for (Department department : departments) {
-            List<Person> members = department.getMembers();
-            relevantPersons.addAll(members);
+        if (departmentMembers.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return new ArrayList<>(relevantPersons);
+        return applicationService.getApplicationSummariesForACertainPeriodAndPersonsAndStates(startDate, endDate,
+                departmentMembers, DEPARTMENT_APPLICATION_STATUSES);
+    }
+
+
+    private List<Person> getOtherMembersOfAssignedDepartments(Person member) {
+
+        List<Person> departmentMembers = new ArrayList<>(departmentDAO.getMembersOfAssignedDepartments(member));
+        departmentMembers.remove(member);
+
+        return departmentMembers;
     }
 
 
     @Override
     public List<Person> getManagedMembersOfDepartmentHead(Person departmentHead) {
 
-        Set<Person> relevantPersons = new HashSet<>();
-        List<Department> departments = getManagedDepartmentsOfDepartmentHead(departmentHead);
+        return departmentDAO.getMembersOfManagedDepartments(departmentHead);
+    }
 
-        for (Department department : departments) {
-            List<Person> members = department.getMembers();
-            relevantPersons.addAll(members);
-        }
 
-        return new ArrayList<>(relevantPersons);
+    @Override
+    public List<Person> getMembersForSecondStageAuthority(Person secondStageAuthority) {
+
+        return departmentDAO.getMembersOfDepartmentsForSecondStageAuthority(secondStageAuthority);
     }
 
 
     @Override
-    public List<Person> getMembersForSecondStageAuthority(Person secondStageAuthority) {
+    public boolean isDepartmentHeadOfPerson(Person departmentHead, Person person) {
+
+        return departmentHead.hasRole(Role.DEPARTMENT_HEAD)
+            && getDepartmentGraph().isDepartmentHeadOfPerson(departmentHead, person);
+    }
 
-        Set<Person> relevantPersons = new HashSet<>();
-        List<Department> departments = getManagedDepartmentsOfSecondStageAuthority(secondStageAuthority);
 
-        for (Department department : departments) {
-            List<Person> members = department.getMembers();
-            relevantPersons.addAll(members);
-        }
+    @Override
+    public boolean isSecondStageAuthorityOfPerson(Person secondStageAuthority, Person person) {
 
-        return new ArrayList<>(relevantPersons);
+        return secondStageAuthority.hasRole(Role.SECOND_STAGE_AUTHORITY)
+            && getDepartmentGraph().isSecondStageAuthorityOfPerson(secondStageAuthority, person);
     }
 
 
     @Override
-    public boolean isDepartmentHeadOfPerson(Person departmentHead, Person person) {
+    public List<Person> getDepartmentHeadsOfPerson(Person person, MailNotification notification) {
 
-        if (departmentHead.hasRole(Role.DEPARTMENT_HEAD)) {
-            List<Person> members = getManagedMembersOfDepartmentHead(departmentHead);
+        return departmentDAO.getDepartmentHeadsOfMember(person, notification);
+    }
 
-            if (members.contains(person)) {
-                return true;
-            }
-        }
 
-        return false;
+    @Override
+    public List<Person> getSecondStageAuthoritiesOfPerson(Person person, MailNotification notification) {
+
+        return departmentDAO.getSecondStageAuthoritiesOfMember(person, notification);
     }
 
 
     @Override
-    public boolean isSecondStageAuthorityOfPerson(Person secondStageAuthority, Person person) {
+    public Collection<Metric<?>> metrics() {
 
-        if (secondStageAuthority.hasRole(Role.SECOND_STAGE_AUTHORITY)) {
-            List<Person> members = getMembersForSecondStageAuthority(secondStageAuthority);
+        return departmentGraphCache.metrics();
+    }
 
-            if (members.contains(person)) {
-                return true;
-            }
-        }
 
-        return false;
+    private DepartmentGraph getDepartmentGraph() {
+
+        return departmentGraphCache.get(DepartmentGraph.class,
+                type -> DepartmentGraph.of(departmentDAO.getDepartmentHeadAndMemberIds(),
+                        departmentDAO.getSecondStageAuthorityAndMemberIds()));
+    }
+
+
+    private void invalidateDepartmentGraph() {
+
+        departmentGraphCache.invalidateAll();
     }
 }
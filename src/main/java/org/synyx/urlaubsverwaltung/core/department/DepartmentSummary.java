@@ -0,0 +1,66 @@
+package org.synyx.urlaubsverwaltung.core.department;
+
+import org.joda.time.DateTime;
+
+import java.util.Date;
+
+
+/**
+ * Lightweight, immutable view of a {@link Department} with the number of its members instead of the members
+ * themselves, e.g. for department lists.
+ */
+public final class DepartmentSummary {
+
+    private final Integer id;
+    private final String name;
+    private final String description;
+    private final Date lastModification;
+    private final boolean twoStageApproval;
+    private final long memberCount;
+
+    public DepartmentSummary(Integer id, String name, String description, Date lastModification,
+        boolean twoStageApproval, long memberCount) {
+
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.lastModification = lastModification == null ? null : new Date(lastModification.getTime());
+        this.twoStageApproval = twoStageApproval;
+        this.memberCount = memberCount;
+    }
+
+    public Integer getId() {
+
+        return id;
+    }
+
+
+    public String getName() {
+
+        return name;
+    }
+
+
+    public String getDescription() {
+
+        return description;
+    }
+
+
+    public DateTime getLastModification() {
+
+        return new DateTime(lastModification);
+    }
+
+
+    public boolean isTwoStageApproval() {
+
+        return twoStageApproval;
+    }
+
+
+    public long getMemberCount() {
+
+        return memberCount;
+    }
+}
@@ -2,36 +2,78 @@ package org.synyx.urlaubsverwaltung.core.mail;
 
 import org.apache.commons.lang.CharEncoding;
 
+import org.apache.log4j.Logger;
+
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
 import org.springframework.stereotype.Service;
 
-import org.springframework.ui.velocity.VelocityEngineUtils;
+import org.synyx.urlaubsverwaltung.core.person.Person;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
  * Builds mail content by filling Velocity templates with data.
  *
+ * <p>The templates are parsed once at startup and kept in memory. Mails sent to several recipients are built from a
+ * recipient independent body that is rendered once and a greeting that is rendered per recipient.</p>
+ *
  * @author  Aljona Murygina - murygina@synyx.de
  */
 @Service
 class MailBuilder {
 
+    private static final Logger LOG = Logger.getLogger(MailBuilder.class);
+
     private static final String TEMPLATE_PATH = "/org/synyx/urlaubsverwaltung/core/mail/";
     private static final String TEMPLATE_TYPE = ".vm";
+    private static final String RECIPIENT_GREETING_TEMPLATE = "recipient_greeting";
 
     private final VelocityEngine velocityEngine;
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringWriter> buffers = ThreadLocal.withInitial(StringWriter::new);
 
     @Autowired
     MailBuilder(VelocityEngine velocityEngine) {
 
         this.velocityEngine = velocityEngine;
+
+        loadTemplates();
     }
 
+    private void loadTemplates() {
+
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath*:" + TEMPLATE_PATH
+                    + "*" + TEMPLATE_TYPE);
+
+            for (Resource resource : resources) {
+                String filename = resource.getFilename();
+
+                getTemplate(filename.substring(0, filename.length() - TEMPLATE_TYPE.length()));
+            }
+        } catch (IOException ex) {
+            LOG.warn("Could not load mail templates at startup, they are loaded on first usage", ex);
+        }
+    }
+
+
     /**
      * Build text that can be set as mail body using the given model to fill the template with the given name.
      *
@@ -42,8 +84,83 @@ class MailBuilder {
      */
     String buildMailBody(String templateName, Map<String, Object> model) {
 
-        return VelocityEngineUtils.mergeTemplateIntoString(velocityEngine, getFullyQualifiedTemplateName(templateName),
-                CharEncoding.UTF_8, model);
+        StringWriter writer = getBuffer();
+
+        getTemplate(templateName).merge(new VelocityContext(model), writer);
+
+        return writer.toString();
+    }
+
+
+    /**
+     * Build text that can be set as mail body for the given recipient, the text starts with a greeting of the
+     * recipient followed by the filled template with the given name.
+     *
+     * @param  templateName  of the template to be used, must not refer to the recipient
+     * @param  model  to fill the template
+     * @param  recipient  of the mail
+     *
+     * @return  the text representation of the greeting and the filled template
+     */
+    String buildMailBody(String templateName, Map<String, Object> model, Person recipient) {
+
+        return buildMailBodies(templateName, model, Collections.singletonList(recipient)).get(0);
+    }
+
+
+    /**
+     * Build the mail bodies for the given recipients, every text starts with a greeting of the recipient followed by
+     * the filled template with the given name. The template is filled only once for all recipients.
+     *
+     * @param  templateName  of the template to be used, must not refer to the recipient
+     * @param  model  to fill the template
+     * @param  recipients  of the mail
+     *
+     * @return  the mail bodies in the order of the given recipients
+     */
+    List<String> buildMailBodies(String templateName, Map<String, Object> model, List<Person> recipients) {
+
+        List<String> mailBodies = new ArrayList<>(recipients.size());
+
+        if (recipients.isEmpty()) {
+            return mailBodies;
+        }
+
+        String body = buildMailBody(templateName, model);
+
+        Template greeting = getTemplate(RECIPIENT_GREETING_TEMPLATE);
+        VelocityContext greetingContext = new VelocityContext();
+
+        for (Person recipient : recipients) {
+            StringWriter writer = getBuffer();
+
+            greetingContext.put("recipient", recipient);
+            greeting.merge(greetingContext, writer);
+            writer.write(body);
+
+            mailBodies.add(writer.toString());
+        }
+
+        return mailBodies;
+    }
+
+
+    private Template getTemplate(String templateName) {
+
+        return templates.computeIfAbsent(templateName,
+                name -> velocityEngine.getTemplate(getFullyQualifiedTemplateName(name), CharEncoding.UTF_8));
+    }
+
+
+    /**
+     * @return  the buffer of the current thread, emptied to be reused
+     */
+    private StringWriter getBuffer() {
+
+        StringWriter writer = buffers.get();
+        writer.getBuffer().setLength(0);
+
+        return writer;
     }
 
 
@@ -0,0 +1,313 @@
+package org.synyx.urlaubsverwaltung.core.mail;
+
+import org.apache.log4j.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import org.springframework.data.domain.PageRequest;
+
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import org.springframework.stereotype.Service;
+
+import org.synyx.urlaubsverwaltung.core.settings.MailSettings;
+import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+
+/**
+ * Sends the mails of the outbox in the background.
+ *
+ * <p>Due mails are sent in batches by a bounded pool of workers, every batch is sent using a single SMTP connection.
+ * Mails that could not be sent are retried with exponential back-off, after the configured maximum number of attempts
+ * they are kept as dead letters with status {@link OutgoingMailStatus#FAILED}, their number is exposed as actuator
+ * metric. Mails being sent are leased by postponing their next attempt with a conditional update, so every mail is
+ * sent by one application node only and mails of a crashed worker are sent again after the lease expired.</p>
+ *
+ * <p>Requested dispatches run on a thread of their own, so handing over the mails never waits for a free worker.</p>
+ */
+@Service
+class MailDispatcher implements PublicMetrics {
+
+    private static final Logger LOG = Logger.getLogger(MailDispatcher.class);
+
+    private static final long LEASE_IN_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final int MAX_BACK_OFF_EXPONENT = 16;
+
+    private final OutgoingMailDAO outgoingMailDAO;
+    private final SettingsService settingsService;
+    private final Executor dispatchExecutor;
+    private final Executor executor;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryDelayInMillis;
+
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+
+    @Autowired
+    MailDispatcher(OutgoingMailDAO outgoingMailDAO, SettingsService settingsService,
+        @Value("${uv.mail.outbox.workers}") int workers,
+        @Value("${uv.mail.outbox.batchSize}") int batchSize,
+        @Value("${uv.mail.outbox.maxAttempts}") int maxAttempts,
+        @Value("${uv.mail.outbox.retryDelay}") long retryDelayInSeconds) {
+
+        this(outgoingMailDAO, settingsService, createDispatchExecutor(), createExecutor(workers), workers, batchSize,
+            maxAttempts, retryDelayInSeconds);
+    }
+
+
+    MailDispatcher(OutgoingMailDAO outgoingMailDAO, SettingsService settingsService, Executor dispatchExecutor,
+        Executor executor, int workers, int batchSize, int maxAttempts, long retryDelayInSeconds) {
+
+        this.outgoingMailDAO = outgoingMailDAO;
+        this.settingsService = settingsService;
+        this.dispatchExecutor = dispatchExecutor;
+        this.executor = executor;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayInMillis = TimeUnit.SECONDS.toMillis(retryDelayInSeconds);
+    }
+
+    private static ExecutorService createDispatchExecutor() {
+
+        return Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "mail-dispatch-requests");
+                    thread.setDaemon(true);
+
+                    return thread;
+                });
+    }
+
+
+    private static ExecutorService createExecutor(int workers) {
+
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        // the queue holds at most one pending batch per worker, further mails stay in the outbox until the next run
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(workers),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mail-dispatcher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+
+                    return thread;
+                });
+    }
+
+
+    @PreDestroy
+    void shutdown() {
+
+        shutdown(dispatchExecutor);
+        shutdown(executor);
+    }
+
+
+    private static void shutdown(Executor executor) {
+
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+
+    /**
+     * Requests sending the due mails of the outbox without waiting for the next scheduled run, e.g. after new mails
+     * have been enqueued. Multiple requests are coalesced into a single run.
+     */
+    void requestDispatch() {
+
+        if (dispatchRequested.compareAndSet(false, true)) {
+            try {
+                dispatchExecutor.execute(() -> {
+                    dispatchRequested.set(false);
+                    dispatch();
+                });
+            } catch (RejectedExecutionException ex) {
+                // shutting down, the mails are sent by the next scheduled run
+                dispatchRequested.set(false);
+            }
+        }
+    }
+
+
+    /**
+     * Hands the due mails of the outbox over to the workers.
+     */
+    @Scheduled(fixedDelayString = "${uv.mail.outbox.pollInterval}")
+    synchronized void dispatch() {
+
+        MailSettings mailSettings = settingsService.getSettings().getMailSettings();
+
+        if (!mailSettings.isActive()) {
+            return;
+        }
+
+        Date now = new Date();
+
+        List<OutgoingMail> dueMails = outgoingMailDAO.findDue(OutgoingMailStatus.PENDING, now,
+                new PageRequest(0, workers * batchSize));
+
+        Date leaseUntil = new Date(now.getTime() + LEASE_IN_MILLIS);
+
+        List<OutgoingMail> leasedMails = dueMails.stream()
+                .filter(mail -> lease(mail, leaseUntil))
+                .collect(Collectors.toList());
+
+        for (int from = 0; from < leasedMails.size(); from += batchSize) {
+            List<OutgoingMail> batch = new ArrayList<>(leasedMails.subList(from,
+                        Math.min(from + batchSize, leasedMails.size())));
+
+            try {
+                executor.execute(() -> send(batch, mailSettings));
+            } catch (RejectedExecutionException ex) {
+                // release the lease, the mails are sent by the next run
+                batch.forEach(mail -> mail.postpone(now));
+                outgoingMailDAO.save(batch);
+            }
+        }
+    }
+
+
+    private boolean lease(OutgoingMail mail, Date leaseUntil) {
+
+        int leased = outgoingMailDAO.lease(mail.getId(), OutgoingMailStatus.PENDING, mail.getNextAttempt(),
+                leaseUntil);
+
+        if (leased == 0) {
+            // leased by another application node in the meantime
+            return false;
+        }
+
+        mail.postpone(leaseUntil);
+
+        return true;
+    }
+
+
+    private void send(List<OutgoingMail> batch, MailSettings mailSettings) {
+
+        SimpleMailMessage[] mailMessages = new SimpleMailMessage[batch.size()];
+
+        for (int i = 0; i < batch.size(); i++) {
+            mailMessages[i] = batch.get(i).toMailMessage();
+        }
+
+        List<OutgoingMail> sentMails = new ArrayList<>();
+        List<OutgoingMail> failedMails = new ArrayList<>();
+
+        try {
+            createMailSender(mailSettings).send(mailMessages);
+
+            sentMails.addAll(batch);
+        } catch (MailSendException ex) {
+            Map<Object, Exception> failedMessages = ex.getFailedMessages();
+
+            for (int i = 0; i < batch.size(); i++) {
+                OutgoingMail mail = batch.get(i);
+                Exception failure = failedMessages.get(mailMessages[i]);
+
+                if (failure == null && !failedMessages.isEmpty()) {
+                    sentMails.add(mail);
+                } else {
+                    failed(mail, failure == null ? ex : failure);
+                    failedMails.add(mail);
+                }
+            }
+        } catch (MailException ex) {
+            for (OutgoingMail mail : batch) {
+                failed(mail, ex);
+                failedMails.add(mail);
+            }
+        }
+
+        if (!sentMails.isEmpty()) {
+            outgoingMailDAO.delete(sentMails);
+
+            for (OutgoingMail mail : sentMails) {
+                LOG.info("Sent email to " + String.join(", ", mail.getRecipients()));
+            }
+        }
+
+        if (!failedMails.isEmpty()) {
+            outgoingMailDAO.save(failedMails);
+        }
+    }
+
+
+    private void failed(OutgoingMail mail, Exception ex) {
+
+        int attempts = mail.getAttempts() + 1;
+        String recipients = String.join(", ", mail.getRecipients());
+
+        if (attempts >= maxAttempts) {
+            mail.failed(ex.getMessage(), null);
+
+            LOG.error("Sending email to " + recipients + " failed " + attempts + " times, giving up", ex);
+        } else {
+            long backOff = retryDelayInMillis << Math.min(attempts - 1, MAX_BACK_OFF_EXPONENT);
+
+            mail.failed(ex.getMessage(), new Date(System.currentTimeMillis() + backOff));
+
+            LOG.warn("Sending email to " + recipients + " failed, retrying in " + backOff / 1000 + " seconds", ex);
+        }
+    }
+
+
+    /**
+     * Creates a new mail sender for the given settings, so concurrently sent batches do not share any state.
+     *
+     * @param  mailSettings  contains the SMTP server to connect to
+     *
+     * @return  mail sender for the given settings
+     */
+    JavaMailSender createMailSender(MailSettings mailSettings) {
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+
+        mailSender.setHost(mailSettings.getHost());
+        mailSender.setPort(mailSettings.getPort());
+        mailSender.setUsername(mailSettings.getUsername());
+        mailSender.setPassword(mailSettings.getPassword());
+
+        return mailSender;
+    }
+
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+
+        return Arrays.asList(
+                new Metric<>("mail.outbox.pending", outgoingMailDAO.countByStatus(OutgoingMailStatus.PENDING)),
+                new Metric<>("mail.outbox.failed", outgoingMailDAO.countByStatus(OutgoingMailStatus.FAILED)));
+    }
+}
@@ -3,22 +3,19 @@ package org.synyx.urlaubsverwaltung.core.mail;
 import org.apache.log4j.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
-
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 import org.springframework.stereotype.Service;
 
 import org.synyx.urlaubsverwaltung.core.settings.MailSettings;
+import org.synyx.urlaubsverwaltung.core.util.TransactionUtil;
 
-import java.util.Arrays;
 import java.util.List;
 
 
 /**
- * Sends mails using {@link JavaMailSenderImpl}.
+ * Sends mails by putting them into the outbox, the {@link MailDispatcher} delivers them in the background.
+ *
+ * <p>The mails are saved within the current transaction, so they are only sent if the transaction is committed.</p>
  *
  * @author  Aljona Murygina - murygina@synyx.de
  */
@@ -27,12 +24,14 @@ class MailSender {
 
     private static final Logger LOG = Logger.getLogger(MailSender.class);
 
-    private final JavaMailSenderImpl mailSender;
+    private final OutgoingMailDAO outgoingMailDAO;
+    private final MailDispatcher mailDispatcher;
 
     @Autowired
-    MailSender(@Qualifier("javaMailSender") JavaMailSenderImpl mailSender) {
+    MailSender(OutgoingMailDAO outgoingMailDAO, MailDispatcher mailDispatcher) {
 
-        this.mailSender = mailSender;
+        this.outgoingMailDAO = outgoingMailDAO;
+        this.mailDispatcher = mailDispatcher;
     }
 
     /**
@@ -46,53 +45,29 @@ class MailSender {
     void sendEmail(MailSettings mailSettings, List<String> recipients, String subject, String text) {
 
         if (recipients != null && !recipients.isEmpty()) {
-            SimpleMailMessage mailMessage = new SimpleMailMessage();
-
-            String[] addressTo = new String[recipients.size()];
+            if (!mailSettings.isActive()) {
+                for (String recipient : recipients) {
+                    LOG.info("No email configuration to send email to " + recipient);
+                }
 
-            for (int i = 0; i < recipients.size(); i++) {
-                addressTo[i] = recipients.get(i);
+                return;
             }
 
-            mailMessage.setFrom(mailSettings.getFrom());
-            mailMessage.setTo(addressTo);
-            mailMessage.setSubject(subject);
-            mailMessage.setText(text);
+            outgoingMailDAO.save(new OutgoingMail(mailSettings.getFrom(), recipients, subject, text));
 
-            send(mailMessage, mailSettings);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Enqueued email: To=" + recipients + "\n\n"
+                    + "Subject=" + subject + "\n\n"
+                    + "Text=" + text);
+            }
+
+            dispatchAfterCommit();
         }
     }
 
 
-    private void send(SimpleMailMessage message, MailSettings mailSettings) {
-
-        try {
-            if (mailSettings.isActive()) {
-                this.mailSender.setHost(mailSettings.getHost());
-                this.mailSender.setPort(mailSettings.getPort());
-                this.mailSender.setUsername(mailSettings.getUsername());
-                this.mailSender.setPassword(mailSettings.getPassword());
-
-                this.mailSender.send(message);
+    private void dispatchAfterCommit() {
 
-                for (String recipient : message.getTo()) {
-                    LOG.info("Sent email to " + recipient);
-                }
-            } else {
-                for (String recipient : message.getTo()) {
-                    LOG.info("No email configuration to send email to " + recipient);
-                }
-            }
-
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("To=" + Arrays.toString(message.getTo()) + "\n\n"
-                    + "Subject=" + message.getSubject() + "\n\n"
-                    + "Text=" + message.getText());
-            }
-        } catch (MailException ex) {
-            for (String recipient : message.getTo()) {
-                LOG.error("Sending email to " + recipient + " failed", ex);
-            }
-        }
+        TransactionUtil.afterCommit(mailDispatcher::requestDispatch);
     }
 }
@@ -22,9 +22,10 @@ import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
 
-import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -91,11 +92,11 @@ class MailServiceImpl implements MailService {
 
         MailSettings mailSettings = getMailSettings();
 
-        for (Person recipient : recipients) {
-            model.put("recipient", recipient);
+        List<String> texts = mailBuilder.buildMailBodies(template, model, recipients);
 
-            String text = mailBuilder.buildMailBody(template, model);
-            mailSender.sendEmail(mailSettings, RecipientUtil.getMailAddresses(recipient), subject, text);
+        for (int i = 0; i < recipients.size(); i++) {
+            mailSender.sendEmail(mailSettings, RecipientUtil.getMailAddresses(recipients.get(i)), subject,
+                texts.get(i));
         }
     }
 
@@ -198,10 +199,9 @@ class MailServiceImpl implements MailService {
         Map<String, Object> model = new HashMap<>();
         model.put("application", application);
         model.put("settings", mailSettings);
-        model.put("recipient", recipient);
         model.put("sender", sender);
 
-        String text = mailBuilder.buildMailBody("refer", model);
+        String text = mailBuilder.buildMailBody("refer", model, recipient);
         mailSender.sendEmail(mailSettings, RecipientUtil.getMailAddresses(recipient),
             getTranslation("subject.application.refer"), text);
     }
@@ -437,40 +437,31 @@ class MailServiceImpl implements MailService {
     @Override
     public void sendRemindForWaitingApplicationsReminderNotification(List<Application> waitingApplications) {
 
-        /**
-         * whats happening here?
-         *
-         * application a
-         * person p
-         *
-         * map application to list of boss/department head
-         * a_1 -> (p_1, p_2); a_2 -> (p_1, p_3)
-         *
-         * collect list of application grouped by boss/department head
-         * p_1 -> (a_1, a_2); p_2 -> (a_1); (p_3 -> a_2)
-         *
-         * See: http://stackoverflow.com/questions/33086686/java-8-stream-collect-and-group-by-objects-that-map-to-multiple-keys
-         */
-        Map<Person, List<Application>> applicationsPerRecipient = waitingApplications.stream()
-                .flatMap(application ->
-                            recipientService.getRecipientsForAllowAndRemind(application)
-                            .stream()
-                            .map(person -> new AbstractMap.SimpleEntry<>(person, application)))
-                .collect(Collectors.groupingBy(Map.Entry::getKey,
-                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+        // the recipients depend on the person of the application for leave only, so they are determined once per person
+        Map<Person, List<Application>> applicationsPerPerson = waitingApplications.stream()
+                .collect(Collectors.groupingBy(Application::getPerson, LinkedHashMap::new, Collectors.toList()));
 
-        for (Map.Entry<Person, List<Application>> entry : applicationsPerRecipient.entrySet()) {
-            MailSettings mailSettings = getMailSettings();
+        Map<Person, List<Application>> applicationsPerRecipient = new LinkedHashMap<>();
+
+        for (List<Application> applicationsOfPerson : applicationsPerPerson.values()) {
+            for (Person recipient : recipientService.getRecipientsForAllowAndRemind(applicationsOfPerson.get(0))) {
+                applicationsPerRecipient.computeIfAbsent(recipient, person -> new ArrayList<>())
+                    .addAll(applicationsOfPerson);
+            }
+        }
 
+        MailSettings mailSettings = getMailSettings();
+
+        // one mail per recipient containing all the applications for leave the recipient is responsible for
+        for (Map.Entry<Person, List<Application>> entry : applicationsPerRecipient.entrySet()) {
             List<Application> applications = entry.getValue();
             Person recipient = entry.getKey();
 
             Map<String, Object> model = new HashMap<>();
             model.put("applicationList", applications);
-            model.put("recipient", recipient);
             model.put("settings", mailSettings);
 
-            String msg = mailBuilder.buildMailBody("cron_remind", model);
+            String msg = mailBuilder.buildMailBody("cron_remind", model, recipient);
 
             mailSender.sendEmail(mailSettings, RecipientUtil.getMailAddresses(recipient),
                 getTranslation("subject.application.cronRemind"), msg);
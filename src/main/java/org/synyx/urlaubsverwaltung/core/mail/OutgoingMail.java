@@ -0,0 +1,179 @@
+package org.synyx.urlaubsverwaltung.core.mail;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import org.springframework.data.jpa.domain.AbstractPersistable;
+
+import org.springframework.mail.SimpleMailMessage;
+
+import org.springframework.util.Assert;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Temporal;
+
+
+/**
+ * A mail of the outbox, waiting to be sent by the {@link MailDispatcher}.
+ */
+@Entity
+public class OutgoingMail extends AbstractPersistable<Integer> {
+
+    private static final long serialVersionUID = 4813579512764301824L;
+
+    private static final String RECIPIENT_SEPARATOR = ",";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private String sender;
+
+    @Column(nullable = false)
+    private String recipients;
+
+    private String subject;
+
+    private String text;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutgoingMailStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date nextAttempt;
+
+    @Column(nullable = false)
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date created;
+
+    private String lastError;
+
+    OutgoingMail() {
+
+        // OK
+    }
+
+
+    public OutgoingMail(String sender, List<String> recipients, String subject, String text) {
+
+        Assert.notEmpty(recipients, "Recipients must be given.");
+
+        this.sender = sender;
+        this.recipients = StringUtils.join(recipients, RECIPIENT_SEPARATOR);
+        this.subject = subject;
+        this.text = text;
+
+        this.status = OutgoingMailStatus.PENDING;
+        this.created = new Date();
+        this.nextAttempt = this.created;
+    }
+
+    public String[] getRecipients() {
+
+        return StringUtils.split(recipients, RECIPIENT_SEPARATOR);
+    }
+
+
+    public String getSubject() {
+
+        return subject;
+    }
+
+
+    public String getText() {
+
+        return text;
+    }
+
+
+    public OutgoingMailStatus getStatus() {
+
+        return status;
+    }
+
+
+    public int getAttempts() {
+
+        return attempts;
+    }
+
+
+    public Date getNextAttempt() {
+
+        if (nextAttempt == null) {
+            return null;
+        }
+
+        return new Date(nextAttempt.getTime());
+    }
+
+
+    public String getLastError() {
+
+        return lastError;
+    }
+
+
+    /**
+     * Postpones the next attempt to send the mail, e.g. while it is being sent.
+     *
+     * @param  nextAttempt  earliest time of the next attempt
+     */
+    void postpone(Date nextAttempt) {
+
+        this.nextAttempt = new Date(nextAttempt.getTime());
+    }
+
+
+    /**
+     * Records a failed attempt to send the mail.
+     *
+     * @param  error  reason of the failure
+     * @param  nextAttempt  earliest time of the next attempt, {@code null} if the mail should not be retried anymore
+     */
+    void failed(String error, Date nextAttempt) {
+
+        this.attempts++;
+        this.lastError = StringUtils.abbreviate(error, MAX_ERROR_LENGTH);
+
+        if (nextAttempt == null) {
+            this.status = OutgoingMailStatus.FAILED;
+        } else {
+            this.nextAttempt = new Date(nextAttempt.getTime());
+        }
+    }
+
+
+    SimpleMailMessage toMailMessage() {
+
+        SimpleMailMessage mailMessage = new SimpleMailMessage();
+
+        mailMessage.setFrom(sender);
+        mailMessage.setTo(getRecipients());
+        mailMessage.setSubject(subject);
+        mailMessage.setText(text);
+
+        return mailMessage;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("id", getId())
+            .append("recipients", recipients)
+            .append("subject", subject)
+            .append("status", status)
+            .append("attempts", attempts)
+            .append("nextAttempt", nextAttempt)
+            .toString();
+    }
+}
@@ -0,0 +1,49 @@
+package org.synyx.urlaubsverwaltung.core.mail;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+
+/**
+ * Allows access to the mails of the outbox.
+ */
+public interface OutgoingMailDAO extends JpaRepository<OutgoingMail, Integer> {
+
+    @Query(
+        "SELECT mail FROM OutgoingMail mail WHERE mail.status = :status AND mail.nextAttempt <= :now "
+        + "ORDER BY mail.nextAttempt, mail.id"
+    )
+    List<OutgoingMail> findDue(@Param("status") OutgoingMailStatus status,
+        @Param("now") Date now,
+        Pageable pageable);
+
+
+    /**
+     * Leases the given mail by postponing its next attempt, but only if the mail has not been changed since its next
+     * attempt has been read. So every mail is leased by one dispatcher only, even if several application nodes read
+     * the same due mails.
+     *
+     * @return  {@code 1} if the mail has been leased, {@code 0} if it has been leased or changed by someone else
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        "UPDATE OutgoingMail mail SET mail.nextAttempt = :leaseUntil "
+        + "WHERE mail.id = :id AND mail.status = :status AND mail.nextAttempt = :nextAttempt"
+    )
+    int lease(@Param("id") Integer id,
+        @Param("status") OutgoingMailStatus status,
+        @Param("nextAttempt") Date nextAttempt,
+        @Param("leaseUntil") Date leaseUntil);
+
+
+    long countByStatus(OutgoingMailStatus status);
+}
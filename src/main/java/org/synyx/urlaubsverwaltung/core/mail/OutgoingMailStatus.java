@@ -0,0 +1,17 @@
+package org.synyx.urlaubsverwaltung.core.mail;
+
+/**
+ * Describes the delivery state of an {@link OutgoingMail}.
+ */
+public enum OutgoingMailStatus {
+
+    /**
+     * Mail is waiting to be sent, possibly after a failed attempt.
+     */
+    PENDING,
+
+    /**
+     * Sending the mail failed too often, it is kept as dead letter and is not retried anymore.
+     */
+    FAILED
+}
@@ -12,7 +12,6 @@ import org.synyx.urlaubsverwaltung.core.person.PersonService;
 import org.synyx.urlaubsverwaltung.core.person.Role;
 
 import java.util.List;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -106,29 +105,13 @@ class RecipientService {
     }
 
     private List<Person> getResponsibleSecondStageAuthorities(Person applicationPerson) {
-        Predicate<Person> responsibleSecondStageAuthority = secondStageAuthority ->
-                departmentService.isSecondStageAuthorityOfPerson(secondStageAuthority, applicationPerson);
-
-        return personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY)
-                .stream()
-                .filter(responsibleSecondStageAuthority)
-                .filter(without(applicationPerson))
-                .collect(Collectors.toList());
-    }
-
-    private static Predicate<Person> without(Person applicationPerson) {
-        return person -> !person.equals(applicationPerson);
+        return departmentService.getSecondStageAuthoritiesOfPerson(applicationPerson,
+                MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY);
     }
 
     private List<Person> getResponsibleDepartmentHeads(Person applicationPerson) {
-        Predicate<Person> responsibleDepartmentHeads = departmentHead ->
-                departmentService.isDepartmentHeadOfPerson(departmentHead, applicationPerson);
-
-        return personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD)
-                    .stream()
-                    .filter(responsibleDepartmentHeads)
-                    .filter(without(applicationPerson))
-                    .collect(Collectors.toList());
+        return departmentService.getDepartmentHeadsOfPerson(applicationPerson,
+                MailNotification.NOTIFICATION_DEPARTMENT_HEAD);
     }
 
 }
@@ -15,8 +15,12 @@ import org.synyx.urlaubsverwaltung.core.util.DateUtil;
 
 import java.math.BigDecimal;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
@@ -138,6 +142,38 @@ public class OvertimeServiceImpl implements OvertimeService {
     }
 
 
+    @Override
+    public Map<Person, BigDecimal> getLeftOvertimeForPersons(List<Person> persons) {
+
+        Assert.notNull(persons, "Persons to get left overtime for must be given.");
+
+        Map<Person, BigDecimal> totalOvertimeByPerson = new HashMap<>();
+
+        if (!persons.isEmpty()) {
+            Map<Integer, Person> personsById = persons.stream()
+                    .collect(Collectors.toMap(Person::getId, Function.identity(), (first, second) -> first));
+
+            for (Object[] row : overtimeDAO.calculateTotalHoursForPersons(persons)) {
+                totalOvertimeByPerson.put(personsById.get((Integer) row[0]), (BigDecimal) row[1]);
+            }
+        }
+
+        Map<Person, BigDecimal> overtimeReductionByPerson = applicationService.getTotalOvertimeReductionOfPersons(
+                persons);
+
+        Map<Person, BigDecimal> leftOvertimeByPerson = new HashMap<>();
+
+        for (Person person : persons) {
+            BigDecimal totalOvertime = totalOvertimeByPerson.getOrDefault(person, BigDecimal.ZERO);
+            BigDecimal overtimeReduction = overtimeReductionByPerson.getOrDefault(person, BigDecimal.ZERO);
+
+            leftOvertimeByPerson.put(person, totalOvertime.subtract(overtimeReduction));
+        }
+
+        return leftOvertimeByPerson;
+    }
+
+
     private BigDecimal getTotalOvertimeForPerson(Person person) {
 
         Optional<BigDecimal> totalOvertime = Optional.ofNullable(overtimeDAO.calculateTotalHoursForPerson(person));
@@ -3,6 +3,8 @@ package org.synyx.urlaubsverwaltung.core.person;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.LazyCollection;
 import org.hibernate.annotations.LazyCollectionOption;
 
@@ -45,11 +47,13 @@ public class Person extends AbstractPersistable<Integer> {
 
     @ElementCollection
     @LazyCollection(LazyCollectionOption.FALSE)
+    @Fetch(FetchMode.SUBSELECT)
     @Enumerated(EnumType.STRING)
     private Collection<Role> permissions;
 
     @ElementCollection
     @LazyCollection(LazyCollectionOption.FALSE)
+    @Fetch(FetchMode.SUBSELECT)
     @Enumerated(EnumType.STRING)
     private Collection<MailNotification> notifications;
 
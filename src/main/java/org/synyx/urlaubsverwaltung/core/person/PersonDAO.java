@@ -1,6 +1,9 @@
 package org.synyx.urlaubsverwaltung.core.person;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 
 /**
@@ -11,5 +14,37 @@ import org.springframework.data.jpa.repository.JpaRepository;
  */
 public interface PersonDAO extends JpaRepository<Person, Integer> {
 
+    String INACTIVE_PERSONS = "SELECT p FROM Person p JOIN p.permissions role WHERE role = 'INACTIVE'";
+
     Person findByLoginName(String loginName);
+
+
+    @Query("SELECT person FROM Person person WHERE person NOT IN (" + INACTIVE_PERSONS + ")")
+    List<Person> findActivePersons();
+
+
+    @Query("SELECT person FROM Person person WHERE person IN (" + INACTIVE_PERSONS + ")")
+    List<Person> findInactivePersons();
+
+
+    @Query(
+        "SELECT DISTINCT person FROM Person person JOIN person.permissions permission WHERE permission = ?1 "
+        + "AND person NOT IN (" + INACTIVE_PERSONS + ")"
+    )
+    List<Person> findActivePersonsWithRole(Role role);
+
+
+    @Query(
+        "SELECT DISTINCT person FROM Person person JOIN person.notifications notification WHERE notification = ?1 "
+        + "AND person NOT IN (" + INACTIVE_PERSONS + ")"
+    )
+    List<Person> findActivePersonsWithNotificationType(MailNotification notification);
+
+
+    @Query(
+        "SELECT new org.synyx.urlaubsverwaltung.core.person.PersonSummary(person.id, person.loginName, "
+        + "person.firstName, person.lastName, person.email) FROM Person person "
+        + "WHERE person NOT IN (" + INACTIVE_PERSONS + ")"
+    )
+    List<PersonSummary> findActivePersonSummaries();
 }
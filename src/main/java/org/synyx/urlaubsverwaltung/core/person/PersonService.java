@@ -115,7 +115,7 @@ public interface PersonService {
 
 
     /**
-     * returns all active persons ordered by first name.
+     * returns all active persons ordered by full name.
      *
      * @return  returns all active persons
      */
@@ -123,9 +123,18 @@ public interface PersonService {
 
 
     /**
-     * returns all inactive persons ordered by first name.
+     * returns all inactive persons ordered by full name.
      *
      * @return  returns all inactive persons
      */
     List<Person> getInactivePersons();
+
+
+    /**
+     * returns lightweight summaries of all active persons ordered by full name, e.g. for person lists that do not need
+     * the permissions and notifications of the persons.
+     *
+     * @return  returns the summaries of all active persons
+     */
+    List<PersonSummary> getActivePersonSummaries();
 }
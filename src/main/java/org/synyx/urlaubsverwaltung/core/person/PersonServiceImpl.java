@@ -2,31 +2,53 @@ package org.synyx.urlaubsverwaltung.core.person;
 
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.synyx.urlaubsverwaltung.core.util.ExpiringCache;
+import org.synyx.urlaubsverwaltung.core.util.TransactionUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 
 /**
  * Implementation for {@link PersonService}.
  *
+ * <p>The persons are filtered by role and notification type in the database. The summaries of the active persons are
+ * cached, they are reloaded after a person has been saved and committed and after the configured time to live to take
+ * changes of other application nodes into account. The number of cache hits and misses is exposed as actuator metrics.
+ * A {@link PersonUpdatedEvent} is published whenever a person is saved.</p>
+ *
  * @author Aljona Murygina
  * @author Johannes Reuter
  */
 @Service("personService")
-class PersonServiceImpl implements PersonService {
+class PersonServiceImpl implements PersonService, PublicMetrics {
 
     private static final Logger LOG = Logger.getLogger(PersonServiceImpl.class);
 
     private final PersonDAO personDAO;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Summaries of the active persons sorted by name, reloaded on next access after a person has been saved.
+     */
+    private final ExpiringCache<Class<PersonSummary>, List<PersonSummary>> activePersonSummaries;
 
     @Autowired
-    PersonServiceImpl(PersonDAO personDAO) {
+    PersonServiceImpl(PersonDAO personDAO, ApplicationEventPublisher applicationEventPublisher,
+                      @Value("${uv.person.cache.timeToLive}") long timeToLiveInSeconds) {
 
         this.personDAO = personDAO;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.activePersonSummaries = new ExpiringCache<>("activepersonsummaries", timeToLiveInSeconds);
     }
 
     @Override
@@ -99,6 +121,11 @@ class PersonServiceImpl implements PersonService {
     public void save(Person person) {
 
         personDAO.save(person);
+
+        // invalidating before the commit, the summaries could be reloaded and cached without the change in between
+        TransactionUtil.afterCommit(activePersonSummaries::invalidateAll);
+
+        applicationEventPublisher.publishEvent(new PersonUpdatedEvent(person));
     }
 
 
@@ -119,43 +146,55 @@ class PersonServiceImpl implements PersonService {
     @Override
     public List<Person> getActivePersons() {
 
-        return personDAO.findAll()
-                .stream()
-                .filter(person -> !person.hasRole(Role.INACTIVE))
-                .sorted(personComparator())
-                .collect(Collectors.toList());
+        return sortedByNiceName(personDAO.findActivePersons());
     }
 
 
-    private Comparator<Person> personComparator() {
+    @Override
+    public List<Person> getInactivePersons() {
 
-        return (p1, p2) -> p1.getNiceName().toLowerCase().compareTo(p2.getNiceName().toLowerCase());
+        return sortedByNiceName(personDAO.findInactivePersons());
     }
 
 
     @Override
-    public List<Person> getInactivePersons() {
+    public List<Person> getPersonsByRole(final Role role) {
 
-        return personDAO.findAll()
-                .stream()
-                .filter(person -> person.hasRole(Role.INACTIVE))
-                .sorted(personComparator())
-                .collect(Collectors.toList());
+        return sortedByNiceName(personDAO.findActivePersonsWithRole(role));
     }
 
 
     @Override
-    public List<Person> getPersonsByRole(final Role role) {
+    public List<Person> getPersonsWithNotificationType(final MailNotification notification) {
 
-        return getActivePersons().stream().filter(person -> person.hasRole(role)).collect(Collectors.toList());
+        return sortedByNiceName(personDAO.findActivePersonsWithNotificationType(notification));
     }
 
 
     @Override
-    public List<Person> getPersonsWithNotificationType(final MailNotification notification) {
+    public List<PersonSummary> getActivePersonSummaries() {
+
+        return activePersonSummaries.get(PersonSummary.class, type -> {
+                    List<PersonSummary> summaries = new ArrayList<>(personDAO.findActivePersonSummaries());
+                    summaries.sort(Comparator.comparing(PersonSummary::getNiceName, String.CASE_INSENSITIVE_ORDER));
+
+                    return Collections.unmodifiableList(summaries);
+                });
+    }
+
+
+    private static List<Person> sortedByNiceName(List<Person> persons) {
+
+        List<Person> sortedPersons = new ArrayList<>(persons);
+        sortedPersons.sort(Comparator.comparing(Person::getNiceName, String.CASE_INSENSITIVE_ORDER));
+
+        return sortedPersons;
+    }
+
+
+    @Override
+    public Collection<Metric<?>> metrics() {
 
-        return getActivePersons().stream()
-                .filter(person -> person.hasNotificationType(notification))
-                .collect(Collectors.toList());
+        return activePersonSummaries.metrics();
     }
 }
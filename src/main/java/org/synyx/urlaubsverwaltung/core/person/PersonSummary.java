@@ -0,0 +1,67 @@
+package org.synyx.urlaubsverwaltung.core.person;
+
+import org.springframework.util.StringUtils;
+
+
+/**
+ * Lightweight, immutable view of a {@link Person} without permissions and notifications, e.g. for person lists.
+ */
+public final class PersonSummary {
+
+    private final Integer id;
+    private final String loginName;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+
+    public PersonSummary(Integer id, String loginName, String firstName, String lastName, String email) {
+
+        this.id = id;
+        this.loginName = loginName;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+    }
+
+    public Integer getId() {
+
+        return id;
+    }
+
+
+    public String getLoginName() {
+
+        return loginName;
+    }
+
+
+    public String getFirstName() {
+
+        return firstName;
+    }
+
+
+    public String getLastName() {
+
+        return lastName;
+    }
+
+
+    public String getEmail() {
+
+        return email;
+    }
+
+
+    /**
+     * @return  the name of the person like {@link Person#getNiceName()}
+     */
+    public String getNiceName() {
+
+        if (StringUtils.hasText(this.firstName) && StringUtils.hasText(this.lastName)) {
+            return this.firstName + " " + this.lastName;
+        }
+
+        return this.loginName;
+    }
+}
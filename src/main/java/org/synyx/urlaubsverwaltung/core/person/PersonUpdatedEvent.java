@@ -0,0 +1,19 @@
+package org.synyx.urlaubsverwaltung.core.person;
+
+/**
+ * Published after a person has been saved, e.g. to evict cached copies of the person.
+ */
+public class PersonUpdatedEvent {
+
+    private final Person person;
+
+    public PersonUpdatedEvent(Person person) {
+
+        this.person = person;
+    }
+
+    public Person getPerson() {
+
+        return person;
+    }
+}
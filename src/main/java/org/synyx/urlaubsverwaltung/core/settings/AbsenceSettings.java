@@ -107,4 +107,18 @@ public class AbsenceSettings {
         this.daysBeforeRemindForWaitingApplications = daysBeforeRemindForWaitingApplications;
     }
 
+
+    AbsenceSettings copy() {
+
+        AbsenceSettings copy = new AbsenceSettings();
+
+        copy.maximumAnnualVacationDays = maximumAnnualVacationDays;
+        copy.maximumMonthsToApplyForLeaveInAdvance = maximumMonthsToApplyForLeaveInAdvance;
+        copy.maximumSickPayDays = maximumSickPayDays;
+        copy.daysBeforeEndOfSickPayNotification = daysBeforeEndOfSickPayNotification;
+        copy.remindForWaitingApplications = remindForWaitingApplications;
+        copy.daysBeforeRemindForWaitingApplications = daysBeforeRemindForWaitingApplications;
+
+        return copy;
+    }
 }
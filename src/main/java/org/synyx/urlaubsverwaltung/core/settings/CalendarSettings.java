@@ -89,4 +89,18 @@ public class CalendarSettings {
     public void setProvider(String provider) {
         this.provider = provider;
     }
-}
\ No newline at end of file
+
+
+    CalendarSettings copy() {
+
+        CalendarSettings copy = new CalendarSettings();
+
+        copy.googleCalendarSettings = googleCalendarSettings == null ? null : googleCalendarSettings.copy();
+        copy.exchangeCalendarSettings = exchangeCalendarSettings == null ? null : exchangeCalendarSettings.copy();
+        copy.workDayBeginHour = workDayBeginHour;
+        copy.workDayEndHour = workDayEndHour;
+        copy.provider = provider;
+
+        return copy;
+    }
+}
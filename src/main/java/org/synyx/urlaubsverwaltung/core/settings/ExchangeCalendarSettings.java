@@ -81,4 +81,17 @@ public class ExchangeCalendarSettings {
 
         this.sendInvitationActive = sendInvitationActive;
     }
+
+
+    ExchangeCalendarSettings copy() {
+
+        ExchangeCalendarSettings copy = new ExchangeCalendarSettings();
+
+        copy.email = email;
+        copy.password = password;
+        copy.calendar = calendar;
+        copy.sendInvitationActive = sendInvitationActive;
+
+        return copy;
+    }
 }
@@ -72,4 +72,17 @@ public class GoogleCalendarSettings {
     public int hashCode() {
         return Objects.hash(getClientId(), getClientSecret(), getCalendarId(), getRefreshToken());
     }
+
+
+    GoogleCalendarSettings copy() {
+
+        GoogleCalendarSettings copy = new GoogleCalendarSettings();
+
+        copy.clientId = clientId;
+        copy.clientSecret = clientSecret;
+        copy.calendarId = calendarId;
+        copy.refreshToken = refreshToken;
+
+        return copy;
+    }
 }
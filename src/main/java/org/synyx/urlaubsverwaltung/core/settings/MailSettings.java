@@ -135,4 +135,21 @@ public class MailSettings {
 
         this.baseLinkURL = baseLinkURL;
     }
+
+
+    MailSettings copy() {
+
+        MailSettings copy = new MailSettings();
+
+        copy.active = active;
+        copy.host = host;
+        copy.port = port;
+        copy.username = username;
+        copy.password = password;
+        copy.from = from;
+        copy.administrator = administrator;
+        copy.baseLinkURL = baseLinkURL;
+
+        return copy;
+    }
 }
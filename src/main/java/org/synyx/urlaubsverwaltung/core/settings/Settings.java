@@ -100,4 +100,24 @@ public class Settings extends AbstractPersistable<Integer> {
 
         return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
     }
+
+
+    /**
+     * Creates a deep copy of the settings including their id, so that the copy can be changed and saved without
+     * affecting the original instance.
+     *
+     * @return  a new instance with the same values
+     */
+    Settings copy() {
+
+        Settings copy = new Settings();
+
+        copy.setId(getId());
+        copy.absenceSettings = absenceSettings == null ? null : absenceSettings.copy();
+        copy.workingTimeSettings = workingTimeSettings == null ? null : workingTimeSettings.copy();
+        copy.mailSettings = mailSettings == null ? null : mailSettings.copy();
+        copy.calendarSettings = calendarSettings == null ? null : calendarSettings.copy();
+
+        return copy;
+    }
 }
@@ -16,6 +16,9 @@ public interface SettingsService {
 
 
     /**
+     * Note: the returned settings may be shared with other callers, so changes must be persisted immediately using
+     * {@link #save(Settings)}.
+     *
      * @return  settings for the application
      */
     Settings getSettings();
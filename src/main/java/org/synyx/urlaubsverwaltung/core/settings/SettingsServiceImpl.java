@@ -3,40 +3,90 @@ package org.synyx.urlaubsverwaltung.core.settings;
 import org.apache.log4j.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import org.springframework.context.ApplicationEventPublisher;
 
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
 
 /**
  * Implementation for {@link org.synyx.urlaubsverwaltung.core.settings.SettingsService}.
  *
+ * <p>The settings are cached in memory as versioned snapshot. Saving the settings replaces the snapshot atomically, the
+ * snapshot is reloaded from the database after the configured time to live to take changes of other application
+ * nodes into account. The snapshot holds a private copy of the settings and every caller gets a copy of its own, so
+ * changing the returned settings never affects the cached ones before they are saved. The number of cache hits and
+ * misses is exposed as actuator metrics. A {@link SettingsUpdatedEvent} is published whenever the settings are
+ * saved, it contains the cached settings before saving to be able to find out what has been changed.</p>
+ *
  * @author  Aljona Murygina - murygina@synyx.de
  */
 @Service
-public class SettingsServiceImpl implements SettingsService {
+public class SettingsServiceImpl implements SettingsService, PublicMetrics {
 
     private static final Logger LOG = Logger.getLogger(SettingsServiceImpl.class);
 
     private final SettingsDAO settingsDAO;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final long timeToLiveInMillis;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     @Autowired
-    public SettingsServiceImpl(SettingsDAO settingsDAO) {
+    public SettingsServiceImpl(SettingsDAO settingsDAO, ApplicationEventPublisher applicationEventPublisher,
+        @Value("${uv.settings.cache.timeToLive}") long timeToLiveInSeconds) {
 
         this.settingsDAO = settingsDAO;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.timeToLiveInMillis = TimeUnit.SECONDS.toMillis(timeToLiveInSeconds);
     }
 
     @Override
     public void save(Settings settings) {
 
-        settingsDAO.save(settings);
+        // the cached snapshot is a private copy, so it is not changed by the caller before saving
+        Snapshot current = snapshot.get();
+        Settings previousSettings = current == null ? null : current.settings;
+
+        Settings savedSettings = settingsDAO.save(settings);
+
+        snapshot.set(new Snapshot(savedSettings.copy(), version.incrementAndGet(), System.currentTimeMillis()));
 
         LOG.info("Updated settings: " + settings.toString());
+
+        applicationEventPublisher.publishEvent(new SettingsUpdatedEvent(previousSettings, savedSettings));
     }
 
 
     @Override
     public Settings getSettings() {
 
+        long now = System.currentTimeMillis();
+
+        Snapshot current = snapshot.get();
+
+        if (current != null && now - current.loadedAt < timeToLiveInMillis) {
+            hits.increment();
+
+            return current.settings.copy();
+        }
+
+        misses.increment();
+
         // TODO: Maybe fixed in future for different settings (based on date,...)
         Settings result = settingsDAO.findOne(1);
 
@@ -44,6 +94,37 @@ public class SettingsServiceImpl implements SettingsService {
             throw new IllegalStateException("No settings in database found.");
         }
 
+        // another thread may have saved the settings in the meantime, do not overwrite its snapshot
+        snapshot.compareAndSet(current, new Snapshot(result.copy(), version.incrementAndGet(), now));
+
         return result;
     }
+
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+
+        Snapshot current = snapshot.get();
+
+        return Arrays.asList(new Metric<>("settings.cache.hits", hits.sum()),
+                new Metric<>("settings.cache.misses", misses.sum()),
+                new Metric<>("settings.cache.version", current == null ? 0L : current.version));
+    }
+
+    /**
+     * Immutable holder of the cached settings.
+     */
+    private static final class Snapshot {
+
+        private final Settings settings;
+        private final long version;
+        private final long loadedAt;
+
+        Snapshot(Settings settings, long version, long loadedAt) {
+
+            this.settings = settings;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
 }
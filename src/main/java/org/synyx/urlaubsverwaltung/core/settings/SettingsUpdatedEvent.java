@@ -0,0 +1,47 @@
+package org.synyx.urlaubsverwaltung.core.settings;
+
+/**
+ * Published after the settings have been saved, e.g. to evict data calculated with the settings.
+ */
+public class SettingsUpdatedEvent {
+
+    private final Settings previousSettings;
+    private final Settings settings;
+
+    /**
+     * @param  previousSettings  the settings before saving, {@code null} if they are not known
+     * @param  settings  the saved settings
+     */
+    public SettingsUpdatedEvent(Settings previousSettings, Settings settings) {
+
+        this.previousSettings = previousSettings;
+        this.settings = settings;
+    }
+
+    public Settings getSettings() {
+
+        return settings;
+    }
+
+
+    /**
+     * Checks if the saved settings change the number of work days of a period, i.e. if the federal state or the
+     * working durations for Christmas Eve or New Year's Eve have been changed. If the previous settings are not known,
+     * the work days are considered to be affected.
+     *
+     * @return  {@code true} if data based on the number of work days must be calculated again, else {@code false}
+     */
+    public boolean isWorkDaysAffected() {
+
+        if (previousSettings == null) {
+            return true;
+        }
+
+        WorkingTimeSettings previous = previousSettings.getWorkingTimeSettings();
+        WorkingTimeSettings current = settings.getWorkingTimeSettings();
+
+        return previous.getFederalState() != current.getFederalState()
+            || previous.getWorkingDurationForChristmasEve() != current.getWorkingDurationForChristmasEve()
+            || previous.getWorkingDurationForNewYearsEve() != current.getWorkingDurationForNewYearsEve();
+    }
+}
@@ -130,4 +130,19 @@ public class WorkingTimeSettings {
 
         this.minimumOvertime = minimumOvertime;
     }
+
+
+    WorkingTimeSettings copy() {
+
+        WorkingTimeSettings copy = new WorkingTimeSettings();
+
+        copy.workingDurationForChristmasEve = workingDurationForChristmasEve;
+        copy.workingDurationForNewYearsEve = workingDurationForNewYearsEve;
+        copy.federalState = federalState;
+        copy.overtimeActive = overtimeActive;
+        copy.maximumOvertime = maximumOvertime;
+        copy.minimumOvertime = minimumOvertime;
+
+        return copy;
+    }
 }
@@ -5,6 +5,7 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 
 import org.joda.time.DateMidnight;
 import org.joda.time.DateTime;
+import org.joda.time.Days;
 
 import org.springframework.data.jpa.domain.AbstractPersistable;
 
@@ -55,6 +56,14 @@ public class SickNote extends AbstractPersistable<Integer> {
     @Temporal(javax.persistence.TemporalType.DATE)
     private Date endDate;
 
+    /**
+     * Number of days between start and end date of the sick note period, stored to find long sick notes without date
+     * arithmetic in the query.
+     *
+     * @since  2.26.3
+     */
+    private Integer durationDays;
+
     /**
      * Time of day for the sick note: morning, noon or full day
      *
@@ -147,6 +156,26 @@ public class SickNote extends AbstractPersistable<Integer> {
     }
 
 
+    public Integer getDurationDays() {
+
+        return durationDays;
+    }
+
+
+    /**
+     * Sets the number of days between start and end date, has to be called after the sick note period has been
+     * changed.
+     */
+    void updateDurationDays() {
+
+        if (startDate == null || endDate == null) {
+            this.durationDays = null;
+        } else {
+            this.durationDays = Days.daysBetween(getStartDate(), getEndDate()).getDays();
+        }
+    }
+
+
     public final DayLength getDayLength() {
 
         return dayLength;
@@ -25,6 +25,15 @@ public interface SickNoteDAO extends JpaRepository<SickNote, Integer> {
     List<SickNote> findByPersonAndPeriod(Person person, Date startDate, Date endDate);
 
 
+    @Query(
+        "SELECT x FROM SickNote x WHERE x.person IN ?1 AND "
+        + "((x.startDate BETWEEN ?2 AND ?3) OR (x.endDate BETWEEN ?2 AND ?3) "
+        + "OR (x.startDate < ?2 and x.endDate > ?3)) "
+        + "ORDER BY x.startDate"
+    )
+    List<SickNote> findByPersonsAndPeriod(List<Person> persons, Date startDate, Date endDate);
+
+
     @Query(
         "SELECT x FROM SickNote x WHERE ((x.startDate BETWEEN ?1 AND ?2) OR (x.endDate BETWEEN ?1 AND ?2) "
         + "OR (x.startDate < ?1 and x.endDate > ?2)) "
@@ -35,22 +44,23 @@ public interface SickNoteDAO extends JpaRepository<SickNote, Integer> {
 
     // NOTE: Following methods are to create statistic
 
-    @Query("SELECT x FROM SickNote x WHERE (YEAR(x.startDate) = ?1 OR YEAR(x.endDate) = ?1) AND x.status = 'ACTIVE'")
-    List<SickNote> findAllActiveByYear(int year);
+    @Query(
+        "SELECT x FROM SickNote x WHERE ((x.startDate >= ?1 AND x.startDate < ?2) "
+        + "OR (x.endDate >= ?1 AND x.endDate < ?2)) AND x.status = 'ACTIVE'"
+    )
+    List<SickNote> findAllActiveByYear(Date firstDayOfYear, Date firstDayOfNextYear);
 
 
     @Query(
-        "SELECT COUNT(DISTINCT x.person) FROM SickNote x WHERE "
-        + "(YEAR(x.startDate) = ?1 OR YEAR(x.endDate) = ?1) AND x.status = 'ACTIVE'"
+        "SELECT COUNT(DISTINCT x.person) FROM SickNote x WHERE ((x.startDate >= ?1 AND x.startDate < ?2) "
+        + "OR (x.endDate >= ?1 AND x.endDate < ?2)) AND x.status = 'ACTIVE'"
     )
-    Long findNumberOfPersonsWithMinimumOneSickNote(int year);
+    Long findNumberOfPersonsWithMinimumOneSickNote(Date firstDayOfYear, Date firstDayOfNextYear);
 
 
     // NOTE: Only needed to send email after certain duration of a sick note
-    // TODO: replace DATEDIFF because it is db specific (MS SQL)
     @Query(
-        "SELECT x FROM SickNote x WHERE DATEDIFF(x.endDate, x.startDate) >= ?1 AND x.endDate = ?2) "
-        + "AND x.status = 'ACTIVE'"
+        "SELECT x FROM SickNote x WHERE x.status = 'ACTIVE' AND x.endDate = ?2 AND x.durationDays >= ?1"
     )
     List<SickNote> findSickNotesByMinimumLengthAndEndDate(int limit, Date endDate);
 }
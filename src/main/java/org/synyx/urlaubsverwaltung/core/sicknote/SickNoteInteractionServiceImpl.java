@@ -15,10 +15,9 @@ import org.synyx.urlaubsverwaltung.core.application.service.ApplicationInteracti
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.settings.CalendarSettings;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.core.sicknote.statistics.SickNoteStatisticsService;
 import org.synyx.urlaubsverwaltung.core.sync.CalendarSyncService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
-import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMapping;
-import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMappingService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceTimeConfiguration;
 import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceType;
 import org.synyx.urlaubsverwaltung.core.sync.absence.EventType;
@@ -41,20 +40,20 @@ public class SickNoteInteractionServiceImpl implements SickNoteInteractionServic
     private final SickNoteCommentService commentService;
     private final ApplicationInteractionService applicationInteractionService;
     private final CalendarSyncService calendarSyncService;
-    private final AbsenceMappingService absenceMappingService;
     private final SettingsService settingsService;
+    private final SickNoteStatisticsService sickNoteStatisticsService;
 
     @Autowired
     public SickNoteInteractionServiceImpl(SickNoteService sickNoteService, SickNoteCommentService commentService,
         ApplicationInteractionService applicationInteractionService, CalendarSyncService calendarSyncService,
-        AbsenceMappingService absenceMappingService, SettingsService settingsService) {
+        SettingsService settingsService, SickNoteStatisticsService sickNoteStatisticsService) {
 
         this.sickNoteService = sickNoteService;
         this.commentService = commentService;
         this.applicationInteractionService = applicationInteractionService;
         this.calendarSyncService = calendarSyncService;
-        this.absenceMappingService = absenceMappingService;
         this.settingsService = settingsService;
+        this.sickNoteStatisticsService = sickNoteStatisticsService;
     }
 
     @Override
@@ -62,8 +61,10 @@ public class SickNoteInteractionServiceImpl implements SickNoteInteractionServic
 
         sickNote.setStatus(SickNoteStatus.ACTIVE);
         sickNote.setLastEdited(DateMidnight.now());
+        sickNote.updateDurationDays();
 
         sickNoteService.save(sickNote);
+        sickNoteStatisticsService.addSickNote(sickNote);
         commentService.create(sickNote, SickNoteAction.CREATED, Optional.<String>empty(), creator);
 
         LOG.info("Created sick note: " + sickNote.toString());
@@ -71,12 +72,8 @@ public class SickNoteInteractionServiceImpl implements SickNoteInteractionServic
         CalendarSettings calendarSettings = settingsService.getSettings().getCalendarSettings();
         AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(calendarSettings);
 
-        Optional<String> eventId = calendarSyncService.addAbsence(new Absence(sickNote.getPerson(),
-                    sickNote.getPeriod(), EventType.SICKNOTE, timeConfiguration));
-
-        if (eventId.isPresent()) {
-            absenceMappingService.create(sickNote.getId(), AbsenceType.SICKNOTE, eventId.get());
-        }
+        calendarSyncService.addAbsence(sickNote.getId(), AbsenceType.SICKNOTE,
+            new Absence(sickNote.getPerson(), sickNote.getPeriod(), EventType.SICKNOTE, timeConfiguration));
 
         return sickNote;
     }
@@ -85,23 +82,23 @@ public class SickNoteInteractionServiceImpl implements SickNoteInteractionServic
     @Override
     public SickNote update(SickNote sickNote, Person editor) {
 
+        // the stored sick note is removed from the statistics before it is overwritten by the edited one
+        sickNoteService.getById(sickNote.getId()).ifPresent(sickNoteStatisticsService::removeSickNote);
+
         sickNote.setStatus(SickNoteStatus.ACTIVE);
         sickNote.setLastEdited(DateMidnight.now());
+        sickNote.updateDurationDays();
 
         sickNoteService.save(sickNote);
+        sickNoteStatisticsService.addSickNote(sickNote);
         commentService.create(sickNote, SickNoteAction.EDITED, Optional.<String>empty(), editor);
 
         LOG.info("Updated sick note: " + sickNote.toString());
 
-        Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(sickNote.getId(),
-                AbsenceType.SICKNOTE);
-
-        if (absenceMapping.isPresent()) {
-            CalendarSettings calendarSettings = settingsService.getSettings().getCalendarSettings();
-            AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(calendarSettings);
-            calendarSyncService.update(new Absence(sickNote.getPerson(), sickNote.getPeriod(), EventType.SICKNOTE,
-                    timeConfiguration), absenceMapping.get().getEventId());
-        }
+        CalendarSettings calendarSettings = settingsService.getSettings().getCalendarSettings();
+        AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(calendarSettings);
+        calendarSyncService.updateAbsence(sickNote.getId(), AbsenceType.SICKNOTE,
+            new Absence(sickNote.getPerson(), sickNote.getPeriod(), EventType.SICKNOTE, timeConfiguration));
 
         return sickNote;
     }
@@ -110,9 +107,12 @@ public class SickNoteInteractionServiceImpl implements SickNoteInteractionServic
     @Override
     public SickNote convert(SickNote sickNote, Application application, Person converter) {
 
+        sickNoteStatisticsService.removeSickNote(sickNote);
+
         // make sick note inactive
         sickNote.setStatus(SickNoteStatus.CONVERTED_TO_VACATION);
         sickNote.setLastEdited(DateMidnight.now());
+        sickNote.updateDurationDays();
 
         sickNoteService.save(sickNote);
         commentService.create(sickNote, SickNoteAction.CONVERTED_TO_VACATION, Optional.<String>empty(), converter);
@@ -121,18 +121,13 @@ public class SickNoteInteractionServiceImpl implements SickNoteInteractionServic
 
         LOG.info("Converted sick note to vacation: " + sickNote.toString());
 
-        Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(sickNote.getId(),
-                AbsenceType.SICKNOTE);
-
-        if (absenceMapping.isPresent()) {
-            String eventId = absenceMapping.get().getEventId();
-            CalendarSettings calendarSettings = settingsService.getSettings().getCalendarSettings();
+        // the event of the sick note is replaced by an event of the created application for leave
+        CalendarSettings calendarSettings = settingsService.getSettings().getCalendarSettings();
 
-            calendarSyncService.update(new Absence(application.getPerson(), application.getPeriod(),
-                    EventType.ALLOWED_APPLICATION, new AbsenceTimeConfiguration(calendarSettings)), eventId);
-            absenceMappingService.delete(absenceMapping.get());
-            absenceMappingService.create(application.getId(), AbsenceType.VACATION, eventId);
-        }
+        calendarSyncService.deleteAbsence(sickNote.getId(), AbsenceType.SICKNOTE);
+        calendarSyncService.addAbsence(application.getId(), AbsenceType.VACATION,
+            new Absence(application.getPerson(), application.getPeriod(), EventType.ALLOWED_APPLICATION,
+                new AbsenceTimeConfiguration(calendarSettings)));
 
         return sickNote;
     }
@@ -141,6 +136,8 @@ public class SickNoteInteractionServiceImpl implements SickNoteInteractionServic
     @Override
     public SickNote cancel(SickNote sickNote, Person canceller) {
 
+        sickNoteStatisticsService.removeSickNote(sickNote);
+
         sickNote.setStatus(SickNoteStatus.CANCELLED);
         sickNote.setLastEdited(DateMidnight.now());
 
@@ -149,13 +146,7 @@ public class SickNoteInteractionServiceImpl implements SickNoteInteractionServic
 
         LOG.info("Cancelled sick note: " + sickNote.toString());
 
-        Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(sickNote.getId(),
-                AbsenceType.SICKNOTE);
-
-        if (absenceMapping.isPresent()) {
-            calendarSyncService.deleteAbsence(absenceMapping.get().getEventId());
-            absenceMappingService.delete(absenceMapping.get());
-        }
+        calendarSyncService.deleteAbsence(sickNote.getId(), AbsenceType.SICKNOTE);
 
         return sickNote;
     }
@@ -45,6 +45,18 @@ public interface SickNoteService {
     List<SickNote> getByPersonAndPeriod(Person person, DateMidnight from, DateMidnight to);
 
 
+    /**
+     * Get all the sick notes of the given persons that are in the given period.
+     *
+     * @param  persons  defines the owners of the sick notes
+     * @param  from  defines the start of the period
+     * @param  to  defines the end of the period
+     *
+     * @return  all the sick notes matching the given parameters, ordered by start date
+     */
+    List<SickNote> getByPersonsAndPeriod(List<Person> persons, DateMidnight from, DateMidnight to);
+
+
     /**
      * Get all the sick notes that are in the given period.
      *
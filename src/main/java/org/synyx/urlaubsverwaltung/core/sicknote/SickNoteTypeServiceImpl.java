@@ -1,26 +1,50 @@
 package org.synyx.urlaubsverwaltung.core.sicknote;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 
 import org.springframework.stereotype.Service;
 
+import org.synyx.urlaubsverwaltung.core.util.ExpiringCache;
+
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 
+/**
+ * Implementation for {@link SickNoteTypeService}.
+ *
+ * <p>The sick note types are cached in memory for the configured time to live, the number of cache hits and misses is
+ * exposed as actuator metrics.</p>
+ */
 @Service
-public class SickNoteTypeServiceImpl implements SickNoteTypeService {
+public class SickNoteTypeServiceImpl implements SickNoteTypeService, PublicMetrics {
 
     private final SickNoteTypeDAO sickNoteTypeDAO;
+    private final ExpiringCache<Class<SickNoteType>, List<SickNoteType>> cache;
 
     @Autowired
-    public SickNoteTypeServiceImpl(SickNoteTypeDAO sickNoteTypeDAO) {
+    public SickNoteTypeServiceImpl(SickNoteTypeDAO sickNoteTypeDAO,
+        @Value("${uv.referencedata.cache.timeToLive}") long timeToLiveInSeconds) {
 
         this.sickNoteTypeDAO = sickNoteTypeDAO;
+        this.cache = new ExpiringCache<>("sicknotetypes", timeToLiveInSeconds);
     }
 
     @Override
     public List<SickNoteType> getSickNoteTypes() {
 
-        return this.sickNoteTypeDAO.findAll();
+        return cache.get(SickNoteType.class, type -> Collections.unmodifiableList(sickNoteTypeDAO.findAll()));
+    }
+
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+
+        return cache.metrics();
     }
 }
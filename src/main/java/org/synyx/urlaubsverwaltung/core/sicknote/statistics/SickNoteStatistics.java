@@ -6,10 +6,12 @@ import org.springframework.util.Assert;
 
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteDAO;
+import org.synyx.urlaubsverwaltung.core.util.DateUtil;
 import org.synyx.urlaubsverwaltung.core.workingtime.WorkDaysService;
 
 import java.math.BigDecimal;
 
+import java.util.Date;
 import java.util.List;
 
 
@@ -30,18 +32,39 @@ public class SickNoteStatistics {
 
     private final Long numberOfPersonsWithMinimumOneSickNote;
 
+    /**
+     * Creates the statistics of the given year by calculating the sick days of every active sick note of the year.
+     */
     public SickNoteStatistics(int year, SickNoteDAO sickNoteDAO, WorkDaysService calendarService) {
 
+        Date firstDayOfYear = DateUtil.getFirstDayOfYear(year).toDate();
+        Date firstDayOfNextYear = DateUtil.getFirstDayOfYear(year + 1).toDate();
+
         this.year = year;
-        this.numberOfPersonsWithMinimumOneSickNote = sickNoteDAO.findNumberOfPersonsWithMinimumOneSickNote(year);
+        this.numberOfPersonsWithMinimumOneSickNote = sickNoteDAO.findNumberOfPersonsWithMinimumOneSickNote(
+                firstDayOfYear, firstDayOfNextYear);
         this.created = DateMidnight.now();
 
-        List<SickNote> sickNotes = sickNoteDAO.findAllActiveByYear(year);
+        List<SickNote> sickNotes = sickNoteDAO.findAllActiveByYear(firstDayOfYear, firstDayOfNextYear);
 
         this.totalNumberOfSickNotes = sickNotes.size();
         this.totalNumberOfSickDays = calculateTotalNumberOfSickDays(calendarService, sickNotes);
     }
 
+
+    /**
+     * Creates the statistics of the given year from already calculated numbers.
+     */
+    public SickNoteStatistics(int year, int totalNumberOfSickNotes, BigDecimal totalNumberOfSickDays,
+        Long numberOfPersonsWithMinimumOneSickNote) {
+
+        this.year = year;
+        this.totalNumberOfSickNotes = totalNumberOfSickNotes;
+        this.totalNumberOfSickDays = totalNumberOfSickDays;
+        this.numberOfPersonsWithMinimumOneSickNote = numberOfPersonsWithMinimumOneSickNote;
+        this.created = DateMidnight.now();
+    }
+
     public int getTotalNumberOfSickNotes() {
 
         return this.totalNumberOfSickNotes;
@@ -59,34 +82,41 @@ public class SickNoteStatistics {
         BigDecimal numberOfSickDays = BigDecimal.ZERO;
 
         for (SickNote sickNote : sickNotes) {
-            DateMidnight sickNoteStartDate = sickNote.getStartDate();
-            DateMidnight sickNoteEndDate = sickNote.getEndDate();
+            numberOfSickDays = numberOfSickDays.add(getSickDays(sickNote, this.year, calendarService));
+        }
 
-            DateMidnight startDate;
-            DateMidnight endDate;
+        return numberOfSickDays;
+    }
+
+
+    /**
+     * @return  the work days of the given sick note within the given year, the start date or the end date of the sick
+     *          note must be in the given year
+     */
+    static BigDecimal getSickDays(SickNote sickNote, int year, WorkDaysService calendarService) {
 
-            Assert.isTrue(sickNoteStartDate.getYear() == this.year || sickNoteEndDate.getYear() == this.year,
-                "Start date OR end date of the sick note must be in the year " + this.year);
+        DateMidnight sickNoteStartDate = sickNote.getStartDate();
+        DateMidnight sickNoteEndDate = sickNote.getEndDate();
 
-            if (sickNoteStartDate.getYear() == this.year) {
-                startDate = sickNoteStartDate;
-            } else {
-                startDate = sickNoteEndDate.dayOfYear().withMinimumValue();
-            }
+        DateMidnight startDate;
+        DateMidnight endDate;
 
-            if (sickNoteEndDate.getYear() == this.year) {
-                endDate = sickNoteEndDate;
-            } else {
-                endDate = sickNoteStartDate.dayOfYear().withMaximumValue();
-            }
+        Assert.isTrue(sickNoteStartDate.getYear() == year || sickNoteEndDate.getYear() == year,
+            "Start date OR end date of the sick note must be in the year " + year);
 
-            BigDecimal workDays = calendarService.getWorkDays(sickNote.getDayLength(), startDate, endDate,
-                    sickNote.getPerson());
+        if (sickNoteStartDate.getYear() == year) {
+            startDate = sickNoteStartDate;
+        } else {
+            startDate = sickNoteEndDate.dayOfYear().withMinimumValue();
+        }
 
-            numberOfSickDays = numberOfSickDays.add(workDays);
+        if (sickNoteEndDate.getYear() == year) {
+            endDate = sickNoteEndDate;
+        } else {
+            endDate = sickNoteStartDate.dayOfYear().withMaximumValue();
         }
 
-        return numberOfSickDays;
+        return calendarService.getWorkDays(sickNote.getDayLength(), startDate, endDate, sickNote.getPerson());
     }
 
 
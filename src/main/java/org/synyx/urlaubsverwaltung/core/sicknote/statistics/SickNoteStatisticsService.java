@@ -1,32 +1,66 @@
 package org.synyx.urlaubsverwaltung.core.sicknote.statistics;
 
+import org.apache.log4j.Logger;
+
 import org.springframework.beans.factory.annotation.Autowired;
 
+import org.springframework.context.event.EventListener;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
 import org.springframework.stereotype.Service;
 
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import org.synyx.urlaubsverwaltung.core.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteDAO;
+import org.synyx.urlaubsverwaltung.core.util.DateUtil;
 import org.synyx.urlaubsverwaltung.core.workingtime.WorkDaysService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeUpdatedEvent;
+
+import java.math.BigDecimal;
+
+import java.util.List;
 
 
 /**
  * Service for creating {@link SickNoteStatistics}.
  *
+ * <p>The number of sick notes and sick days of a year are stored as {@link SickNoteTotals} on first usage and updated
+ * on every change of a sick note afterwards. They are calculated again after a working time or the settings have been
+ * changed, since the sick days depend on them. The number of persons with sick notes is counted by the database.</p>
+ *
+ * <p>Everyone calculating or updating the totals of a year locks them first, so no sick note change gets lost. To have
+ * a row to be locked, the totals are stored uncalculated before, concurrent attempts to store them are ignored. The
+ * totals are calculated in a new transaction after they have been locked, so the calculation sees every sick note
+ * change committed by the transactions having held the lock before.</p>
+ *
  * @author  Aljona Murygina - murygina@synyx.de
  */
 @Service
 @Transactional
 public class SickNoteStatisticsService {
 
+    private static final Logger LOG = Logger.getLogger(SickNoteStatisticsService.class);
+
     private SickNoteDAO sickNoteDAO;
+    private SickNoteTotalsDAO sickNoteTotalsDAO;
     private WorkDaysService calendarService;
+    private TransactionTemplate newTransaction;
 
     @Autowired
-    public SickNoteStatisticsService(SickNoteDAO sickNoteDAO, WorkDaysService calendarService) {
+    public SickNoteStatisticsService(SickNoteDAO sickNoteDAO, SickNoteTotalsDAO sickNoteTotalsDAO,
+        WorkDaysService calendarService, PlatformTransactionManager transactionManager) {
 
         this.sickNoteDAO = sickNoteDAO;
+        this.sickNoteTotalsDAO = sickNoteTotalsDAO;
         this.calendarService = calendarService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
 
@@ -38,6 +72,161 @@ public class SickNoteStatisticsService {
 
     public SickNoteStatistics createStatistics(int year) {
 
-        return new SickNoteStatistics(year, sickNoteDAO, calendarService);
+        SickNoteTotals totals = sickNoteTotalsDAO.findByYear(year);
+
+        if (totals == null || !totals.isCalculated()) {
+            return recalculateStatistics(year);
+        }
+
+        Long numberOfPersons = sickNoteDAO.findNumberOfPersonsWithMinimumOneSickNote(
+                DateUtil.getFirstDayOfYear(year).toDate(), DateUtil.getFirstDayOfYear(year + 1).toDate());
+
+        return new SickNoteStatistics(year, totals.getNumberOfSickNotes(), totals.getNumberOfSickDays(),
+                numberOfPersons);
+    }
+
+
+    /**
+     * Calculates the statistics of the given year from scratch and stores or corrects the totals of the year. The
+     * calculation is done within a new transaction, which is committed before returning.
+     *
+     * @param  year  to calculate the statistics for
+     *
+     * @return  the calculated statistics
+     */
+    public SickNoteStatistics recalculateStatistics(int year) {
+
+        storeUncalculatedTotals(year);
+
+        return newTransaction.execute(status -> {
+            // locking the totals before reading any sick note
+            SickNoteTotals totals = sickNoteTotalsDAO.findByYearForUpdate(year);
+
+            if (totals == null) {
+                // removed concurrently after a working time or the settings have been changed
+                totals = new SickNoteTotals(year);
+            }
+
+            SickNoteStatistics statistics = new SickNoteStatistics(year, sickNoteDAO, calendarService);
+
+            if (totals.isCalculated() && !totals.hasSameNumbersAs(statistics)) {
+                LOG.warn("Correcting sick note totals " + totals + " to " + statistics.getTotalNumberOfSickNotes()
+                    + " sick notes and " + statistics.getTotalNumberOfSickDays() + " sick days");
+            }
+
+            totals.setNumbersOf(statistics);
+            sickNoteTotalsDAO.save(totals);
+
+            return statistics;
+        });
+    }
+
+
+    /**
+     * @return  the years with stored totals in ascending order
+     */
+    public List<Integer> getYearsOfTotals() {
+
+        return sickNoteTotalsDAO.findYears();
+    }
+
+
+    /**
+     * Stores uncalculated totals of the given year within a new transaction, if there are no totals of the year yet.
+     * Totals stored concurrently by someone else are used instead.
+     */
+    private void storeUncalculatedTotals(int year) {
+
+        try {
+            newTransaction.execute(status -> {
+                if (sickNoteTotalsDAO.countByYear(year) == 0) {
+                    sickNoteTotalsDAO.save(new SickNoteTotals(year));
+                }
+
+                return null;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            LOG.debug("Sick note totals of " + year + " have been stored concurrently: " + ex.getMessage());
+        }
+    }
+
+
+    /**
+     * Adds the given sick note to the totals of the years of its start and end date, after it has been created or
+     * changed. Totals that are not calculated yet are left alone, they are calculated including the sick note on
+     * first usage.
+     *
+     * @param  sickNote  to add, ignored if it is not active
+     */
+    public void addSickNote(SickNote sickNote) {
+
+        updateTotals(sickNote, 1);
+    }
+
+
+    /**
+     * Removes the given sick note from the totals of the years of its start and end date, before it is changed,
+     * cancelled or converted.
+     *
+     * @param  sickNote  to remove, ignored if it is not active
+     */
+    public void removeSickNote(SickNote sickNote) {
+
+        updateTotals(sickNote, -1);
+    }
+
+
+    private void updateTotals(SickNote sickNote, int numberOfSickNotes) {
+
+        if (!sickNote.isActive()) {
+            return;
+        }
+
+        int startYear = sickNote.getStartDate().getYear();
+        int endYear = sickNote.getEndDate().getYear();
+
+        updateTotals(sickNote, startYear, numberOfSickNotes);
+
+        if (endYear != startYear) {
+            updateTotals(sickNote, endYear, numberOfSickNotes);
+        }
+    }
+
+
+    private void updateTotals(SickNote sickNote, int year, int numberOfSickNotes) {
+
+        // a locking read of missing totals would block storing them in another transaction
+        if (sickNoteTotalsDAO.countByYear(year) == 0) {
+            storeUncalculatedTotals(year);
+        }
+
+        // holding the lock until the sick note change is committed, so a calculation of the totals includes it
+        SickNoteTotals totals = sickNoteTotalsDAO.findByYearForUpdate(year);
+
+        if (totals == null || !totals.isCalculated()) {
+            return;
+        }
+
+        BigDecimal sickDays = SickNoteStatistics.getSickDays(sickNote, year, calendarService);
+
+        totals.add(numberOfSickNotes, numberOfSickNotes < 0 ? sickDays.negate() : sickDays);
+
+        sickNoteTotalsDAO.save(totals);
+    }
+
+
+    @EventListener
+    public void onWorkingTimeUpdated(WorkingTimeUpdatedEvent event) {
+
+        sickNoteTotalsDAO.deleteAllInBatch();
+    }
+
+
+    @EventListener
+    public void onSettingsUpdated(SettingsUpdatedEvent event) {
+
+        if (event.isWorkDaysAffected()) {
+            sickNoteTotalsDAO.deleteAllInBatch();
+        }
     }
 }
@@ -0,0 +1,117 @@
+package org.synyx.urlaubsverwaltung.core.sicknote.statistics;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import org.springframework.data.jpa.domain.AbstractPersistable;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+
+
+/**
+ * Totals of the active sick notes of a year, i.e. the number of sick notes and the number of sick days. Kept up to date
+ * on every change of a sick note, so the {@link SickNoteStatistics} can be created without calculating the work days
+ * of every sick note of the year.
+ *
+ * <p>The totals of a year are stored before they are calculated the first time, so there is a row to be locked by
+ * everyone calculating or updating them. Until then they are not {@link #isCalculated() calculated} and contain no
+ * numbers.</p>
+ */
+@Entity
+public class SickNoteTotals extends AbstractPersistable<Integer> {
+
+    private static final long serialVersionUID = 2943519062373529176L;
+
+    @Column(nullable = false, unique = true)
+    private int year;
+
+    private int numberOfSickNotes;
+
+    private BigDecimal numberOfSickDays = BigDecimal.ZERO;
+
+    private boolean calculated;
+
+    SickNoteTotals() {
+
+        // OK
+    }
+
+
+    public SickNoteTotals(int year) {
+
+        this.year = year;
+    }
+
+    public int getYear() {
+
+        return year;
+    }
+
+
+    public int getNumberOfSickNotes() {
+
+        return numberOfSickNotes;
+    }
+
+
+    public BigDecimal getNumberOfSickDays() {
+
+        return numberOfSickDays;
+    }
+
+
+    public boolean isCalculated() {
+
+        return calculated;
+    }
+
+
+    /**
+     * Adds the given number of sick notes and sick days, negative numbers are subtracted.
+     *
+     * @param  numberOfSickNotes  to add
+     * @param  numberOfSickDays  to add
+     */
+    public void add(int numberOfSickNotes, BigDecimal numberOfSickDays) {
+
+        this.numberOfSickNotes += numberOfSickNotes;
+        this.numberOfSickDays = this.numberOfSickDays.add(numberOfSickDays);
+    }
+
+
+    /**
+     * @return  {@code true} if the given statistics contain the same number of sick notes and sick days, {@code false}
+     *          else
+     */
+    public boolean hasSameNumbersAs(SickNoteStatistics statistics) {
+
+        return numberOfSickNotes == statistics.getTotalNumberOfSickNotes()
+            && numberOfSickDays.compareTo(statistics.getTotalNumberOfSickDays()) == 0;
+    }
+
+
+    /**
+     * Replaces the number of sick notes and sick days by the ones of the given statistics, the totals are calculated
+     * afterwards.
+     */
+    public void setNumbersOf(SickNoteStatistics statistics) {
+
+        this.numberOfSickNotes = statistics.getTotalNumberOfSickNotes();
+        this.numberOfSickDays = statistics.getTotalNumberOfSickDays();
+        this.calculated = true;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("year", year)
+            .append("numberOfSickNotes", numberOfSickNotes)
+            .append("numberOfSickDays", numberOfSickDays)
+            .append("calculated", calculated)
+            .toString();
+    }
+}
@@ -0,0 +1,39 @@
+package org.synyx.urlaubsverwaltung.core.sicknote.statistics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+
+/**
+ * Repository for {@link SickNoteTotals} entities.
+ */
+public interface SickNoteTotalsDAO extends JpaRepository<SickNoteTotals, Integer> {
+
+    @Query("SELECT x FROM SickNoteTotals x WHERE x.year = ?1")
+    SickNoteTotals findByYear(int year);
+
+
+    /**
+     * Like {@link #findByYear(int)}, but locks the totals until the end of the current transaction, so concurrent
+     * updates are not lost.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT x FROM SickNoteTotals x WHERE x.year = ?1")
+    SickNoteTotals findByYearForUpdate(int year);
+
+
+    /**
+     * Counts the totals of the given year without loading them, so a later {@link #findByYearForUpdate(int)} within
+     * the same transaction reads the current numbers.
+     */
+    long countByYear(int year);
+
+
+    @Query("SELECT x.year FROM SickNoteTotals x ORDER BY x.year")
+    List<Integer> findYears();
+}
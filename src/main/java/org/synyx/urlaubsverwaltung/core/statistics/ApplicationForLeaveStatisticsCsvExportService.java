@@ -4,11 +4,23 @@ import liquibase.util.csv.CSVWriter;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 import org.synyx.urlaubsverwaltung.web.statistics.ApplicationForLeaveStatistics;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.stream.Stream;
 
 public interface ApplicationForLeaveStatisticsCsvExportService {
 
-    void writeStatistics(FilterPeriod period, List<ApplicationForLeaveStatistics> statistics, CSVWriter csvWriter);
+    /**
+     * Writes the given statistics as CSV. The statistics are consumed lazily and the written rows are flushed in
+     * chunks, so the statistics do not need to be calculated up front.
+     *
+     * @param  period  the statistics are calculated for
+     * @param  statistics  to be written
+     * @param  csvWriter  to write the statistics to
+     *
+     * @throws  IOException  if flushing the written rows fails
+     */
+    void writeStatistics(FilterPeriod period, Stream<ApplicationForLeaveStatistics> statistics, CSVWriter csvWriter)
+        throws IOException;
 
     String getFileName(FilterPeriod period);
 }
@@ -9,16 +9,21 @@ import org.synyx.urlaubsverwaltung.core.application.service.VacationTypeService;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 import org.synyx.urlaubsverwaltung.web.statistics.ApplicationForLeaveStatistics;
 
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Stream;
 
 @Service
 public class ApplicationForLeaveStatisticsCsvExportServiceImpl implements ApplicationForLeaveStatisticsCsvExportService {
 
     private static final Locale LOCALE = Locale.GERMAN;
     private static final String DATE_FORMAT = "ddMMyyyy";
+    private static final int FLUSH_INTERVAL = 100;
+    private static final DecimalFormat DECIMAL_FORMAT = createDecimalFormat();
 
     // made fields package private to enable testing
     // normally it would be good to use private fields
@@ -36,7 +41,8 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImpl implements Applic
     VacationTypeService vacationTypeService;
 
     @Override
-    public void writeStatistics(FilterPeriod period, List<ApplicationForLeaveStatistics> statistics, CSVWriter csvWriter) {
+    public void writeStatistics(FilterPeriod period, Stream<ApplicationForLeaveStatistics> statistics, CSVWriter csvWriter)
+            throws IOException {
         final String[] csvHeader = { getTranslation("person.data.firstName", "Vorname"),
                 getTranslation("person.data.lastName", "Nachname"), "",
                 getTranslation("applications.statistics.allowed", "genehmigt"),
@@ -49,11 +55,8 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImpl implements Applic
         String headerNote = getTranslation("absence.period", "Zeitraum") + ": " + period.getStartDateAsString() + " - "
                 + period.getEndDateAsString();
 
-        DecimalFormat decimalFormat = (DecimalFormat) DecimalFormat.getInstance(LOCALE);
-        DecimalFormatSymbols newSymbols = new DecimalFormatSymbols(LOCALE);
-        newSymbols.setDecimalSeparator(',');
-        newSymbols.setGroupingSeparator('.');
-        decimalFormat.setDecimalFormatSymbols(newSymbols);
+        // DecimalFormat is not thread safe, so every export works on its own copy
+        DecimalFormat decimalFormat = (DecimalFormat) DECIMAL_FORMAT.clone();
 
         csvWriter.writeNext(new String[] { headerNote });
         csvWriter.writeNext(csvHeader);
@@ -61,7 +64,13 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImpl implements Applic
 
         String translatedTextTotal = getTranslation("applications.statistics.total", "gesamt");
 
-        for (ApplicationForLeaveStatistics applicationForLeaveStatistics : statistics) {
+        List<VacationType> vacationTypes = vacationTypeService.getVacationTypes();
+
+        int writtenStatistics = 0;
+
+        for (Iterator<ApplicationForLeaveStatistics> iterator = statistics.iterator(); iterator.hasNext(); ) {
+
+            ApplicationForLeaveStatistics applicationForLeaveStatistics = iterator.next();
 
             String[] csvRow = new String[csvHeader.length];
 
@@ -75,7 +84,7 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImpl implements Applic
 
             csvWriter.writeNext(csvRow);
 
-            for (VacationType type : vacationTypeService.getVacationTypes()) {
+            for (VacationType type : vacationTypes) {
 
                 String[] csvRowVacationTypes = new String[csvHeader.length];
 
@@ -87,8 +96,15 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImpl implements Applic
 
                 csvWriter.writeNext(csvRowVacationTypes);
             }
+
+            writtenStatistics++;
+
+            if (writtenStatistics % FLUSH_INTERVAL == 0) {
+                csvWriter.flush();
+            }
         }
 
+        csvWriter.flush();
     }
 
     @Override
@@ -99,6 +115,17 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImpl implements Applic
                 period.getEndDate().toString(DATE_FORMAT));
     }
 
+    private static DecimalFormat createDecimalFormat() {
+
+        DecimalFormat decimalFormat = (DecimalFormat) DecimalFormat.getInstance(LOCALE);
+        DecimalFormatSymbols newSymbols = new DecimalFormatSymbols(LOCALE);
+        newSymbols.setDecimalSeparator(',');
+        newSymbols.setGroupingSeparator('.');
+        decimalFormat.setDecimalFormatSymbols(newSymbols);
+
+        return decimalFormat;
+    }
+
     private String getTranslation(String key, Object... args) {
 
         return messageSource.getMessage(key, args, LOCALE);
@@ -4,7 +4,18 @@ import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 import org.synyx.urlaubsverwaltung.web.statistics.ApplicationForLeaveStatistics;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ApplicationForLeaveStatisticsService {
     List<ApplicationForLeaveStatistics> getStatistics(FilterPeriod period);
+
+    /**
+     * Provides the statistics like {@link #getStatistics(FilterPeriod)}, but calculates them lazily chunk by chunk of
+     * persons while the stream is consumed, so not all statistics are held in memory at once.
+     *
+     * @param  period  to calculate the statistics for
+     *
+     * @return  lazily calculated statistics
+     */
+    Stream<ApplicationForLeaveStatistics> streamStatistics(FilterPeriod period);
 }
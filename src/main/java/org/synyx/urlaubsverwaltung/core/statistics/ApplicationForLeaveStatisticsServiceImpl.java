@@ -12,11 +12,17 @@ import org.synyx.urlaubsverwaltung.web.statistics.ApplicationForLeaveStatistics;
 import org.synyx.urlaubsverwaltung.web.statistics.ApplicationForLeaveStatisticsBuilder;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 public class ApplicationForLeaveStatisticsServiceImpl implements ApplicationForLeaveStatisticsService {
 
+    /**
+     * Number of persons whose statistics are calculated together when streaming the statistics.
+     */
+    static final int CHUNK_SIZE = 100;
+
     @Autowired
     SessionService sessionService;
     @Autowired
@@ -30,9 +36,19 @@ public class ApplicationForLeaveStatisticsServiceImpl implements ApplicationForL
     public List<ApplicationForLeaveStatistics> getStatistics(FilterPeriod period) {
         List<Person> persons = getRelevantPersons();
 
-        return persons.stream()
-                .map(person -> applicationForLeaveStatisticsBuilder.build(person, period.getStartDate(), period.getEndDate()))
-                .collect(Collectors.toList());
+        return applicationForLeaveStatisticsBuilder.build(persons, period.getStartDate(), period.getEndDate());
+    }
+
+    @Override
+    public Stream<ApplicationForLeaveStatistics> streamStatistics(FilterPeriod period) {
+        List<Person> persons = getRelevantPersons();
+
+        int numberOfChunks = (persons.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        return IntStream.range(0, numberOfChunks)
+                .mapToObj(chunk -> persons.subList(chunk * CHUNK_SIZE, Math.min(persons.size(), (chunk + 1) * CHUNK_SIZE)))
+                .flatMap(chunk -> applicationForLeaveStatisticsBuilder.build(chunk, period.getStartDate(), period.getEndDate())
+                        .stream());
     }
 
     private List<Person> getRelevantPersons() {
@@ -0,0 +1,469 @@
+package org.synyx.urlaubsverwaltung.core.sync;
+
+import org.apache.log4j.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import org.springframework.data.domain.PageRequest;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import org.springframework.stereotype.Service;
+
+import org.synyx.urlaubsverwaltung.core.settings.CalendarSettings;
+import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
+import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMapping;
+import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMappingService;
+import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceType;
+import org.synyx.urlaubsverwaltung.core.sync.providers.CalendarProvider;
+import org.synyx.urlaubsverwaltung.core.sync.providers.CalendarSyncException;
+import org.synyx.urlaubsverwaltung.core.sync.providers.EventSyncResult;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+
+/**
+ * Processes the queued {@link CalendarSyncJob}s in the background.
+ *
+ * <p>The jobs of an absence are coalesced into a single operation, e.g. an absence that is added and deleted again
+ * before the jobs are processed is not synced at all. The events to be added and deleted are passed to the calendar
+ * provider at once, so the provider can use its bulk operations. The jobs are processed by a single worker, so the
+ * jobs of an absence are processed in the order they have been requested.</p>
+ *
+ * <p>Only the jobs that have been synced successfully are deleted. Jobs that failed, including the events reported
+ * as failed by the calendar provider, are retried with exponential back-off, after the configured maximum number of
+ * attempts they are kept as failed, their number is exposed as actuator metric. Jobs being processed are leased by
+ * postponing their next attempt with a conditional update, so every job is processed by one application node only and
+ * jobs of a crashed node are processed again after the lease expired.</p>
+ */
+@Service
+class CalendarSyncDispatcher implements PublicMetrics {
+
+    private static final Logger LOG = Logger.getLogger(CalendarSyncDispatcher.class);
+
+    private static final long LEASE_IN_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final int MAX_BACK_OFF_EXPONENT = 16;
+
+    private final CalendarSyncJobDAO calendarSyncJobDAO;
+    private final AbsenceMappingService absenceMappingService;
+    private final CalendarService calendarService;
+    private final SettingsService settingsService;
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryDelayInMillis;
+
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+
+    @Autowired
+    CalendarSyncDispatcher(CalendarSyncJobDAO calendarSyncJobDAO, AbsenceMappingService absenceMappingService,
+        CalendarService calendarService, SettingsService settingsService,
+        @Value("${uv.calendar.sync.batchSize}") int batchSize,
+        @Value("${uv.calendar.sync.maxAttempts}") int maxAttempts,
+        @Value("${uv.calendar.sync.retryDelay}") long retryDelayInSeconds) {
+
+        this(calendarSyncJobDAO, absenceMappingService, calendarService, settingsService, createExecutor(),
+            batchSize, maxAttempts, retryDelayInSeconds);
+    }
+
+
+    CalendarSyncDispatcher(CalendarSyncJobDAO calendarSyncJobDAO, AbsenceMappingService absenceMappingService,
+        CalendarService calendarService, SettingsService settingsService, Executor executor, int batchSize,
+        int maxAttempts, long retryDelayInSeconds) {
+
+        this.calendarSyncJobDAO = calendarSyncJobDAO;
+        this.absenceMappingService = absenceMappingService;
+        this.calendarService = calendarService;
+        this.settingsService = settingsService;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayInMillis = TimeUnit.SECONDS.toMillis(retryDelayInSeconds);
+    }
+
+    private static ExecutorService createExecutor() {
+
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1), runnable -> {
+                    Thread thread = new Thread(runnable, "calendar-sync");
+                    thread.setDaemon(true);
+
+                    return thread;
+                });
+    }
+
+
+    @PreDestroy
+    void shutdown() {
+
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+
+    /**
+     * Requests processing the queued jobs without waiting for the next scheduled run, e.g. after new jobs have been
+     * queued. Multiple requests are coalesced into a single run.
+     */
+    void requestDispatch() {
+
+        if (dispatchRequested.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    dispatchRequested.set(false);
+                    dispatch();
+                });
+            } catch (RejectedExecutionException ex) {
+                // the worker is busy, the jobs are processed by the next scheduled run
+                dispatchRequested.set(false);
+            }
+        }
+    }
+
+
+    /**
+     * Processes all due jobs.
+     */
+    @Scheduled(fixedDelayString = "${uv.calendar.sync.pollInterval}")
+    synchronized void dispatch() {
+
+        List<CalendarSyncJob> jobs;
+        int leasedJobs;
+
+        do {
+            jobs = calendarSyncJobDAO.findDue(new Date(), new PageRequest(0, batchSize));
+            leasedJobs = jobs.isEmpty() ? 0 : process(jobs);
+        } while (jobs.size() == batchSize && leasedJobs > 0);
+    }
+
+
+    /**
+     * @return  the number of jobs that have been leased and processed
+     */
+    private int process(List<CalendarSyncJob> jobs) {
+
+        Map<Map.Entry<AbsenceType, Integer>, CoalescedJob> coalescedJobs = lease(jobs);
+
+        if (coalescedJobs.isEmpty()) {
+            return 0;
+        }
+
+        CalendarSettings calendarSettings = settingsService.getSettings().getCalendarSettings();
+        CalendarProvider calendarProvider = calendarService.getCalendarProvider();
+
+        List<CoalescedJob> jobsToAdd = new ArrayList<>();
+        Map<CoalescedJob, AbsenceMapping> jobsToDelete = new LinkedHashMap<>();
+
+        for (CoalescedJob job : coalescedJobs.values()) {
+            try {
+                Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(
+                        job.absenceId, job.absenceType);
+
+                if (job.operation == CalendarSyncOperation.DELETE) {
+                    absenceMapping.ifPresent(mapping -> jobsToDelete.put(job, mapping));
+                } else if (absenceMapping.isPresent()) {
+                    calendarProvider.update(job.absence, absenceMapping.get().getEventId(), calendarSettings);
+                } else if (job.operation == CalendarSyncOperation.ADD) {
+                    jobsToAdd.add(job);
+                }
+            } catch (RuntimeException ex) {
+                job.failed(ex);
+            }
+        }
+
+        delete(jobsToDelete, calendarProvider, calendarSettings);
+        add(jobsToAdd, calendarProvider, calendarSettings);
+
+        return complete(coalescedJobs.values());
+    }
+
+
+    /**
+     * Leases the given jobs in the order they have been requested. If a job of an absence could not be leased, e.g.
+     * because another application node is processing it, the following jobs of the absence are left out as well.
+     *
+     * @return  the leased jobs coalesced by absence
+     */
+    private Map<Map.Entry<AbsenceType, Integer>, CoalescedJob> lease(List<CalendarSyncJob> jobs) {
+
+        Date leaseUntil = new Date(System.currentTimeMillis() + LEASE_IN_MILLIS);
+
+        Map<Map.Entry<AbsenceType, Integer>, CoalescedJob> coalescedJobs = new LinkedHashMap<>();
+        Set<Map.Entry<AbsenceType, Integer>> skippedAbsences = new HashSet<>();
+
+        for (CalendarSyncJob job : jobs) {
+            Map.Entry<AbsenceType, Integer> absence = new AbstractMap.SimpleImmutableEntry<>(job.getAbsenceType(),
+                    job.getAbsenceId());
+
+            if (skippedAbsences.contains(absence)) {
+                continue;
+            }
+
+            if (calendarSyncJobDAO.lease(job.getId(), job.getNextAttempt(), leaseUntil) == 0) {
+                skippedAbsences.add(absence);
+
+                continue;
+            }
+
+            job.postpone(leaseUntil);
+
+            coalescedJobs.merge(absence, new CoalescedJob(job), CoalescedJob::followedBy);
+        }
+
+        return coalescedJobs;
+    }
+
+
+    private void delete(Map<CoalescedJob, AbsenceMapping> jobs, CalendarProvider calendarProvider,
+        CalendarSettings calendarSettings) {
+
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        List<String> eventIds = new ArrayList<>(jobs.size());
+
+        for (AbsenceMapping absenceMapping : jobs.values()) {
+            eventIds.add(absenceMapping.getEventId());
+        }
+
+        List<EventSyncResult> results;
+
+        try {
+            results = calendarProvider.deleteAll(eventIds, calendarSettings);
+        } catch (RuntimeException ex) {
+            jobs.keySet().forEach(job -> job.failed(ex));
+
+            return;
+        }
+
+        int i = 0;
+
+        for (Map.Entry<CoalescedJob, AbsenceMapping> entry : jobs.entrySet()) {
+            CoalescedJob job = entry.getKey();
+            EventSyncResult result = results.get(i++);
+
+            // the mapping is kept until the event has been deleted, so deleting it can be retried
+            if (result.isFailed()) {
+                job.failed(new CalendarSyncException("Could not delete event: " + result.getError(), null));
+
+                continue;
+            }
+
+            try {
+                absenceMappingService.delete(entry.getValue());
+            } catch (RuntimeException ex) {
+                job.failed(ex);
+            }
+        }
+    }
+
+
+    private void add(List<CoalescedJob> jobs, CalendarProvider calendarProvider,
+        CalendarSettings calendarSettings) {
+
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        List<Absence> absences = new ArrayList<>(jobs.size());
+
+        for (CoalescedJob job : jobs) {
+            absences.add(job.absence);
+        }
+
+        List<EventSyncResult> results;
+
+        try {
+            results = calendarProvider.addAll(absences, calendarSettings);
+        } catch (RuntimeException ex) {
+            jobs.forEach(job -> job.failed(ex));
+
+            return;
+        }
+
+        for (int i = 0; i < jobs.size(); i++) {
+            CoalescedJob job = jobs.get(i);
+            EventSyncResult result = results.get(i);
+
+            if (result.isFailed()) {
+                job.failed(new CalendarSyncException("Could not add event: " + result.getError(), null));
+
+                continue;
+            }
+
+            Optional<String> eventId = result.getEventId();
+
+            // no event id means the provider does not create events, so there is nothing to be mapped
+            if (!eventId.isPresent()) {
+                continue;
+            }
+
+            try {
+                absenceMappingService.create(job.absenceId, job.absenceType, eventId.get());
+            } catch (RuntimeException ex) {
+                // do not leave an event behind that is not mapped to its absence, it is added again by the retry
+                deleteUnmappedEvent(eventId.get(), calendarProvider, calendarSettings);
+                job.failed(ex);
+            }
+        }
+    }
+
+
+    private static void deleteUnmappedEvent(String eventId, CalendarProvider calendarProvider,
+        CalendarSettings calendarSettings) {
+
+        try {
+            EventSyncResult result = calendarProvider.deleteAll(Collections.singletonList(eventId),
+                    calendarSettings).get(0);
+
+            if (result.isFailed()) {
+                LOG.error("Could not delete event with id = " + eventId + " that is not mapped to an absence: "
+                    + result.getError());
+            }
+        } catch (RuntimeException ex) {
+            LOG.error("Could not delete event with id = " + eventId + " that is not mapped to an absence", ex);
+        }
+    }
+
+
+    /**
+     * Deletes the jobs that have been synced successfully and stores the failed attempt of the other jobs.
+     *
+     * @return  the number of completed jobs
+     */
+    private int complete(Collection<CoalescedJob> coalescedJobs) {
+
+        List<CalendarSyncJob> succeededJobs = new ArrayList<>();
+        List<CalendarSyncJob> failedJobs = new ArrayList<>();
+
+        for (CoalescedJob coalescedJob : coalescedJobs) {
+            if (coalescedJob.failure == null) {
+                succeededJobs.addAll(coalescedJob.jobs);
+            } else {
+                coalescedJob.jobs.forEach(job -> failed(job, coalescedJob.failure));
+                failedJobs.addAll(coalescedJob.jobs);
+            }
+        }
+
+        if (!succeededJobs.isEmpty()) {
+            calendarSyncJobDAO.delete(succeededJobs);
+        }
+
+        if (!failedJobs.isEmpty()) {
+            calendarSyncJobDAO.save(failedJobs);
+        }
+
+        return succeededJobs.size() + failedJobs.size();
+    }
+
+
+    private void failed(CalendarSyncJob job, Exception ex) {
+
+        int attempts = job.getAttempts() + 1;
+
+        if (attempts >= maxAttempts) {
+            job.failed(ex.getMessage(), null);
+
+            LOG.error("Processing calendar sync job " + job + " failed " + attempts + " times, giving up", ex);
+        } else {
+            long backOff = retryDelayInMillis << Math.min(attempts - 1, MAX_BACK_OFF_EXPONENT);
+
+            job.failed(ex.getMessage(), new Date(System.currentTimeMillis() + backOff));
+
+            LOG.warn("Processing calendar sync job " + job + " failed, retrying in " + backOff / 1000 + " seconds",
+                ex);
+        }
+    }
+
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+
+        return Arrays.asList(new Metric<>("calendar.sync.pending", calendarSyncJobDAO.countByFailed(false)),
+                new Metric<>("calendar.sync.failed", calendarSyncJobDAO.countByFailed(true)));
+    }
+
+
+    /**
+     * The single operation resulting from the queued jobs of an absence.
+     */
+    private static final class CoalescedJob {
+
+        private final Integer absenceId;
+        private final AbsenceType absenceType;
+        private final CalendarSyncOperation operation;
+
+        /**
+         * Absence of the latest job adding or updating the absence.
+         */
+        private final Absence absence;
+
+        /**
+         * The queued jobs resulting in this operation.
+         */
+        private final List<CalendarSyncJob> jobs;
+
+        /**
+         * Reason why the operation failed, {@code null} if it has been synced successfully.
+         */
+        private Exception failure;
+
+        CoalescedJob(CalendarSyncJob job) {
+
+            this(job.getAbsenceId(), job.getAbsenceType(), job.getOperation(), job.getAbsence().orElse(null),
+                Collections.singletonList(job));
+        }
+
+
+        private CoalescedJob(Integer absenceId, AbsenceType absenceType, CalendarSyncOperation operation,
+            Absence absence, List<CalendarSyncJob> jobs) {
+
+            this.absenceId = absenceId;
+            this.absenceType = absenceType;
+            this.operation = operation;
+            this.absence = absence;
+            this.jobs = jobs;
+        }
+
+        CoalescedJob followedBy(CoalescedJob next) {
+
+            List<CalendarSyncJob> allJobs = new ArrayList<>(jobs);
+            allJobs.addAll(next.jobs);
+
+            return new CoalescedJob(absenceId, absenceType, operation.followedBy(next.operation),
+                    next.absence != null ? next.absence : absence, allJobs);
+        }
+
+
+        void failed(Exception ex) {
+
+            this.failure = ex;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.synyx.urlaubsverwaltung.core.sync;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import org.springframework.data.jpa.domain.AbstractPersistable;
+
+import org.springframework.util.Assert;
+
+import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
+import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceType;
+import org.synyx.urlaubsverwaltung.core.sync.absence.EventType;
+
+import java.util.Date;
+import java.util.Optional;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.ManyToOne;
+import javax.persistence.Temporal;
+
+
+/**
+ * A pending sync of an absence (application for leave or sick note) with the calendar, processed in the background
+ * by the {@link CalendarSyncDispatcher}. A job that could not be processed is retried at its next attempt, it is kept
+ * as failed if it should not be retried anymore.
+ */
+@Entity
+public class CalendarSyncJob extends AbstractPersistable<Integer> {
+
+    private static final long serialVersionUID = 3470512975617210385L;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Column(nullable = false)
+    private Integer absenceId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AbsenceType absenceType;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private CalendarSyncOperation operation;
+
+    @ManyToOne
+    private Person person;
+
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date startDate;
+
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date endDate;
+
+    private boolean allDay;
+
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    @Column(nullable = false)
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date created;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    @Temporal(javax.persistence.TemporalType.TIMESTAMP)
+    private Date nextAttempt;
+
+    private boolean failed;
+
+    private String lastError;
+
+    CalendarSyncJob() {
+
+        // OK
+    }
+
+
+    /**
+     * Creates a job adding resp. updating the event of the given absence.
+     */
+    CalendarSyncJob(Integer absenceId, AbsenceType absenceType, CalendarSyncOperation operation, Absence absence) {
+
+        this(absenceId, absenceType, operation);
+
+        Assert.notNull(absence, "Absence must be given.");
+
+        this.person = absence.getPerson();
+        this.startDate = absence.getStartDate();
+        this.endDate = absence.getEndDate();
+        this.allDay = absence.isAllDay();
+        this.eventType = absence.getEventType();
+    }
+
+
+    /**
+     * Creates a job deleting the event of the absence with the given id and type.
+     */
+    CalendarSyncJob(Integer absenceId, AbsenceType absenceType, CalendarSyncOperation operation) {
+
+        Assert.notNull(absenceId, "Absence id must be given.");
+        Assert.notNull(absenceType, "Absence type must be given.");
+        Assert.notNull(operation, "Operation must be given.");
+
+        this.absenceId = absenceId;
+        this.absenceType = absenceType;
+        this.operation = operation;
+        this.created = new Date();
+        this.nextAttempt = this.created;
+    }
+
+    public Integer getAbsenceId() {
+
+        return absenceId;
+    }
+
+
+    public AbsenceType getAbsenceType() {
+
+        return absenceType;
+    }
+
+
+    public CalendarSyncOperation getOperation() {
+
+        return operation;
+    }
+
+
+    /**
+     * @return  the absence to be synced, empty for a job deleting the event of an absence
+     */
+    public Optional<Absence> getAbsence() {
+
+        if (person == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new Absence(person, startDate, endDate, allDay, eventType));
+    }
+
+
+    public int getAttempts() {
+
+        return attempts;
+    }
+
+
+    public Date getNextAttempt() {
+
+        if (nextAttempt == null) {
+            return null;
+        }
+
+        return new Date(nextAttempt.getTime());
+    }
+
+
+    public boolean isFailed() {
+
+        return failed;
+    }
+
+
+    public String getLastError() {
+
+        return lastError;
+    }
+
+
+    /**
+     * Postpones the next attempt to process the job, e.g. while it is being processed.
+     *
+     * @param  nextAttempt  earliest time of the next attempt
+     */
+    void postpone(Date nextAttempt) {
+
+        this.nextAttempt = new Date(nextAttempt.getTime());
+    }
+
+
+    /**
+     * Records a failed attempt to process the job.
+     *
+     * @param  error  reason of the failure
+     * @param  nextAttempt  earliest time of the next attempt, {@code null} if the job should not be retried anymore
+     */
+    void failed(String error, Date nextAttempt) {
+
+        this.attempts++;
+        this.lastError = StringUtils.abbreviate(error, MAX_ERROR_LENGTH);
+
+        if (nextAttempt == null) {
+            this.failed = true;
+        } else {
+            this.nextAttempt = new Date(nextAttempt.getTime());
+        }
+    }
+
+
+    @Override
+    public String toString() {
+
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("id", getId())
+            .append("absenceId", absenceId)
+            .append("absenceType", absenceType)
+            .append("operation", operation)
+            .append("attempts", attempts)
+            .append("nextAttempt", nextAttempt)
+            .append("failed", failed)
+            .toString();
+    }
+}
@@ -0,0 +1,57 @@
+package org.synyx.urlaubsverwaltung.core.sync;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+
+/**
+ * Allows access to the pending calendar sync jobs.
+ */
+public interface CalendarSyncJobDAO extends JpaRepository<CalendarSyncJob, Integer> {
+
+    /**
+     * Jobs of an absence that has an earlier job waiting for its next attempt are left out, so the jobs of an absence
+     * are always processed in the order they have been requested.
+     *
+     * @param  now  to find the jobs due at
+     * @param  pageable  to limit the number of jobs
+     *
+     * @return  the due jobs in the order they have been requested
+     */
+    @Query(
+        "SELECT job FROM CalendarSyncJob job WHERE job.failed = false AND job.nextAttempt <= :now "
+        + "AND NOT EXISTS (SELECT earlier FROM CalendarSyncJob earlier WHERE earlier.absenceId = job.absenceId "
+        + "AND earlier.absenceType = job.absenceType AND earlier.id < job.id AND earlier.failed = false "
+        + "AND earlier.nextAttempt > :now) "
+        + "ORDER BY job.id"
+    )
+    List<CalendarSyncJob> findDue(@Param("now") Date now, Pageable pageable);
+
+
+    /**
+     * Leases the given job by postponing its next attempt, but only if the job has not been changed since its next
+     * attempt has been read. So every job is processed by one application node only.
+     *
+     * @return  {@code 1} if the job has been leased, {@code 0} if it has been leased or changed by someone else
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        "UPDATE CalendarSyncJob job SET job.nextAttempt = :leaseUntil "
+        + "WHERE job.id = :id AND job.failed = false AND job.nextAttempt = :nextAttempt"
+    )
+    int lease(@Param("id") Integer id,
+        @Param("nextAttempt") Date nextAttempt,
+        @Param("leaseUntil") Date leaseUntil);
+
+
+    long countByFailed(boolean failed);
+}
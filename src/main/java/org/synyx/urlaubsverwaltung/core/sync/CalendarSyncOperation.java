@@ -0,0 +1,39 @@
+package org.synyx.urlaubsverwaltung.core.sync;
+
+/**
+ * Describes what a {@link CalendarSyncJob} should do with the calendar event of an absence.
+ */
+public enum CalendarSyncOperation {
+
+    /**
+     * Add an event for the absence, resp. update the event if the absence is already synced.
+     */
+    ADD,
+
+    /**
+     * Update the event of the absence if the absence is synced.
+     */
+    UPDATE,
+
+    /**
+     * Delete the event of the absence if the absence is synced.
+     */
+    DELETE;
+
+    /**
+     * Coalesces this operation with the operation requested afterwards for the same absence.
+     *
+     * @param  next  operation requested after this one
+     *
+     * @return  the single operation having the same effect as this operation followed by the given one
+     */
+    CalendarSyncOperation followedBy(CalendarSyncOperation next) {
+
+        if (next == UPDATE) {
+            // an update of an absence that is going to be added or deleted does not need an own request
+            return this == ADD || this == DELETE ? this : UPDATE;
+        }
+
+        return next;
+    }
+}
@@ -1,13 +1,16 @@
 package org.synyx.urlaubsverwaltung.core.sync;
 
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
-
-import java.util.Optional;
+import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceType;
 
 
 /**
  * Sync absences with all activated and configured calendar providers.
  *
+ * <p>The sync is done asynchronously: the requested operations are queued within the current transaction and
+ * processed in the background after the transaction has been committed. The mapping between an absence and its
+ * calendar event is maintained when the operations have been processed.</p>
+ *
  * @author  Aljona Murygina - murygina@synyx.de
  */
 public interface CalendarSyncService {
@@ -15,28 +18,30 @@ public interface CalendarSyncService {
     /**
      * Add a person's absence to calendar.
      *
+     * @param  absenceId  id of the application for leave or sick note
+     * @param  absenceType  describes the reason of the absence, either vacation or sick day
      * @param  absence  represents the absence of a person
-     *
-     * @return  id of added absence event, may be empty if an error occurred during the calendar sync
      */
-    Optional<String> addAbsence(Absence absence);
+    void addAbsence(Integer absenceId, AbsenceType absenceType, Absence absence);
 
 
     /**
-     * Updates a given event with absence content.
+     * Updates the calendar event of an absence, if the absence has been synced.
      *
+     * @param  absenceId  id of the application for leave or sick note
+     * @param  absenceType  describes the reason of the absence, either vacation or sick day
      * @param  absence  represents the updated absence
-     * @param  eventId  id of event to be updated
      */
-    void update(Absence absence, String eventId);
+    void updateAbsence(Integer absenceId, AbsenceType absenceType, Absence absence);
 
 
     /**
-     * Deletes a person's absence in calendar.
+     * Deletes the calendar event of an absence, if the absence has been synced.
      *
-     * @param  eventId  id of absence event, which should be deleted.
+     * @param  absenceId  id of the application for leave or sick note
+     * @param  absenceType  describes the reason of the absence, either vacation or sick day
      */
-    void deleteAbsence(String eventId);
+    void deleteAbsence(Integer absenceId, AbsenceType absenceType);
 
 
     /**
@@ -6,13 +6,12 @@ import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.core.settings.CalendarSettings;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
-import org.synyx.urlaubsverwaltung.core.sync.providers.CalendarProvider;
-
-import java.util.Optional;
+import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceType;
+import org.synyx.urlaubsverwaltung.core.util.TransactionUtil;
 
 
 /**
- * Implementation of {@link CalendarSyncService}.
+ * Implementation of {@link CalendarSyncService}, queues the requested operations as {@link CalendarSyncJob}s.
  *
  * @author Aljona Murygina - murygina@synyx.de
  */
@@ -23,38 +22,50 @@ public class CalendarSyncServiceImpl implements CalendarSyncService {
 
     private SettingsService settingsService;
     private final CalendarService calendarService;
+    private final CalendarSyncJobDAO calendarSyncJobDAO;
+    private final CalendarSyncDispatcher calendarSyncDispatcher;
 
     @Autowired
-    public CalendarSyncServiceImpl(SettingsService settingsService, CalendarService calendarService) {
+    public CalendarSyncServiceImpl(SettingsService settingsService, CalendarService calendarService,
+        CalendarSyncJobDAO calendarSyncJobDAO, CalendarSyncDispatcher calendarSyncDispatcher) {
         this.settingsService = settingsService;
 
 
         this.calendarService = calendarService;
+        this.calendarSyncJobDAO = calendarSyncJobDAO;
+        this.calendarSyncDispatcher = calendarSyncDispatcher;
 
         LOG.info("The following calendar provider is configured: " + calendarService.getCalendarProvider().getClass());
     }
 
     @Override
-    public Optional<String> addAbsence(Absence absence) {
-        CalendarSettings calendarSettings = this.settingsService.getSettings().getCalendarSettings();
+    public void addAbsence(Integer absenceId, AbsenceType absenceType, Absence absence) {
 
-        return calendarService.getCalendarProvider().add(absence, calendarSettings);
+        enqueue(new CalendarSyncJob(absenceId, absenceType, CalendarSyncOperation.ADD, absence));
     }
 
 
     @Override
-    public void update(Absence absence, String eventId) {
-        CalendarSettings calendarSettings = this.settingsService.getSettings().getCalendarSettings();
+    public void updateAbsence(Integer absenceId, AbsenceType absenceType, Absence absence) {
 
-        calendarService.getCalendarProvider().update(absence, eventId, calendarSettings);
+        enqueue(new CalendarSyncJob(absenceId, absenceType, CalendarSyncOperation.UPDATE, absence));
     }
 
 
     @Override
-    public void deleteAbsence(String eventId) {
-        CalendarSettings calendarSettings = this.settingsService.getSettings().getCalendarSettings();
+    public void deleteAbsence(Integer absenceId, AbsenceType absenceType) {
+
+        enqueue(new CalendarSyncJob(absenceId, absenceType, CalendarSyncOperation.DELETE));
+    }
+
+
+    private void enqueue(CalendarSyncJob job) {
+
+        calendarSyncJobDAO.save(job);
+
+        LOG.debug("Queued calendar sync job: " + job);
 
-        calendarService.getCalendarProvider().delete(eventId, calendarSettings);
+        TransactionUtil.afterCommit(calendarSyncDispatcher::requestDispatch);
     }
 
     @Override
@@ -63,4 +74,4 @@ public class CalendarSyncServiceImpl implements CalendarSyncService {
 
         calendarService.getCalendarProvider().checkCalendarSyncSettings(calendarSettings);
     }
-}
\ No newline at end of file
+}
@@ -64,6 +64,29 @@ public class Absence {
         }
     }
 
+    /**
+     * Restores an absence from its already calculated start and end date, e.g. after it has been persisted.
+     *
+     * @param  person  the absent person
+     * @param  startDate  start of the absence
+     * @param  endDate  end of the absence
+     * @param  isAllDay  {@code true} if the absence lasts all day, else {@code false}
+     * @param  eventType  type of the absence
+     */
+    public Absence(Person person, Date startDate, Date endDate, boolean isAllDay, EventType eventType) {
+
+        Assert.notNull(person, "Person must be given");
+        Assert.notNull(startDate, "Start date must be given");
+        Assert.notNull(endDate, "End date must be given");
+        Assert.notNull(eventType, "Type of absence must be given");
+
+        this.person = person;
+        this.startDate = new Date(startDate.getTime());
+        this.endDate = new Date(endDate.getTime());
+        this.isAllDay = isAllDay;
+        this.eventType = eventType;
+    }
+
     public EventType getEventType() {
 
         return eventType;
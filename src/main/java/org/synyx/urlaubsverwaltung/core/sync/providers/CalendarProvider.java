@@ -3,7 +3,9 @@ package org.synyx.urlaubsverwaltung.core.sync.providers;
 import org.synyx.urlaubsverwaltung.core.settings.CalendarSettings;
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 
 /**
@@ -24,12 +26,33 @@ public interface CalendarProvider {
     Optional<String> add(Absence absence, CalendarSettings calendarSettings);
 
 
+    /**
+     * Add several absences to calendar. Providers supporting bulk operations should override this method to add all
+     * absences using as few requests as possible. By default the absences are added one by one and an empty event id
+     * is reported as succeeded without event, so providers that can fail to add an absence override this method.
+     *
+     * @param  absences  to be added
+     * @param  calendarSettings  contains configuration for calendar provider
+     *
+     * @return  results containing the ids of the added absence events in the order of the given absences, absences
+     *          that could not be added are reported as failed results, so they can be added again later
+     */
+    default List<EventSyncResult> addAll(List<Absence> absences, CalendarSettings calendarSettings) {
+
+        return absences.stream()
+            .map(absence -> EventSyncResult.succeeded(add(absence, calendarSettings).orElse(null)))
+            .collect(Collectors.toList());
+    }
+
+
     /**
      * Updates a given event with absence content.
      *
      * @param  absence  represents the updated absence
      * @param  eventId  id of event to be updated
      * @param  calendarSettings  contains configuration for calendar provider
+     *
+     * @throws  CalendarSyncException  if the event could not be updated
      */
     void update(Absence absence, String eventId, CalendarSettings calendarSettings);
 
@@ -43,6 +66,26 @@ public interface CalendarProvider {
     void delete(String eventId, CalendarSettings calendarSettings);
 
 
+    /**
+     * Deletes several absences in calendar. Providers supporting bulk operations should override this method to
+     * delete all events using as few requests as possible.
+     *
+     * @param  eventIds  ids of absence events, which should be deleted
+     * @param  calendarSettings  contains configuration for calendar provider
+     *
+     * @return  results in the order of the given event ids, events that could not be deleted are reported as failed
+     *          results, so they can be deleted again later
+     */
+    default List<EventSyncResult> deleteAll(List<String> eventIds, CalendarSettings calendarSettings) {
+
+        return eventIds.stream().map(eventId -> {
+                    delete(eventId, calendarSettings);
+
+                    return EventSyncResult.succeeded(eventId);
+                }).collect(Collectors.toList());
+    }
+
+
     /**
      * Check the settings for calendar sync.
      *
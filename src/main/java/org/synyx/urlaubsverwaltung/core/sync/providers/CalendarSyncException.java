@@ -0,0 +1,12 @@
+package org.synyx.urlaubsverwaltung.core.sync.providers;
+
+/**
+ * Exception thrown if an absence could not be synced with the calendar, so syncing it can be tried again later.
+ */
+public class CalendarSyncException extends RuntimeException {
+
+    public CalendarSyncException(String message, Throwable cause) {
+
+        super(message, cause);
+    }
+}
@@ -0,0 +1,54 @@
+package org.synyx.urlaubsverwaltung.core.sync.providers;
+
+import java.util.Optional;
+
+
+/**
+ * Result of adding or deleting a single event within a bulk operation of a {@link CalendarProvider}.
+ */
+public final class EventSyncResult {
+
+    private final String eventId;
+    private final String error;
+
+    private EventSyncResult(String eventId, String error) {
+
+        this.eventId = eventId;
+        this.error = error;
+    }
+
+    /**
+     * @param  eventId  of the added or deleted event, may be {@code null} if the provider does not create events
+     */
+    public static EventSyncResult succeeded(String eventId) {
+
+        return new EventSyncResult(eventId, null);
+    }
+
+
+    /**
+     * @param  error  describing why the event could not be synced
+     */
+    public static EventSyncResult failed(String error) {
+
+        return new EventSyncResult(null, error);
+    }
+
+
+    public Optional<String> getEventId() {
+
+        return Optional.ofNullable(eventId);
+    }
+
+
+    public boolean isFailed() {
+
+        return error != null;
+    }
+
+
+    public String getError() {
+
+        return error;
+    }
+}
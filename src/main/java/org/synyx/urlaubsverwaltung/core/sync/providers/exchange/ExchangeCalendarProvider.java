@@ -3,14 +3,18 @@ package org.synyx.urlaubsverwaltung.core.sync.providers.exchange;
 import microsoft.exchange.webservices.data.autodiscover.IAutodiscoverRedirectionUrl;
 import microsoft.exchange.webservices.data.core.ExchangeService;
 import microsoft.exchange.webservices.data.core.enumeration.property.WellKnownFolderName;
+import microsoft.exchange.webservices.data.core.enumeration.service.ServiceResult;
 import microsoft.exchange.webservices.data.core.enumeration.service.ConflictResolutionMode;
 import microsoft.exchange.webservices.data.core.enumeration.service.DeleteMode;
 import microsoft.exchange.webservices.data.core.enumeration.service.SendCancellationsMode;
 import microsoft.exchange.webservices.data.core.enumeration.service.SendInvitationsMode;
 import microsoft.exchange.webservices.data.core.enumeration.service.SendInvitationsOrCancellationsMode;
 import microsoft.exchange.webservices.data.core.service.folder.CalendarFolder;
+import microsoft.exchange.webservices.data.core.response.ServiceResponse;
+import microsoft.exchange.webservices.data.core.response.ServiceResponseCollection;
 import microsoft.exchange.webservices.data.core.service.folder.Folder;
 import microsoft.exchange.webservices.data.core.service.item.Appointment;
+import microsoft.exchange.webservices.data.core.service.item.Item;
 import microsoft.exchange.webservices.data.credential.WebCredentials;
 import microsoft.exchange.webservices.data.property.complex.ItemId;
 import microsoft.exchange.webservices.data.search.FindFoldersResults;
@@ -32,7 +36,12 @@ import org.synyx.urlaubsverwaltung.core.settings.ExchangeCalendarSettings;
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
 import org.synyx.urlaubsverwaltung.core.sync.CalendarNotCreatedException;
 import org.synyx.urlaubsverwaltung.core.sync.providers.CalendarProvider;
+import org.synyx.urlaubsverwaltung.core.sync.providers.CalendarSyncException;
+import org.synyx.urlaubsverwaltung.core.sync.providers.EventSyncResult;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -95,6 +104,79 @@ public class ExchangeCalendarProvider implements CalendarProvider {
     }
 
 
+    /**
+     * Adds all given absences using a single EWS {@code CreateItem} request.
+     */
+    @Override
+    public List<EventSyncResult> addAll(List<Absence> absences, CalendarSettings calendarSettings) {
+
+        if (absences.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        ExchangeCalendarSettings exchangeCalendarSettings = calendarSettings.getExchangeCalendarSettings();
+        String calendarName = exchangeCalendarSettings.getCalendar();
+        connectToExchange(exchangeCalendarSettings);
+
+        List<EventSyncResult> results = new ArrayList<>(Collections.nCopies(absences.size(), null));
+
+        try {
+            CalendarFolder calendarFolder = findOrCreateCalendar(calendarName);
+
+            List<Item> appointments = new ArrayList<>(absences.size());
+
+            for (Absence absence : absences) {
+                Appointment appointment = new Appointment(exchangeService);
+                fillAppointment(absence, appointment);
+                appointments.add(appointment);
+            }
+
+            SendInvitationsMode invitationsMode = SendInvitationsMode.SendToNone;
+
+            if (exchangeCalendarSettings.isSendInvitationActive()) {
+                invitationsMode = SendInvitationsMode.SendToAllAndSaveCopy;
+            }
+
+            // message disposition is only applicable for e-mail messages, not for appointments
+            ServiceResponseCollection<ServiceResponse> responses = exchangeService.createItems(appointments,
+                    calendarFolder.getId(), null, invitationsMode);
+
+            for (int i = 0; i < absences.size(); i++) {
+                Absence absence = absences.get(i);
+                ServiceResponse response = responses.getResponseAtIndex(i);
+
+                if (response.getResult() == ServiceResult.Success) {
+                    String eventId = appointments.get(i).getId().getUniqueId();
+
+                    LOG.info(String.format("Appointment %s for '%s' added to exchange calendar '%s'.", eventId,
+                            absence.getPerson().getNiceName(), calendarFolder.getDisplayName()));
+
+                    results.set(i, EventSyncResult.succeeded(eventId));
+                } else {
+                    LOG.warn("An error occurred while trying to add appointment to Exchange calendar");
+                    mailService.sendCalendarSyncErrorNotification(calendarName, absence,
+                        response.getErrorMessage());
+
+                    results.set(i, EventSyncResult.failed(response.getErrorMessage()));
+                }
+            }
+        } catch (Exception ex) { // NOSONAR - EWS Java API throws Exception, that's life
+            LOG.warn("An error occurred while trying to add appointments to Exchange calendar");
+
+            for (int i = 0; i < absences.size(); i++) {
+                if (results.get(i) == null) {
+                    mailService.sendCalendarSyncErrorNotification(calendarName, absences.get(i),
+                        ExceptionUtils.getStackTrace(ex));
+
+                    results.set(i, EventSyncResult.failed(ex.toString()));
+                }
+            }
+        }
+
+        return results;
+    }
+
+
     private void connectToExchange(ExchangeCalendarSettings settings) {
 
         String email = settings.getEmail();
@@ -236,6 +318,8 @@ public class ExchangeCalendarProvider implements CalendarProvider {
             LOG.warn(String.format("Could not update appointment %s in exchange calendar '%s'", eventId, calendarName));
             mailService.sendCalendarUpdateErrorNotification(calendarName, absence, eventId,
                 ExceptionUtils.getStackTrace(ex));
+
+            throw new CalendarSyncException(String.format("Could not update appointment %s", eventId), ex);
         }
     }
 
@@ -267,6 +351,73 @@ public class ExchangeCalendarProvider implements CalendarProvider {
     }
 
 
+    /**
+     * Deletes all given appointments using a single EWS {@code DeleteItem} request.
+     */
+    @Override
+    public List<EventSyncResult> deleteAll(List<String> eventIds, CalendarSettings calendarSettings) {
+
+        if (eventIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        ExchangeCalendarSettings exchangeCalendarSettings = calendarSettings.getExchangeCalendarSettings();
+        String calendarName = exchangeCalendarSettings.getCalendar();
+        connectToExchange(exchangeCalendarSettings);
+
+        List<EventSyncResult> results = new ArrayList<>(eventIds.size());
+
+        try {
+            List<ItemId> itemIds = new ArrayList<>(eventIds.size());
+
+            for (String eventId : eventIds) {
+                itemIds.add(new ItemId(eventId));
+            }
+
+            SendCancellationsMode notificationMode = SendCancellationsMode.SendToNone;
+
+            if (exchangeCalendarSettings.isSendInvitationActive()) {
+                notificationMode = SendCancellationsMode.SendToAllAndSaveCopy;
+            }
+
+            // affected task occurrences are only applicable for tasks, not for appointments
+            ServiceResponseCollection<ServiceResponse> responses = exchangeService.deleteItems(itemIds,
+                    DeleteMode.HardDelete, notificationMode, null);
+
+            for (int i = 0; i < eventIds.size(); i++) {
+                String eventId = eventIds.get(i);
+                ServiceResponse response = responses.getResponseAtIndex(i);
+
+                if (response.getResult() == ServiceResult.Success) {
+                    LOG.info(String.format("Appointment %s has been deleted in exchange calendar '%s'.", eventId,
+                            calendarName));
+
+                    results.add(EventSyncResult.succeeded(eventId));
+                } else {
+                    LOG.warn(String.format("Could not delete appointment %s in exchange calendar '%s'", eventId,
+                            calendarName));
+                    mailService.sendCalendarDeleteErrorNotification(calendarName, eventId,
+                        response.getErrorMessage());
+
+                    results.add(EventSyncResult.failed(response.getErrorMessage()));
+                }
+            }
+        } catch (Exception ex) { // NOSONAR - EWS Java API throws Exception, that's life
+            LOG.warn(String.format("Could not delete appointments %s in exchange calendar '%s'", eventIds,
+                    calendarName));
+
+            for (String eventId : eventIds.subList(results.size(), eventIds.size())) {
+                mailService.sendCalendarDeleteErrorNotification(calendarName, eventId,
+                    ExceptionUtils.getStackTrace(ex));
+
+                results.add(EventSyncResult.failed(ex.toString()));
+            }
+        }
+
+        return results;
+    }
+
+
     @Override
     public void checkCalendarSyncSettings(CalendarSettings calendarSettings) {
 
@@ -3,9 +3,13 @@ package org.synyx.urlaubsverwaltung.core.sync.providers.google;
 import com.google.api.client.auth.oauth2.BearerToken;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.auth.oauth2.TokenResponse;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.http.BasicAuthentication;
 import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpResponse;
 import com.google.api.client.http.HttpTransport;
 import com.google.api.client.http.javanet.NetHttpTransport;
@@ -25,13 +29,20 @@ import org.synyx.urlaubsverwaltung.core.settings.GoogleCalendarSettings;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
 import org.synyx.urlaubsverwaltung.core.sync.providers.CalendarProvider;
+import org.synyx.urlaubsverwaltung.core.sync.providers.CalendarSyncException;
+import org.synyx.urlaubsverwaltung.core.sync.providers.EventSyncResult;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.apache.http.HttpStatus.SC_OK;
 
@@ -52,6 +63,13 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
     public static final String APPLICATION_NAME = "Urlaubsverwaltung";
     protected static final String GOOGLEAPIS_OAUTH2_V4_TOKEN = "https://www.googleapis.com/oauth2/v4/token";
 
+    /**
+     * Maximum number of requests Google Calendar accepts within one batch request.
+     */
+    private static final int MAX_BATCH_SIZE = 50;
+
+    private static final String NO_CALENDAR_CLIENT = "Google calendar client could not be created";
+
     private Calendar googleCalendarClient;
     private int refreshTokenHashCode;
     private final MailService mailService;
@@ -133,6 +151,80 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
     }
 
 
+    /**
+     * Adds all given absences using batch requests.
+     */
+    @Override
+    public List<EventSyncResult> addAll(List<Absence> absences, CalendarSettings calendarSettings) {
+
+        googleCalendarClient = getOrCreateGoogleCalendarClient();
+
+        if (googleCalendarClient == null) {
+            return Collections.nCopies(absences.size(), EventSyncResult.failed(NO_CALENDAR_CLIENT));
+        }
+
+        List<EventSyncResult> results = new ArrayList<>(Collections.nCopies(absences.size(), null));
+
+        String calendarId =
+                settingsService.getSettings().getCalendarSettings().getGoogleCalendarSettings().getCalendarId();
+
+        for (int from = 0; from < absences.size(); from += MAX_BATCH_SIZE) {
+            int to = Math.min(from + MAX_BATCH_SIZE, absences.size());
+
+            try {
+                BatchRequest batch = googleCalendarClient.batch();
+
+                for (int i = from; i < to; i++) {
+                    Absence absence = absences.get(i);
+                    int index = i;
+
+                    Event eventToCommit = new Event();
+                    fillEvent(absence, eventToCommit);
+
+                    googleCalendarClient.events().insert(calendarId, eventToCommit).queue(batch,
+                        new JsonBatchCallback<Event>() {
+
+                            @Override
+                            public void onSuccess(Event eventInCalendar, HttpHeaders responseHeaders) {
+
+                                LOG.info(String.format("Event %s for '%s' added to calendar '%s'.",
+                                        eventInCalendar.getId(), absence.getPerson().getNiceName(),
+                                        eventInCalendar.getSummary()));
+                                results.set(index, EventSyncResult.succeeded(eventInCalendar.getId()));
+                            }
+
+
+                            @Override
+                            public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+
+                                LOG.warn(String.format(
+                                        "An error occurred while trying to add appointment to calendar %s: %s",
+                                        calendarId, error.getMessage()));
+                                mailService.sendCalendarSyncErrorNotification(calendarId, absence,
+                                    error.getMessage());
+                                results.set(index, EventSyncResult.failed(error.getMessage()));
+                            }
+                        });
+                }
+
+                batch.execute();
+            } catch (IOException ex) {
+                LOG.warn(String.format("An error occurred while trying to add appointments to calendar %s",
+                        calendarId), ex);
+
+                for (int i = from; i < to; i++) {
+                    if (results.get(i) == null) {
+                        mailService.sendCalendarSyncErrorNotification(calendarId, absences.get(i), ex.toString());
+                        results.set(i, EventSyncResult.failed(ex.toString()));
+                    }
+                }
+            }
+        }
+
+        return results;
+    }
+
+
     @Override
     public void update(Absence absence, String eventId, CalendarSettings calendarSettings) {
 
@@ -157,7 +249,11 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
             } catch (IOException ex) {
                 LOG.warn(String.format("Could not update event %s in calendar '%s'.", eventId, calendarId), ex);
                 mailService.sendCalendarUpdateErrorNotification(calendarId, absence, eventId, ex.getMessage());
+
+                throw new CalendarSyncException(String.format("Could not update event %s", eventId), ex);
             }
+        } else {
+            throw new CalendarSyncException(NO_CALENDAR_CLIENT, null);
         }
     }
 
@@ -184,6 +280,71 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
     }
 
 
+    /**
+     * Deletes all given events using batch requests.
+     */
+    @Override
+    public List<EventSyncResult> deleteAll(List<String> eventIds, CalendarSettings calendarSettings) {
+
+        googleCalendarClient = getOrCreateGoogleCalendarClient();
+
+        if (googleCalendarClient == null) {
+            return Collections.nCopies(eventIds.size(), EventSyncResult.failed(NO_CALENDAR_CLIENT));
+        }
+
+        Map<String, EventSyncResult> results = new HashMap<>();
+
+        String calendarId =
+                settingsService.getSettings().getCalendarSettings().getGoogleCalendarSettings().getCalendarId();
+
+        for (int from = 0; from < eventIds.size(); from += MAX_BATCH_SIZE) {
+            List<String> batchEventIds = eventIds.subList(from, Math.min(from + MAX_BATCH_SIZE, eventIds.size()));
+
+            try {
+                BatchRequest batch = googleCalendarClient.batch();
+
+                for (String eventId : batchEventIds) {
+                    googleCalendarClient.events().delete(calendarId, eventId).queue(batch,
+                        new JsonBatchCallback<Void>() {
+
+                            @Override
+                            public void onSuccess(Void content, HttpHeaders responseHeaders) {
+
+                                LOG.info(String.format("Event %s has been deleted in calendar '%s'.", eventId,
+                                        calendarId));
+                                results.put(eventId, EventSyncResult.succeeded(eventId));
+                            }
+
+
+                            @Override
+                            public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+
+                                LOG.warn(String.format("Could not delete event %s in calendar '%s': %s", eventId,
+                                        calendarId, error.getMessage()));
+                                mailService.sendCalendarDeleteErrorNotification(calendarId, eventId,
+                                    error.getMessage());
+                                results.put(eventId, EventSyncResult.failed(error.getMessage()));
+                            }
+                        });
+                }
+
+                batch.execute();
+            } catch (IOException ex) {
+                LOG.warn(String.format("Could not delete events %s in calendar '%s'", batchEventIds, calendarId), ex);
+
+                for (String eventId : batchEventIds) {
+                    if (!results.containsKey(eventId)) {
+                        mailService.sendCalendarDeleteErrorNotification(calendarId, eventId, ex.getMessage());
+                        results.put(eventId, EventSyncResult.failed(ex.toString()));
+                    }
+                }
+            }
+        }
+
+        return eventIds.stream().map(results::get).collect(Collectors.toList());
+    }
+
+
     @Override
     public void checkCalendarSyncSettings(CalendarSettings calendarSettings) {
 
@@ -0,0 +1,123 @@
+package org.synyx.urlaubsverwaltung.core.util;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+
+/**
+ * Local in memory cache for read mostly data, e.g. reference data like vacation types.
+ *
+ * <p>The cached values are reloaded after the given time to live to take changes of other application nodes into
+ * account. Values loaded concurrently to an invalidation are not cached, so an invalidation is never overwritten by
+ * outdated data. The number of cache hits and misses is provided as actuator metrics.</p>
+ *
+ * @param  <K>  type of the keys
+ * @param  <V>  type of the cached values, should not be modified by the callers
+ */
+public final class ExpiringCache<K, V> {
+
+    private final String name;
+    private final long timeToLiveInMillis;
+
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param  name  of the cache, used as prefix of the metric names
+     * @param  timeToLiveInSeconds  time the values are cached before they are reloaded
+     */
+    public ExpiringCache(String name, long timeToLiveInSeconds) {
+
+        this.name = name;
+        this.timeToLiveInMillis = TimeUnit.SECONDS.toMillis(timeToLiveInSeconds);
+    }
+
+    /**
+     * Get the cached value of the given key, loading it if it is not cached yet or expired.
+     *
+     * @param  key  to get the value of
+     * @param  loader  to load the value if needed, must not return {@code null}
+     *
+     * @return  the cached or the loaded value
+     */
+    public V get(K key, Function<K, V> loader) {
+
+        long now = System.currentTimeMillis();
+
+        Entry<V> current = entries.get(key);
+
+        if (current != null && now - current.loadedAt < timeToLiveInMillis) {
+            hits.increment();
+
+            return current.value;
+        }
+
+        misses.increment();
+
+        long generationBeforeLoad = generation.get();
+        V value = loader.apply(key);
+
+        entries.compute(key,
+            (k, existing) -> generation.get() == generationBeforeLoad ? new Entry<>(value, now) : existing);
+
+        return value;
+    }
+
+
+    /**
+     * Removes the value of the given key, the value is loaded again on next usage.
+     *
+     * @param  key  to remove the value of
+     */
+    public void invalidate(K key) {
+
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+
+    /**
+     * Removes all values, the values are loaded again on next usage.
+     */
+    public void invalidateAll() {
+
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+
+    /**
+     * @return  the number of cache hits and misses and the number of cached values as actuator metrics
+     */
+    public Collection<Metric<?>> metrics() {
+
+        return Arrays.asList(new Metric<>(name + ".cache.hits", hits.sum()),
+                new Metric<>(name + ".cache.misses", misses.sum()),
+                new Metric<>(name + ".cache.size", entries.size()));
+    }
+
+    /**
+     * Immutable holder of a cached value.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long loadedAt;
+
+        Entry(V value, long loadedAt) {
+
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.synyx.urlaubsverwaltung.core.util;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+/**
+ * Contains helper methods for handling transactions.
+ */
+public final class TransactionUtil {
+
+    private TransactionUtil() {
+
+        // Hide constructor for util classes
+    }
+
+    /**
+     * Runs the given action after the current transaction has been committed, so its changes are visible to other
+     * transactions. The action is run immediately if there is no current transaction, and not at all if the current
+     * transaction is rolled back.
+     *
+     * @param  action  to run after commit
+     */
+    public static void afterCommit(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+
+                    action.run();
+                }
+            });
+    }
+}
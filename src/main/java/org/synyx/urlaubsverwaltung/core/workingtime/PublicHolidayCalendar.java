@@ -0,0 +1,167 @@
+package org.synyx.urlaubsverwaltung.core.workingtime;
+
+import de.jollyday.Holiday;
+
+import org.joda.time.DateMidnight;
+
+import org.synyx.urlaubsverwaltung.core.period.DayLength;
+import org.synyx.urlaubsverwaltung.core.settings.WorkingTimeSettings;
+import org.synyx.urlaubsverwaltung.core.util.DateUtil;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Set;
+
+
+/**
+ * Precomputed public holidays of one year for one federal state.
+ *
+ * <p>Contains the working duration of every day of the year, so checking a single day is an array lookup instead of
+ * evaluating the holiday rules. The working duration of Christmas Eve and New Year's Eve depends on the
+ * {@link WorkingTimeSettings} the calendar has been built for, use {@link #isBuiltFor(WorkingTimeSettings)} to check
+ * if the calendar is still valid.</p>
+ */
+final class PublicHolidayCalendar {
+
+    private final int year;
+    private final DayLength workingDurationForChristmasEve;
+    private final DayLength workingDurationForNewYearsEve;
+
+    /**
+     * Index is the day of year minus one.
+     */
+    private final BitSet publicHolidays;
+    private final DayLength[] workingDurations;
+
+    /**
+     * Sorted index of the public holidays: day of year minus one and day of week of every public holiday.
+     */
+    private final int[] publicHolidayIndexes;
+    private final int[] publicHolidayDaysOfWeek;
+
+    PublicHolidayCalendar(int year, Set<Holiday> holidays, WorkingTimeSettings workingTimeSettings) {
+
+        this.year = year;
+        this.workingDurationForChristmasEve = workingTimeSettings.getWorkingDurationForChristmasEve();
+        this.workingDurationForNewYearsEve = workingTimeSettings.getWorkingDurationForNewYearsEve();
+
+        DateMidnight lastDayOfYear = new DateMidnight(year, 12, 31);
+        int daysOfYear = lastDayOfYear.getDayOfYear();
+
+        this.publicHolidays = new BitSet(daysOfYear);
+        this.workingDurations = new DayLength[daysOfYear];
+
+        Arrays.fill(workingDurations, DayLength.FULL);
+
+        for (Holiday holiday : holidays) {
+            DateMidnight date = holiday.getDate().toDateMidnight();
+
+            if (date.getYear() != year) {
+                continue;
+            }
+
+            int index = date.getDayOfYear() - 1;
+
+            publicHolidays.set(index);
+            workingDurations[index] = getWorkingDurationOfPublicHoliday(date);
+        }
+
+        this.publicHolidayIndexes = publicHolidays.stream().toArray();
+        this.publicHolidayDaysOfWeek = new int[publicHolidayIndexes.length];
+
+        DateMidnight firstDayOfYear = new DateMidnight(year, 1, 1);
+
+        for (int i = 0; i < publicHolidayIndexes.length; i++) {
+            publicHolidayDaysOfWeek[i] = firstDayOfYear.plusDays(publicHolidayIndexes[i]).getDayOfWeek();
+        }
+    }
+
+    private DayLength getWorkingDurationOfPublicHoliday(DateMidnight date) {
+
+        if (DateUtil.isChristmasEve(date)) {
+            return workingDurationForChristmasEve;
+        } else if (DateUtil.isNewYearsEve(date)) {
+            return workingDurationForNewYearsEve;
+        }
+
+        return DayLength.ZERO;
+    }
+
+
+    /**
+     * Checks if the calendar has been built for the working duration of Christmas Eve and New Year's Eve of the given
+     * settings.
+     *
+     * @param  workingTimeSettings  to check against
+     *
+     * @return  {@code true} if the calendar matches the given settings, else {@code false}
+     */
+    boolean isBuiltFor(WorkingTimeSettings workingTimeSettings) {
+
+        return workingDurationForChristmasEve == workingTimeSettings.getWorkingDurationForChristmasEve()
+            && workingDurationForNewYearsEve == workingTimeSettings.getWorkingDurationForNewYearsEve();
+    }
+
+
+    /**
+     * @param  date  must be within the year of the calendar
+     *
+     * @return  {@code true} if the given date is a public holiday, else {@code false}
+     */
+    boolean isPublicHoliday(DateMidnight date) {
+
+        return publicHolidays.get(indexOf(date));
+    }
+
+
+    /**
+     * @param  date  must be within the year of the calendar
+     *
+     * @return  the working duration of the given date, {@link DayLength#FULL} for a day that is no public holiday
+     */
+    DayLength getWorkingDuration(DateMidnight date) {
+
+        return workingDurations[indexOf(date)];
+    }
+
+
+    /**
+     * Sums up the working time that is lost through public holidays between the given days of the year (both
+     * inclusive), considering the working time per day of week.
+     *
+     * @param  fromDayOfYear  first day of the period
+     * @param  toDayOfYear  last day of the period
+     * @param  halfDaysPerDayOfWeek  working time in half days, index is the day of week minus one
+     *
+     * @return  lost working time in quarter days
+     */
+    int getQuarterDaysLostOnPublicHolidays(int fromDayOfYear, int toDayOfYear, int[] halfDaysPerDayOfWeek) {
+
+        int quarterDays = 0;
+
+        int i = Arrays.binarySearch(publicHolidayIndexes, fromDayOfYear - 1);
+
+        if (i < 0) {
+            i = -i - 1;
+        }
+
+        for (; i < publicHolidayIndexes.length && publicHolidayIndexes[i] < toDayOfYear; i++) {
+            int halfDaysOfPublicHoliday = WorkDaysCalculator.toHalfDays(workingDurations[publicHolidayIndexes[i]]);
+            int halfDaysOfDayOfWeek = halfDaysPerDayOfWeek[publicHolidayDaysOfWeek[i] - 1];
+
+            quarterDays += (WorkDaysCalculator.HALF_DAYS_PER_DAY - halfDaysOfPublicHoliday) * halfDaysOfDayOfWeek;
+        }
+
+        return quarterDays;
+    }
+
+
+    private int indexOf(DateMidnight date) {
+
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException("Date " + date + " is not within year " + year);
+        }
+
+        return date.getDayOfYear() - 1;
+    }
+}
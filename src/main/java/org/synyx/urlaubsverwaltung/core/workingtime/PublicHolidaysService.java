@@ -9,18 +9,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.stereotype.Component;
 
-import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.settings.FederalState;
 import org.synyx.urlaubsverwaltung.core.settings.Settings;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.core.settings.WorkingTimeSettings;
-import org.synyx.urlaubsverwaltung.core.util.DateUtil;
 
 import java.math.BigDecimal;
 
 import java.net.URL;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -28,6 +29,9 @@ import java.util.stream.Collectors;
 /**
  * Service for calendar purpose using jollyday library.
  *
+ * <p>The public holidays are precomputed lazily per federal state and year as {@link PublicHolidayCalendar}, so
+ * checking a day does not evaluate the holiday rules again.</p>
+ *
  * @author  Aljona Murygina
  */
 @Component
@@ -37,6 +41,7 @@ public class PublicHolidaysService {
 
     private final HolidayManager manager;
     private final SettingsService settingsService;
+    private final Map<FederalState, Map<Integer, PublicHolidayCalendar>> calendars;
 
     @Autowired
     public PublicHolidaysService(SettingsService settingsService) {
@@ -47,6 +52,12 @@ public class PublicHolidaysService {
         URL url = cl.getResource(HOLIDAY_DEFINITION_FILE);
 
         this.manager = HolidayManager.getInstance(url);
+
+        this.calendars = new EnumMap<>(FederalState.class);
+
+        for (FederalState federalState : FederalState.values()) {
+            this.calendars.put(federalState, new ConcurrentHashMap<>());
+        }
     }
 
     /**
@@ -59,7 +70,7 @@ public class PublicHolidaysService {
      */
     boolean isPublicHoliday(DateMidnight date, FederalState federalState) {
 
-        return manager.isHoliday(date.toLocalDate(), federalState.getCodes());
+        return getCalendar(date.getYear(), federalState).isPublicHoliday(date);
     }
 
 
@@ -75,20 +86,36 @@ public class PublicHolidaysService {
      */
     public BigDecimal getWorkingDurationOfDate(DateMidnight date, FederalState federalState) {
 
+        return getCalendar(date.getYear(), federalState).getWorkingDuration(date).getDuration();
+    }
+
+
+    /**
+     * Returns the precomputed public holidays of the given year for the given federal state. The calendar is built on
+     * first access and rebuilt if the working duration for Christmas Eve or New Year's Eve has been changed in the
+     * settings since.
+     *
+     * @param  year  to get the calendar for
+     * @param  federalState  the federal state to consider holiday settings for
+     *
+     * @return  calendar containing the working duration of every day of the given year
+     */
+    PublicHolidayCalendar getCalendar(int year, FederalState federalState) {
+
         Settings settings = settingsService.getSettings();
         WorkingTimeSettings workingTimeSettings = settings.getWorkingTimeSettings();
 
-        if (isPublicHoliday(date, federalState)) {
-            if (DateUtil.isChristmasEve(date)) {
-                return workingTimeSettings.getWorkingDurationForChristmasEve().getDuration();
-            } else if (DateUtil.isNewYearsEve(date)) {
-                return workingTimeSettings.getWorkingDurationForNewYearsEve().getDuration();
-            } else {
-                return DayLength.ZERO.getDuration();
-            }
+        Map<Integer, PublicHolidayCalendar> calendarsOfFederalState = calendars.get(federalState);
+
+        PublicHolidayCalendar calendar = calendarsOfFederalState.get(year);
+
+        if (calendar == null || !calendar.isBuiltFor(workingTimeSettings)) {
+            calendar = new PublicHolidayCalendar(year, getHolidays(year, federalState), workingTimeSettings);
+
+            calendarsOfFederalState.put(year, calendar);
         }
 
-        return DayLength.FULL.getDuration();
+        return calendar;
     }
 
 
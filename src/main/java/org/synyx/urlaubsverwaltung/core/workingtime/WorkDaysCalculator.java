@@ -0,0 +1,155 @@
+package org.synyx.urlaubsverwaltung.core.workingtime;
+
+import org.joda.time.DateMidnight;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.Days;
+
+import org.synyx.urlaubsverwaltung.core.period.DayLength;
+
+import java.util.function.IntFunction;
+
+
+/**
+ * Calculates the working time of a period in closed form instead of walking through the period day by day: full weeks
+ * are multiplied with the weekly working time, the remaining days are added and the working time lost through public
+ * holidays is subtracted using the sorted holiday index of the {@link PublicHolidayCalendar}.
+ *
+ * <p>Calculation is done in integer units: the working time of a day of week and of a public holiday are half days,
+ * their product is given in quarter days (e.g. a half working day on Christmas Eve with a half working duration).</p>
+ */
+final class WorkDaysCalculator {
+
+    static final int HALF_DAYS_PER_DAY = 2;
+    static final int QUARTER_DAYS_PER_DAY = HALF_DAYS_PER_DAY * HALF_DAYS_PER_DAY;
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    private static final int[] WEEK_DAYS = halfDaysPerDayOfWeek(DayLength.FULL, DayLength.FULL, DayLength.FULL,
+            DayLength.FULL, DayLength.FULL, DayLength.ZERO, DayLength.ZERO);
+
+    private WorkDaysCalculator() {
+
+        // Hide constructor for util classes
+    }
+
+    /**
+     * Counts the weekdays (Monday to Friday) between the given dates, public holidays are ignored.
+     *
+     * @param  startDate  first day of the period
+     * @param  endDate  last day of the period
+     *
+     * @return  number of weekdays, zero if the end date is before the start date
+     */
+    static int getWeekDays(DateMidnight startDate, DateMidnight endDate) {
+
+        return getHalfDaysOfWeekDays(startDate, endDate, WEEK_DAYS) / HALF_DAYS_PER_DAY;
+    }
+
+
+    /**
+     * Calculates the working time between the given dates (both inclusive) considering the working time per day of
+     * week and the public holidays.
+     *
+     * @param  startDate  first day of the period
+     * @param  endDate  last day of the period
+     * @param  workingTime  the working time per day of week
+     * @param  publicHolidayCalendars  provides the public holiday calendar for a year
+     *
+     * @return  working time in quarter days, zero if the end date is before the start date
+     */
+    static int getQuarterDays(DateMidnight startDate, DateMidnight endDate, WorkingTime workingTime,
+        IntFunction<PublicHolidayCalendar> publicHolidayCalendars) {
+
+        if (endDate.isBefore(startDate)) {
+            return 0;
+        }
+
+        int[] halfDaysPerDayOfWeek = halfDaysPerDayOfWeek(workingTime);
+
+        int quarterDays = HALF_DAYS_PER_DAY * getHalfDaysOfWeekDays(startDate, endDate, halfDaysPerDayOfWeek);
+
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            PublicHolidayCalendar calendar = publicHolidayCalendars.apply(year);
+
+            int fromDayOfYear = year == startDate.getYear() ? startDate.getDayOfYear() : 1;
+            int toDayOfYear = year == endDate.getYear() ? endDate.getDayOfYear() : Integer.MAX_VALUE;
+
+            quarterDays -= calendar.getQuarterDaysLostOnPublicHolidays(fromDayOfYear, toDayOfYear,
+                    halfDaysPerDayOfWeek);
+        }
+
+        return quarterDays;
+    }
+
+
+    private static int getHalfDaysOfWeekDays(DateMidnight startDate, DateMidnight endDate,
+        int[] halfDaysPerDayOfWeek) {
+
+        int numberOfDays = Days.daysBetween(startDate.toLocalDate(), endDate.toLocalDate()).getDays() + 1;
+
+        if (numberOfDays <= 0) {
+            return 0;
+        }
+
+        int halfDaysPerWeek = 0;
+
+        for (int halfDays : halfDaysPerDayOfWeek) {
+            halfDaysPerWeek += halfDays;
+        }
+
+        int halfDays = (numberOfDays / DAYS_PER_WEEK) * halfDaysPerWeek;
+
+        int dayOfWeekIndex = startDate.getDayOfWeek() - 1;
+
+        for (int i = 0; i < numberOfDays % DAYS_PER_WEEK; i++) {
+            halfDays += halfDaysPerDayOfWeek[(dayOfWeekIndex + i) % DAYS_PER_WEEK];
+        }
+
+        return halfDays;
+    }
+
+
+    private static int[] halfDaysPerDayOfWeek(WorkingTime workingTime) {
+
+        return halfDaysPerDayOfWeek(workingTime.getDayLengthForWeekDay(DateTimeConstants.MONDAY),
+                workingTime.getDayLengthForWeekDay(DateTimeConstants.TUESDAY),
+                workingTime.getDayLengthForWeekDay(DateTimeConstants.WEDNESDAY),
+                workingTime.getDayLengthForWeekDay(DateTimeConstants.THURSDAY),
+                workingTime.getDayLengthForWeekDay(DateTimeConstants.FRIDAY),
+                workingTime.getDayLengthForWeekDay(DateTimeConstants.SATURDAY),
+                workingTime.getDayLengthForWeekDay(DateTimeConstants.SUNDAY));
+    }
+
+
+    private static int[] halfDaysPerDayOfWeek(DayLength... dayLengthsFromMondayToSunday) {
+
+        int[] halfDays = new int[dayLengthsFromMondayToSunday.length];
+
+        for (int i = 0; i < halfDays.length; i++) {
+            halfDays[i] = toHalfDays(dayLengthsFromMondayToSunday[i]);
+        }
+
+        return halfDays;
+    }
+
+
+    /**
+     * @param  dayLength  to be converted
+     *
+     * @return  the given day length in half days
+     */
+    static int toHalfDays(DayLength dayLength) {
+
+        switch (dayLength) {
+            case FULL:
+                return HALF_DAYS_PER_DAY;
+
+            case MORNING:
+            case NOON:
+                return 1;
+
+            default:
+                return 0;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.settings.FederalState;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.core.util.DateFormat;
-import org.synyx.urlaubsverwaltung.core.util.DateUtil;
 
 import java.math.BigDecimal;
 
@@ -52,25 +51,7 @@ public class WorkDaysService {
      */
     public double getWeekDays(DateMidnight startDate, DateMidnight endDate) {
 
-        double workDays = 0.0;
-
-        if (!startDate.equals(endDate)) {
-            DateMidnight day = startDate;
-
-            while (!day.isAfter(endDate)) {
-                if (DateUtil.isWorkDay(day)) {
-                    workDays++;
-                }
-
-                day = day.plusDays(1);
-            }
-        } else {
-            if (DateUtil.isWorkDay(startDate)) {
-                workDays++;
-            }
-        }
-
-        return workDays;
+        return WorkDaysCalculator.getWeekDays(startDate, endDate);
     }
 
 
@@ -92,6 +73,32 @@ public class WorkDaysService {
         Optional<WorkingTime> optionalWorkingTime = workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(
                 person, startDate);
 
+        return getWorkDays(dayLength, startDate, endDate, person, optionalWorkingTime);
+    }
+
+
+    /**
+     * Calculates the workdays like {@link #getWorkDays(DayLength, DateMidnight, DateMidnight, Person)}, but the
+     * working time of the person is taken from the given timeline of already loaded working times.
+     *
+     * @param  dayLength
+     * @param  startDate
+     * @param  endDate
+     * @param  person
+     * @param  workingTimes  timeline of all working times of the person
+     *
+     * @return  number of workdays
+     */
+    public BigDecimal getWorkDays(DayLength dayLength, DateMidnight startDate, DateMidnight endDate, Person person,
+        WorkingTimeTimeline workingTimes) {
+
+        return getWorkDays(dayLength, startDate, endDate, person, workingTimes.getValidOn(startDate));
+    }
+
+
+    private BigDecimal getWorkDays(DayLength dayLength, DateMidnight startDate, DateMidnight endDate, Person person,
+        Optional<WorkingTime> optionalWorkingTime) {
+
         if (!optionalWorkingTime.isPresent()) {
             throw new NoValidWorkingTimeException("No working time found for User '" + person.getLoginName()
                 + "' in period " + startDate.toString(DateFormat.PATTERN) + " - "
@@ -102,23 +109,11 @@ public class WorkDaysService {
 
         FederalState federalState = getFederalState(workingTime);
 
-        BigDecimal vacationDays = BigDecimal.ZERO;
-
-        DateMidnight day = startDate;
-
-        while (!day.isAfter(endDate)) {
-            // value may be 1 for public holiday, 0 for not public holiday or 0.5 for Christmas Eve or New Year's Eve
-            BigDecimal duration = publicHolidaysService.getWorkingDurationOfDate(day, federalState);
-
-            int dayOfWeek = day.getDayOfWeek();
-            BigDecimal workingDuration = workingTime.getDayLengthForWeekDay(dayOfWeek).getDuration();
+        int quarterDays = WorkDaysCalculator.getQuarterDays(startDate, endDate, workingTime,
+                year -> publicHolidaysService.getCalendar(year, federalState));
 
-            BigDecimal result = duration.multiply(workingDuration);
-
-            vacationDays = vacationDays.add(result);
-
-            day = day.plusDays(1);
-        }
+        BigDecimal vacationDays = BigDecimal.valueOf(quarterDays)
+            .divide(BigDecimal.valueOf(WorkDaysCalculator.QUARTER_DAYS_PER_DAY));
 
         // vacation days < 1 day --> must not be divided, else an ArithmeticException is thrown
         if (vacationDays.compareTo(BigDecimal.ONE) < 0) {
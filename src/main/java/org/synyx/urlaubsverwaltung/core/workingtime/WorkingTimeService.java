@@ -5,6 +5,12 @@ import org.apache.log4j.Logger;
 import org.joda.time.DateMidnight;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import org.springframework.context.ApplicationEventPublisher;
 
 import org.springframework.stereotype.Service;
 
@@ -15,7 +21,11 @@ import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.settings.FederalState;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.core.util.DateFormat;
+import org.synyx.urlaubsverwaltung.core.util.ExpiringCache;
+import org.synyx.urlaubsverwaltung.core.util.TransactionUtil;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,22 +33,32 @@ import java.util.Optional;
 /**
  * Service for handling {@link WorkingTime} entities.
  *
+ * <p>The working times of a person are cached in memory as {@link WorkingTimeTimeline} for the configured time to live
+ * and are invalidated when the working time of the person is changed, so the working time valid on a certain date is
+ * looked up without accessing the database. The number of cache hits and misses is exposed as actuator metrics.</p>
+ *
  * @author  Aljona Murygina - murygina@synyx.de
  */
 @Service
 @Transactional
-public class WorkingTimeService {
+public class WorkingTimeService implements PublicMetrics {
 
     private static final Logger LOG = Logger.getLogger(WorkingTimeService.class);
 
     private final WorkingTimeDAO workingTimeDAO;
     private final SettingsService settingsService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ExpiringCache<Integer, WorkingTimeTimeline> cache;
 
     @Autowired
-    public WorkingTimeService(WorkingTimeDAO workingTimeDAO, SettingsService settingsService) {
+    public WorkingTimeService(WorkingTimeDAO workingTimeDAO, SettingsService settingsService,
+        ApplicationEventPublisher applicationEventPublisher,
+        @Value("${uv.referencedata.cache.timeToLive}") long timeToLiveInSeconds) {
 
         this.workingTimeDAO = workingTimeDAO;
         this.settingsService = settingsService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.cache = new ExpiringCache<>("workingtimes", timeToLiveInSeconds);
     }
 
     public void touch(List<Integer> workingDays, Optional<FederalState> federalState, DateMidnight validFrom,
@@ -68,24 +88,85 @@ public class WorkingTimeService {
         }
 
         workingTimeDAO.save(workingTime);
+
+        invalidate(person);
+
+        applicationEventPublisher.publishEvent(new WorkingTimeUpdatedEvent(person));
+    }
+
+
+    /**
+     * Removes the cached working times of the given person, after the current transaction has been committed if there
+     * is one, so the working times are not cached again before the changes are visible to other transactions.
+     */
+    private void invalidate(Person person) {
+
+        if (person.getId() == null) {
+            return;
+        }
+
+        cache.invalidate(person.getId());
+
+        TransactionUtil.afterCommit(() -> cache.invalidate(person.getId()));
+    }
+
+
+    /**
+     * Get the timeline of all working times of the given person.
+     *
+     * @param  person  to get the working times for
+     *
+     * @return  the timeline of the working times of the given person
+     */
+    public WorkingTimeTimeline getTimeline(Person person) {
+
+        if (person.getId() == null) {
+            return WorkingTimeTimeline.of(workingTimeDAO.findByPerson(person));
+        }
+
+        return cache.get(person.getId(), id -> WorkingTimeTimeline.of(workingTimeDAO.findByPerson(person)));
     }
 
 
+    /**
+     * Get all working times of the given person, ordered by the date they are valid from.
+     *
+     * @param  person  to get the working times for
+     *
+     * @return  all working times of the given person, must not be modified
+     */
     public List<WorkingTime> getByPerson(Person person) {
 
-        return workingTimeDAO.findByPerson(person);
+        return getTimeline(person).getWorkingTimes();
+    }
+
+
+    /**
+     * Get all working times of the given persons, ordered by the date they are valid from.
+     *
+     * @param  persons  to get the working times for
+     *
+     * @return  all working times of the given persons
+     */
+    public List<WorkingTime> getByPersons(List<Person> persons) {
+
+        if (persons.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return workingTimeDAO.findByPersons(persons);
     }
 
 
     public Optional<WorkingTime> getByPersonAndValidityDateEqualsOrMinorDate(Person person, DateMidnight date) {
 
-        return Optional.ofNullable(workingTimeDAO.findByPersonAndValidityDateEqualsOrMinorDate(person, date.toDate()));
+        return getTimeline(person).getValidOn(date);
     }
 
 
     public Optional<WorkingTime> getCurrentOne(Person person) {
 
-        return Optional.ofNullable(workingTimeDAO.findLastOneByPerson(person));
+        return getTimeline(person).getCurrent();
     }
 
 
@@ -94,9 +175,12 @@ public class WorkingTimeService {
         Optional<WorkingTime> optionalWorkingTime = getByPersonAndValidityDateEqualsOrMinorDate(person, date);
 
         if (!optionalWorkingTime.isPresent()) {
-            LOG.debug(String.format(
-                    "No working time found for user '%s' equals or minor %s, using system federal state as fallback",
-                    person.getLoginName(), date.toString(DateFormat.PATTERN)));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(String.format(
+                        "No working time found for user '%s' equals or minor %s, "
+                        + "using system federal state as fallback",
+                        person.getLoginName(), date.toString(DateFormat.PATTERN)));
+            }
 
             return getSystemDefaultFederalState();
         }
@@ -105,6 +189,13 @@ public class WorkingTimeService {
     }
 
 
+    @Override
+    public Collection<Metric<?>> metrics() {
+
+        return cache.metrics();
+    }
+
+
     private FederalState getFederalState(WorkingTime workingTime) {
 
         Optional<FederalState> optionalFederalStateOverride = workingTime.getFederalStateOverride();
@@ -0,0 +1,106 @@
+package org.synyx.urlaubsverwaltung.core.workingtime;
+
+import org.joda.time.DateMidnight;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * Immutable timeline of the working times of a person, used to look up the working time valid on a certain date
+ * without accessing the database.
+ *
+ * <p>The dates the working times are valid from are kept as sorted array of milliseconds, so the working time valid on
+ * a certain date is found by binary search without creating any objects.</p>
+ */
+public final class WorkingTimeTimeline {
+
+    private static final WorkingTimeTimeline EMPTY = new WorkingTimeTimeline(Collections.emptyList());
+
+    private final long[] validFromMillis;
+    private final List<Optional<WorkingTime>> optionalWorkingTimes;
+    private final List<WorkingTime> workingTimes;
+
+    private WorkingTimeTimeline(List<WorkingTime> workingTimes) {
+
+        this.validFromMillis = new long[workingTimes.size()];
+        this.optionalWorkingTimes = new ArrayList<>(workingTimes.size());
+
+        for (int i = 0; i < workingTimes.size(); i++) {
+            WorkingTime workingTime = workingTimes.get(i);
+
+            validFromMillis[i] = workingTime.getValidFrom().getMillis();
+            optionalWorkingTimes.add(Optional.of(workingTime));
+        }
+
+        this.workingTimes = Collections.unmodifiableList(workingTimes);
+    }
+
+    /**
+     * @return  the timeline of a person without any working time
+     */
+    public static WorkingTimeTimeline empty() {
+
+        return EMPTY;
+    }
+
+
+    /**
+     * Builds the timeline of the given working times.
+     *
+     * @param  workingTimes  all working times of a single person
+     *
+     * @return  the timeline of the given working times
+     */
+    public static WorkingTimeTimeline of(List<WorkingTime> workingTimes) {
+
+        if (workingTimes.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<WorkingTime> sortedWorkingTimes = new ArrayList<>(workingTimes);
+        sortedWorkingTimes.sort(Comparator.comparing(WorkingTime::getValidFrom));
+
+        return new WorkingTimeTimeline(sortedWorkingTimes);
+    }
+
+
+    /**
+     * @return  the working time valid on the given date, i.e. the one with the latest valid from date equals or minor
+     *          the given date
+     */
+    public Optional<WorkingTime> getValidOn(DateMidnight date) {
+
+        int index = Arrays.binarySearch(validFromMillis, date.getMillis());
+
+        if (index < 0) {
+            // not found, continue with the working time before the insertion point
+            index = -index - 2;
+        }
+
+        return index < 0 ? Optional.empty() : optionalWorkingTimes.get(index);
+    }
+
+
+    /**
+     * @return  the working time with the latest valid from date
+     */
+    public Optional<WorkingTime> getCurrent() {
+
+        return optionalWorkingTimes.isEmpty() ? Optional.empty()
+                                              : optionalWorkingTimes.get(optionalWorkingTimes.size() - 1);
+    }
+
+
+    /**
+     * @return  all working times ordered by their valid from date, must not be modified
+     */
+    public List<WorkingTime> getWorkingTimes() {
+
+        return workingTimes;
+    }
+}
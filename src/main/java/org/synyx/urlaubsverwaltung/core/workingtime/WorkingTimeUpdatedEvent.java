@@ -0,0 +1,22 @@
+package org.synyx.urlaubsverwaltung.core.workingtime;
+
+import org.synyx.urlaubsverwaltung.core.person.Person;
+
+
+/**
+ * Published after the working time of a person has been changed, e.g. to evict data calculated with the working time.
+ */
+public class WorkingTimeUpdatedEvent {
+
+    private final Person person;
+
+    public WorkingTimeUpdatedEvent(Person person) {
+
+        this.person = person;
+    }
+
+    public Person getPerson() {
+
+        return person;
+    }
+}
@@ -1,5 +1,8 @@
 package org.synyx.urlaubsverwaltung.restapi.absence;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.wordnik.swagger.annotations.Api;
 import com.wordnik.swagger.annotations.ApiOperation;
 import com.wordnik.swagger.annotations.ApiParam;
@@ -8,14 +11,19 @@ import org.joda.time.DateMidnight;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import org.springframework.http.MediaType;
+
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.core.department.Department;
+import org.synyx.urlaubsverwaltung.core.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.person.PersonService;
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
@@ -23,11 +31,18 @@ import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteService;
 import org.synyx.urlaubsverwaltung.core.util.DateUtil;
 import org.synyx.urlaubsverwaltung.restapi.ResponseWrapper;
 
+import java.io.IOException;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import javax.servlet.http.HttpServletResponse;
+
 
 /**
  * @author  Aljona Murygina - murygina@synyx.de
@@ -37,17 +52,27 @@ import java.util.stream.Collectors;
 @RequestMapping("/api")
 public class AbsenceController {
 
+    /**
+     * Applications for leave with one of these states are shown as absences.
+     */
+    private static final List<ApplicationStatus> RELEVANT_APPLICATION_STATUSES = Arrays.asList(
+            ApplicationStatus.WAITING, ApplicationStatus.TEMPORARY_ALLOWED, ApplicationStatus.ALLOWED);
+
     private final PersonService personService;
     private final ApplicationService applicationService;
     private final SickNoteService sickNoteService;
+    private final DepartmentService departmentService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     AbsenceController(PersonService personService, ApplicationService applicationService,
-        SickNoteService sickNoteService) {
+        SickNoteService sickNoteService, DepartmentService departmentService, ObjectMapper objectMapper) {
 
         this.personService = personService;
         this.applicationService = applicationService;
         this.sickNoteService = sickNoteService;
+        this.departmentService = departmentService;
+        this.objectMapper = objectMapper;
     }
 
     @ApiOperation(
@@ -94,6 +119,91 @@ public class AbsenceController {
     }
 
 
+    @ApiOperation(
+        value = "Get all absences for a certain period and the members of a department",
+        notes = "Get all absences for a certain period and the members of the given department, grouped by member. "
+            + "The absences are streamed member by member."
+    )
+    @RequestMapping(value = "/departments/{id}/absences", method = RequestMethod.GET)
+    public void departmentAbsences(
+        @ApiParam(value = "ID of the department")
+        @PathVariable("id")
+        Integer departmentId,
+        @ApiParam(value = "Year to get the absences for", defaultValue = "2016")
+        @RequestParam("year")
+        String year,
+        @ApiParam(value = "Month of year to get the absences for")
+        @RequestParam(value = "month", required = false)
+        String month,
+        @ApiParam(value = "Type of absences, vacation or sick notes", allowableValues = "VACATION, SICK_NOTE")
+        @RequestParam(value = "type", required = false)
+        String type, HttpServletResponse response) throws IOException {
+
+        Optional<Department> optionalDepartment = departmentService.getDepartmentById(departmentId);
+
+        if (!optionalDepartment.isPresent()) {
+            throw new IllegalArgumentException("No department found for ID=" + departmentId);
+        }
+
+        List<Person> members = optionalDepartment.get().getMembers();
+
+        DateMidnight startDate = getStartDate(year, Optional.ofNullable(month));
+        DateMidnight endDate = getEndDate(year, Optional.ofNullable(month));
+
+        Map<Integer, List<ApplicationSummary>> applicationsByPerson = Collections.emptyMap();
+        Map<Person, List<SickNote>> sickNotesByPerson = Collections.emptyMap();
+
+        if (type == null || DayAbsence.Type.valueOf(type).equals(DayAbsence.Type.VACATION)) {
+            applicationsByPerson = applicationService.getApplicationSummariesForACertainPeriodAndPersonsAndStates(
+                        startDate, endDate, members, RELEVANT_APPLICATION_STATUSES)
+                    .stream()
+                    .collect(Collectors.groupingBy(application -> application.getPerson().getId()));
+        }
+
+        if (type == null || DayAbsence.Type.valueOf(type).equals(DayAbsence.Type.SICK_NOTE)) {
+            sickNotesByPerson = sickNoteService.getByPersonsAndPeriod(members, startDate, endDate)
+                    .stream()
+                    .filter(SickNote::isActive)
+                    .collect(Collectors.groupingBy(SickNote::getPerson));
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("response");
+            generator.writeArrayFieldStart("members");
+
+            for (Person member : members) {
+                generator.writeStartObject();
+                generator.writeStringField("personLoginName", member.getLoginName());
+                generator.writeArrayFieldStart("absences");
+
+                for (ApplicationSummary application : applicationsByPerson.getOrDefault(member.getId(),
+                            Collections.emptyList())) {
+                    for (DayAbsence absence : getVacationDays(startDate, endDate, application)) {
+                        generator.writeObject(absence);
+                    }
+                }
+
+                for (SickNote sickNote : sickNotesByPerson.getOrDefault(member, Collections.emptyList())) {
+                    for (DayAbsence absence : getSickDays(startDate, endDate, sickNote)) {
+                        generator.writeObject(absence);
+                    }
+                }
+
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.flush();
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+
     private static DateMidnight getStartDate(String year, Optional<String> optionalMonth) {
 
         if (optionalMonth.isPresent()) {
@@ -118,29 +228,35 @@ public class AbsenceController {
 
         List<DayAbsence> absences = new ArrayList<>();
 
-        List<Application> applications = applicationService.getApplicationsForACertainPeriodAndPerson(start, end,
-                    person)
-                .stream()
-                .filter(application ->
-                            application.hasStatus(ApplicationStatus.WAITING)
-                            || application.hasStatus(ApplicationStatus.TEMPORARY_ALLOWED)
-                            || application.hasStatus(ApplicationStatus.ALLOWED))
-                .collect(Collectors.toList());
+        List<ApplicationSummary> applications =
+            applicationService.getApplicationSummariesForACertainPeriodAndPersonsAndStates(start, end,
+                Collections.singletonList(person), RELEVANT_APPLICATION_STATUSES);
 
-        for (Application application : applications) {
-            DateMidnight startDate = application.getStartDate();
-            DateMidnight endDate = application.getEndDate();
+        for (ApplicationSummary application : applications) {
+            absences.addAll(getVacationDays(start, end, application));
+        }
 
-            DateMidnight day = startDate;
+        return absences;
+    }
 
-            while (!day.isAfter(endDate)) {
-                if (!day.isBefore(start) && !day.isAfter(end)) {
-                    absences.add(new DayAbsence(day, application.getDayLength(), DayAbsence.Type.VACATION,
-                            application.getStatus().name(), application.getId()));
-                }
 
-                day = day.plusDays(1);
+    private static List<DayAbsence> getVacationDays(DateMidnight start, DateMidnight end,
+        ApplicationSummary application) {
+
+        List<DayAbsence> absences = new ArrayList<>();
+
+        DateMidnight startDate = application.getStartDate();
+        DateMidnight endDate = application.getEndDate();
+
+        DateMidnight day = startDate;
+
+        while (!day.isAfter(endDate)) {
+            if (!day.isBefore(start) && !day.isAfter(end)) {
+                absences.add(new DayAbsence(day, application.getDayLength(), DayAbsence.Type.VACATION,
+                        application.getStatus().name(), application.getId()));
             }
+
+            day = day.plusDays(1);
         }
 
         return absences;
@@ -157,19 +273,29 @@ public class AbsenceController {
                 .collect(Collectors.toList());
 
         for (SickNote sickNote : sickNotes) {
-            DateMidnight startDate = sickNote.getStartDate();
-            DateMidnight endDate = sickNote.getEndDate();
+            absences.addAll(getSickDays(start, end, sickNote));
+        }
+
+        return absences;
+    }
 
-            DateMidnight day = startDate;
 
-            while (!day.isAfter(endDate)) {
-                if (!day.isBefore(start) && !day.isAfter(end)) {
-                    absences.add(new DayAbsence(day, sickNote.getDayLength(), DayAbsence.Type.SICK_NOTE, "ACTIVE",
-                            sickNote.getId()));
-                }
+    private static List<DayAbsence> getSickDays(DateMidnight start, DateMidnight end, SickNote sickNote) {
+
+        List<DayAbsence> absences = new ArrayList<>();
+
+        DateMidnight startDate = sickNote.getStartDate();
+        DateMidnight endDate = sickNote.getEndDate();
 
-                day = day.plusDays(1);
+        DateMidnight day = startDate;
+
+        while (!day.isAfter(endDate)) {
+            if (!day.isBefore(start) && !day.isAfter(end)) {
+                absences.add(new DayAbsence(day, sickNote.getDayLength(), DayAbsence.Type.SICK_NOTE, "ACTIVE",
+                        sickNote.getId()));
             }
+
+            day = day.plusDays(1);
         }
 
         return absences;
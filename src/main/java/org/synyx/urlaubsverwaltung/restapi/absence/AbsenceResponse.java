@@ -1,6 +1,7 @@
 package org.synyx.urlaubsverwaltung.restapi.absence;
 
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.application.domain.VacationType;
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteType;
@@ -37,6 +38,18 @@ public class AbsenceResponse {
     }
 
 
+    public AbsenceResponse(ApplicationSummary application) {
+
+        this.from = application.getStartDate().toString(RestApiDateFormat.DATE_PATTERN);
+        this.to = application.getEndDate().toString(RestApiDateFormat.DATE_PATTERN);
+        this.dayLength = application.getDayLength().getDuration();
+        this.person = new PersonResponse(application.getPerson());
+        this.status = application.getStatus().name();
+        this.type = application.getVacationCategory().toString();
+        this.typeName = application.getVacationTypeDisplayName();
+    }
+
+
     public AbsenceResponse(SickNote sickNote) {
 
         this.from = sickNote.getStartDate().toString(RestApiDateFormat.DATE_PATTERN);
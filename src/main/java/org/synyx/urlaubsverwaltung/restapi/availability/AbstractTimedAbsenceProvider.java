@@ -2,11 +2,11 @@ package org.synyx.urlaubsverwaltung.restapi.availability;
 
 import org.joda.time.DateMidnight;
 
-import org.synyx.urlaubsverwaltung.core.person.Person;
-
 import java.math.BigDecimal;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 
 /**
@@ -28,32 +28,51 @@ abstract class AbstractTimedAbsenceProvider {
     /**
      * Convenience function for initial call, so that the caller does not have to create an empty list himself.
      */
-    public TimedAbsenceSpans checkForAbsence(Person person, DateMidnight date) {
+    public TimedAbsenceSpans checkForAbsence(PersonAbsenceData personAbsenceData, DateMidnight date) {
 
-        return checkForAbsence(new TimedAbsenceSpans(new ArrayList<>()), person, date);
+        return checkForAbsence(new TimedAbsenceSpans(new ArrayList<>()), personAbsenceData, date);
     }
 
 
     /**
-     * Checks for absences for the given person on the given day. Recursively calls the next priority provider if the
-     * absence spans do not yet sum up to a full day.
+     * Checks for absences for a person on the given day using the already loaded absence data of the person.
+     * Recursively calls the next priority provider if the absence spans do not yet sum up to a full day.
      */
-    public TimedAbsenceSpans checkForAbsence(TimedAbsenceSpans knownAbsences, Person person, DateMidnight date) {
+    public TimedAbsenceSpans checkForAbsence(TimedAbsenceSpans knownAbsences, PersonAbsenceData personAbsenceData,
+        DateMidnight date) {
 
-        TimedAbsenceSpans updatedAbsences = addAbsence(knownAbsences, person, date);
+        TimedAbsenceSpans updatedAbsences = addAbsence(knownAbsences, personAbsenceData, date);
 
         if (isPersonAbsentForWholeDay(updatedAbsences) || isLastPriorityProvider()) {
             return updatedAbsences;
         } else {
-            return nextPriorityAbsenceProvider.checkForAbsence(updatedAbsences, person, date);
+            return nextPriorityAbsenceProvider.checkForAbsence(updatedAbsences, personAbsenceData, date);
         }
     }
 
 
     /**
-     * Each provider implements his own logic to retrieve absences via this method.
+     * Each provider implements his own logic to retrieve absences from the already loaded absence data via this
+     * method.
+     */
+    abstract TimedAbsenceSpans addAbsence(TimedAbsenceSpans knownAbsences, PersonAbsenceData personAbsenceData,
+        DateMidnight date);
+
+
+    /**
+     * Adds the given absence to the known absences.
      */
-    abstract TimedAbsenceSpans addAbsence(TimedAbsenceSpans knownAbsences, Person person, DateMidnight date);
+    TimedAbsenceSpans addAbsence(TimedAbsenceSpans knownAbsences, Optional<TimedAbsence> absence) {
+
+        if (absence.isPresent()) {
+            List<TimedAbsence> knownAbsencesList = knownAbsences.getAbsencesList();
+            knownAbsencesList.add(absence.get());
+
+            return new TimedAbsenceSpans(knownAbsencesList);
+        }
+
+        return knownAbsences;
+    }
 
 
     /**
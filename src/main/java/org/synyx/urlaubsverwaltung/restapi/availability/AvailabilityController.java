@@ -1,22 +1,43 @@
 package org.synyx.urlaubsverwaltung.restapi.availability;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.wordnik.swagger.annotations.Api;
 import com.wordnik.swagger.annotations.ApiOperation;
 import com.wordnik.swagger.annotations.ApiParam;
 
+import org.apache.log4j.Logger;
+
 import org.joda.time.DateMidnight;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import org.synyx.urlaubsverwaltung.core.department.Department;
+import org.synyx.urlaubsverwaltung.core.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.person.PersonService;
+import org.synyx.urlaubsverwaltung.restapi.RestApiDateFormat;
 
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletResponse;
 
 
 /**
@@ -28,21 +49,27 @@ import java.util.Optional;
 @RequestMapping("/api")
 public class AvailabilityController {
 
+    private static final Logger LOG = Logger.getLogger(AvailabilityController.class);
+
     private final PersonService personService;
+    private final DepartmentService departmentService;
 
     private final AvailabilityService availabilityService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    AvailabilityController(AvailabilityService availabilityService, PersonService personService) {
+    AvailabilityController(AvailabilityService availabilityService, PersonService personService,
+        DepartmentService departmentService, ObjectMapper objectMapper) {
 
         this.availabilityService = availabilityService;
         this.personService = personService;
+        this.departmentService = departmentService;
+        this.objectMapper = objectMapper;
     }
 
     @ApiOperation(
         value = "Get all availabilities for a certain period and person",
-        notes =
-            "Get all availabilities for a certain period and person. Maximum allowed period per request is one month."
+        notes = "Get all availabilities for a certain period and person."
     )
     @RequestMapping(value = "/availabilities", method = RequestMethod.GET)
     public AvailabilityList personsAvailabilities(
@@ -56,26 +83,150 @@ public class AvailabilityController {
         @RequestParam(value = "person")
         String personLoginName) {
 
-        Optional<Person> optionalPerson = personService.getPersonByLogin(personLoginName);
+        Person person = getPerson(personLoginName);
 
-        if (!optionalPerson.isPresent()) {
-            throw new IllegalArgumentException("No person found for loginName = " + personLoginName);
+        DateMidnight startDate = DateMidnight.parse(startDateString);
+        DateMidnight endDate = DateMidnight.parse(endDateString);
+
+        checkPeriod(startDate, endDate);
+
+        return availabilityService.getPersonsAvailabilities(startDate, endDate, person);
+    }
+
+
+    @ApiOperation(
+        value = "Get all availabilities for a certain period and several persons",
+        notes = "Get all availabilities for a certain period and the given persons and/or the members of the given "
+            + "department."
+    )
+    @RequestMapping(value = "/availabilities/persons", method = RequestMethod.GET)
+    public List<AvailabilityList> availabilitiesOfPersons(
+        @ApiParam(value = "start of interval to get availabilities from (inclusive)", defaultValue = "2016-01-01")
+        @RequestParam("from")
+        String startDateString,
+        @ApiParam(value = "end of interval to get availabilities from (inclusive)", defaultValue = "2016-01-31")
+        @RequestParam("to")
+        String endDateString,
+        @ApiParam(value = "login names of the persons")
+        @RequestParam(value = "person", required = false)
+        List<String> personLoginNames,
+        @ApiParam(value = "ID of the department to get the availabilities of its members")
+        @RequestParam(value = "department", required = false)
+        Integer departmentId) {
+
+        DateMidnight startDate = DateMidnight.parse(startDateString);
+        DateMidnight endDate = DateMidnight.parse(endDateString);
+
+        checkPeriod(startDate, endDate);
+
+        Set<Person> persons = new LinkedHashSet<>();
+
+        if (personLoginNames != null) {
+            personLoginNames.stream().map(this::getPerson).forEach(persons::add);
+        }
+
+        if (departmentId != null) {
+            persons.addAll(getDepartment(departmentId).getMembers());
+        }
+
+        if (persons.isEmpty()) {
+            throw new IllegalArgumentException("At least one person or a department must be given");
         }
 
+        return availabilityService.getPersonsAvailabilities(startDate, endDate, new ArrayList<>(persons));
+    }
+
+
+    @ApiOperation(
+        value = "Get all availabilities for a certain period and the members of a department",
+        notes = "Get all availabilities for a certain period and the members of the given department. The "
+            + "availabilities are streamed member by member. If an error occurs after streaming has started, the "
+            + "array is closed with an error object containing the status and the message of the error."
+    )
+    @RequestMapping(value = "/departments/{id}/availabilities", method = RequestMethod.GET)
+    public void departmentAvailabilities(
+        @ApiParam(value = "ID of the department")
+        @PathVariable("id")
+        Integer departmentId,
+        @ApiParam(value = "start of interval to get availabilities from (inclusive)", defaultValue = "2016-01-01")
+        @RequestParam("from")
+        String startDateString,
+        @ApiParam(value = "end of interval to get availabilities from (inclusive)", defaultValue = "2016-01-31")
+        @RequestParam("to")
+        String endDateString, HttpServletResponse response) throws IOException {
+
         DateMidnight startDate = DateMidnight.parse(startDateString);
         DateMidnight endDate = DateMidnight.parse(endDateString);
 
-        if (startDate.isAfter(endDate)) {
-            throw new IllegalArgumentException("startdate " + startDateString + " must not be after endDate "
-                + endDateString);
+        checkPeriod(startDate, endDate);
+
+        List<Person> members = getDepartment(departmentId).getMembers();
+
+        Iterator<AvailabilityList> availabilityLists = availabilityService.streamPersonsAvailabilities(startDate,
+                    endDate, members)
+                .iterator();
+
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+
+            try {
+                while (availabilityLists.hasNext()) {
+                    generator.writeObject(availabilityLists.next());
+                    generator.flush();
+                }
+            } catch (RuntimeException ex) {
+                // the status has already been sent, so keep the response valid json and mark it as failed
+                LOG.error("Streaming availabilities of department with id = " + departmentId + " failed", ex);
+
+                writeError(generator, ex);
+            }
+
+            generator.writeEndArray();
+        }
+    }
+
+
+    private static void writeError(JsonGenerator generator, Exception exception) throws IOException {
+
+        generator.writeStartObject();
+        generator.writeNumberField("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+        generator.writeStringField("error", HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase());
+        generator.writeStringField("message", exception.getMessage());
+        generator.writeEndObject();
+    }
+
+
+    private Department getDepartment(Integer departmentId) {
+
+        Optional<Department> optionalDepartment = departmentService.getDepartmentById(departmentId);
+
+        if (!optionalDepartment.isPresent()) {
+            throw new IllegalArgumentException("No department found for id = " + departmentId);
         }
 
-        boolean requestedDateRangeIsMoreThanOneMonth = startDate.minusDays(1).isBefore(endDate.minusMonths(1));
+        return optionalDepartment.get();
+    }
+
 
-        if (requestedDateRangeIsMoreThanOneMonth) {
-            throw new IllegalArgumentException("Requested date range to large. Maximum allowed range is one month");
+    private Person getPerson(String personLoginName) {
+
+        Optional<Person> optionalPerson = personService.getPersonByLogin(personLoginName);
+
+        if (!optionalPerson.isPresent()) {
+            throw new IllegalArgumentException("No person found for loginName = " + personLoginName);
         }
 
-        return availabilityService.getPersonsAvailabilities(startDate, endDate, optionalPerson.get());
+        return optionalPerson.get();
+    }
+
+
+    private static void checkPeriod(DateMidnight startDate, DateMidnight endDate) {
+
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startdate " + startDate.toString(RestApiDateFormat.DATE_PATTERN)
+                + " must not be after endDate " + endDate.toString(RestApiDateFormat.DATE_PATTERN));
+        }
     }
 }
@@ -6,28 +6,53 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.stereotype.Service;
 
+import org.synyx.urlaubsverwaltung.core.application.domain.Application;
+import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.settings.FederalState;
+import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeTimeline;
 
 import java.math.BigDecimal;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
  * Service to retrieve {@link DayAvailability} information.
  *
+ * <p>The working times, sick notes and applications for leave of all requested persons are loaded once for the whole
+ * period, every day is then resolved in memory.</p>
+ *
  * @author  Timo Eifler - eifler@synyx.de
  */
 @Service
 public class AvailabilityService {
 
     private final FreeTimeAbsenceProvider freeTimeAbsenceProvider;
+    private final WorkingTimeService workingTimeService;
+    private final SickNoteService sickNoteService;
+    private final ApplicationService applicationService;
+    private final SettingsService settingsService;
 
     @Autowired
-    public AvailabilityService(FreeTimeAbsenceProvider freeTimeAbsenceProvider) {
+    public AvailabilityService(FreeTimeAbsenceProvider freeTimeAbsenceProvider, WorkingTimeService workingTimeService,
+        SickNoteService sickNoteService, ApplicationService applicationService, SettingsService settingsService) {
 
         this.freeTimeAbsenceProvider = freeTimeAbsenceProvider;
+        this.workingTimeService = workingTimeService;
+        this.sickNoteService = sickNoteService;
+        this.applicationService = applicationService;
+        this.settingsService = settingsService;
     }
 
     /**
@@ -35,12 +60,84 @@ public class AvailabilityService {
      */
     public AvailabilityList getPersonsAvailabilities(DateMidnight startDate, DateMidnight endDate, Person person) {
 
+        return getPersonsAvailabilities(startDate, endDate, Collections.singletonList(person)).get(0);
+    }
+
+
+    /**
+     * Fetch an {@link AvailabilityList} for each of the given persons on all days in the given period of time.
+     */
+    public List<AvailabilityList> getPersonsAvailabilities(DateMidnight startDate, DateMidnight endDate,
+        List<Person> persons) {
+
+        return streamPersonsAvailabilities(startDate, endDate, persons).collect(Collectors.toList());
+    }
+
+
+    /**
+     * Fetch an {@link AvailabilityList} for each of the given persons on all days in the given period of time.
+     *
+     * <p>The absence data of all persons is loaded eagerly, the {@link AvailabilityList} of a person is calculated not
+     * until the stream reaches the person. So the availabilities can be written person by person without holding
+     * those of all persons in memory.</p>
+     *
+     * @throws  IllegalStateException  if a person has no working time configured for the start date, checked before the
+     *                                 stream is returned so that streamed availabilities can not fail because of it
+     */
+    public Stream<AvailabilityList> streamPersonsAvailabilities(DateMidnight startDate, DateMidnight endDate,
+        List<Person> persons) {
+
+        FederalState systemDefaultFederalState = settingsService.getSettings()
+                .getWorkingTimeSettings()
+                .getFederalState();
+
+        Map<Person, WorkingTimeTimeline> workingTimesByPerson = workingTimeService.getByPersons(persons)
+                .stream()
+                .collect(Collectors.groupingBy(WorkingTime::getPerson,
+                        Collectors.collectingAndThen(Collectors.toList(), WorkingTimeTimeline::of)));
+
+        Map<Person, List<SickNote>> sickNotesByPerson = sickNoteService.getByPersonsAndPeriod(persons, startDate,
+                    endDate)
+                .stream()
+                .collect(Collectors.groupingBy(SickNote::getPerson));
+
+        Map<Person, List<Application>> applicationsByPerson = applicationService
+                .getApplicationsForACertainPeriodAndPersons(startDate, endDate, persons)
+                .stream()
+                .collect(Collectors.groupingBy(Application::getPerson));
+
+        List<PersonAbsenceData> personAbsenceDataList = persons.stream()
+                .map(person ->
+                        new PersonAbsenceData(person, systemDefaultFederalState,
+                            workingTimesByPerson.getOrDefault(person, WorkingTimeTimeline.empty()),
+                            sickNotesByPerson.getOrDefault(person, Collections.emptyList()),
+                            applicationsByPerson.getOrDefault(person, Collections.emptyList())))
+                .collect(Collectors.toList());
+
+        // a working time valid on the start date is valid on every following day of the period
+        personAbsenceDataList.stream()
+            .filter(personAbsenceData -> !personAbsenceData.getWorkingTime(startDate).isPresent())
+            .findFirst()
+            .ifPresent(personAbsenceData -> {
+                throw new IllegalStateException("Person " + personAbsenceData.getPerson()
+                    + " does not have workingTime configured");
+            });
+
+        return personAbsenceDataList.stream()
+            .map(personAbsenceData -> getPersonsAvailabilities(startDate, endDate, personAbsenceData));
+    }
+
+
+    private AvailabilityList getPersonsAvailabilities(DateMidnight startDate, DateMidnight endDate,
+        PersonAbsenceData personAbsenceData) {
+
         List<DayAvailability> availabilities = new ArrayList<>();
 
         DateMidnight currentDay = startDate;
 
         while (!currentDay.isAfter(endDate)) {
-            TimedAbsenceSpans absences = freeTimeAbsenceProvider.checkForAbsence(person, currentDay);
+            TimedAbsenceSpans absences = freeTimeAbsenceProvider.checkForAbsence(new TimedAbsenceSpans(
+                        new ArrayList<>()), personAbsenceData, currentDay);
             BigDecimal presenceRatio = absences.calculatePresenceRatio();
 
             availabilities.add(new DayAvailability(presenceRatio, currentDay.toString("yyyy-MM-dd"), absences));
@@ -48,6 +145,6 @@ public class AvailabilityService {
             currentDay = currentDay.plusDays(1);
         }
 
-        return new AvailabilityList(availabilities, person);
+        return new AvailabilityList(availabilities, personAbsenceData.getPerson());
     }
 }
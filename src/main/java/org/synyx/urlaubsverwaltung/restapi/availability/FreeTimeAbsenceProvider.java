@@ -9,11 +9,9 @@ import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTime;
-import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
 
 import java.math.BigDecimal;
 
-import java.util.List;
 import java.util.Optional;
 
 
@@ -23,29 +21,19 @@ import java.util.Optional;
 @Service
 class FreeTimeAbsenceProvider extends AbstractTimedAbsenceProvider {
 
-    private final WorkingTimeService workingTimeService;
-
     @Autowired
-    FreeTimeAbsenceProvider(HolidayAbsenceProvider nextPriorityProvider, WorkingTimeService workingTimeService) {
+    FreeTimeAbsenceProvider(HolidayAbsenceProvider nextPriorityProvider) {
 
         super(nextPriorityProvider);
-
-        this.workingTimeService = workingTimeService;
     }
 
     @Override
-    TimedAbsenceSpans addAbsence(TimedAbsenceSpans knownAbsences, Person person, DateMidnight date) {
-
-        Optional<TimedAbsence> freeTimeAbsence = checkForFreeTime(date, person);
+    TimedAbsenceSpans addAbsence(TimedAbsenceSpans knownAbsences, PersonAbsenceData personAbsenceData,
+        DateMidnight date) {
 
-        if (freeTimeAbsence.isPresent()) {
-            List<TimedAbsence> knownAbsencesList = knownAbsences.getAbsencesList();
-            knownAbsencesList.add(freeTimeAbsence.get());
+        Optional<WorkingTime> workingTime = personAbsenceData.getWorkingTime(date);
 
-            return new TimedAbsenceSpans(knownAbsencesList);
-        }
-
-        return knownAbsences;
+        return addAbsence(knownAbsences, checkForFreeTime(date, personAbsenceData.getPerson(), workingTime));
     }
 
 
@@ -56,9 +44,10 @@ class FreeTimeAbsenceProvider extends AbstractTimedAbsenceProvider {
     }
 
 
-    private Optional<TimedAbsence> checkForFreeTime(DateMidnight currentDay, Person person) {
+    private Optional<TimedAbsence> checkForFreeTime(DateMidnight currentDay, Person person,
+        Optional<WorkingTime> workingTime) {
 
-        DayLength expectedWorktime = getExpectedWorktimeFor(person, currentDay);
+        DayLength expectedWorktime = getExpectedWorktimeFor(person, currentDay, workingTime);
         BigDecimal expectedWorktimeDuration = expectedWorktime.getDuration();
 
         boolean expectedWorktimeIsLessThanFullDay = expectedWorktimeDuration.compareTo(BigDecimal.ONE) < 0;
@@ -71,10 +60,8 @@ class FreeTimeAbsenceProvider extends AbstractTimedAbsenceProvider {
     }
 
 
-    private DayLength getExpectedWorktimeFor(Person person, DateMidnight currentDay) {
-
-        Optional<WorkingTime> workingTimeOrNot = workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(person,
-                currentDay);
+    private DayLength getExpectedWorktimeFor(Person person, DateMidnight currentDay,
+        Optional<WorkingTime> workingTimeOrNot) {
 
         if (!workingTimeOrNot.isPresent()) {
             throw new IllegalStateException("Person " + person + " does not have workingTime configured");
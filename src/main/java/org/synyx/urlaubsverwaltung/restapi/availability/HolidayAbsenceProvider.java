@@ -7,14 +7,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import org.synyx.urlaubsverwaltung.core.period.DayLength;
-import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.settings.FederalState;
 import org.synyx.urlaubsverwaltung.core.workingtime.PublicHolidaysService;
-import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
 
 import java.math.BigDecimal;
 
-import java.util.List;
 import java.util.Optional;
 
 
@@ -25,31 +22,20 @@ import java.util.Optional;
 class HolidayAbsenceProvider extends AbstractTimedAbsenceProvider {
 
     private final PublicHolidaysService publicHolidaysService;
-    private WorkingTimeService workingTimeService;
 
     @Autowired
-    HolidayAbsenceProvider(SickDayAbsenceProvider nextPriorityProvider, PublicHolidaysService publicHolidaysService,
-        WorkingTimeService workingTimeService) {
+    HolidayAbsenceProvider(SickDayAbsenceProvider nextPriorityProvider, PublicHolidaysService publicHolidaysService) {
 
         super(nextPriorityProvider);
 
         this.publicHolidaysService = publicHolidaysService;
-        this.workingTimeService = workingTimeService;
     }
 
     @Override
-    TimedAbsenceSpans addAbsence(TimedAbsenceSpans knownAbsences, Person person, DateMidnight date) {
+    TimedAbsenceSpans addAbsence(TimedAbsenceSpans knownAbsences, PersonAbsenceData personAbsenceData,
+        DateMidnight date) {
 
-        Optional<TimedAbsence> holidayAbsence = checkForHolidays(date, person);
-
-        if (holidayAbsence.isPresent()) {
-            List<TimedAbsence> knownAbsencesList = knownAbsences.getAbsencesList();
-            knownAbsencesList.add(holidayAbsence.get());
-
-            return new TimedAbsenceSpans(knownAbsencesList);
-        }
-
-        return knownAbsences;
+        return addAbsence(knownAbsences, checkForHolidays(date, personAbsenceData.getFederalState(date)));
     }
 
 
@@ -60,10 +46,9 @@ class HolidayAbsenceProvider extends AbstractTimedAbsenceProvider {
     }
 
 
-    private Optional<TimedAbsence> checkForHolidays(DateMidnight currentDay, Person person) {
+    private Optional<TimedAbsence> checkForHolidays(DateMidnight currentDay, FederalState federalState) {
 
-        BigDecimal expectedWorkingDuration = publicHolidaysService.getWorkingDurationOfDate(currentDay,
-                getFederalState(currentDay, person));
+        BigDecimal expectedWorkingDuration = publicHolidaysService.getWorkingDurationOfDate(currentDay, federalState);
 
         boolean fullDayHoliday = expectedWorkingDuration.compareTo(DayLength.ZERO.getDuration()) == 0;
         boolean halfDayHoliday = expectedWorkingDuration.compareTo(DayLength.NOON.getDuration()) == 0;
@@ -78,10 +63,4 @@ class HolidayAbsenceProvider extends AbstractTimedAbsenceProvider {
 
         return Optional.ofNullable(absence);
     }
-
-
-    private FederalState getFederalState(DateMidnight date, Person person) {
-
-        return workingTimeService.getFederalStateForPerson(person, date);
-    }
 }
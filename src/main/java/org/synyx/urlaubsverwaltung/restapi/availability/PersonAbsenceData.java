@@ -0,0 +1,104 @@
+package org.synyx.urlaubsverwaltung.restapi.availability;
+
+import org.joda.time.DateMidnight;
+
+import org.synyx.urlaubsverwaltung.core.application.domain.Application;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.settings.FederalState;
+import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeTimeline;
+
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * Absence relevant data of a person for a certain period, loaded at once so that the absence providers can resolve
+ * every day of the period in memory.
+ */
+class PersonAbsenceData {
+
+    private final Person person;
+    private final FederalState systemDefaultFederalState;
+
+    private final WorkingTimeTimeline workingTimes;
+
+    /**
+     * All ordered by their start date.
+     */
+    private final List<SickNote> sickNotes;
+    private final List<Application> applications;
+
+    PersonAbsenceData(Person person, FederalState systemDefaultFederalState, WorkingTimeTimeline workingTimes,
+        List<SickNote> sickNotes, List<Application> applications) {
+
+        this.person = person;
+        this.systemDefaultFederalState = systemDefaultFederalState;
+        this.workingTimes = workingTimes;
+        this.sickNotes = sickNotes;
+        this.applications = applications;
+    }
+
+    Person getPerson() {
+
+        return person;
+    }
+
+
+    /**
+     * @return  the working time valid on the given date
+     */
+    Optional<WorkingTime> getWorkingTime(DateMidnight date) {
+
+        return workingTimes.getValidOn(date);
+    }
+
+
+    /**
+     * @return  the federal state of the working time valid on the given date, the system default federal state as
+     *          fallback
+     */
+    FederalState getFederalState(DateMidnight date) {
+
+        Optional<WorkingTime> workingTime = getWorkingTime(date);
+
+        if (workingTime.isPresent() && workingTime.get().getFederalStateOverride().isPresent()) {
+            return workingTime.get().getFederalStateOverride().get();
+        }
+
+        return systemDefaultFederalState;
+    }
+
+
+    /**
+     * @return  the first sick note covering the given date, may be inactive
+     */
+    Optional<SickNote> getSickNote(DateMidnight date) {
+
+        return sickNotes.stream().filter(sickNote -> covers(sickNote.getStartDate(), sickNote.getEndDate(), date))
+            .findFirst();
+    }
+
+
+    /**
+     * @return  the first waiting, temporary allowed or allowed application for leave covering the given date
+     */
+    Optional<Application> getApplication(DateMidnight date) {
+
+        return applications.stream()
+            .filter(application ->
+                        application.hasStatus(ApplicationStatus.WAITING)
+                        || application.hasStatus(ApplicationStatus.TEMPORARY_ALLOWED)
+                        || application.hasStatus(ApplicationStatus.ALLOWED))
+            .filter(application -> covers(application.getStartDate(), application.getEndDate(), date))
+            .findFirst();
+    }
+
+
+    private static boolean covers(DateMidnight startDate, DateMidnight endDate, DateMidnight date) {
+
+        return !startDate.isAfter(date) && !endDate.isBefore(date);
+    }
+}
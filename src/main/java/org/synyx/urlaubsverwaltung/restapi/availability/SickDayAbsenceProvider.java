@@ -6,11 +6,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.stereotype.Service;
 
-import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
-import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteService;
 
-import java.util.List;
 import java.util.Optional;
 
 
@@ -20,29 +17,17 @@ import java.util.Optional;
 @Service
 class SickDayAbsenceProvider extends AbstractTimedAbsenceProvider {
 
-    private SickNoteService sickNoteService;
-
     @Autowired
-    SickDayAbsenceProvider(VacationAbsenceProvider nextPriorityProvider, SickNoteService sickNoteService) {
+    SickDayAbsenceProvider(VacationAbsenceProvider nextPriorityProvider) {
 
         super(nextPriorityProvider);
-
-        this.sickNoteService = sickNoteService;
     }
 
     @Override
-    TimedAbsenceSpans addAbsence(TimedAbsenceSpans knownAbsences, Person person, DateMidnight date) {
-
-        Optional<TimedAbsence> sickDayAbsence = checkForSickDay(date, person);
-
-        if (sickDayAbsence.isPresent()) {
-            List<TimedAbsence> knownAbsencesList = knownAbsences.getAbsencesList();
-            knownAbsencesList.add(sickDayAbsence.get());
+    TimedAbsenceSpans addAbsence(TimedAbsenceSpans knownAbsences, PersonAbsenceData personAbsenceData,
+        DateMidnight date) {
 
-            return new TimedAbsenceSpans(knownAbsencesList);
-        }
-
-        return knownAbsences;
+        return addAbsence(knownAbsences, checkForSickDay(personAbsenceData.getSickNote(date)));
     }
 
 
@@ -53,16 +38,10 @@ class SickDayAbsenceProvider extends AbstractTimedAbsenceProvider {
     }
 
 
-    private Optional<TimedAbsence> checkForSickDay(DateMidnight date, Person person) {
-
-        List<SickNote> sickNotes = sickNoteService.getByPersonAndPeriod(person, date, date);
-
-        if (!sickNotes.isEmpty()) {
-            SickNote sickNote = sickNotes.get(0);
+    private Optional<TimedAbsence> checkForSickDay(Optional<SickNote> sickNote) {
 
-            if (sickNote != null && sickNote.isActive()) {
-                return Optional.of(new TimedAbsence(sickNote.getDayLength(), TimedAbsence.Type.SICK_NOTE));
-            }
+        if (sickNote.isPresent() && sickNote.get().isActive()) {
+            return Optional.of(new TimedAbsence(sickNote.get().getDayLength(), TimedAbsence.Type.SICK_NOTE));
         }
 
         return Optional.empty();
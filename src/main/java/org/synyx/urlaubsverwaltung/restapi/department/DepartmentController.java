@@ -38,7 +38,7 @@ public class DepartmentController {
     public ResponseWrapper<DepartmentsListWrapper> departments() {
 
         return new ResponseWrapper<>(new DepartmentsListWrapper(
-                    departmentService.getAllDepartments()
+                    departmentService.getDepartmentSummaries()
                         .stream()
                         .map(DepartmentResponse::new)
                         .collect(Collectors.toList())));
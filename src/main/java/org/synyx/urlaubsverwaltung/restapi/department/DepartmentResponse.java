@@ -1,13 +1,8 @@
 package org.synyx.urlaubsverwaltung.restapi.department;
 
-import org.synyx.urlaubsverwaltung.core.department.Department;
-import org.synyx.urlaubsverwaltung.restapi.person.PersonListResponse;
-import org.synyx.urlaubsverwaltung.restapi.person.PersonResponse;
+import org.synyx.urlaubsverwaltung.core.department.DepartmentSummary;
 import org.synyx.urlaubsverwaltung.restapi.RestApiDateFormat;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 
 /**
  * @author  Daniel Hammann - <hammann@synyx.de>
@@ -17,28 +12,14 @@ class DepartmentResponse {
     private String name;
     private String description;
     private String lastModification;
-    private PersonListResponse members;
-    private PersonListResponse departmentHeads;
+    private long memberCount;
 
-    DepartmentResponse(Department department) {
+    DepartmentResponse(DepartmentSummary department) {
 
         this.name = department.getName();
-        this.description = department.getName();
+        this.description = department.getDescription();
         this.lastModification = department.getLastModification().toString(RestApiDateFormat.DATE_PATTERN);
-
-        List<PersonResponse> membersResponses = department.getMembers()
-            .stream()
-            .map(PersonResponse::new)
-            .collect(Collectors.toList());
-
-        this.members = new PersonListResponse(membersResponses);
-
-        List<PersonResponse> departmentHeadsResponses = department.getDepartmentHeads()
-            .stream()
-            .map(PersonResponse::new)
-            .collect(Collectors.toList());
-
-        this.departmentHeads = new PersonListResponse(departmentHeadsResponses);
+        this.memberCount = department.getMemberCount();
     }
 
     public String getName() {
@@ -77,26 +58,14 @@ class DepartmentResponse {
     }
 
 
-    public PersonListResponse getMembers() {
-
-        return members;
-    }
-
-
-    public void setMembers(PersonListResponse members) {
-
-        this.members = members;
-    }
-
-
-    public PersonListResponse getDepartmentHeads() {
+    public long getMemberCount() {
 
-        return departmentHeads;
+        return memberCount;
     }
 
 
-    public void setDepartmentHeads(PersonListResponse departmentHeads) {
+    public void setMemberCount(long memberCount) {
 
-        this.departmentHeads = departmentHeads;
+        this.memberCount = memberCount;
     }
 }
@@ -48,20 +48,23 @@ public class PersonController {
         @RequestParam(value = "ldap", required = false)
         String ldapName) {
 
-        List<Person> persons = new ArrayList<>();
+        List<PersonResponse> personResponses;
 
         if (ldapName == null) {
-            persons = personService.getActivePersons();
+            personResponses = personService.getActivePersonSummaries()
+                .stream()
+                .map(PersonResponse::new)
+                .collect(Collectors.toList());
         } else {
+            personResponses = new ArrayList<>();
+
             Optional<Person> person = personService.getPersonByLogin(ldapName);
 
             if (person.isPresent()) {
-                persons.add(person.get());
+                personResponses.add(new PersonResponse(person.get()));
             }
         }
 
-        List<PersonResponse> personResponses = persons.stream().map(PersonResponse::new).collect(Collectors.toList());
-
         return new ResponseWrapper<>(new PersonListResponse(personResponses));
     }
 }
@@ -1,6 +1,7 @@
 package org.synyx.urlaubsverwaltung.restapi.person;
 
 import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.person.PersonSummary;
 
 
 /**
@@ -27,6 +28,16 @@ public class PersonResponse {
         this.niceName = person.getNiceName();
     }
 
+
+    public PersonResponse(PersonSummary person) {
+
+        this.ldapName = person.getLoginName();
+        this.email = person.getEmail();
+        this.firstName = person.getFirstName();
+        this.lastName = person.getLastName();
+        this.niceName = person.getNiceName();
+    }
+
     public String getLdapName() {
 
         return ldapName;
@@ -17,8 +17,8 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.core.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.core.person.Person;
@@ -28,6 +28,7 @@ import org.synyx.urlaubsverwaltung.restapi.RestApiDateFormat;
 import org.synyx.urlaubsverwaltung.restapi.absence.AbsenceResponse;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -84,11 +85,11 @@ public class VacationController {
             throw new IllegalArgumentException("Parameter 'from' must be before or equals to 'to' parameter");
         }
 
-        List<Application> applications = new ArrayList<>();
+        List<ApplicationSummary> applications = new ArrayList<>();
 
         if (personId == null && departmentMembers == null) {
-            applications = applicationService.getApplicationsForACertainPeriodAndState(startDate, endDate,
-                    ApplicationStatus.ALLOWED);
+            applications = applicationService.getApplicationSummariesForACertainPeriodAndStates(startDate, endDate,
+                    Collections.singletonList(ApplicationStatus.ALLOWED));
         }
 
         if (personId != null) {
@@ -96,11 +97,12 @@ public class VacationController {
 
             if (person.isPresent()) {
                 if (departmentMembers == null || !departmentMembers) {
-                    applications = applicationService.getApplicationsForACertainPeriodAndPersonAndState(startDate,
-                            endDate, person.get(), ApplicationStatus.ALLOWED);
+                    applications = applicationService.getApplicationSummariesForACertainPeriodAndPersonsAndStates(
+                            startDate, endDate, Collections.singletonList(person.get()),
+                            Collections.singletonList(ApplicationStatus.ALLOWED));
                 } else {
-                    applications = departmentService.getApplicationsForLeaveOfMembersInDepartmentsOfPerson(person.get(),
-                            startDate, endDate);
+                    applications = departmentService.getApplicationSummariesOfMembersInDepartmentsOfPerson(
+                            person.get(), startDate, endDate);
                 }
             }
         }
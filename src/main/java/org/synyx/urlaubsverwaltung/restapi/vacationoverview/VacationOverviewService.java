@@ -4,7 +4,6 @@ import org.joda.time.DateMidnight;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.synyx.urlaubsverwaltung.core.department.Department;
 import org.synyx.urlaubsverwaltung.core.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.core.holiday.DayOfMonth;
@@ -19,6 +18,7 @@ import org.synyx.urlaubsverwaltung.security.SessionService;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.synyx.urlaubsverwaltung.core.holiday.DayOfMonth.TypeOfDay.WEEKEND;
 import static org.synyx.urlaubsverwaltung.core.holiday.DayOfMonth.TypeOfDay.WORKDAY;
@@ -46,11 +46,11 @@ public class VacationOverviewService {
                                                        Integer selectedMonth) {
         List<VacationOverview> holidayOverviewList = new ArrayList<>();
 
-        Department department = getDepartmentByName(selectedDepartment);
+        Optional<Department> department = departmentService.getDepartmentByName(selectedDepartment);
 
-        if (department != null) {
+        if (department.isPresent()) {
 
-            for (Person person : department.getMembers()) {
+            for (Person person : department.get().getMembers()) {
 
                 DateMidnight date = new DateMidnight();
                 int year = selectedYear != null ? selectedYear : date.getYear();
@@ -89,17 +89,6 @@ public class VacationOverviewService {
         return typeOfDay;
     }
 
-    private Department getDepartmentByName(@RequestParam("selectedDepartment") String selectedDepartment) {
-        Department department = null;
-        for (Department item : departmentService.getAllDepartments()) {
-            if (item.getName().equals(selectedDepartment)) {
-                department = item;
-                break;
-            }
-        }
-        return department;
-    }
-
     private VacationOverview getVacationOverview(Person person) {
         VacationOverview vacationOverview = new VacationOverview();
         vacationOverview.setDays(new ArrayList<>());
@@ -1,6 +1,12 @@
 package org.synyx.urlaubsverwaltung.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import org.springframework.context.event.EventListener;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -8,27 +14,46 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import org.synyx.urlaubsverwaltung.core.department.DepartmentService;
+import org.synyx.urlaubsverwaltung.core.person.MailNotification;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.person.PersonService;
+import org.synyx.urlaubsverwaltung.core.person.PersonUpdatedEvent;
 import org.synyx.urlaubsverwaltung.core.person.Role;
+import org.synyx.urlaubsverwaltung.core.util.ExpiringCache;
+import org.synyx.urlaubsverwaltung.core.util.TransactionUtil;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 
 /**
+ * Provides the signed in user and checks its permissions.
+ *
+ * <p>The persons of the signed in users are cached by login name, so they are not loaded from the database on every
+ * call. The cache holds an immutable snapshot of each person and every caller gets a detached person of its own, so
+ * changing the returned person never affects the cached one. A cached person is evicted after an update of the person
+ * has been committed and reloaded after the configured time to live to take changes of other application nodes into
+ * account. The number of cache hits and misses is exposed as actuator metrics.</p>
+ *
  * @author  Aljona Murygina - murygina@synyx.de
  */
 @Service
-public class SessionService {
+public class SessionService implements PublicMetrics {
 
     private final PersonService personService;
     private final DepartmentService departmentService;
 
+    private final ExpiringCache<String, SignedInUser> signedInUsers;
+
     @Autowired
-    public SessionService(PersonService personService, DepartmentService departmentService) {
+    public SessionService(PersonService personService, DepartmentService departmentService,
+        @Value("${uv.signedinuser.cache.timeToLive}") long timeToLiveInSeconds) {
 
         this.personService = personService;
         this.departmentService = departmentService;
+        this.signedInUsers = new ExpiringCache<>("signedinusers", timeToLiveInSeconds);
     }
 
     /**
@@ -46,13 +71,39 @@ public class SessionService {
 
         String user = authentication.getName();
 
-        Optional<Person> person = personService.getPersonByLogin(user);
+        return signedInUsers.get(user, this::loadSignedInUser).toPerson();
+    }
 
-        if (!person.isPresent()) {
-            throw new IllegalStateException("Can not get the person for the signed in user with username = " + user);
-        }
 
-        return person.get();
+    private SignedInUser loadSignedInUser(String user) {
+
+        Person person = personService.getPersonByLogin(user)
+            .orElseThrow(() ->
+                    new IllegalStateException("Can not get the person for the signed in user with username = " + user));
+
+        return new SignedInUser(person);
+    }
+
+
+    /**
+     * Evicts the cached person of the signed in user, after the update of the person has been committed. Evicting it
+     * before would allow a concurrent request to cache the person as it has been before the update.
+     *
+     * @param  event  contains the updated person
+     */
+    @EventListener
+    public void onPersonUpdated(PersonUpdatedEvent event) {
+
+        String loginName = event.getPerson().getLoginName();
+
+        TransactionUtil.afterCommit(() -> signedInUsers.invalidate(loginName));
+    }
+
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+
+        return signedInUsers.metrics();
     }
 
 
@@ -83,4 +134,42 @@ public class SessionService {
 
         return isOwnData || (isPrivilegedUser && !isDepartmentHeadOfSecondStageAuthority);
     }
+
+    /**
+     * Immutable snapshot of the person of a signed in user.
+     */
+    private static final class SignedInUser {
+
+        private final Integer id;
+        private final String loginName;
+        private final String password;
+        private final String lastName;
+        private final String firstName;
+        private final String email;
+        private final List<Role> permissions;
+        private final List<MailNotification> notifications;
+
+        SignedInUser(Person person) {
+
+            this.id = person.getId();
+            this.loginName = person.getLoginName();
+            this.password = person.getPassword();
+            this.lastName = person.getLastName();
+            this.firstName = person.getFirstName();
+            this.email = person.getEmail();
+            this.permissions = Collections.unmodifiableList(new ArrayList<>(person.getPermissions()));
+            this.notifications = Collections.unmodifiableList(new ArrayList<>(person.getNotifications()));
+        }
+
+        Person toPerson() {
+
+            Person person = new Person(loginName, lastName, firstName, email);
+            person.setId(id);
+            person.setPassword(password);
+            person.setPermissions(new ArrayList<>(permissions));
+            person.setNotifications(new ArrayList<>(notifications));
+
+            return person;
+        }
+    }
 }
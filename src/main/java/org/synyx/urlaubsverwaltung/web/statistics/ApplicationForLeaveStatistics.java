@@ -9,6 +9,7 @@ import org.synyx.urlaubsverwaltung.core.person.Person;
 import java.math.BigDecimal;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
@@ -34,7 +35,22 @@ public class ApplicationForLeaveStatistics {
 
         this.person = person;
 
-        for (VacationType vacationType : vacationTypeService.getVacationTypes()) {
+        initVacationDays(vacationTypeService.getVacationTypes());
+    }
+
+
+    public ApplicationForLeaveStatistics(Person person, List<VacationType> vacationTypes) {
+
+        Assert.notNull(person, "Person must be given.");
+
+        this.person = person;
+
+        initVacationDays(vacationTypes);
+    }
+
+    private void initVacationDays(List<VacationType> vacationTypes) {
+
+        for (VacationType vacationType : vacationTypes) {
             waitingVacationDays.put(vacationType, BigDecimal.ZERO);
             allowedVacationDays.put(vacationType, BigDecimal.ZERO);
         }
@@ -13,6 +13,7 @@ import org.synyx.urlaubsverwaltung.core.account.service.AccountService;
 import org.synyx.urlaubsverwaltung.core.account.service.VacationDaysService;
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.VacationType;
 import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.core.application.service.VacationTypeService;
 import org.synyx.urlaubsverwaltung.core.overtime.OvertimeService;
@@ -20,11 +21,18 @@ import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.util.DateUtil;
 import org.synyx.urlaubsverwaltung.core.workingtime.WorkDaysService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeTimeline;
 
 import java.math.BigDecimal;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 /**
@@ -42,11 +50,12 @@ public class ApplicationForLeaveStatisticsBuilder {
     private final VacationDaysService vacationDaysService;
     private final OvertimeService overtimeService;
     private final VacationTypeService vacationTypeService;
+    private final WorkingTimeService workingTimeService;
 
     @Autowired
     public ApplicationForLeaveStatisticsBuilder(AccountService accountService, ApplicationService applicationService,
         WorkDaysService calendarService, VacationDaysService vacationDaysService, OvertimeService overtimeService,
-        VacationTypeService vacationTypeService) {
+        VacationTypeService vacationTypeService, WorkingTimeService workingTimeService) {
 
         this.accountService = accountService;
         this.applicationService = applicationService;
@@ -54,45 +63,103 @@ public class ApplicationForLeaveStatisticsBuilder {
         this.vacationDaysService = vacationDaysService;
         this.overtimeService = overtimeService;
         this.vacationTypeService = vacationTypeService;
+        this.workingTimeService = workingTimeService;
     }
 
     public ApplicationForLeaveStatistics build(Person person, DateMidnight from, DateMidnight to) {
 
         Assert.notNull(person, "Person must be given");
+
+        return build(Collections.singletonList(person), from, to).get(0);
+    }
+
+
+    /**
+     * Builds the statistics for all the given persons at once: the holidays accounts, applications for leave, working
+     * times and overtime of all persons are loaded with a fixed number of queries, every statistics is then calculated
+     * in memory.
+     *
+     * @param  persons  to build the statistics for
+     * @param  from  start of the period
+     * @param  to  end of the period, must be in the same year as the start
+     *
+     * @return  the statistics in the order of the given persons
+     */
+    public List<ApplicationForLeaveStatistics> build(List<Person> persons, DateMidnight from, DateMidnight to) {
+
+        Assert.notNull(persons, "Persons must be given");
         Assert.notNull(from, "From must be given");
         Assert.notNull(to, "To must be given");
 
         Assert.isTrue(from.getYear() == to.getYear(), "From and to must be in the same year");
 
-        ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(person, vacationTypeService);
+        int year = from.getYear();
 
-        Optional<Account> account = accountService.getHolidaysAccount(from.getYear(), person);
+        List<VacationType> vacationTypes = vacationTypeService.getVacationTypes();
 
-        if (account.isPresent()) {
-            BigDecimal vacationDaysLeft = vacationDaysService.calculateTotalLeftVacationDays(account.get());
-            statistics.setLeftVacationDays(vacationDaysLeft);
-        }
+        Map<Person, Account> accountsByPerson = accountService.getHolidaysAccounts(year, persons)
+                .stream()
+                .collect(Collectors.toMap(Account::getPerson, Function.identity()));
+
+        // the applications for leave of the whole year are needed to calculate the left vacation days
+        Map<Person, List<Application>> applicationsByPerson = applicationService
+                .getApplicationsForACertainPeriodAndPersons(DateUtil.getFirstDayOfYear(year),
+                        DateUtil.getLastDayOfYear(year), persons)
+                .stream()
+                .collect(Collectors.groupingBy(Application::getPerson));
+
+        Map<Person, WorkingTimeTimeline> workingTimesByPerson = workingTimeService.getByPersons(persons)
+                .stream()
+                .collect(Collectors.groupingBy(WorkingTime::getPerson,
+                        Collectors.collectingAndThen(Collectors.toList(), WorkingTimeTimeline::of)));
+
+        Map<Person, BigDecimal> leftOvertimeByPerson = overtimeService.getLeftOvertimeForPersons(persons);
+
+        List<ApplicationForLeaveStatistics> statisticsList = new ArrayList<>();
 
-        List<Application> applications = applicationService.getApplicationsForACertainPeriodAndPerson(from, to, person);
+        for (Person person : persons) {
+            Assert.notNull(person, "Person must be given");
 
-        for (Application application : applications) {
-            if (application.hasStatus(ApplicationStatus.WAITING)
-                    || application.hasStatus(ApplicationStatus.TEMPORARY_ALLOWED)) {
-                statistics.addWaitingVacationDays(application.getVacationType(),
-                    getVacationDays(application, from.getYear()));
-            } else if (application.hasStatus(ApplicationStatus.ALLOWED)) {
-                statistics.addAllowedVacationDays(application.getVacationType(),
-                    getVacationDays(application, from.getYear()));
+            List<Application> applications = applicationsByPerson.getOrDefault(person, Collections.emptyList());
+            WorkingTimeTimeline workingTimes = workingTimesByPerson.getOrDefault(person,
+                    WorkingTimeTimeline.empty());
+
+            ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(person, vacationTypes);
+
+            Account account = accountsByPerson.get(person);
+
+            if (account != null) {
+                BigDecimal vacationDaysLeft = vacationDaysService.calculateTotalLeftVacationDays(account,
+                        applications, workingTimes);
+                statistics.setLeftVacationDays(vacationDaysLeft);
             }
-        }
 
-        statistics.setLeftOvertime(overtimeService.getLeftOvertimeForPerson(person));
+            for (Application application : applications) {
+                if (application.getStartDate().isAfter(to) || application.getEndDate().isBefore(from)) {
+                    continue;
+                }
+
+                if (application.hasStatus(ApplicationStatus.WAITING)
+                        || application.hasStatus(ApplicationStatus.TEMPORARY_ALLOWED)) {
+                    statistics.addWaitingVacationDays(application.getVacationType(),
+                        getVacationDays(application, year, workingTimes));
+                } else if (application.hasStatus(ApplicationStatus.ALLOWED)) {
+                    statistics.addAllowedVacationDays(application.getVacationType(),
+                        getVacationDays(application, year, workingTimes));
+                }
+            }
+
+            statistics.setLeftOvertime(leftOvertimeByPerson.getOrDefault(person, BigDecimal.ZERO));
+
+            statisticsList.add(statistics);
+        }
 
-        return statistics;
+        return statisticsList;
     }
 
 
-    private BigDecimal getVacationDays(Application application, int relevantYear) {
+    private BigDecimal getVacationDays(Application application, int relevantYear,
+        WorkingTimeTimeline workingTimes) {
 
         int yearOfStartDate = application.getStartDate().getYear();
         int yearOfEndDate = application.getEndDate().getYear();
@@ -104,10 +171,11 @@ public class ApplicationForLeaveStatisticsBuilder {
             DateMidnight startDate = getStartDateForCalculation(application, relevantYear);
             DateMidnight endDate = getEndDateForCalculation(application, relevantYear);
 
-            return calendarService.getWorkDays(dayLength, startDate, endDate, person);
+            return calendarService.getWorkDays(dayLength, startDate, endDate, person, workingTimes);
         }
 
-        return calendarService.getWorkDays(dayLength, application.getStartDate(), application.getEndDate(), person);
+        return calendarService.getWorkDays(dayLength, application.getStartDate(), application.getEndDate(), person,
+                workingTimes);
     }
 
 
@@ -44,4 +44,14 @@ public class SickNoteStatisticsController {
 
         return "sicknote/sick_notes_statistics";
     }
+
+
+    @PreAuthorize(SecurityRules.IS_OFFICE)
+    @RequestMapping(value = "/sicknote/statistics/recalculate", method = RequestMethod.POST)
+    public String recalculateSickNotesStatistics(@RequestParam("year") Integer year) {
+
+        statisticsService.recalculateStatistics(year);
+
+        return "redirect:/web/sicknote/statistics?year=" + year;
+    }
 }
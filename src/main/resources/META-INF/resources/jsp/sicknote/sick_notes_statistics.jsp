@@ -30,7 +30,15 @@
                     <spring:message code="sicknotes.statistics.title" />
                     <uv:year-selector year="${statistics.year}" hrefPrefix="${URL_PREFIX}/sicknote/statistics?year=" />
                     <uv:print />
+                    <a href="#" class="fa-action pull-right hidden-print"
+                       data-title="<spring:message code='action.sicknotes.statistics.recalculate' />"
+                       onclick="$('form#recalculate-statistics').submit(); return false;">
+                      <i class="fa fa-refresh"></i>
+                    </a>
                 </legend>
+                <form:form id="recalculate-statistics" method="POST"
+                           action="${URL_PREFIX}/sicknote/statistics/recalculate?year=${statistics.year}">
+                </form:form>
             </div>
 
         </div>
@@ -0,0 +1,241 @@
+package org.synyx.urlaubsverwaltung.core.account.service;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+import org.synyx.urlaubsverwaltung.core.account.dao.AccountRollOverJobDAO;
+import org.synyx.urlaubsverwaltung.core.account.domain.Account;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOver;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOverJob;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOverJobStatus;
+import org.synyx.urlaubsverwaltung.core.account.domain.UsedVacationDays;
+import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.test.TestDataCreator;
+
+import java.math.BigDecimal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+
+/**
+ * Unit test for {@link AccountRollOverService}.
+ */
+public class AccountRollOverServiceTest {
+
+    private static final int NEW_YEAR = 2016;
+    private static final int LAST_YEAR = 2015;
+
+    private AccountRollOverService sut;
+
+    private AccountRollOverJobDAO accountRollOverJobDAO;
+    private AccountService accountService;
+    private UsedVacationDaysService usedVacationDaysService;
+    private VacationDaysService vacationDaysService;
+
+    private Person person;
+    private Account lastYearsAccount;
+    private UsedVacationDays usedVacationDays;
+
+    @Before
+    public void setUp() {
+
+        accountRollOverJobDAO = Mockito.mock(AccountRollOverJobDAO.class);
+        accountService = Mockito.mock(AccountService.class);
+        usedVacationDaysService = Mockito.mock(UsedVacationDaysService.class);
+        vacationDaysService = Mockito.mock(VacationDaysService.class);
+
+        AccountInteractionService accountInteractionService = new AccountInteractionServiceImpl(accountService,
+                vacationDaysService);
+
+        sut = new AccountRollOverService(accountRollOverJobDAO, accountService, accountInteractionService,
+                usedVacationDaysService, vacationDaysService, 30);
+
+        person = TestDataCreator.createPerson("rick");
+        lastYearsAccount = TestDataCreator.createHolidaysAccount(person, LAST_YEAR);
+        usedVacationDays = new UsedVacationDays(person, LAST_YEAR);
+
+        Map<Person, UsedVacationDays> usedVacationDaysByPerson = new HashMap<>();
+        usedVacationDaysByPerson.put(person, usedVacationDays);
+
+        Mockito.when(accountService.getHolidaysAccounts(LAST_YEAR, Collections.singletonList(person)))
+            .thenReturn(Collections.singletonList(lastYearsAccount));
+        Mockito.when(usedVacationDaysService.getUsedVacationDays(LAST_YEAR,
+                    Collections.singletonList(lastYearsAccount)))
+            .thenReturn(usedVacationDaysByPerson);
+        Mockito.when(usedVacationDaysService.calculateUsedVacationDays(LAST_YEAR,
+                    Collections.singletonList(lastYearsAccount)))
+            .thenReturn(usedVacationDaysByPerson);
+        Mockito.when(vacationDaysService.calculateTotalLeftVacationDays(lastYearsAccount, usedVacationDays))
+            .thenReturn(new BigDecimal("5"));
+    }
+
+
+    @Test
+    public void ensureCreatesHolidaysAccountOfNewYear() {
+
+        List<AccountRollOver> rollOvers = sut.rollOver(NEW_YEAR, Collections.singletonList(person), false);
+
+        Assert.assertEquals("Wrong number of changes", 1, rollOvers.size());
+
+        AccountRollOver rollOver = rollOvers.get(0);
+        Assert.assertFalse("Should have no previous remaining vacation days",
+            rollOver.getPreviousRemainingVacationDays().isPresent());
+        Assert.assertEquals("Wrong remaining vacation days", new BigDecimal("5"), rollOver.getRemainingVacationDays());
+
+        Account account = rollOver.getAccount().get();
+        Assert.assertEquals("Wrong person", person, account.getPerson());
+        Assert.assertEquals("Wrong year", NEW_YEAR, account.getYear());
+        Assert.assertEquals("Wrong annual vacation days", new BigDecimal("30"), account.getAnnualVacationDays());
+        Assert.assertEquals("Wrong vacation days", new BigDecimal("30"), account.getVacationDays());
+        Assert.assertEquals("Wrong remaining vacation days", new BigDecimal("5"), account.getRemainingVacationDays());
+        Assert.assertEquals("Wrong remaining vacation days not expiring", BigDecimal.ZERO,
+            account.getRemainingVacationDaysNotExpiring());
+
+        Mockito.verify(accountService).save(account);
+    }
+
+
+    @Test
+    public void ensureUpdatesExistingHolidaysAccountOfNewYear() {
+
+        Account nextYearsAccount = TestDataCreator.createHolidaysAccount(person, NEW_YEAR, new BigDecimal("30"),
+                new BigDecimal("3"), new BigDecimal("8"), "comment");
+        Mockito.when(accountService.getHolidaysAccounts(NEW_YEAR, Collections.singletonList(person)))
+            .thenReturn(Collections.singletonList(nextYearsAccount));
+
+        List<AccountRollOver> rollOvers = sut.rollOver(NEW_YEAR, Collections.singletonList(person), false);
+
+        Assert.assertEquals("Wrong delta", new BigDecimal("2"), rollOvers.get(0).getDelta());
+        Assert.assertSame("Wrong account", nextYearsAccount, rollOvers.get(0).getAccount().get());
+
+        Assert.assertEquals("Wrong remaining vacation days", new BigDecimal("5"),
+            nextYearsAccount.getRemainingVacationDays());
+        Assert.assertEquals("Wrong remaining vacation days not expiring", new BigDecimal("5"),
+            nextYearsAccount.getRemainingVacationDaysNotExpiring());
+
+        Mockito.verify(accountService).save(nextYearsAccount);
+    }
+
+
+    @Test
+    public void ensureSkipsPersonsWithoutHolidaysAccountOfLastYear() {
+
+        Person otherPerson = TestDataCreator.createPerson("carl");
+        List<Person> persons = Arrays.asList(person, otherPerson);
+
+        Mockito.when(accountService.getHolidaysAccounts(LAST_YEAR, persons))
+            .thenReturn(Collections.singletonList(lastYearsAccount));
+
+        List<AccountRollOver> rollOvers = sut.rollOver(NEW_YEAR, persons, false);
+
+        Assert.assertEquals("Wrong number of changes", 1, rollOvers.size());
+        Assert.assertEquals("Wrong person", person, rollOvers.get(0).getPerson());
+    }
+
+
+    @Test
+    public void ensureDryRunSavesNothing() {
+
+        Account nextYearsAccount = TestDataCreator.createHolidaysAccount(person, NEW_YEAR);
+        Mockito.when(accountService.getHolidaysAccounts(NEW_YEAR, Collections.singletonList(person)))
+            .thenReturn(Collections.singletonList(nextYearsAccount));
+
+        List<AccountRollOver> rollOvers = sut.rollOver(NEW_YEAR, Collections.singletonList(person), true);
+
+        Assert.assertEquals("Wrong delta", new BigDecimal("2"), rollOvers.get(0).getDelta());
+        Assert.assertFalse("Should contain no account", rollOvers.get(0).getAccount().isPresent());
+        Assert.assertEquals("Remaining vacation days should not be changed", new BigDecimal("3"),
+            nextYearsAccount.getRemainingVacationDays());
+
+        Mockito.verify(accountService, Mockito.never()).save(Mockito.any(Account.class));
+        Mockito.verify(usedVacationDaysService, Mockito.never())
+            .getUsedVacationDays(Mockito.anyInt(), Mockito.anyListOf(Account.class));
+    }
+
+
+    @Test
+    public void ensureStartsNewJob() {
+
+        Mockito.when(accountRollOverJobDAO.save(Mockito.any(AccountRollOverJob.class)))
+            .thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        Optional<AccountRollOverJob> job = sut.startJob(NEW_YEAR);
+
+        Assert.assertTrue("Missing job", job.isPresent());
+        Assert.assertEquals("Wrong year", NEW_YEAR, job.get().getYear());
+        Assert.assertEquals("Wrong status", AccountRollOverJobStatus.RUNNING, job.get().getStatus());
+    }
+
+
+    @Test
+    public void ensureDoesNotStartCompletedOrRunningJobAgain() {
+
+        AccountRollOverJob completedJob = new AccountRollOverJob(NEW_YEAR);
+        completedJob.complete();
+        Mockito.when(accountRollOverJobDAO.findByYearForUpdate(NEW_YEAR)).thenReturn(completedJob);
+
+        Assert.assertFalse("Completed job must not be started", sut.startJob(NEW_YEAR).isPresent());
+
+        Mockito.when(accountRollOverJobDAO.findByYearForUpdate(NEW_YEAR))
+            .thenReturn(new AccountRollOverJob(NEW_YEAR));
+
+        Assert.assertFalse("Running job must not be started", sut.startJob(NEW_YEAR).isPresent());
+
+        Mockito.verify(accountRollOverJobDAO, Mockito.never()).save(Mockito.any(AccountRollOverJob.class));
+    }
+
+
+    @Test
+    public void ensureResumesRunningJobOnlyAfterTimeout() {
+
+        AccountRollOverJob runningJob = new AccountRollOverJob(NEW_YEAR);
+        Mockito.when(accountRollOverJobDAO.findByYearForUpdate(NEW_YEAR)).thenReturn(runningJob);
+        Mockito.when(accountRollOverJobDAO.save(runningJob)).thenReturn(runningJob);
+
+        Assert.assertFalse("Running job must not be resumed before timeout", sut.resumeJob(NEW_YEAR).isPresent());
+
+        sut = new AccountRollOverService(accountRollOverJobDAO, accountService,
+                Mockito.mock(AccountInteractionService.class), usedVacationDaysService, vacationDaysService, -1);
+
+        Assert.assertTrue("Running job should be resumed after timeout", sut.resumeJob(NEW_YEAR).isPresent());
+    }
+
+
+    @Test
+    public void ensureRenewsRunningJob() {
+
+        AccountRollOverJob job = Mockito.spy(new AccountRollOverJob(NEW_YEAR));
+        Mockito.doReturn(42).when(job).getId();
+
+        sut.renewJob(job);
+
+        Mockito.verify(accountRollOverJobDAO)
+            .renewCheckpoint(Mockito.eq(42), Mockito.any(Date.class), Mockito.eq(AccountRollOverJobStatus.RUNNING));
+    }
+
+
+    @Test
+    public void ensureResumesFailedJob() {
+
+        AccountRollOverJob failedJob = new AccountRollOverJob(NEW_YEAR);
+        failedJob.checkpoint(42, 10);
+        failedJob.fail();
+        Mockito.when(accountRollOverJobDAO.findByYearForUpdate(NEW_YEAR)).thenReturn(failedJob);
+        Mockito.when(accountRollOverJobDAO.save(failedJob)).thenReturn(failedJob);
+
+        Optional<AccountRollOverJob> job = sut.resumeJob(NEW_YEAR);
+
+        Assert.assertTrue("Missing job", job.isPresent());
+        Assert.assertEquals("Wrong status", AccountRollOverJobStatus.RUNNING, job.get().getStatus());
+        Assert.assertEquals("Wrong last person", Integer.valueOf(42), job.get().getLastPersonId());
+    }
+}
@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.core.account.service;
 
+import org.joda.time.DateMidnight;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -11,6 +13,7 @@ import org.synyx.urlaubsverwaltung.core.account.domain.Account;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
+import java.util.Date;
 import java.util.Optional;
 
 
@@ -39,7 +42,9 @@ public class AccountServiceImplTest {
 
         Person person = TestDataCreator.createPerson();
         Account account = TestDataCreator.createHolidaysAccount(person, 2012);
-        Mockito.when(accountDAO.getHolidaysAccountByYearAndPerson(2012, person)).thenReturn(account);
+        Mockito.when(accountDAO.getHolidaysAccountByYearAndPerson(person, new DateMidnight(2012, 1, 1).toDate(),
+                    new DateMidnight(2013, 1, 1).toDate()))
+            .thenReturn(account);
 
         Optional<Account> optionalHolidaysAccount = accountService.getHolidaysAccount(2012, person);
 
@@ -52,7 +57,8 @@ public class AccountServiceImplTest {
     @Test
     public void ensureReturnsAbsentOptionalIfNoHolidaysAccountExists() {
 
-        Mockito.when(accountDAO.getHolidaysAccountByYearAndPerson(Mockito.anyInt(), Mockito.any(Person.class)))
+        Mockito.when(accountDAO.getHolidaysAccountByYearAndPerson(Mockito.any(Person.class), Mockito.any(Date.class),
+                        Mockito.any(Date.class)))
             .thenReturn(null);
 
         Optional<Account> optionalHolidaysAccount = accountService.getHolidaysAccount(2012, Mockito.mock(Person.class));
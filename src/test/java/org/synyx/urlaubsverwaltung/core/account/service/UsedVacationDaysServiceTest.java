@@ -0,0 +1,507 @@
+package org.synyx.urlaubsverwaltung.core.account.service;
+
+import org.joda.time.DateMidnight;
+import org.joda.time.DateTimeConstants;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import org.synyx.urlaubsverwaltung.core.account.dao.AccountDAO;
+import org.synyx.urlaubsverwaltung.core.account.dao.UsedVacationDaysDAO;
+import org.synyx.urlaubsverwaltung.core.account.domain.Account;
+import org.synyx.urlaubsverwaltung.core.account.domain.UsedVacationDays;
+import org.synyx.urlaubsverwaltung.core.application.domain.Application;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.VacationCategory;
+import org.synyx.urlaubsverwaltung.core.application.domain.VacationType;
+import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.core.period.DayLength;
+import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.settings.Settings;
+import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.core.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.core.workingtime.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkDaysService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.test.TestDataCreator;
+
+import java.math.BigDecimal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+
+/**
+ * Unit test for {@link UsedVacationDaysService}.
+ */
+public class UsedVacationDaysServiceTest {
+
+    private UsedVacationDaysService usedVacationDaysService;
+
+    private UsedVacationDaysDAO usedVacationDaysDAO;
+    private AccountDAO accountDAO;
+    private ApplicationService applicationService;
+
+    @Before
+    public void setUp() {
+
+        usedVacationDaysDAO = Mockito.mock(UsedVacationDaysDAO.class);
+        accountDAO = Mockito.mock(AccountDAO.class);
+        applicationService = Mockito.mock(ApplicationService.class);
+
+        WorkingTimeService workingTimeService = Mockito.mock(WorkingTimeService.class);
+
+        // create working time object (MON-FRI)
+        WorkingTime workingTime = new WorkingTime();
+        List<Integer> workingDays = Arrays.asList(DateTimeConstants.MONDAY, DateTimeConstants.TUESDAY,
+                DateTimeConstants.WEDNESDAY, DateTimeConstants.THURSDAY, DateTimeConstants.FRIDAY);
+        workingTime.setWorkingDays(workingDays, DayLength.FULL);
+
+        Mockito.when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(Mockito.any(Person.class),
+                    Mockito.any(DateMidnight.class)))
+            .thenReturn(Optional.of(workingTime));
+
+        SettingsService settingsService = Mockito.mock(SettingsService.class);
+        Mockito.when(settingsService.getSettings()).thenReturn(new Settings());
+
+        WorkDaysService workDaysService = new WorkDaysService(new PublicHolidaysService(settingsService),
+                workingTimeService, settingsService);
+
+        usedVacationDaysService = new UsedVacationDaysService(usedVacationDaysDAO, accountDAO, applicationService,
+                workDaysService);
+    }
+
+
+    @Test
+    public void ensureCalculatesUsedDaysBeforeApril() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        // 4 days at all: 2 before January + 2 after January
+        Application a1 = new Application();
+        a1.setStartDate(new DateMidnight(2011, DateTimeConstants.DECEMBER, 29));
+        a1.setEndDate(new DateMidnight(2012, DateTimeConstants.JANUARY, 3));
+        a1.setDayLength(DayLength.FULL);
+        a1.setStatus(ApplicationStatus.ALLOWED);
+        a1.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+        a1.setPerson(person);
+
+        // 5 days
+        Application a2 = new Application();
+        a2.setStartDate(new DateMidnight(2012, DateTimeConstants.MARCH, 12));
+        a2.setEndDate(new DateMidnight(2012, DateTimeConstants.MARCH, 16));
+        a2.setDayLength(DayLength.FULL);
+        a2.setStatus(ApplicationStatus.ALLOWED);
+        a2.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+        a2.setPerson(person);
+
+        // 4 days
+        Application a3 = new Application();
+        a3.setStartDate(new DateMidnight(2012, DateTimeConstants.FEBRUARY, 6));
+        a3.setEndDate(new DateMidnight(2012, DateTimeConstants.FEBRUARY, 9));
+        a3.setDayLength(DayLength.FULL);
+        a3.setStatus(ApplicationStatus.WAITING);
+        a3.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+        a3.setPerson(person);
+
+        // 6 days at all: 2 before April + 4 after April
+        Application a4 = new Application();
+        a4.setStartDate(new DateMidnight(2012, DateTimeConstants.MARCH, 29));
+        a4.setEndDate(new DateMidnight(2012, DateTimeConstants.APRIL, 5));
+        a4.setDayLength(DayLength.FULL);
+        a4.setStatus(ApplicationStatus.WAITING);
+        a4.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+        a4.setPerson(person);
+
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
+            .thenReturn(Arrays.asList(a1, a2, a3, a4));
+
+        UsedVacationDays usedVacationDays = usedVacationDaysService.calculateUsedVacationDays(person, 2012);
+        // must be: 2 + 5 + 4 + 2 = 13
+
+        Assert.assertEquals(new BigDecimal("13.0"), usedVacationDays.getUsedDaysBeforeApril());
+    }
+
+
+    @Test
+    public void ensureCalculatesUsedDaysAfterApril() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        // 4 days at all: 2.5 before January + 2 after January
+        Application a1 = new Application();
+        a1.setStartDate(new DateMidnight(2012, DateTimeConstants.DECEMBER, 27));
+        a1.setEndDate(new DateMidnight(2013, DateTimeConstants.JANUARY, 3));
+        a1.setDayLength(DayLength.FULL);
+        a1.setPerson(person);
+        a1.setStatus(ApplicationStatus.ALLOWED);
+        a1.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+
+        // 5 days
+        Application a2 = new Application();
+        a2.setStartDate(new DateMidnight(2012, DateTimeConstants.SEPTEMBER, 3));
+        a2.setEndDate(new DateMidnight(2012, DateTimeConstants.SEPTEMBER, 7));
+        a2.setDayLength(DayLength.FULL);
+        a2.setPerson(person);
+        a2.setStatus(ApplicationStatus.ALLOWED);
+        a2.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+
+        // 6 days at all: 2 before April + 4 after April
+        Application a4 = new Application();
+        a4.setStartDate(new DateMidnight(2012, DateTimeConstants.MARCH, 29));
+        a4.setEndDate(new DateMidnight(2012, DateTimeConstants.APRIL, 5));
+        a4.setDayLength(DayLength.FULL);
+        a4.setPerson(person);
+        a4.setStatus(ApplicationStatus.WAITING);
+        a4.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
+            .thenReturn(Arrays.asList(a1, a2, a4));
+
+        UsedVacationDays usedVacationDays = usedVacationDaysService.calculateUsedVacationDays(person, 2012);
+        // must be: 2.5 + 5 + 4 = 11.5
+
+        Assert.assertEquals(new BigDecimal("11.5"), usedVacationDays.getUsedDaysAfterApril());
+    }
+
+
+    @Test
+    public void ensureIgnoresInactiveApplicationsForLeaveAndOfOtherVacationTypeThanHoliday() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        Application cancelledHoliday = new Application();
+        cancelledHoliday.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+        cancelledHoliday.setStatus(ApplicationStatus.CANCELLED);
+
+        Application rejectedHoliday = new Application();
+        rejectedHoliday.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+        rejectedHoliday.setStatus(ApplicationStatus.REJECTED);
+
+        Application waitingSpecialLeave = new Application();
+        waitingSpecialLeave.setVacationType(getVacationType(VacationCategory.SPECIALLEAVE));
+        waitingSpecialLeave.setStatus(ApplicationStatus.WAITING);
+
+        Application allowedSpecialLeave = new Application();
+        allowedSpecialLeave.setVacationType(getVacationType(VacationCategory.SPECIALLEAVE));
+        allowedSpecialLeave.setStatus(ApplicationStatus.ALLOWED);
+
+        Application waitingUnpaidLeave = new Application();
+        waitingUnpaidLeave.setVacationType(getVacationType(VacationCategory.UNPAIDLEAVE));
+        waitingUnpaidLeave.setStatus(ApplicationStatus.WAITING);
+
+        Application allowedUnpaidLeave = new Application();
+        allowedUnpaidLeave.setVacationType(getVacationType(VacationCategory.UNPAIDLEAVE));
+        allowedUnpaidLeave.setStatus(ApplicationStatus.ALLOWED);
+
+        Application waitingOvertime = new Application();
+        waitingOvertime.setVacationType(getVacationType(VacationCategory.OVERTIME));
+        waitingOvertime.setStatus(ApplicationStatus.WAITING);
+
+        Application allowedOvertime = new Application();
+        allowedOvertime.setVacationType(getVacationType(VacationCategory.OVERTIME));
+        allowedOvertime.setStatus(ApplicationStatus.ALLOWED);
+
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
+            .thenReturn(Arrays.asList(cancelledHoliday, rejectedHoliday, waitingSpecialLeave, allowedSpecialLeave,
+                    waitingUnpaidLeave, allowedUnpaidLeave, waitingOvertime, allowedOvertime));
+
+        UsedVacationDays usedVacationDays = usedVacationDaysService.calculateUsedVacationDays(person, 2012);
+
+        Assert.assertEquals(BigDecimal.ZERO, usedVacationDays.getUsedDaysBeforeApril());
+        Assert.assertEquals(BigDecimal.ZERO, usedVacationDays.getUsedDaysAfterApril());
+    }
+
+
+    @Test
+    public void ensureCalculatesAndStoresUsedVacationDaysIfNotStoredYet() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        // persisted holidays account
+        Account account = Mockito.spy(new Account());
+        Mockito.doReturn(false).when(account).isNew();
+        account.setPerson(person);
+        account.setValidFrom(new DateMidnight(2012, DateTimeConstants.JANUARY, 1));
+
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
+            .thenReturn(Collections.singletonList(createHoliday(person, ApplicationStatus.ALLOWED)));
+
+        UsedVacationDays usedVacationDays = usedVacationDaysService.getUsedVacationDays(account);
+
+        Assert.assertEquals("Wrong number of used days", new BigDecimal("5.0"),
+            usedVacationDays.getUsedDaysAfterApril());
+
+        Mockito.verify(accountDAO).lockHolidaysAccount(account);
+        Mockito.verify(usedVacationDaysDAO).save(usedVacationDays);
+    }
+
+
+    @Test
+    public void ensureReturnsStoredUsedVacationDaysWithoutCalculation() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        Account account = new Account();
+        account.setPerson(person);
+        account.setValidFrom(new DateMidnight(2012, DateTimeConstants.JANUARY, 1));
+
+        UsedVacationDays stored = new UsedVacationDays(person, 2012);
+        Mockito.when(usedVacationDaysDAO.findByPersonAndYear(person, 2012)).thenReturn(stored);
+
+        Assert.assertSame("Wrong used vacation days", stored, usedVacationDaysService.getUsedVacationDays(account));
+
+        Mockito.verifyZeroInteractions(applicationService, accountDAO);
+        Mockito.verify(usedVacationDaysDAO, Mockito.never()).save(Mockito.any(UsedVacationDays.class));
+    }
+
+
+    @Test
+    public void ensureCalculatesNotStoredUsedVacationDaysOfSeveralAccountsWithoutStoringThem() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+        Person otherPerson = TestDataCreator.createPerson("carl");
+
+        Account account = new Account();
+        account.setPerson(person);
+        account.setValidFrom(new DateMidnight(2012, DateTimeConstants.JANUARY, 1));
+
+        Account otherAccount = new Account();
+        otherAccount.setPerson(otherPerson);
+        otherAccount.setValidFrom(new DateMidnight(2012, DateTimeConstants.JANUARY, 1));
+
+        UsedVacationDays stored = new UsedVacationDays(otherPerson, 2012);
+        Mockito.when(usedVacationDaysDAO.findByYearAndPersons(2012, Arrays.asList(person, otherPerson)))
+            .thenReturn(Collections.singletonList(stored));
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.eq(person)))
+            .thenReturn(Collections.singletonList(createHoliday(person, ApplicationStatus.ALLOWED)));
+
+        Map<Person, UsedVacationDays> usedVacationDays = usedVacationDaysService.calculateUsedVacationDays(2012,
+                Arrays.asList(account, otherAccount));
+
+        Assert.assertSame("Wrong stored used vacation days", stored, usedVacationDays.get(otherPerson));
+        Assert.assertEquals("Wrong calculated used vacation days", new BigDecimal("5.0"),
+            usedVacationDays.get(person).getUsedDaysAfterApril());
+
+        Mockito.verify(usedVacationDaysDAO, Mockito.never()).save(Mockito.any(UsedVacationDays.class));
+        Mockito.verifyZeroInteractions(accountDAO);
+    }
+
+
+    @Test
+    public void ensureMovesDaysOfApplicationForLeaveOnStatusChange() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        UsedVacationDays stored = new UsedVacationDays(person, 2012);
+        stored.add(ApplicationStatus.WAITING, BigDecimal.ZERO, new BigDecimal("5.0"));
+        Mockito.when(usedVacationDaysDAO.findByPersonAndYearForUpdate(person, 2012)).thenReturn(stored);
+
+        Application application = createHoliday(person, ApplicationStatus.ALLOWED);
+
+        usedVacationDaysService.updateUsedVacationDays(application, Optional.of(ApplicationStatus.WAITING));
+
+        Assert.assertEquals("Wrong number of waiting days", BigDecimal.ZERO.compareTo(
+                stored.getWaitingDaysAfterApril()), 0);
+        Assert.assertEquals("Wrong number of allowed days", new BigDecimal("5.0"), stored.getAllowedDaysAfterApril());
+
+        Mockito.verify(usedVacationDaysDAO).save(stored);
+    }
+
+
+    @Test
+    public void ensureRemovesDaysOfCancelledApplicationForLeave() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        UsedVacationDays stored = new UsedVacationDays(person, 2012);
+        stored.add(ApplicationStatus.ALLOWED, BigDecimal.ZERO, new BigDecimal("5.0"));
+        Mockito.when(usedVacationDaysDAO.findByPersonAndYearForUpdate(person, 2012)).thenReturn(stored);
+
+        Application application = createHoliday(person, ApplicationStatus.CANCELLED);
+
+        usedVacationDaysService.updateUsedVacationDays(application, Optional.of(ApplicationStatus.ALLOWED));
+
+        Assert.assertEquals("Wrong number of used days", 0,
+            BigDecimal.ZERO.compareTo(stored.getUsedDaysAfterApril()));
+    }
+
+
+    @Test
+    public void ensureCalculatesAndStoresMissingUsedVacationDaysOnStatusChangeUnderLockOfHolidaysAccount() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        Account account = new Account();
+        account.setPerson(person);
+        account.setValidFrom(new DateMidnight(2012, DateTimeConstants.JANUARY, 1));
+
+        Application application = createHoliday(person, ApplicationStatus.ALLOWED);
+
+        Mockito.when(accountDAO.getHolidaysAccountByYearAndPerson(Mockito.eq(person), Mockito.any(Date.class),
+                    Mockito.any(Date.class)))
+            .thenReturn(account);
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
+            .thenReturn(Collections.singletonList(application));
+
+        usedVacationDaysService.updateUsedVacationDays(application, Optional.of(ApplicationStatus.WAITING));
+
+        Mockito.verify(accountDAO).lockHolidaysAccount(account);
+        Mockito.verify(usedVacationDaysDAO, Mockito.times(2)).findByPersonAndYearForUpdate(person, 2012);
+
+        ArgumentCaptor<UsedVacationDays> usedVacationDaysCaptor = ArgumentCaptor.forClass(UsedVacationDays.class);
+        Mockito.verify(usedVacationDaysDAO).save(usedVacationDaysCaptor.capture());
+
+        UsedVacationDays usedVacationDays = usedVacationDaysCaptor.getValue();
+        Assert.assertEquals("Wrong number of waiting days", 0,
+            BigDecimal.ZERO.compareTo(usedVacationDays.getWaitingDaysAfterApril()));
+        Assert.assertEquals("Wrong number of allowed days", new BigDecimal("5.0"),
+            usedVacationDays.getAllowedDaysAfterApril());
+    }
+
+
+    @Test
+    public void ensureUpdatesUsedVacationDaysStoredConcurrentlyBeforeLockOfHolidaysAccount() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        Account account = new Account();
+        account.setPerson(person);
+        account.setValidFrom(new DateMidnight(2012, DateTimeConstants.JANUARY, 1));
+
+        // stored by a concurrent first calculation that did not see the status change yet
+        UsedVacationDays stored = new UsedVacationDays(person, 2012);
+        stored.add(ApplicationStatus.WAITING, BigDecimal.ZERO, new BigDecimal("5.0"));
+
+        Mockito.when(usedVacationDaysDAO.findByPersonAndYearForUpdate(person, 2012)).thenReturn(null, stored);
+        Mockito.when(accountDAO.getHolidaysAccountByYearAndPerson(Mockito.eq(person), Mockito.any(Date.class),
+                    Mockito.any(Date.class)))
+            .thenReturn(account);
+
+        Application application = createHoliday(person, ApplicationStatus.ALLOWED);
+
+        usedVacationDaysService.updateUsedVacationDays(application, Optional.of(ApplicationStatus.WAITING));
+
+        Mockito.verify(accountDAO).lockHolidaysAccount(account);
+        Assert.assertEquals("Wrong number of waiting days", 0,
+            BigDecimal.ZERO.compareTo(stored.getWaitingDaysAfterApril()));
+        Assert.assertEquals("Wrong number of allowed days", new BigDecimal("5.0"), stored.getAllowedDaysAfterApril());
+
+        Mockito.verify(usedVacationDaysDAO).save(stored);
+        Mockito.verifyZeroInteractions(applicationService);
+    }
+
+
+    @Test
+    public void ensureDoesNotStoreUsedVacationDaysOnStatusChangeWithoutHolidaysAccount() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        Application application = createHoliday(person, ApplicationStatus.ALLOWED);
+
+        usedVacationDaysService.updateUsedVacationDays(application, Optional.of(ApplicationStatus.WAITING));
+
+        Mockito.verify(accountDAO, Mockito.never()).lockHolidaysAccount(Mockito.any(Account.class));
+        Mockito.verify(usedVacationDaysDAO, Mockito.never()).save(Mockito.any(UsedVacationDays.class));
+    }
+
+
+    @Test
+    public void ensureDoesNotUpdateUsedVacationDaysForOtherVacationTypeThanHoliday() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        Application application = createHoliday(person, ApplicationStatus.ALLOWED);
+        application.setVacationType(getVacationType(VacationCategory.SPECIALLEAVE));
+
+        usedVacationDaysService.updateUsedVacationDays(application, Optional.of(ApplicationStatus.WAITING));
+
+        Mockito.verifyZeroInteractions(usedVacationDaysDAO);
+    }
+
+
+    @Test
+    public void ensureVerificationCorrectsDifferingUsedVacationDays() {
+
+        Person person = TestDataCreator.createPerson("horscht");
+
+        UsedVacationDays stored = new UsedVacationDays(person, 2012);
+        stored.add(ApplicationStatus.WAITING, BigDecimal.ONE, BigDecimal.ONE);
+        Mockito.when(usedVacationDaysDAO.findByYear(2012)).thenReturn(Collections.singletonList(stored));
+        Mockito.when(usedVacationDaysDAO.findByPersonAndYearForUpdate(person, 2012)).thenReturn(stored);
+
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
+            .thenReturn(Collections.singletonList(createHoliday(person, ApplicationStatus.ALLOWED)));
+
+        int corrected = usedVacationDaysService.verifyUsedVacationDays(2012);
+
+        Assert.assertEquals("Wrong number of corrected used vacation days", 1, corrected);
+        Assert.assertEquals("Wrong number of waiting days", 0,
+            BigDecimal.ZERO.compareTo(stored.getWaitingDaysAfterApril()));
+        Assert.assertEquals("Wrong number of allowed days", new BigDecimal("5.0"), stored.getAllowedDaysAfterApril());
+
+        Mockito.verify(usedVacationDaysDAO).save(stored);
+    }
+
+
+    @Test
+    public void ensureRebuildsUsedVacationDaysIfSettingsAffectingWorkDaysHaveBeenUpdated() {
+
+        Settings settings = new Settings();
+        settings.getWorkingTimeSettings().setWorkingDurationForChristmasEve(DayLength.FULL);
+
+        usedVacationDaysService.onSettingsUpdated(new SettingsUpdatedEvent(new Settings(), settings));
+
+        Mockito.verify(usedVacationDaysDAO).deleteAllInBatch();
+    }
+
+
+    @Test
+    public void ensureDoesNotRebuildUsedVacationDaysIfOtherSettingsHaveBeenUpdated() {
+
+        Settings settings = new Settings();
+        settings.getMailSettings().setActive(true);
+        settings.getWorkingTimeSettings().setOvertimeActive(true);
+
+        usedVacationDaysService.onSettingsUpdated(new SettingsUpdatedEvent(new Settings(), settings));
+
+        Mockito.verify(usedVacationDaysDAO, Mockito.never()).deleteAllInBatch();
+    }
+
+
+    private Application createHoliday(Person person, ApplicationStatus status) {
+
+        // 5 days
+        Application application = new Application();
+        application.setStartDate(new DateMidnight(2012, DateTimeConstants.SEPTEMBER, 3));
+        application.setEndDate(new DateMidnight(2012, DateTimeConstants.SEPTEMBER, 7));
+        application.setDayLength(DayLength.FULL);
+        application.setPerson(person);
+        application.setStatus(status);
+        application.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+
+        return application;
+    }
+
+
+    private VacationType getVacationType(VacationCategory category) {
+
+        return TestDataCreator.createVacationType(category);
+    }
+}
@@ -9,7 +9,10 @@ import org.junit.Test;
 
 import org.mockito.Mockito;
 
+import org.synyx.urlaubsverwaltung.core.account.dao.AccountDAO;
+import org.synyx.urlaubsverwaltung.core.account.dao.UsedVacationDaysDAO;
 import org.synyx.urlaubsverwaltung.core.account.domain.Account;
+import org.synyx.urlaubsverwaltung.core.account.domain.UsedVacationDays;
 import org.synyx.urlaubsverwaltung.core.account.domain.VacationDaysLeft;
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
@@ -25,6 +28,7 @@ import org.synyx.urlaubsverwaltung.core.workingtime.PublicHolidaysService;
 import org.synyx.urlaubsverwaltung.core.workingtime.WorkDaysService;
 import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeTimeline;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.io.IOException;
@@ -32,8 +36,10 @@ import java.io.IOException;
 import java.math.BigDecimal;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 
 /**
@@ -72,162 +78,11 @@ public class VacationDaysServiceTest {
         WorkDaysService calendarService = new WorkDaysService(new PublicHolidaysService(settingsService),
                 workingTimeService, settingsService);
 
-        vacationDaysService = new VacationDaysService(calendarService, nowService, applicationService);
-    }
-
-
-    @Test
-    public void testGetDaysBeforeApril() {
-
-        Person person = TestDataCreator.createPerson("horscht");
-
-        DateMidnight firstMilestone = new DateMidnight(2012, DateTimeConstants.JANUARY, 1);
-        DateMidnight lastMilestone = new DateMidnight(2012, DateTimeConstants.MARCH, 31);
-
-        // 4 days at all: 2 before January + 2 after January
-        Application a1 = new Application();
-        a1.setStartDate(new DateMidnight(2011, DateTimeConstants.DECEMBER, 29));
-        a1.setEndDate(new DateMidnight(2012, DateTimeConstants.JANUARY, 3));
-        a1.setDayLength(DayLength.FULL);
-        a1.setStatus(ApplicationStatus.ALLOWED);
-        a1.setVacationType(getVacationType(VacationCategory.HOLIDAY));
-        a1.setPerson(person);
-
-        // 5 days
-        Application a2 = new Application();
-        a2.setStartDate(new DateMidnight(2012, DateTimeConstants.MARCH, 12));
-        a2.setEndDate(new DateMidnight(2012, DateTimeConstants.MARCH, 16));
-        a2.setDayLength(DayLength.FULL);
-        a2.setStatus(ApplicationStatus.ALLOWED);
-        a2.setVacationType(getVacationType(VacationCategory.HOLIDAY));
-        a2.setPerson(person);
-
-        // 4 days
-        Application a3 = new Application();
-        a3.setStartDate(new DateMidnight(2012, DateTimeConstants.FEBRUARY, 6));
-        a3.setEndDate(new DateMidnight(2012, DateTimeConstants.FEBRUARY, 9));
-        a3.setDayLength(DayLength.FULL);
-        a3.setStatus(ApplicationStatus.WAITING);
-        a3.setVacationType(getVacationType(VacationCategory.HOLIDAY));
-        a3.setPerson(person);
-
-        // 6 days at all: 2 before April + 4 after April
-        Application a4 = new Application();
-        a4.setStartDate(new DateMidnight(2012, DateTimeConstants.MARCH, 29));
-        a4.setEndDate(new DateMidnight(2012, DateTimeConstants.APRIL, 5));
-        a4.setDayLength(DayLength.FULL);
-        a4.setStatus(ApplicationStatus.WAITING);
-        a4.setVacationType(getVacationType(VacationCategory.HOLIDAY));
-        a4.setPerson(person);
-
-        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
-            .thenReturn(Arrays.asList(a1, a2, a3, a4));
-
-        BigDecimal days = vacationDaysService.getUsedDaysBetweenTwoMilestones(person, firstMilestone, lastMilestone);
-        // must be: 2 + 5 + 4 + 2 = 13
+        UsedVacationDaysService usedVacationDaysService = new UsedVacationDaysService(
+                Mockito.mock(UsedVacationDaysDAO.class), Mockito.mock(AccountDAO.class), applicationService,
+                calendarService);
 
-        Assert.assertNotNull(days);
-        Assert.assertEquals(new BigDecimal("13.0"), days);
-    }
-
-
-    @Test
-    public void testGetDaysAfterApril() {
-
-        Person person = TestDataCreator.createPerson("horscht");
-
-        DateMidnight firstMilestone = new DateMidnight(2012, DateTimeConstants.APRIL, 1);
-        DateMidnight lastMilestone = new DateMidnight(2012, DateTimeConstants.DECEMBER, 31);
-
-        // 4 days at all: 2.5 before January + 2 after January
-        Application a1 = new Application();
-        a1.setStartDate(new DateMidnight(2012, DateTimeConstants.DECEMBER, 27));
-        a1.setEndDate(new DateMidnight(2013, DateTimeConstants.JANUARY, 3));
-        a1.setDayLength(DayLength.FULL);
-        a1.setPerson(person);
-        a1.setStatus(ApplicationStatus.ALLOWED);
-        a1.setVacationType(getVacationType(VacationCategory.HOLIDAY));
-
-        // 5 days
-        Application a2 = new Application();
-        a2.setStartDate(new DateMidnight(2012, DateTimeConstants.SEPTEMBER, 3));
-        a2.setEndDate(new DateMidnight(2012, DateTimeConstants.SEPTEMBER, 7));
-        a2.setDayLength(DayLength.FULL);
-        a2.setPerson(person);
-        a2.setStatus(ApplicationStatus.ALLOWED);
-        a2.setVacationType(getVacationType(VacationCategory.HOLIDAY));
-
-        // 6 days at all: 2 before April + 4 after April
-        Application a4 = new Application();
-        a4.setStartDate(new DateMidnight(2012, DateTimeConstants.MARCH, 29));
-        a4.setEndDate(new DateMidnight(2012, DateTimeConstants.APRIL, 5));
-        a4.setDayLength(DayLength.FULL);
-        a4.setPerson(person);
-        a4.setStatus(ApplicationStatus.WAITING);
-        a4.setVacationType(getVacationType(VacationCategory.HOLIDAY));
-
-        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
-            .thenReturn(Arrays.asList(a1, a2, a4));
-
-        BigDecimal days = vacationDaysService.getUsedDaysBetweenTwoMilestones(person, firstMilestone, lastMilestone);
-        // must be: 2.5 + 5 + 4 = 11.5
-
-        Assert.assertNotNull(days);
-        Assert.assertEquals(new BigDecimal("11.5"), days);
-    }
-
-
-    @Test
-    public void testGetDaysBetweenMilestonesWithInactiveApplicationsForLeaveAndOfOtherVacationTypeThanHoliday() {
-
-        Person person = TestDataCreator.createPerson("horscht");
-
-        DateMidnight firstMilestone = new DateMidnight(2012, DateTimeConstants.APRIL, 1);
-        DateMidnight lastMilestone = new DateMidnight(2012, DateTimeConstants.DECEMBER, 31);
-
-        Application cancelledHoliday = new Application();
-        cancelledHoliday.setVacationType(getVacationType(VacationCategory.HOLIDAY));
-        cancelledHoliday.setStatus(ApplicationStatus.CANCELLED);
-
-        Application rejectedHoliday = new Application();
-        rejectedHoliday.setVacationType(getVacationType(VacationCategory.HOLIDAY));
-        rejectedHoliday.setStatus(ApplicationStatus.REJECTED);
-
-        Application waitingSpecialLeave = new Application();
-        waitingSpecialLeave.setVacationType(getVacationType(VacationCategory.SPECIALLEAVE));
-        waitingSpecialLeave.setStatus(ApplicationStatus.WAITING);
-
-        Application allowedSpecialLeave = new Application();
-        allowedSpecialLeave.setVacationType(getVacationType(VacationCategory.SPECIALLEAVE));
-        allowedSpecialLeave.setStatus(ApplicationStatus.ALLOWED);
-
-        Application waitingUnpaidLeave = new Application();
-        waitingUnpaidLeave.setVacationType(getVacationType(VacationCategory.UNPAIDLEAVE));
-        waitingUnpaidLeave.setStatus(ApplicationStatus.WAITING);
-
-        Application allowedUnpaidLeave = new Application();
-        allowedUnpaidLeave.setVacationType(getVacationType(VacationCategory.UNPAIDLEAVE));
-        allowedUnpaidLeave.setStatus(ApplicationStatus.ALLOWED);
-
-        Application waitingOvertime = new Application();
-        waitingOvertime.setVacationType(getVacationType(VacationCategory.OVERTIME));
-        waitingOvertime.setStatus(ApplicationStatus.WAITING);
-
-        Application allowedOvertime = new Application();
-        allowedOvertime.setVacationType(getVacationType(VacationCategory.OVERTIME));
-        allowedOvertime.setStatus(ApplicationStatus.ALLOWED);
-
-        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
-            .thenReturn(Arrays.asList(cancelledHoliday, rejectedHoliday, waitingSpecialLeave, allowedSpecialLeave,
-                    waitingUnpaidLeave, allowedUnpaidLeave, waitingOvertime, allowedOvertime));
-
-        BigDecimal days = vacationDaysService.getUsedDaysBetweenTwoMilestones(person, firstMilestone, lastMilestone);
-
-        Assert.assertNotNull(days);
-        Assert.assertEquals(BigDecimal.ZERO, days);
+        vacationDaysService = new VacationDaysService(calendarService, nowService, usedVacationDaysService);
     }
 
 
@@ -330,22 +185,92 @@ public class VacationDaysServiceTest {
     }
 
 
-    private void initCustomService(final String daysBeforeApril, final String daysAfterApril) {
+    @Test
+    public void ensureVacationDaysLeftBasedOnLoadedDataEqualsVacationDaysLeftBasedOnQueries() {
 
-        vacationDaysService = new VacationDaysService(Mockito.mock(WorkDaysService.class), nowService,
-                applicationService) {
+        Person person = TestDataCreator.createPerson("horscht");
 
-            @Override
-            protected BigDecimal getUsedDaysBeforeApril(Account account) {
+        Account account = new Account();
+        account.setPerson(person);
+        account.setValidFrom(new DateMidnight(2012, DateTimeConstants.JANUARY, 1));
+        account.setAnnualVacationDays(new BigDecimal("30"));
+        account.setVacationDays(new BigDecimal("30"));
+        account.setRemainingVacationDays(new BigDecimal("6"));
+        account.setRemainingVacationDaysNotExpiring(new BigDecimal("2"));
 
-                return new BigDecimal(daysBeforeApril);
-            }
+        // spans the new year
+        Application a1 = new Application();
+        a1.setStartDate(new DateMidnight(2011, DateTimeConstants.DECEMBER, 29));
+        a1.setEndDate(new DateMidnight(2012, DateTimeConstants.JANUARY, 3));
+        a1.setDayLength(DayLength.FULL);
+        a1.setStatus(ApplicationStatus.ALLOWED);
+        a1.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+        a1.setPerson(person);
+
+        // spans April
+        Application a2 = new Application();
+        a2.setStartDate(new DateMidnight(2012, DateTimeConstants.MARCH, 29));
+        a2.setEndDate(new DateMidnight(2012, DateTimeConstants.APRIL, 5));
+        a2.setDayLength(DayLength.FULL);
+        a2.setStatus(ApplicationStatus.WAITING);
+        a2.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+        a2.setPerson(person);
 
+        // after April
+        Application a3 = new Application();
+        a3.setStartDate(new DateMidnight(2012, DateTimeConstants.JULY, 9));
+        a3.setEndDate(new DateMidnight(2012, DateTimeConstants.JULY, 13));
+        a3.setDayLength(DayLength.MORNING);
+        a3.setStatus(ApplicationStatus.ALLOWED);
+        a3.setVacationType(getVacationType(VacationCategory.HOLIDAY));
+        a3.setPerson(person);
+
+        List<Application> applications = Arrays.asList(a1, a2, a3);
+
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.eq(person)))
+            .thenAnswer(invocation -> {
+                DateMidnight start = (DateMidnight) invocation.getArguments()[0];
+                DateMidnight end = (DateMidnight) invocation.getArguments()[1];
+
+                return applications.stream()
+                    .filter(application ->
+                            !application.getStartDate().isAfter(end) && !application.getEndDate().isBefore(start))
+                    .collect(Collectors.toList());
+            });
+
+        WorkingTime workingTime = new WorkingTime();
+        workingTime.setPerson(person);
+        workingTime.setValidFrom(new DateMidnight(2010, DateTimeConstants.JANUARY, 1));
+        workingTime.setWorkingDays(Arrays.asList(DateTimeConstants.MONDAY, DateTimeConstants.TUESDAY,
+                DateTimeConstants.WEDNESDAY, DateTimeConstants.THURSDAY, DateTimeConstants.FRIDAY), DayLength.FULL);
+
+        VacationDaysLeft queried = vacationDaysService.getVacationDaysLeft(account);
+        VacationDaysLeft loaded = vacationDaysService.getVacationDaysLeft(account, applications,
+                WorkingTimeTimeline.of(Collections.singletonList(workingTime)));
+
+        Assert.assertEquals("Wrong number of vacation days", queried.getVacationDays(), loaded.getVacationDays());
+        Assert.assertEquals("Wrong number of remaining vacation days", queried.getRemainingVacationDays(),
+            loaded.getRemainingVacationDays());
+        Assert.assertEquals("Wrong number of remaining vacation days that do not expire",
+            queried.getRemainingVacationDaysNotExpiring(), loaded.getRemainingVacationDaysNotExpiring());
+        Assert.assertEquals("Wrong number of vacation days", new BigDecimal("25.5"), loaded.getVacationDays());
+    }
+
+
+    private void initCustomService(final String daysBeforeApril, final String daysAfterApril) {
+
+        vacationDaysService = new VacationDaysService(Mockito.mock(WorkDaysService.class), nowService,
+                Mockito.mock(UsedVacationDaysService.class)) {
 
             @Override
-            protected BigDecimal getUsedDaysAfterApril(Account account) {
+            UsedVacationDays getUsedVacationDays(Account account) {
+
+                UsedVacationDays usedVacationDays = new UsedVacationDays(account.getPerson(), account.getYear());
+                usedVacationDays.add(ApplicationStatus.ALLOWED, new BigDecimal(daysBeforeApril),
+                    new BigDecimal(daysAfterApril));
 
-                return new BigDecimal(daysAfterApril);
+                return usedVacationDays;
             }
         };
     }
@@ -9,6 +9,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import org.synyx.urlaubsverwaltung.core.account.service.AccountInteractionService;
+import org.synyx.urlaubsverwaltung.core.account.service.UsedVacationDaysService;
 import org.synyx.urlaubsverwaltung.core.application.domain.*;
 import org.synyx.urlaubsverwaltung.core.application.service.exception.ImpatientAboutApplicationForLeaveProcessException;
 import org.synyx.urlaubsverwaltung.core.application.service.exception.RemindAlreadySentException;
@@ -21,8 +22,6 @@ import org.synyx.urlaubsverwaltung.core.settings.Settings;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.core.sync.CalendarSyncService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
-import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMapping;
-import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMappingService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceType;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
@@ -48,9 +47,9 @@ public class ApplicationInteractionServiceImplTest {
     private AccountInteractionService accountInteractionService;
     private MailService mailService;
     private CalendarSyncService calendarSyncService;
-    private AbsenceMappingService absenceMappingService;
     private SettingsService settingsService;
     private DepartmentService departmentService;
+    private UsedVacationDaysService usedVacationDaysService;
 
     @Before
     public void setUp() {
@@ -60,17 +59,14 @@ public class ApplicationInteractionServiceImplTest {
         accountInteractionService = Mockito.mock(AccountInteractionService.class);
         mailService = Mockito.mock(MailService.class);
         calendarSyncService = Mockito.mock(CalendarSyncService.class);
-        absenceMappingService = Mockito.mock(AbsenceMappingService.class);
         settingsService = Mockito.mock(SettingsService.class);
         departmentService = Mockito.mock(DepartmentService.class);
+        usedVacationDaysService = Mockito.mock(UsedVacationDaysService.class);
 
-        Mockito.when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(Optional.of("42"));
-        Mockito.when(absenceMappingService.getAbsenceByIdAndType(anyInt(), eq(AbsenceType.VACATION)))
-            .thenReturn(Optional.of(new AbsenceMapping(1, AbsenceType.VACATION, "42")));
         Mockito.when(settingsService.getSettings()).thenReturn(new Settings());
 
-        service = new ApplicationInteractionServiceImpl(applicationService, commentService, accountInteractionService, mailService, calendarSyncService, absenceMappingService, settingsService,
-                departmentService);
+        service = new ApplicationInteractionServiceImpl(applicationService, commentService, accountInteractionService, mailService, calendarSyncService, settingsService,
+                departmentService, usedVacationDaysService);
     }
 
 
@@ -96,6 +92,7 @@ public class ApplicationInteractionServiceImplTest {
 
         Mockito.verify(commentService)
             .create(eq(applicationForLeave), eq(ApplicationAction.APPLIED), eq(comment), eq(applier));
+        Mockito.verify(usedVacationDaysService).updateUsedVacationDays(applicationForLeave, Optional.empty());
     }
 
 
@@ -123,8 +120,7 @@ public class ApplicationInteractionServiceImplTest {
 
         service.apply(applicationForLeave, applier, comment);
 
-        Mockito.verify(calendarSyncService).addAbsence(any(Absence.class));
-        Mockito.verify(absenceMappingService).create(anyInt(), eq(AbsenceType.VACATION), anyString());
+        Mockito.verify(calendarSyncService).addAbsence(anyInt(), eq(AbsenceType.VACATION), any(Absence.class));
     }
 
 
@@ -200,6 +196,9 @@ public class ApplicationInteractionServiceImplTest {
         assertApplicationForLeaveAndCommentAreSaved(applicationForLeave, ApplicationAction.ALLOWED, comment, boss);
         assertCalendarSyncIsExecuted();
         assertAllowedNotificationIsSent(applicationForLeave);
+
+        Mockito.verify(usedVacationDaysService)
+            .updateUsedVacationDays(applicationForLeave, Optional.of(ApplicationStatus.WAITING));
     }
 
 
@@ -225,8 +224,7 @@ public class ApplicationInteractionServiceImplTest {
 
     private void assertCalendarSyncIsExecuted() {
 
-        Mockito.verify(calendarSyncService).update(any(Absence.class), anyString());
-        Mockito.verify(absenceMappingService).getAbsenceByIdAndType(anyInt(), eq(AbsenceType.VACATION));
+        Mockito.verify(calendarSyncService).updateAbsence(anyInt(), eq(AbsenceType.VACATION), any(Absence.class));
     }
 
 
@@ -297,7 +295,6 @@ public class ApplicationInteractionServiceImplTest {
         Mockito.verifyZeroInteractions(commentService);
         Mockito.verifyZeroInteractions(mailService);
         Mockito.verifyZeroInteractions(calendarSyncService);
-        Mockito.verifyZeroInteractions(absenceMappingService);
     }
 
 
@@ -372,7 +369,6 @@ public class ApplicationInteractionServiceImplTest {
     private void assertNoCalendarSyncOccurs() {
 
         Mockito.verifyZeroInteractions(calendarSyncService);
-        Mockito.verifyZeroInteractions(absenceMappingService);
     }
 
 
@@ -408,7 +404,6 @@ public class ApplicationInteractionServiceImplTest {
         Mockito.verifyZeroInteractions(commentService);
         Mockito.verifyZeroInteractions(mailService);
         Mockito.verifyZeroInteractions(calendarSyncService);
-        Mockito.verifyZeroInteractions(absenceMappingService);
     }
 
 
@@ -674,8 +669,7 @@ public class ApplicationInteractionServiceImplTest {
 
         service.reject(applicationForLeave, boss, comment);
 
-        Mockito.verify(calendarSyncService).deleteAbsence(anyString());
-        Mockito.verify(absenceMappingService).delete(any(AbsenceMapping.class));
+        Mockito.verify(calendarSyncService).deleteAbsence(anyInt(), eq(AbsenceType.VACATION));
     }
 
 
@@ -734,8 +728,7 @@ public class ApplicationInteractionServiceImplTest {
 
         service.cancel(applicationForLeave, canceller, comment);
 
-        Mockito.verify(calendarSyncService).deleteAbsence(anyString());
-        Mockito.verify(absenceMappingService).delete(any(AbsenceMapping.class));
+        Mockito.verify(calendarSyncService).deleteAbsence(anyInt(), eq(AbsenceType.VACATION));
     }
 
 
@@ -757,6 +750,8 @@ public class ApplicationInteractionServiceImplTest {
             .create(eq(applicationForLeave), eq(ApplicationAction.CANCEL_REQUESTED), eq(comment), eq(person));
 
         Mockito.verify(mailService).sendCancellationRequest(eq(applicationForLeave), any(ApplicationComment.class));
+
+        Mockito.verifyZeroInteractions(usedVacationDaysService);
     }
 
 
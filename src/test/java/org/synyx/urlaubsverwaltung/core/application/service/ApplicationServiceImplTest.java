@@ -4,6 +4,8 @@
  */
 package org.synyx.urlaubsverwaltung.core.application.service;
 
+import org.joda.time.DateMidnight;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,11 +14,17 @@ import org.mockito.Mockito;
 
 import org.synyx.urlaubsverwaltung.core.application.dao.ApplicationDAO;
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.math.BigDecimal;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -70,6 +78,68 @@ public class ApplicationServiceImplTest {
     }
 
 
+    // Get applications for persons and states -------------------------------------------------------------------------
+
+    @Test
+    public void ensureGetApplicationsForPersonsAndStatesCallsCorrectDaoMethod() {
+
+        DateMidnight startDate = new DateMidnight(2016, 1, 1);
+        DateMidnight endDate = new DateMidnight(2016, 12, 31);
+        List<Person> persons = Collections.singletonList(TestDataCreator.createPerson());
+        List<ApplicationStatus> statuses = Arrays.asList(ApplicationStatus.WAITING, ApplicationStatus.ALLOWED);
+
+        applicationService.getApplicationsForACertainPeriodAndPersonsAndStates(startDate, endDate, persons,
+            statuses);
+
+        Mockito.verify(applicationDAO)
+            .getApplicationsForACertainTimeAndPersonsAndStates(startDate.toDate(), endDate.toDate(), persons,
+                statuses);
+    }
+
+
+    @Test
+    public void ensureGetApplicationsForPersonsAndStatesDoesNotQueryForNoPersons() {
+
+        DateMidnight date = new DateMidnight(2016, 1, 1);
+
+        List<Application> applications = applicationService.getApplicationsForACertainPeriodAndPersonsAndStates(
+                date, date, Collections.emptyList(), Collections.singletonList(ApplicationStatus.WAITING));
+
+        Assert.assertTrue("Should be empty", applications.isEmpty());
+        Mockito.verifyZeroInteractions(applicationDAO);
+    }
+
+
+    @Test
+    public void ensureGetApplicationSummariesForPersonsAndStatesCallsCorrectDaoMethod() {
+
+        DateMidnight startDate = new DateMidnight(2016, 1, 1);
+        DateMidnight endDate = new DateMidnight(2016, 12, 31);
+        List<Person> persons = Collections.singletonList(TestDataCreator.createPerson());
+        List<ApplicationStatus> statuses = Collections.singletonList(ApplicationStatus.ALLOWED);
+
+        applicationService.getApplicationSummariesForACertainPeriodAndPersonsAndStates(startDate, endDate, persons,
+            statuses);
+
+        Mockito.verify(applicationDAO)
+            .getApplicationSummariesForACertainTimeAndPersonsAndStates(startDate.toDate(), endDate.toDate(),
+                persons, statuses);
+    }
+
+
+    @Test
+    public void ensureGetApplicationSummariesForStatesDoesNotQueryForNoStates() {
+
+        DateMidnight date = new DateMidnight(2016, 1, 1);
+
+        List<ApplicationSummary> applications = applicationService.getApplicationSummariesForACertainPeriodAndStates(
+                date, date, Collections.emptyList());
+
+        Assert.assertTrue("Should be empty", applications.isEmpty());
+        Mockito.verifyZeroInteractions(applicationDAO);
+    }
+
+
     // Get total overtime reduction ------------------------------------------------------------------------------------
 
     @Test(expected = IllegalArgumentException.class)
@@ -109,4 +179,22 @@ public class ApplicationServiceImplTest {
         Assert.assertNotNull("Should not be null", totalHours);
         Assert.assertEquals("Wrong total overtime reduction", BigDecimal.ONE, totalHours);
     }
+
+
+    @Test
+    public void ensureReturnsTotalOvertimeReductionOfSeveralPersonsByTheirIds() throws IllegalAccessException {
+
+        Person person = TestDataCreator.createPerson(1, "muster");
+        Person otherPerson = TestDataCreator.createPerson(2, "other");
+
+        List<Person> persons = Arrays.asList(person, otherPerson);
+
+        Mockito.when(applicationDAO.calculateTotalOvertimeOfPersons(persons))
+            .thenReturn(Collections.singletonList(new Object[] { 2, BigDecimal.TEN }));
+
+        Map<Person, BigDecimal> overtimeReduction = applicationService.getTotalOvertimeReductionOfPersons(persons);
+
+        Assert.assertEquals("Wrong number of entries", 1, overtimeReduction.size());
+        Assert.assertEquals("Wrong total overtime reduction", BigDecimal.TEN, overtimeReduction.get(otherPerson));
+    }
 }
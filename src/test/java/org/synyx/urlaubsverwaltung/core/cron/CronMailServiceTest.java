@@ -9,7 +9,6 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
-import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.core.application.domain.VacationCategory;
 import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.core.mail.MailService;
@@ -22,13 +21,14 @@ import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertThat;
-import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.contains;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -81,47 +81,53 @@ public class CronMailServiceTest {
         boolean isActive = true;
         prepareSettingsWithRemindForWaitingApplications(isActive);
 
-        Application shortWaitingApplication = TestDataCreator.createApplication(TestDataCreator.createPerson("leo"), TestDataCreator.createVacationType(VacationCategory.HOLIDAY));
-        shortWaitingApplication.setApplicationDate(DateMidnight.now());
-
         Application longWaitingApplicationA = TestDataCreator.createApplication(TestDataCreator.createPerson("lea"), TestDataCreator.createVacationType(VacationCategory.HOLIDAY));
         longWaitingApplicationA.setApplicationDate(DateMidnight.now().minusDays(3));
 
         Application longWaitingApplicationB = TestDataCreator.createApplication(TestDataCreator.createPerson("heinz"), TestDataCreator.createVacationType(VacationCategory.HOLIDAY));
-        longWaitingApplicationB.setApplicationDate(DateMidnight.now().minusDays(3));
+        longWaitingApplicationB.setApplicationDate(DateMidnight.now().minusDays(5));
+        longWaitingApplicationB.setRemindDate(DateMidnight.now().minusDays(3));
+
+        List<Application> longWaitingApplications = Arrays.asList(longWaitingApplicationA, longWaitingApplicationB);
 
-        Application longWaitingApplicationAlreadyRemindedToday = TestDataCreator.createApplication(TestDataCreator.createPerson("heinz"), TestDataCreator.createVacationType(VacationCategory.HOLIDAY));
-        longWaitingApplicationAlreadyRemindedToday.setApplicationDate(DateMidnight.now().minusDays(3));
-        DateMidnight today = DateMidnight.now();
-        longWaitingApplicationAlreadyRemindedToday.setRemindDate(today);
+        when(applicationService.getWaitingApplicationsToRemind(DateMidnight.now(), 2)).thenReturn(longWaitingApplications);
 
-        Application longWaitingApplicationAlreadyRemindedEalier = TestDataCreator.createApplication(TestDataCreator.createPerson("heinz"), TestDataCreator.createVacationType(VacationCategory.HOLIDAY));
-        longWaitingApplicationAlreadyRemindedEalier.setApplicationDate(DateMidnight.now().minusDays(5));
-        DateMidnight oldRemindDateEarlier = DateMidnight.now().minusDays(3);
-        longWaitingApplicationAlreadyRemindedEalier.setRemindDate(oldRemindDateEarlier);
+        sut.sendWaitingApplicationsReminderNotification();
+
+        verify(mailService).sendRemindForWaitingApplicationsReminderNotification(longWaitingApplications);
+        verify(applicationService).updateRemindDate(longWaitingApplications, DateMidnight.now());
+    }
 
-        List<Application> waitingApplications = Arrays.asList(shortWaitingApplication,
-                                                              longWaitingApplicationA,
-                                                              longWaitingApplicationB,
-                                                              longWaitingApplicationAlreadyRemindedToday,
-                                                              longWaitingApplicationAlreadyRemindedEalier);
+    @Test
+    public void ensureNoWaitingApplicationsReminderNotificationIfThereAreNoLongWaitingApplications() throws Exception {
+
+        boolean isActive = true;
+        prepareSettingsWithRemindForWaitingApplications(isActive);
 
-        when(applicationService.getApplicationsForACertainState(ApplicationStatus.WAITING)).thenReturn(waitingApplications);
+        when(applicationService.getWaitingApplicationsToRemind(DateMidnight.now(), 2)).thenReturn(Collections.emptyList());
 
         sut.sendWaitingApplicationsReminderNotification();
 
-        verify(mailService).sendRemindForWaitingApplicationsReminderNotification(Arrays.asList(longWaitingApplicationA, longWaitingApplicationB, longWaitingApplicationAlreadyRemindedEalier));
+        verifyZeroInteractions(mailService);
+        verify(applicationService, never()).updateRemindDate(anyList(), Matchers.any(DateMidnight.class));
+    }
+
+    @Test
+    public void ensureNoWaitingApplicationsReminderNotificationWhenDeactivated() throws Exception {
+
+        boolean isInactive = false;
+        prepareSettingsWithRemindForWaitingApplications(isInactive);
+
+        sut.sendWaitingApplicationsReminderNotification();
 
-        assertTrue(longWaitingApplicationA.getRemindDate().isAfter(longWaitingApplicationA.getApplicationDate()));
-        assertTrue(longWaitingApplicationB.getRemindDate().isAfter(longWaitingApplicationB.getApplicationDate()));
-        assertTrue(longWaitingApplicationAlreadyRemindedEalier.getRemindDate().isAfter(oldRemindDateEarlier));
-        assertTrue(longWaitingApplicationAlreadyRemindedToday.getRemindDate().isEqual(today));
+        verifyZeroInteractions(applicationService, mailService);
     }
 
     private void prepareSettingsWithRemindForWaitingApplications(Boolean isActive) {
         Settings settings = new Settings();
         AbsenceSettings absenceSettings = new AbsenceSettings();
         absenceSettings.setRemindForWaitingApplications(isActive);
+        absenceSettings.setDaysBeforeRemindForWaitingApplications(2);
         settings.setAbsenceSettings(absenceSettings);
         when(settingsService.getSettings()).thenReturn(settings);
     }
@@ -0,0 +1,42 @@
+package org.synyx.urlaubsverwaltung.core.cron;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+import org.synyx.urlaubsverwaltung.core.sicknote.statistics.SickNoteStatisticsService;
+
+import java.util.Arrays;
+
+
+/**
+ * Unit test for {@link SickNoteTotalsVerificationService}.
+ */
+public class SickNoteTotalsVerificationServiceTest {
+
+    private SickNoteStatisticsService sickNoteStatisticsService;
+
+    private SickNoteTotalsVerificationService sut;
+
+    @Before
+    public void setUp() {
+
+        sickNoteStatisticsService = Mockito.mock(SickNoteStatisticsService.class);
+
+        sut = new SickNoteTotalsVerificationService(sickNoteStatisticsService);
+    }
+
+
+    @Test
+    public void ensureRecalculatesEveryYearWithStoredTotals() {
+
+        Mockito.when(sickNoteStatisticsService.getYearsOfTotals()).thenReturn(Arrays.asList(2015, 2016));
+
+        sut.verifySickNoteTotals();
+
+        Mockito.verify(sickNoteStatisticsService).recalculateStatistics(2015);
+        Mockito.verify(sickNoteStatisticsService).recalculateStatistics(2016);
+        Mockito.verify(sickNoteStatisticsService, Mockito.times(2)).recalculateStatistics(Mockito.anyInt());
+    }
+}
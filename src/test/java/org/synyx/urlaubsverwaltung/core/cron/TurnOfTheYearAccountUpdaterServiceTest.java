@@ -2,14 +2,18 @@ package org.synyx.urlaubsverwaltung.core.cron;
 
 import org.joda.time.DateMidnight;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.mockito.Mockito;
 
+import org.springframework.dao.DataIntegrityViolationException;
+
 import org.synyx.urlaubsverwaltung.core.account.domain.Account;
-import org.synyx.urlaubsverwaltung.core.account.service.AccountInteractionService;
-import org.synyx.urlaubsverwaltung.core.account.service.AccountService;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOver;
+import org.synyx.urlaubsverwaltung.core.account.domain.AccountRollOverJob;
+import org.synyx.urlaubsverwaltung.core.account.service.AccountRollOverService;
 import org.synyx.urlaubsverwaltung.core.mail.MailService;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.person.PersonService;
@@ -18,7 +22,10 @@ import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 import java.math.BigDecimal;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 
 /**
@@ -27,66 +34,184 @@ import java.util.Optional;
 public class TurnOfTheYearAccountUpdaterServiceTest {
 
     private static final int NEW_YEAR = DateMidnight.now().getYear();
-    private static final int LAST_YEAR = NEW_YEAR - 1;
 
     private PersonService personServiceMock;
-    private AccountService accountServiceMock;
-    private AccountInteractionService accountInteractionServiceMock;
+    private AccountRollOverService accountRollOverServiceMock;
     private MailService mailServiceMock;
 
+    private Person user1;
+    private Person user2;
+    private Person user3;
+
     private TurnOfTheYearAccountUpdaterService sut;
 
     @Before
     public void setUp() {
 
         personServiceMock = Mockito.mock(PersonService.class);
-        accountServiceMock = Mockito.mock(AccountService.class);
-        accountInteractionServiceMock = Mockito.mock(AccountInteractionService.class);
+        accountRollOverServiceMock = Mockito.mock(AccountRollOverService.class);
         mailServiceMock = Mockito.mock(MailService.class);
 
-        sut = new TurnOfTheYearAccountUpdaterService(personServiceMock, accountServiceMock,
-                accountInteractionServiceMock, mailServiceMock);
+        user1 = createPerson("rick", 1);
+        user2 = createPerson("carl", 2);
+        user3 = createPerson("shane", 3);
+
+        // not ordered by id on purpose
+        Mockito.when(personServiceMock.getActivePersons()).thenReturn(Arrays.asList(user3, user1, user2));
+
+        Mockito.when(accountRollOverServiceMock.rollOver(Mockito.eq(NEW_YEAR), Mockito.anyListOf(Person.class),
+                    Mockito.anyBoolean()))
+            .thenAnswer(invocation -> {
+                @SuppressWarnings("unchecked")
+                List<Person> persons = (List<Person>) invocation.getArguments()[1];
+                boolean dryRun = (boolean) invocation.getArguments()[2];
+
+                return persons.stream()
+                    .map(person ->
+                            new AccountRollOver(person, NEW_YEAR, null, BigDecimal.TEN,
+                                dryRun ? null : TestDataCreator.createHolidaysAccount(person, NEW_YEAR)))
+                    .collect(Collectors.toList());
+            });
+
+        Mockito.when(accountRollOverServiceMock.checkpoint(Mockito.any(AccountRollOverJob.class), Mockito.anyInt(),
+                    Mockito.anyInt()))
+            .thenAnswer(invocation -> {
+                AccountRollOverJob job = (AccountRollOverJob) invocation.getArguments()[0];
+                job.checkpoint((int) invocation.getArguments()[1], (int) invocation.getArguments()[2]);
+
+                return job;
+            });
+        Mockito.when(accountRollOverServiceMock.completeJob(Mockito.any(AccountRollOverJob.class)))
+            .thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        sut = createService(false);
     }
 
 
-    @Test
-    public void ensureUpdatesHolidaysAccountsOfAllActivePersons() {
+    private static Person createPerson(String login, int id) {
+
+        Person person = TestDataCreator.createPerson(login);
+        person.setId(id);
+
+        return person;
+    }
 
-        Person user1 = TestDataCreator.createPerson("rick");
-        Person user2 = TestDataCreator.createPerson("carl");
-        Person user3 = TestDataCreator.createPerson("shane");
 
-        Account account1 = TestDataCreator.createHolidaysAccount(user1, LAST_YEAR);
-        Account account2 = TestDataCreator.createHolidaysAccount(user2, LAST_YEAR);
-        Account account3 = TestDataCreator.createHolidaysAccount(user3, LAST_YEAR);
+    private TurnOfTheYearAccountUpdaterService createService(boolean dryRun) {
 
-        Mockito.when(personServiceMock.getActivePersons()).thenReturn(Arrays.asList(user1, user2, user3));
-        Mockito.when(accountServiceMock.getHolidaysAccount(LAST_YEAR, user1)).thenReturn(Optional.of(account1));
-        Mockito.when(accountServiceMock.getHolidaysAccount(LAST_YEAR, user2)).thenReturn(Optional.of(account2));
-        Mockito.when(accountServiceMock.getHolidaysAccount(LAST_YEAR, user3)).thenReturn(Optional.of(account3));
+        return new TurnOfTheYearAccountUpdaterService(personServiceMock, accountRollOverServiceMock, mailServiceMock,
+                2, 2, dryRun);
+    }
 
-        Account newAccount = Mockito.mock(Account.class);
-        Mockito.when(newAccount.getRemainingVacationDays()).thenReturn(BigDecimal.TEN);
-        Mockito.when(accountInteractionServiceMock.autoCreateOrUpdateNextYearsHolidaysAccount(
-                    Mockito.any(Account.class)))
-            .thenReturn(newAccount);
+
+    @Test
+    public void ensureUpdatesHolidaysAccountsOfAllActivePersonsInChunks() {
+
+        AccountRollOverJob job = new AccountRollOverJob(NEW_YEAR);
+        Mockito.when(accountRollOverServiceMock.startJob(NEW_YEAR)).thenReturn(Optional.of(job));
 
         sut.updateHolidaysAccounts();
 
-        Mockito.verify(personServiceMock).getActivePersons();
+        Mockito.verify(accountRollOverServiceMock).rollOver(NEW_YEAR, Arrays.asList(user1, user2), false);
+        Mockito.verify(accountRollOverServiceMock).rollOver(NEW_YEAR, Collections.singletonList(user3), false);
+        Mockito.verify(accountRollOverServiceMock, Mockito.times(2)).renewJob(job);
 
-        Mockito.verify(accountServiceMock, Mockito.times(3))
-            .getHolidaysAccount(Mockito.anyInt(), Mockito.any(Person.class));
-        Mockito.verify(accountServiceMock).getHolidaysAccount(LAST_YEAR, user1);
-        Mockito.verify(accountServiceMock).getHolidaysAccount(LAST_YEAR, user2);
-        Mockito.verify(accountServiceMock).getHolidaysAccount(LAST_YEAR, user3);
+        Mockito.verify(accountRollOverServiceMock).checkpoint(job, 2, 2);
+        Mockito.verify(accountRollOverServiceMock).checkpoint(job, 3, 1);
+        Mockito.verify(accountRollOverServiceMock).completeJob(job);
 
-        Mockito.verify(accountInteractionServiceMock, Mockito.times(3))
-            .autoCreateOrUpdateNextYearsHolidaysAccount(Mockito.any(Account.class));
-        Mockito.verify(accountInteractionServiceMock).autoCreateOrUpdateNextYearsHolidaysAccount(account1);
-        Mockito.verify(accountInteractionServiceMock).autoCreateOrUpdateNextYearsHolidaysAccount(account2);
-        Mockito.verify(accountInteractionServiceMock).autoCreateOrUpdateNextYearsHolidaysAccount(account3);
+        Assert.assertEquals("Wrong number of updated accounts", 3, job.getUpdatedAccounts());
 
         Mockito.verify(mailServiceMock).sendSuccessfullyUpdatedAccountsNotification(Mockito.anyListOf(Account.class));
     }
+
+
+    @Test
+    public void ensureDoesNothingIfHolidaysAccountsAreAlreadyUpdated() {
+
+        Mockito.when(accountRollOverServiceMock.startJob(NEW_YEAR)).thenReturn(Optional.empty());
+
+        sut.updateHolidaysAccounts();
+
+        Mockito.verify(accountRollOverServiceMock, Mockito.never())
+            .rollOver(Mockito.anyInt(), Mockito.anyListOf(Person.class), Mockito.anyBoolean());
+        Mockito.verifyZeroInteractions(mailServiceMock);
+    }
+
+
+    @Test
+    public void ensureDoesNothingIfJobIsStartedConcurrentlyByAnotherNode() {
+
+        Mockito.when(accountRollOverServiceMock.startJob(NEW_YEAR))
+            .thenThrow(new DataIntegrityViolationException("Duplicate year"));
+
+        sut.updateHolidaysAccounts();
+
+        Mockito.verify(accountRollOverServiceMock, Mockito.never())
+            .rollOver(Mockito.anyInt(), Mockito.anyListOf(Person.class), Mockito.anyBoolean());
+        Mockito.verifyZeroInteractions(mailServiceMock);
+    }
+
+
+    @Test
+    public void ensureResumesInterruptedJobAfterLastCheckpoint() {
+
+        AccountRollOverJob job = new AccountRollOverJob(NEW_YEAR);
+        job.checkpoint(2, 2);
+        Mockito.when(accountRollOverServiceMock.resumeJob(NEW_YEAR)).thenReturn(Optional.of(job));
+
+        sut.resumeHolidaysAccountsUpdate();
+
+        Mockito.verify(accountRollOverServiceMock)
+            .rollOver(Mockito.anyInt(), Mockito.anyListOf(Person.class), Mockito.anyBoolean());
+        Mockito.verify(accountRollOverServiceMock).rollOver(NEW_YEAR, Collections.singletonList(user3), false);
+        Mockito.verify(accountRollOverServiceMock).completeJob(job);
+
+        Assert.assertEquals("Wrong number of updated accounts", 3, job.getUpdatedAccounts());
+    }
+
+
+    @Test
+    public void ensureMarksJobAsFailedIfChunkFails() {
+
+        AccountRollOverJob job = new AccountRollOverJob(NEW_YEAR);
+        Mockito.when(accountRollOverServiceMock.startJob(NEW_YEAR)).thenReturn(Optional.of(job));
+        Mockito.when(accountRollOverServiceMock.rollOver(NEW_YEAR, Collections.singletonList(user3), false))
+            .thenThrow(new IllegalStateException("Database is gone"));
+
+        sut.updateHolidaysAccounts();
+
+        Mockito.verify(accountRollOverServiceMock).checkpoint(job, 2, 2);
+        Mockito.verify(accountRollOverServiceMock).failJob(job);
+        Mockito.verify(accountRollOverServiceMock, Mockito.never()).completeJob(Mockito.any(AccountRollOverJob.class));
+        Mockito.verifyZeroInteractions(mailServiceMock);
+    }
+
+
+    @Test
+    public void ensureDryRunCalculatesChangesWithoutJob() {
+
+        sut = createService(true);
+
+        sut.updateHolidaysAccounts();
+
+        Mockito.verify(accountRollOverServiceMock).rollOver(NEW_YEAR, Arrays.asList(user1, user2), true);
+        Mockito.verify(accountRollOverServiceMock).rollOver(NEW_YEAR, Collections.singletonList(user3), true);
+
+        Mockito.verify(accountRollOverServiceMock, Mockito.never()).startJob(Mockito.anyInt());
+        Mockito.verify(accountRollOverServiceMock, Mockito.never()).renewJob(Mockito.any(AccountRollOverJob.class));
+        Mockito.verifyZeroInteractions(mailServiceMock);
+    }
+
+
+    @Test
+    public void ensureDryRunReturnsChangesOfAllPersons() {
+
+        List<AccountRollOver> rollOvers = sut.dryRun(NEW_YEAR);
+
+        Assert.assertEquals("Wrong number of changes", 3, rollOvers.size());
+        Assert.assertEquals("Wrong person", user1, rollOvers.get(0).getPerson());
+        Assert.assertEquals("Wrong delta", BigDecimal.TEN, rollOvers.get(0).getDelta());
+        Assert.assertFalse("Should not contain an account", rollOvers.get(0).getAccount().isPresent());
+    }
 }
@@ -0,0 +1,43 @@
+package org.synyx.urlaubsverwaltung.core.cron;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+import org.synyx.urlaubsverwaltung.core.account.service.UsedVacationDaysService;
+
+import java.util.Arrays;
+
+
+/**
+ * Unit test for {@link UsedVacationDaysVerificationService}.
+ */
+public class UsedVacationDaysVerificationServiceTest {
+
+    private UsedVacationDaysService usedVacationDaysService;
+
+    private UsedVacationDaysVerificationService sut;
+
+    @Before
+    public void setUp() {
+
+        usedVacationDaysService = Mockito.mock(UsedVacationDaysService.class);
+
+        sut = new UsedVacationDaysVerificationService(usedVacationDaysService);
+    }
+
+
+    @Test
+    public void ensureVerifiesEveryYearWithStoredUsedVacationDays() {
+
+        Mockito.when(usedVacationDaysService.getYearsOfUsedVacationDays()).thenReturn(Arrays.asList(2014, 2016, 2017));
+
+        sut.verifyUsedVacationDays();
+
+        Mockito.verify(usedVacationDaysService).verifyUsedVacationDays(2014);
+        Mockito.verify(usedVacationDaysService).verifyUsedVacationDays(2016);
+        Mockito.verify(usedVacationDaysService).verifyUsedVacationDays(2017);
+        Mockito.verify(usedVacationDaysService, Mockito.times(3)).verifyUsedVacationDays(Mockito.anyInt());
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
@@ -19,6 +20,7 @@ import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -43,7 +45,7 @@ public class DepartmentServiceImplTest {
         departmentDAO = Mockito.mock(DepartmentDAO.class);
         applicationService = Mockito.mock(ApplicationService.class);
 
-        sut = new DepartmentServiceImpl(departmentDAO, applicationService);
+        sut = new DepartmentServiceImpl(departmentDAO, applicationService, 60);
     }
 
 
@@ -161,24 +163,17 @@ public class DepartmentServiceImplTest {
         Person departmentHead = Mockito.mock(Person.class);
 
         Person admin1 = TestDataCreator.createPerson("admin1");
-        Person admin2 = TestDataCreator.createPerson("admin2");
-
         Person marketing1 = TestDataCreator.createPerson("marketing1");
-        Person marketing2 = TestDataCreator.createPerson("marketing2");
-        Person marketing3 = TestDataCreator.createPerson("marketing3");
-
-        Department admins = TestDataCreator.createDepartment("admins");
-        admins.setMembers(Arrays.asList(admin1, admin2, departmentHead));
-
-        Department marketing = TestDataCreator.createDepartment("marketing");
-        marketing.setMembers(Arrays.asList(marketing1, marketing2, marketing3, departmentHead));
 
-        Mockito.when(departmentDAO.getManagedDepartments(departmentHead)).thenReturn(Arrays.asList(admins, marketing));
+        Mockito.when(departmentDAO.getMembersOfManagedDepartments(departmentHead))
+            .thenReturn(Arrays.asList(admin1, marketing1, departmentHead));
 
         List<Person> members = sut.getManagedMembersOfDepartmentHead(departmentHead);
 
         Assert.assertNotNull("Should not be null", members);
-        Assert.assertEquals("Wrong number of members", 6, members.size());
+        Assert.assertEquals("Wrong number of members", 3, members.size());
+
+        Mockito.verify(departmentDAO, Mockito.never()).getManagedDepartments(departmentHead);
     }
 
 
@@ -187,7 +182,7 @@ public class DepartmentServiceImplTest {
 
         Person departmentHead = Mockito.mock(Person.class);
 
-        Mockito.when(departmentDAO.getManagedDepartments(departmentHead)).thenReturn(Collections.emptyList());
+        Mockito.when(departmentDAO.getMembersOfManagedDepartments(departmentHead)).thenReturn(Collections.emptyList());
 
         List<Person> members = sut.getManagedMembersOfDepartmentHead(departmentHead);
 
@@ -197,18 +192,32 @@ public class DepartmentServiceImplTest {
 
 
     @Test
-    public void ensureReturnsTrueIfIsDepartmentHeadOfTheGivenPerson() {
+    public void ensureReturnsAllMembersOfTheDepartmentsOfTheSecondStageAuthority() {
 
-        Person departmentHead = Mockito.mock(Person.class);
-        Mockito.when(departmentHead.hasRole(Role.DEPARTMENT_HEAD)).thenReturn(true);
+        Person secondStageAuthority = Mockito.mock(Person.class);
 
         Person admin1 = TestDataCreator.createPerson("admin1");
-        Person admin2 = TestDataCreator.createPerson("admin2");
 
-        Department admins = TestDataCreator.createDepartment("admins");
-        admins.setMembers(Arrays.asList(admin1, admin2, departmentHead));
+        Mockito.when(departmentDAO.getMembersOfDepartmentsForSecondStageAuthority(secondStageAuthority))
+            .thenReturn(Collections.singletonList(admin1));
+
+        List<Person> members = sut.getMembersForSecondStageAuthority(secondStageAuthority);
 
-        Mockito.when(departmentDAO.getManagedDepartments(departmentHead)).thenReturn(Collections.singletonList(admins));
+        Assert.assertEquals("Wrong members", Collections.singletonList(admin1), members);
+    }
+
+
+    @Test
+    public void ensureReturnsTrueIfIsDepartmentHeadOfTheGivenPerson() {
+
+        Person departmentHead = TestDataCreator.createPerson("head", Role.USER, Role.DEPARTMENT_HEAD);
+        departmentHead.setId(1);
+
+        Person admin1 = TestDataCreator.createPerson("admin1");
+        admin1.setId(2);
+
+        Mockito.when(departmentDAO.getDepartmentHeadAndMemberIds())
+            .thenReturn(Arrays.asList(new Object[] { 1, 1 }, new Object[] { 1, 2 }));
 
         boolean isDepartmentHead = sut.isDepartmentHeadOfPerson(departmentHead, admin1);
 
@@ -219,18 +228,14 @@ public class DepartmentServiceImplTest {
     @Test
     public void ensureReturnsFalseIfIsNotDepartmentHeadOfTheGivenPerson() {
 
-        Person departmentHead = Mockito.mock(Person.class);
-        Mockito.when(departmentHead.hasRole(Role.DEPARTMENT_HEAD)).thenReturn(true);
-
-        Person admin1 = TestDataCreator.createPerson("admin1");
-        Person admin2 = TestDataCreator.createPerson("admin2");
-
-        Department admins = TestDataCreator.createDepartment("admins");
-        admins.setMembers(Arrays.asList(admin1, admin2, departmentHead));
+        Person departmentHead = TestDataCreator.createPerson("head", Role.USER, Role.DEPARTMENT_HEAD);
+        departmentHead.setId(1);
 
         Person marketing1 = TestDataCreator.createPerson("marketing1");
+        marketing1.setId(3);
 
-        Mockito.when(departmentDAO.getManagedDepartments(departmentHead)).thenReturn(Collections.singletonList(admins));
+        Mockito.when(departmentDAO.getDepartmentHeadAndMemberIds())
+            .thenReturn(Arrays.asList(new Object[] { 1, 1 }, new Object[] { 1, 2 }));
 
         boolean isDepartmentHead = sut.isDepartmentHeadOfPerson(departmentHead, marketing1);
 
@@ -241,17 +246,14 @@ public class DepartmentServiceImplTest {
     @Test
     public void ensureReturnsFalseIfIsInTheSameDepartmentButHasNotDepartmentHeadRole() {
 
-        Person noDepartmentHead = Mockito.mock(Person.class);
-        Mockito.when(noDepartmentHead.hasRole(Role.DEPARTMENT_HEAD)).thenReturn(false);
+        Person noDepartmentHead = TestDataCreator.createPerson("noHead", Role.USER);
+        noDepartmentHead.setId(1);
 
         Person admin1 = TestDataCreator.createPerson("admin1");
-        Person admin2 = TestDataCreator.createPerson("admin2");
-
-        Department admins = TestDataCreator.createDepartment("admins");
-        admins.setMembers(Arrays.asList(admin1, admin2, noDepartmentHead));
+        admin1.setId(2);
 
-        Mockito.when(departmentDAO.getManagedDepartments(noDepartmentHead))
-            .thenReturn(Collections.singletonList(admins));
+        Mockito.when(departmentDAO.getDepartmentHeadAndMemberIds())
+            .thenReturn(Collections.singletonList(new Object[] { 1, 2 }));
 
         boolean isDepartmentHead = sut.isDepartmentHeadOfPerson(noDepartmentHead, admin1);
 
@@ -260,117 +262,148 @@ public class DepartmentServiceImplTest {
 
 
     @Test
-    public void ensureReturnsEmptyListOfDepartmentApplicationsIfPersonIsNotAssignedToAnyDepartment() {
+    public void ensureReturnsTrueIfIsSecondStageAuthorityOfTheGivenPerson() {
 
-        Person person = Mockito.mock(Person.class);
-        DateMidnight date = DateMidnight.now();
+        Person secondStageAuthority = TestDataCreator.createPerson("ssa", Role.USER, Role.SECOND_STAGE_AUTHORITY);
+        secondStageAuthority.setId(1);
 
-        Mockito.when(departmentDAO.getAssignedDepartments(person)).thenReturn(Collections.emptyList());
+        Person admin1 = TestDataCreator.createPerson("admin1");
+        admin1.setId(2);
 
-        List<Application> applications = sut.getApplicationsForLeaveOfMembersInDepartmentsOfPerson(person, date, date);
+        Mockito.when(departmentDAO.getSecondStageAuthorityAndMemberIds())
+            .thenReturn(Collections.singletonList(new Object[] { 1, 2 }));
 
-        Assert.assertNotNull("Should not be null", applications);
-        Assert.assertTrue("Should be empty", applications.isEmpty());
+        Assert.assertTrue("Should be the second stage authority of the given person",
+            sut.isSecondStageAuthorityOfPerson(secondStageAuthority, admin1));
+        Assert.assertFalse("Should not be the department head of the given person",
+            sut.isDepartmentHeadOfPerson(secondStageAuthority, admin1));
+    }
 
-        Mockito.verify(departmentDAO).getAssignedDepartments(person);
-        Mockito.verifyZeroInteractions(applicationService);
+
+    @Test
+    public void ensureLoadsDepartmentsOnceUntilDepartmentIsChanged() {
+
+        Person departmentHead = TestDataCreator.createPerson("head", Role.USER, Role.DEPARTMENT_HEAD);
+        departmentHead.setId(1);
+
+        Person admin1 = TestDataCreator.createPerson("admin1");
+        admin1.setId(2);
+
+        Department admins = TestDataCreator.createDepartment("admins");
+
+        Mockito.when(departmentDAO.getDepartmentHeadAndMemberIds())
+            .thenReturn(Collections.singletonList(new Object[] { 1, 2 }));
+
+        Assert.assertTrue(sut.isDepartmentHeadOfPerson(departmentHead, admin1));
+        Assert.assertTrue(sut.isDepartmentHeadOfPerson(departmentHead, admin1));
+
+        Mockito.verify(departmentDAO, Mockito.times(1)).getDepartmentHeadAndMemberIds();
+
+        Mockito.when(departmentDAO.getDepartmentHeadAndMemberIds()).thenReturn(Collections.emptyList());
+        sut.update(admins);
+
+        Assert.assertFalse("Should use the updated department", sut.isDepartmentHeadOfPerson(departmentHead, admin1));
+
+        Mockito.verify(departmentDAO, Mockito.times(2)).getDepartmentHeadAndMemberIds();
     }
 
 
     @Test
-    public void ensureReturnsEmptyListOfDepartmentApplicationsIfNoMatchingApplicationsForLeave() {
+    public void ensureReloadsDepartmentsAfterTimeToLive() {
 
-        Person person = Mockito.mock(Person.class);
-        DateMidnight date = DateMidnight.now();
+        sut = new DepartmentServiceImpl(departmentDAO, applicationService, 0);
+
+        Person departmentHead = TestDataCreator.createPerson("head", Role.USER, Role.DEPARTMENT_HEAD);
+        departmentHead.setId(1);
 
         Person admin1 = TestDataCreator.createPerson("admin1");
-        Person admin2 = TestDataCreator.createPerson("admin2");
+        admin1.setId(2);
 
-        Person marketing1 = TestDataCreator.createPerson("marketing1");
-        Person marketing2 = TestDataCreator.createPerson("marketing2");
-        Person marketing3 = TestDataCreator.createPerson("marketing3");
+        Mockito.when(departmentDAO.getDepartmentHeadAndMemberIds())
+            .thenReturn(Collections.singletonList(new Object[] { 1, 2 }));
 
-        Department admins = TestDataCreator.createDepartment("admins");
-        admins.setMembers(Arrays.asList(admin1, admin2, person));
+        Assert.assertTrue(sut.isDepartmentHeadOfPerson(departmentHead, admin1));
 
-        Department marketing = TestDataCreator.createDepartment("marketing");
-        marketing.setMembers(Arrays.asList(marketing1, marketing2, marketing3, person));
+        Mockito.when(departmentDAO.getDepartmentHeadAndMemberIds()).thenReturn(Collections.emptyList());
 
-        Mockito.when(departmentDAO.getAssignedDepartments(person)).thenReturn(Arrays.asList(admins, marketing));
-        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
-            .thenReturn(Collections.emptyList());
+        Assert.assertFalse("Should use the departments changed by another application node",
+            sut.isDepartmentHeadOfPerson(departmentHead, admin1));
 
-        List<Application> applications = sut.getApplicationsForLeaveOfMembersInDepartmentsOfPerson(person, date, date);
+        Mockito.verify(departmentDAO, Mockito.times(2)).getDepartmentHeadAndMemberIds();
+    }
 
-        // Ensure empty list
-        Assert.assertNotNull("Should not be null", applications);
-        Assert.assertTrue("Should be empty", applications.isEmpty());
 
-        // Ensure fetches departments of person
-        Mockito.verify(departmentDAO).getAssignedDepartments(person);
+    @Test
+    public void ensureGetDepartmentByNameCallCorrectDAOMethod() {
 
-        // Ensure fetches applications for leave for every department member
-        Mockito.verify(applicationService)
-            .getApplicationsForACertainPeriodAndPerson(Mockito.eq(date), Mockito.eq(date), Mockito.eq(admin1));
-        Mockito.verify(applicationService)
-            .getApplicationsForACertainPeriodAndPerson(Mockito.eq(date), Mockito.eq(date), Mockito.eq(admin2));
-        Mockito.verify(applicationService)
-            .getApplicationsForACertainPeriodAndPerson(Mockito.eq(date), Mockito.eq(date), Mockito.eq(marketing1));
-        Mockito.verify(applicationService)
-            .getApplicationsForACertainPeriodAndPerson(Mockito.eq(date), Mockito.eq(date), Mockito.eq(marketing2));
-        Mockito.verify(applicationService)
-            .getApplicationsForACertainPeriodAndPerson(Mockito.eq(date), Mockito.eq(date), Mockito.eq(marketing3));
+        Department admins = TestDataCreator.createDepartment("admins");
+
+        Mockito.when(departmentDAO.findFirstByName("admins")).thenReturn(admins);
 
-        // Ensure does not fetch applications for leave for the given person
-        Mockito.verify(applicationService, Mockito.never())
-            .getApplicationsForACertainPeriodAndPerson(Mockito.eq(date), Mockito.eq(date), Mockito.eq(person));
+        Assert.assertEquals("Wrong department", Optional.of(admins), sut.getDepartmentByName("admins"));
+        Assert.assertFalse("Should not find a department", sut.getDepartmentByName("unknown").isPresent());
     }
 
 
     @Test
-    public void ensureReturnsOnlyWaitingAndAllowedDepartmentApplicationsForLeave() {
+    public void ensureReturnsEmptyListOfDepartmentApplicationsIfPersonIsNotAssignedToAnyDepartment() {
 
         Person person = Mockito.mock(Person.class);
         DateMidnight date = DateMidnight.now();
 
-        Person admin1 = TestDataCreator.createPerson("admin1");
-        Person marketing1 = TestDataCreator.createPerson("marketing1");
+        Mockito.when(departmentDAO.getMembersOfAssignedDepartments(person)).thenReturn(Collections.emptyList());
 
-        Department admins = TestDataCreator.createDepartment("admins");
-        admins.setMembers(Arrays.asList(admin1, person));
+        List<Application> applications = sut.getApplicationsForLeaveOfMembersInDepartmentsOfPerson(person, date, date);
 
-        Department marketing = TestDataCreator.createDepartment("marketing");
-        marketing.setMembers(Arrays.asList(marketing1, person));
+        Assert.assertNotNull("Should not be null", applications);
+        Assert.assertTrue("Should be empty", applications.isEmpty());
 
-        Application waitingApplication = Mockito.mock(Application.class);
-        Mockito.when(waitingApplication.hasStatus(ApplicationStatus.WAITING)).thenReturn(true);
-        Mockito.when(waitingApplication.hasStatus(ApplicationStatus.ALLOWED)).thenReturn(false);
+        Mockito.verify(departmentDAO).getMembersOfAssignedDepartments(person);
+        Mockito.verifyZeroInteractions(applicationService);
+    }
 
-        Application allowedApplication = Mockito.mock(Application.class);
-        Mockito.when(allowedApplication.hasStatus(ApplicationStatus.WAITING)).thenReturn(false);
-        Mockito.when(allowedApplication.hasStatus(ApplicationStatus.ALLOWED)).thenReturn(true);
 
-        Application otherApplication = Mockito.mock(Application.class);
-        Mockito.when(otherApplication.hasStatus(ApplicationStatus.WAITING)).thenReturn(false);
-        Mockito.when(otherApplication.hasStatus(ApplicationStatus.ALLOWED)).thenReturn(false);
+    @Test
+    public void ensureFetchesDepartmentApplicationsOfAllOtherMembersAtOnce() {
 
-        Mockito.when(departmentDAO.getAssignedDepartments(person)).thenReturn(Arrays.asList(admins, marketing));
+        Person person = Mockito.mock(Person.class);
+        DateMidnight date = DateMidnight.now();
 
-        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.eq(admin1)))
-            .thenReturn(Arrays.asList(waitingApplication, otherApplication));
+        Person admin1 = TestDataCreator.createPerson("admin1");
+        Person admin2 = TestDataCreator.createPerson("admin2");
 
-        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.eq(marketing1)))
-            .thenReturn(Collections.singletonList(allowedApplication));
+        Person marketing1 = TestDataCreator.createPerson("marketing1");
+        Person marketing2 = TestDataCreator.createPerson("marketing2");
+
+        Application application = Mockito.mock(Application.class);
+
+        Mockito.when(departmentDAO.getMembersOfAssignedDepartments(person))
+            .thenReturn(Arrays.asList(admin1, admin2, person, marketing1, marketing2));
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPersonsAndStates(
+                    Mockito.any(DateMidnight.class), Mockito.any(DateMidnight.class), Mockito.anyListOf(Person.class),
+                    Mockito.anyListOf(ApplicationStatus.class)))
+            .thenReturn(Collections.singletonList(application));
 
         List<Application> applications = sut.getApplicationsForLeaveOfMembersInDepartmentsOfPerson(person, date, date);
 
-        Assert.assertEquals("Wrong number of applications", 2, applications.size());
-        Assert.assertTrue("Should contain the waiting application", applications.contains(waitingApplication));
-        Assert.assertTrue("Should contain the allowed application", applications.contains(allowedApplication));
-        Assert.assertFalse("Should not contain an application with other status",
-            applications.contains(otherApplication));
+        Assert.assertEquals("Wrong applications", Collections.singletonList(application), applications);
+
+        ArgumentCaptor<List> membersCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List> statusesCaptor = ArgumentCaptor.forClass(List.class);
+
+        Mockito.verify(applicationService)
+            .getApplicationsForACertainPeriodAndPersonsAndStates(Mockito.eq(date), Mockito.eq(date),
+                membersCaptor.capture(), statusesCaptor.capture());
+
+        List<Person> members = membersCaptor.getValue();
+        Assert.assertEquals("Wrong number of members", 4, members.size());
+        Assert.assertTrue("Wrong members", members.containsAll(Arrays.asList(admin1, admin2, marketing1, marketing2)));
+        Assert.assertFalse("Should not contain the given person", members.contains(person));
+
+        List<ApplicationStatus> statuses = statusesCaptor.getValue();
+        Assert.assertEquals("Wrong number of states", 3, statuses.size());
+        Assert.assertTrue("Wrong states",
+            statuses.containsAll(Arrays.asList(ApplicationStatus.WAITING, ApplicationStatus.TEMPORARY_ALLOWED,
+                    ApplicationStatus.ALLOWED)));
     }
 }
@@ -0,0 +1,94 @@
+package org.synyx.urlaubsverwaltung.core.mail;
+
+import org.apache.velocity.app.VelocityEngine;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.synyx.urlaubsverwaltung.core.application.domain.VacationCategory;
+import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.settings.MailSettings;
+import org.synyx.urlaubsverwaltung.test.TestDataCreator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+
+public class MailBuilderTest {
+
+    private MailBuilder mailBuilder;
+
+    @Before
+    public void setUp() {
+
+        Properties velocityProperties = new Properties();
+        velocityProperties.put("resource.loader", "class");
+        velocityProperties.put("class.resource.loader.class",
+            "org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader");
+
+        mailBuilder = new MailBuilder(new VelocityEngine(velocityProperties));
+    }
+
+
+    private static Map<String, Object> createModel(Person sender) {
+
+        MailSettings mailSettings = new MailSettings();
+        mailSettings.setBaseLinkURL("http://urlaubsverwaltung/");
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("application", TestDataCreator.createApplication(TestDataCreator.createPerson(),
+                TestDataCreator.createVacationType(VacationCategory.HOLIDAY)));
+        model.put("settings", mailSettings);
+        model.put("sender", sender);
+
+        return model;
+    }
+
+
+    @Test
+    public void ensureEveryRecipientIsGreetedFollowedByTheSameBody() {
+
+        Person sender = TestDataCreator.createPerson("sender", "Hugo", "Boss", "boss@firma.test");
+        Person max = TestDataCreator.createPerson("max", "Max", "Mustermann", "max@firma.test");
+        Person marlene = TestDataCreator.createPerson("marlene", "Marlene", "Muster", "marlene@firma.test");
+
+        List<String> mailBodies = mailBuilder.buildMailBodies("refer", createModel(sender),
+                Arrays.asList(max, marlene));
+
+        Assert.assertEquals("Wrong number of mail bodies", 2, mailBodies.size());
+        Assert.assertTrue("Wrong greeting", mailBodies.get(0).startsWith("Hallo Max Mustermann,\n\n"));
+        Assert.assertTrue("Wrong greeting", mailBodies.get(1).startsWith("Hallo Marlene Muster,\n\n"));
+        Assert.assertTrue("Missing body", mailBodies.get(0).contains("Hugo Boss bittet dich um Hilfe"));
+
+        String body = mailBodies.get(0).substring("Hallo Max Mustermann,\n\n".length());
+        Assert.assertEquals("Body should not depend on recipient", body,
+            mailBodies.get(1).substring("Hallo Marlene Muster,\n\n".length()));
+    }
+
+
+    @Test
+    public void ensureSingleRecipientMailBodyEqualsMailBodyOfMultipleRecipients() {
+
+        Person sender = TestDataCreator.createPerson("sender", "Hugo", "Boss", "boss@firma.test");
+        Person max = TestDataCreator.createPerson("max", "Max", "Mustermann", "max@firma.test");
+
+        String mailBody = mailBuilder.buildMailBody("refer", createModel(sender), max);
+
+        Assert.assertEquals("Wrong mail body",
+            mailBuilder.buildMailBodies("refer", createModel(sender), Collections.singletonList(max)).get(0),
+            mailBody);
+    }
+
+
+    @Test
+    public void ensureNoMailBodiesForNoRecipients() {
+
+        Assert.assertTrue("Should be empty",
+            mailBuilder.buildMailBodies("refer", new HashMap<>(), Collections.emptyList()).isEmpty());
+    }
+}
@@ -0,0 +1,261 @@
+package org.synyx.urlaubsverwaltung.core.mail;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+import org.springframework.data.domain.Pageable;
+
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import org.synyx.urlaubsverwaltung.core.settings.MailSettings;
+import org.synyx.urlaubsverwaltung.core.settings.Settings;
+import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+
+
+public class MailDispatcherTest {
+
+    private OutgoingMailDAO outgoingMailDAO;
+    private JavaMailSender javaMailSender;
+    private List<SimpleMailMessage[]> batches;
+    private Settings settings;
+
+    @Before
+    public void setUp() {
+
+        outgoingMailDAO = Mockito.mock(OutgoingMailDAO.class);
+        Mockito.when(outgoingMailDAO.lease(any(Integer.class), eq(OutgoingMailStatus.PENDING), any(Date.class),
+                    any(Date.class)))
+            .thenReturn(1);
+        javaMailSender = Mockito.mock(JavaMailSender.class);
+
+        batches = new ArrayList<>();
+        Mockito.doAnswer(invocation -> batches.add(toMailMessages(invocation.getArguments())))
+            .when(javaMailSender)
+            .send(Mockito.<SimpleMailMessage[]>anyVararg());
+
+        settings = new Settings();
+        settings.getMailSettings().setActive(true);
+    }
+
+
+    private MailDispatcher createDispatcher(int batchSize, int maxAttempts) {
+
+        return createDispatcher(Runnable::run, Runnable::run, batchSize, maxAttempts);
+    }
+
+
+    private MailDispatcher createDispatcher(Executor dispatchExecutor, Executor executor, int batchSize,
+        int maxAttempts) {
+
+        SettingsService settingsService = Mockito.mock(SettingsService.class);
+        Mockito.when(settingsService.getSettings()).thenReturn(settings);
+
+        return new MailDispatcher(outgoingMailDAO, settingsService, dispatchExecutor, executor, 2, batchSize,
+                maxAttempts, 60) {
+
+            @Override
+            JavaMailSender createMailSender(MailSettings mailSettings) {
+
+                return javaMailSender;
+            }
+        };
+    }
+
+
+    private static SimpleMailMessage[] toMailMessages(Object[] arguments) {
+
+        return Arrays.copyOf(arguments, arguments.length, SimpleMailMessage[].class);
+    }
+
+
+    private static OutgoingMail mail(String recipient) {
+
+        return new OutgoingMail("urlaubsverwaltung@firma.test", Collections.singletonList(recipient), "subject",
+                "text");
+    }
+
+
+    @Test
+    public void ensureNothingIsSentIfSendingMailsIsDeactivated() {
+
+        settings.getMailSettings().setActive(false);
+
+        createDispatcher(10, 3).dispatch();
+
+        Mockito.verifyZeroInteractions(outgoingMailDAO, javaMailSender);
+    }
+
+
+    @Test
+    public void ensureDueMailsAreSentInBatchesAndDeleted() {
+
+        List<OutgoingMail> mails = Arrays.asList(mail("max@firma.test"), mail("marlene@firma.test"),
+                mail("lieschen@firma.test"));
+
+        Mockito.when(outgoingMailDAO.findDue(eq(OutgoingMailStatus.PENDING), any(Date.class), any(Pageable.class)))
+            .thenReturn(mails);
+
+        createDispatcher(2, 3).dispatch();
+
+        Assert.assertEquals("Wrong number of batches", 2, batches.size());
+        Assert.assertEquals("Wrong size of first batch", 2, batches.get(0).length);
+        Assert.assertEquals("Wrong size of second batch", 1, batches.get(1).length);
+        Assert.assertEquals("Wrong recipient", "lieschen@firma.test", batches.get(1)[0].getTo()[0]);
+
+        Mockito.verify(outgoingMailDAO).delete(Arrays.asList(mails.get(0), mails.get(1)));
+        Mockito.verify(outgoingMailDAO).delete(Collections.singletonList(mails.get(2)));
+    }
+
+
+    @Test
+    public void ensureFailedMailIsRetriedWithBackOff() {
+
+        OutgoingMail sentMail = mail("max@firma.test");
+        OutgoingMail failedMail = mail("marlene@firma.test");
+
+        Mockito.when(outgoingMailDAO.findDue(eq(OutgoingMailStatus.PENDING), any(Date.class), any(Pageable.class)))
+            .thenReturn(Arrays.asList(sentMail, failedMail));
+
+        Map<Object, Exception> failedMessages = new HashMap<>();
+        failedMessages.put(failedMail.toMailMessage(), new IllegalStateException("Mailbox unavailable"));
+
+        Mockito.doThrow(new MailSendException(failedMessages)).when(javaMailSender)
+            .send(Mockito.<SimpleMailMessage[]>anyVararg());
+
+        long before = System.currentTimeMillis();
+
+        createDispatcher(10, 3).dispatch();
+
+        Mockito.verify(outgoingMailDAO).delete(Collections.singletonList(sentMail));
+        Mockito.verify(outgoingMailDAO).save(Collections.singletonList(failedMail));
+
+        Assert.assertEquals("Wrong status", OutgoingMailStatus.PENDING, failedMail.getStatus());
+        Assert.assertEquals("Wrong number of attempts", 1, failedMail.getAttempts());
+        Assert.assertEquals("Wrong error", "Mailbox unavailable", failedMail.getLastError());
+        Assert.assertTrue("Next attempt should be delayed",
+            failedMail.getNextAttempt().getTime() >= before + 60 * 1000);
+    }
+
+
+    @Test
+    public void ensureMailIsKeptAsFailedAfterMaximumNumberOfAttempts() {
+
+        OutgoingMail mail = mail("max@firma.test");
+
+        Mockito.when(outgoingMailDAO.findDue(eq(OutgoingMailStatus.PENDING), any(Date.class), any(Pageable.class)))
+            .thenReturn(Collections.singletonList(mail));
+
+        Mockito.doThrow(new MailAuthenticationException("Authentication failed")).when(javaMailSender)
+            .send(Mockito.<SimpleMailMessage[]>anyVararg());
+
+        MailDispatcher dispatcher = createDispatcher(10, 2);
+
+        dispatcher.dispatch();
+
+        Assert.assertEquals("Wrong status", OutgoingMailStatus.PENDING, mail.getStatus());
+
+        dispatcher.dispatch();
+
+        Assert.assertEquals("Wrong status", OutgoingMailStatus.FAILED, mail.getStatus());
+        Assert.assertEquals("Wrong number of attempts", 2, mail.getAttempts());
+        Mockito.verify(outgoingMailDAO, Mockito.never()).delete(anyListOf(OutgoingMail.class));
+    }
+
+
+    @Test
+    public void ensureRequestedDispatchSendsDueMails() {
+
+        Mockito.when(outgoingMailDAO.findDue(eq(OutgoingMailStatus.PENDING), any(Date.class), any(Pageable.class)))
+            .thenReturn(Collections.singletonList(mail("max@firma.test")));
+
+        createDispatcher(10, 3).requestDispatch();
+
+        Assert.assertEquals("Wrong number of batches", 1, batches.size());
+    }
+
+
+    @Test
+    public void ensureMailsLeasedByAnotherNodeAreNotSent() {
+
+        OutgoingMail leasedMail = mail("max@firma.test");
+        leasedMail.postpone(new Date(1000));
+
+        OutgoingMail otherMail = mail("marlene@firma.test");
+        otherMail.postpone(new Date(2000));
+
+        Mockito.when(outgoingMailDAO.findDue(eq(OutgoingMailStatus.PENDING), any(Date.class), any(Pageable.class)))
+            .thenReturn(Arrays.asList(leasedMail, otherMail));
+        Mockito.when(outgoingMailDAO.lease(any(Integer.class), eq(OutgoingMailStatus.PENDING),
+                    eq(leasedMail.getNextAttempt()), any(Date.class)))
+            .thenReturn(1);
+        Mockito.when(outgoingMailDAO.lease(any(Integer.class), eq(OutgoingMailStatus.PENDING),
+                    eq(otherMail.getNextAttempt()), any(Date.class)))
+            .thenReturn(0);
+
+        createDispatcher(10, 3).dispatch();
+
+        Assert.assertEquals("Wrong number of batches", 1, batches.size());
+        Assert.assertEquals("Wrong number of mails", 1, batches.get(0).length);
+        Assert.assertEquals("Wrong recipient", "max@firma.test", batches.get(0)[0].getTo()[0]);
+
+        Mockito.verify(outgoingMailDAO).delete(Collections.singletonList(leasedMail));
+    }
+
+
+    @Test
+    public void ensureRequestedDispatchDoesNotRunOnSendingWorkers() {
+
+        List<Runnable> dispatches = new ArrayList<>();
+        Executor workers = Mockito.mock(Executor.class);
+
+        createDispatcher(dispatches::add, workers, 10, 3).requestDispatch();
+
+        Assert.assertEquals("Dispatch not requested", 1, dispatches.size());
+        Mockito.verifyZeroInteractions(workers);
+    }
+
+
+    @Test
+    public void ensureNumberOfFailedMailsIsExposedAsMetric() {
+
+        Mockito.when(outgoingMailDAO.countByStatus(OutgoingMailStatus.PENDING)).thenReturn(3L);
+        Mockito.when(outgoingMailDAO.countByStatus(OutgoingMailStatus.FAILED)).thenReturn(2L);
+
+        Collection<Metric<?>> metrics = createDispatcher(10, 3).metrics();
+
+        Assert.assertEquals("Wrong number of pending mails", 3L, getValue(metrics, "mail.outbox.pending"));
+        Assert.assertEquals("Wrong number of failed mails", 2L, getValue(metrics, "mail.outbox.failed"));
+    }
+
+
+    private static Number getValue(Collection<Metric<?>> metrics, String name) {
+
+        return metrics.stream()
+            .filter(metric -> metric.getName().equals(name))
+            .findFirst()
+            .map(Metric::getValue)
+            .orElse(null);
+    }
+}
@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.core.mail;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -7,12 +8,11 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import org.synyx.urlaubsverwaltung.core.settings.MailSettings;
 import org.synyx.urlaubsverwaltung.core.settings.Settings;
-import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -25,21 +25,29 @@ public class MailSenderTest {
 
     private MailSender mailSender;
 
-    private JavaMailSenderImpl javaMailSender;
+    private OutgoingMailDAO outgoingMailDAO;
+    private MailDispatcher mailDispatcher;
     private Settings settings;
 
     @Before
     public void setUp() throws Exception {
 
-        javaMailSender = Mockito.mock(JavaMailSenderImpl.class);
+        outgoingMailDAO = Mockito.mock(OutgoingMailDAO.class);
+        mailDispatcher = Mockito.mock(MailDispatcher.class);
 
-        SettingsService settingsService = Mockito.mock(SettingsService.class);
-        mailSender = new MailSender(javaMailSender);
+        mailSender = new MailSender(outgoingMailDAO, mailDispatcher);
 
         settings = new Settings();
         settings.getMailSettings().setActive(true);
+    }
+
+
+    @After
+    public void tearDown() {
 
-        Mockito.when(settingsService.getSettings()).thenReturn(settings);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
 
@@ -50,44 +58,57 @@ public class MailSenderTest {
 
         mailSender.sendEmail(settings.getMailSettings(), Collections.singletonList("foo@bar.de"), "subject", "text");
 
-        Mockito.verifyZeroInteractions(javaMailSender);
+        Mockito.verifyZeroInteractions(outgoingMailDAO, mailDispatcher);
     }
 
 
     @Test
-    public void ensureMailSenderAttributesAreUpdatedWhenSendingMails() {
+    public void ensureMailIsEnqueuedCorrectly() {
 
         MailSettings mailSettings = settings.getMailSettings();
 
-        mailSender.sendEmail(mailSettings, Collections.singletonList("foo@bar.de"), "subject", "text");
+        ArgumentCaptor<OutgoingMail> mailArgumentCaptor = ArgumentCaptor.forClass(OutgoingMail.class);
+
+        String subject = "subject";
+        String body = "text";
+
+        mailSender.sendEmail(mailSettings, Arrays.asList("max@firma.test", "marlene@firma.test"), subject, body);
+
+        Mockito.verify(outgoingMailDAO).save(mailArgumentCaptor.capture());
+
+        OutgoingMail mail = mailArgumentCaptor.getValue();
 
-        Mockito.verify(javaMailSender).setHost(mailSettings.getHost());
-        Mockito.verify(javaMailSender).setPort(mailSettings.getPort());
-        Mockito.verify(javaMailSender).setUsername(mailSettings.getUsername());
-        Mockito.verify(javaMailSender).setPassword(mailSettings.getPassword());
+        Assert.assertNotNull("There must be recipients", mail.getRecipients());
+        Assert.assertEquals("Wrong number of recipients", 2, mail.getRecipients().length);
+        Assert.assertEquals("Wrong subject", subject, mail.getSubject());
+        Assert.assertEquals("Wrong body", body, mail.getText());
+        Assert.assertEquals("Wrong status", OutgoingMailStatus.PENDING, mail.getStatus());
+        Assert.assertEquals("Wrong sender", mailSettings.getFrom(), mail.toMailMessage().getFrom());
     }
 
 
     @Test
-    public void ensureMailIsSentCorrectly() {
+    public void ensureDispatchIsRequestedImmediatelyWithoutTransaction() {
 
-        MailSettings mailSettings = settings.getMailSettings();
+        mailSender.sendEmail(settings.getMailSettings(), Collections.singletonList("foo@bar.de"), "subject", "text");
 
-        ArgumentCaptor<SimpleMailMessage> mailMessageArgumentCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        Mockito.verify(mailDispatcher).requestDispatch();
+    }
 
-        String subject = "subject";
-        String body = "text";
 
-        mailSender.sendEmail(mailSettings, Arrays.asList("max@firma.test", "marlene@firma.test"), subject, body);
+    @Test
+    public void ensureDispatchIsRequestedAfterTransactionCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        mailSender.sendEmail(settings.getMailSettings(), Collections.singletonList("foo@bar.de"), "subject", "text");
 
-        Mockito.verify(javaMailSender).send(mailMessageArgumentCaptor.capture());
+        Mockito.verify(outgoingMailDAO).save(Mockito.any(OutgoingMail.class));
+        Mockito.verifyZeroInteractions(mailDispatcher);
 
-        SimpleMailMessage mailMessage = mailMessageArgumentCaptor.getValue();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
 
-        Assert.assertNotNull("There must be recipients", mailMessage.getTo());
-        Assert.assertEquals("Wrong number of recipients", 2, mailMessage.getTo().length);
-        Assert.assertEquals("Wrong subject", subject, mailMessage.getSubject());
-        Assert.assertEquals("Wrong body", body, mailMessage.getText());
+        Mockito.verify(mailDispatcher).requestDispatch();
     }
 
 
@@ -98,7 +119,7 @@ public class MailSenderTest {
 
         mailSender.sendEmail(mailSettings, null, "subject", "text");
 
-        Mockito.verifyZeroInteractions(javaMailSender);
+        Mockito.verifyZeroInteractions(outgoingMailDAO, mailDispatcher);
     }
 
 
@@ -109,6 +130,6 @@ public class MailSenderTest {
 
         mailSender.sendEmail(mailSettings, Collections.emptyList(), "subject", "text");
 
-        Mockito.verifyZeroInteractions(javaMailSender);
+        Mockito.verifyZeroInteractions(outgoingMailDAO, mailDispatcher);
     }
 }
@@ -24,6 +24,7 @@ import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
@@ -55,6 +56,10 @@ public class MailServiceImplTest {
 
         messageSource = Mockito.mock(MessageSource.class);
         mailBuilder = Mockito.mock(MailBuilder.class);
+        when(mailBuilder.buildMailBodies(anyString(), Mockito.anyMapOf(String.class, Object.class),
+                    Mockito.anyListOf(Person.class)))
+            .thenAnswer(invocation ->
+                    Collections.nCopies(((List<?>) invocation.getArguments()[2]).size(), "text"));
         mailSender = Mockito.mock(MailSender.class);
         personService = Mockito.mock(PersonService.class);
         departmentService = Mockito.mock(DepartmentService.class);
@@ -142,14 +147,14 @@ public class MailServiceImplTest {
         when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_BOSS))
             .thenReturn(Collections.singletonList(boss));
 
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
+        when(departmentService.getDepartmentHeadsOfPerson(application.getPerson(),
+                    MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
             .thenReturn(Collections.singletonList(departmentHead));
 
         mailService.sendNewApplicationNotification(application, null);
 
-        Mockito.verify(personService).getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD);
         Mockito.verify(departmentService)
-            .isDepartmentHeadOfPerson(eq(departmentHead), eq(application.getPerson()));
+            .getDepartmentHeadsOfPerson(application.getPerson(), MailNotification.NOTIFICATION_DEPARTMENT_HEAD);
     }
 
 
@@ -171,14 +176,14 @@ public class MailServiceImplTest {
         when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_BOSS))
             .thenReturn(Collections.singletonList(boss));
 
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
+        when(departmentService.getDepartmentHeadsOfPerson(application.getPerson(),
+                    MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
             .thenReturn(Collections.singletonList(departmentHead));
 
         mailService.sendRemindBossNotification(application);
 
-        Mockito.verify(personService).getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD);
         Mockito.verify(departmentService)
-            .isDepartmentHeadOfPerson(eq(departmentHead), eq(application.getPerson()));
+            .getDepartmentHeadsOfPerson(application.getPerson(), MailNotification.NOTIFICATION_DEPARTMENT_HEAD);
     }
 
 
@@ -200,25 +205,52 @@ public class MailServiceImplTest {
         when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_BOSS))
             .thenReturn(Collections.singletonList(boss));
 
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
-            .thenReturn(Arrays.asList(departmentHeadAC, departmentHeadB));
-
-        when(departmentService.isDepartmentHeadOfPerson(departmentHeadAC, personDepartmentA)).thenReturn(true);
-        when(departmentService.isDepartmentHeadOfPerson(departmentHeadB, personDepartmentB)).thenReturn(true);
-        when(departmentService.isDepartmentHeadOfPerson(departmentHeadAC, personDepartmentC)).thenReturn(true);
+        when(departmentService.getDepartmentHeadsOfPerson(personDepartmentA,
+                    MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
+            .thenReturn(Collections.singletonList(departmentHeadAC));
+        when(departmentService.getDepartmentHeadsOfPerson(personDepartmentB,
+                    MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
+            .thenReturn(Collections.singletonList(departmentHeadB));
+        when(departmentService.getDepartmentHeadsOfPerson(personDepartmentC,
+                    MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
+            .thenReturn(Collections.singletonList(departmentHeadAC));
 
         mailService.sendRemindForWaitingApplicationsReminderNotification(Arrays.asList(applicationA, applicationB,
                 applicationC));
 
-        Mockito.verify(personService, times(3))
-            .getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD);
         Mockito.verify(personService, times(3)).getPersonsWithNotificationType(MailNotification.NOTIFICATION_BOSS);
         Mockito.verify(departmentService)
-            .isDepartmentHeadOfPerson(eq(departmentHeadAC), eq(applicationA.getPerson()));
+            .getDepartmentHeadsOfPerson(personDepartmentA, MailNotification.NOTIFICATION_DEPARTMENT_HEAD);
         Mockito.verify(departmentService)
-            .isDepartmentHeadOfPerson(eq(departmentHeadB), eq(applicationB.getPerson()));
+            .getDepartmentHeadsOfPerson(personDepartmentB, MailNotification.NOTIFICATION_DEPARTMENT_HEAD);
         Mockito.verify(departmentService)
-            .isDepartmentHeadOfPerson(eq(departmentHeadAC), eq(applicationC.getPerson()));
+            .getDepartmentHeadsOfPerson(personDepartmentC, MailNotification.NOTIFICATION_DEPARTMENT_HEAD);
+    }
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void ensureSendsOneRemindForWaitingApplicationsMailPerRecipient() {
+
+        Person boss = TestDataCreator.createPerson("boss");
+        Person person = TestDataCreator.createPerson("person");
+
+        Application applicationA = createApplication(person);
+        Application applicationB = createApplication(person);
+
+        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_BOSS))
+            .thenReturn(Collections.singletonList(boss));
+
+        mailService.sendRemindForWaitingApplicationsReminderNotification(Arrays.asList(applicationA, applicationB));
+
+        // the recipients are determined once per person of the applications for leave
+        Mockito.verify(personService).getPersonsWithNotificationType(MailNotification.NOTIFICATION_BOSS);
+
+        ArgumentCaptor<Map> modelCaptor = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(mailBuilder).buildMailBody(eq("cron_remind"), modelCaptor.capture(), eq(boss));
+
+        Assert.assertEquals("Wrong applications", Arrays.asList(applicationA, applicationB),
+            modelCaptor.getValue().get("applicationList"));
     }
 
 
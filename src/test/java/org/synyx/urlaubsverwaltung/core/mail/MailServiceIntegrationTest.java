@@ -10,7 +10,7 @@ import org.junit.Test;
 import org.jvnet.mock_javamail.Mailbox;
 import org.mockito.Mockito;
 import org.springframework.context.support.StaticMessageSource;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.data.domain.Pageable;
 import org.synyx.urlaubsverwaltung.core.account.domain.Account;
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationComment;
@@ -94,9 +94,6 @@ public class MailServiceIntegrationTest {
         VelocityEngine velocityEngine = new VelocityEngine(velocityProperties);
         MailBuilder mailBuilder = new MailBuilder(velocityEngine);
 
-        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
-        MailSender mailSender = new MailSender(javaMailSender);
-
         personService = Mockito.mock(PersonService.class);
         departmentService = Mockito.mock(DepartmentService.class);
 
@@ -104,6 +101,29 @@ public class MailServiceIntegrationTest {
 
         SettingsService settingsService = Mockito.mock(SettingsService.class);
 
+        // the outbox is kept in memory and the mails are dispatched synchronously to the mock-javamail mailboxes
+        List<OutgoingMail> outbox = new ArrayList<>();
+        OutgoingMailDAO outgoingMailDAO = Mockito.mock(OutgoingMailDAO.class);
+        Mockito.when(outgoingMailDAO.save(Mockito.any(OutgoingMail.class))).thenAnswer(invocation -> {
+            OutgoingMail mail = (OutgoingMail) invocation.getArguments()[0];
+            outbox.add(mail);
+
+            return mail;
+        });
+        Mockito.when(outgoingMailDAO.findDue(eq(OutgoingMailStatus.PENDING), Mockito.any(Date.class),
+                    Mockito.any(Pageable.class)))
+            .thenAnswer(invocation -> new ArrayList<>(outbox));
+        Mockito.doAnswer(invocation -> outbox.removeAll((Collection<?>) invocation.getArguments()[0]))
+            .when(outgoingMailDAO)
+            .delete(Mockito.anyListOf(OutgoingMail.class));
+        Mockito.when(outgoingMailDAO.lease(Mockito.any(Integer.class), eq(OutgoingMailStatus.PENDING),
+                    Mockito.any(Date.class), Mockito.any(Date.class)))
+            .thenReturn(1);
+
+        MailDispatcher mailDispatcher = new MailDispatcher(outgoingMailDAO, settingsService, Runnable::run,
+                Runnable::run, 1, 50, 3, 60);
+        MailSender mailSender = new MailSender(outgoingMailDAO, mailDispatcher);
+
         mailService = new MailServiceImpl(MESSAGE_SOURCE, mailBuilder, mailSender, recipientService, departmentService,
                 settingsService);
 
@@ -127,21 +147,17 @@ public class MailServiceIntegrationTest {
         departmentHead = TestDataCreator.createPerson("head", "Michel", "Mustermann", "head@firma.test");
         departmentHead.setPermissions(Collections.singletonList(Role.DEPARTMENT_HEAD));
 
-        Mockito.when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
-            .thenReturn(Collections.singletonList(departmentHead));
-
-        Mockito.when(departmentService.isDepartmentHeadOfPerson(eq(departmentHead), Mockito.any(Person.class)))
-            .thenReturn(true);
+        Mockito.when(departmentService.getDepartmentHeadsOfPerson(Mockito.any(Person.class),
+                    eq(MailNotification.NOTIFICATION_DEPARTMENT_HEAD)))
+            .thenAnswer(invocation -> responsibleFor(departmentHead, (Person) invocation.getArguments()[0]));
 
         // SECOND STAGE AUTHORITY
         secondStage = TestDataCreator.createPerson("manager", "Kai", "Schmitt", "manager@firma.test");
         secondStage.setPermissions(Collections.singletonList(Role.SECOND_STAGE_AUTHORITY));
 
-        Mockito.when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY))
-            .thenReturn(Collections.singletonList(secondStage));
-
-        Mockito.when(departmentService.isSecondStageAuthorityOfPerson(eq(secondStage), Mockito.any(Person.class)))
-            .thenReturn(true);
+        Mockito.when(departmentService.getSecondStageAuthoritiesOfPerson(Mockito.any(Person.class),
+                    eq(MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY)))
+            .thenAnswer(invocation -> responsibleFor(secondStage, (Person) invocation.getArguments()[0]));
 
         // OFFICE
         office = TestDataCreator.createPerson("office", "Marlene", "Muster", "office@firma.test");
@@ -152,6 +168,12 @@ public class MailServiceIntegrationTest {
     }
 
 
+    private static List<Person> responsibleFor(Person responsible, Person person) {
+
+        return responsible.equals(person) ? Collections.emptyList() : Collections.singletonList(responsible);
+    }
+
+
     private Application createApplication(Person person) {
 
         DateMidnight now = DateMidnight.now();
@@ -833,15 +855,15 @@ public class MailServiceIntegrationTest {
         Person departmentHeadA = TestDataCreator.createPerson("headAC", "Heinz", "Wurst", "headAC@firma.test");
         Person departmentHeadB = TestDataCreator.createPerson("headB", "Michel", "Mustermann", "headB@firma.test");
 
-        Mockito.when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
-            .thenReturn(Arrays.asList(departmentHeadA, departmentHeadB));
-
-        Mockito.when(departmentService.isDepartmentHeadOfPerson(eq(departmentHeadA), eq(personDepartmentA)))
-            .thenReturn(true);
-        Mockito.when(departmentService.isDepartmentHeadOfPerson(eq(departmentHeadB), eq(personDepartmentB)))
-            .thenReturn(true);
-        Mockito.when(departmentService.isDepartmentHeadOfPerson(eq(departmentHeadA), eq(personDepartmentC)))
-            .thenReturn(true);
+        Mockito.when(departmentService.getDepartmentHeadsOfPerson(personDepartmentA,
+                    MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
+            .thenReturn(Collections.singletonList(departmentHeadA));
+        Mockito.when(departmentService.getDepartmentHeadsOfPerson(personDepartmentB,
+                    MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
+            .thenReturn(Collections.singletonList(departmentHeadB));
+        Mockito.when(departmentService.getDepartmentHeadsOfPerson(personDepartmentC,
+                    MailNotification.NOTIFICATION_DEPARTMENT_HEAD))
+            .thenReturn(Collections.singletonList(departmentHeadA));
 
         mailService.sendRemindForWaitingApplicationsReminderNotification(Arrays.asList(applicationA, applicationB,
                 applicationC));
@@ -41,8 +41,7 @@ public class RecipientServiceTest {
 
         // given department head
         Person departmentHead = TestDataCreator.createPerson("departmentHead", Role.DEPARTMENT_HEAD);
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(departmentHead));
-        when(departmentService.isDepartmentHeadOfPerson(departmentHead, normalUser)).thenReturn(true);
+        when(departmentService.getDepartmentHeadsOfPerson(normalUser, MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(departmentHead));
 
         // given boss
         Person boss = TestDataCreator.createPerson("boss", Role.BOSS);
@@ -55,11 +54,10 @@ public class RecipientServiceTest {
 
     @Test
     public void testAllowDepartmentHeadApplicationWithSingleStageDepartment() throws Exception {
-        // given department head
+        // given department head, that is not responsible for the own application
         Person departmentHead = TestDataCreator.createPerson("departmentHead", Role.DEPARTMENT_HEAD);
         Application application = getHolidayApplication(departmentHead);
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(departmentHead));
-        when(departmentService.isDepartmentHeadOfPerson(departmentHead, departmentHead)).thenReturn(true);
+        when(departmentService.getDepartmentHeadsOfPerson(departmentHead, MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Collections.emptyList());
 
         // given boss
         Person boss = TestDataCreator.createPerson("boss", Role.BOSS);
@@ -78,13 +76,11 @@ public class RecipientServiceTest {
 
         // given department head
         Person departmentHead = TestDataCreator.createPerson("departmentHead", Role.DEPARTMENT_HEAD);
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(departmentHead));
-        when(departmentService.isDepartmentHeadOfPerson(departmentHead, normalUser)).thenReturn(true);
+        when(departmentService.getDepartmentHeadsOfPerson(normalUser, MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(departmentHead));
 
         // given second stage
         Person secondStage = TestDataCreator.createPerson("secondStage", Role.SECOND_STAGE_AUTHORITY);
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY)).thenReturn(Arrays.asList(secondStage));
-        when(departmentService.isSecondStageAuthorityOfPerson(secondStage, normalUser)).thenReturn(true);
+        when(departmentService.getSecondStageAuthoritiesOfPerson(normalUser, MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY)).thenReturn(Arrays.asList(secondStage));
 
         // given boss
         Person boss = TestDataCreator.createPerson("boss", Role.BOSS);
@@ -97,16 +93,14 @@ public class RecipientServiceTest {
 
     @Test
     public void testAllowDepartmentHeadWithSecondStageDepartment() throws Exception {
-        // given department head
+        // given department head, that is not responsible for the own application
         Person departmentHead = TestDataCreator.createPerson("departmentHead", Role.DEPARTMENT_HEAD);
         Application application = getHolidayApplication(departmentHead);
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(departmentHead));
-        when(departmentService.isDepartmentHeadOfPerson(departmentHead, departmentHead)).thenReturn(true);
+        when(departmentService.getDepartmentHeadsOfPerson(departmentHead, MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Collections.emptyList());
 
         // given second stage
         Person secondStage = TestDataCreator.createPerson("secondStage", Role.SECOND_STAGE_AUTHORITY);
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY)).thenReturn(Arrays.asList(secondStage));
-        when(departmentService.isSecondStageAuthorityOfPerson(secondStage, departmentHead)).thenReturn(true);
+        when(departmentService.getSecondStageAuthoritiesOfPerson(departmentHead, MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY)).thenReturn(Arrays.asList(secondStage));
 
         // given boss
         Person boss = TestDataCreator.createPerson("boss", Role.BOSS);
@@ -125,8 +119,7 @@ public class RecipientServiceTest {
 
         // given department head
         Person departmentHead = TestDataCreator.createPerson("departmentHead", Role.DEPARTMENT_HEAD);
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(departmentHead));
-        when(departmentService.isDepartmentHeadOfPerson(departmentHead, secondStage)).thenReturn(true);
+        when(departmentService.getDepartmentHeadsOfPerson(secondStage, MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(departmentHead));
 
         // given boss
         Person boss = TestDataCreator.createPerson("boss", Role.BOSS);
@@ -163,15 +156,12 @@ public class RecipientServiceTest {
         Person head2 = TestDataCreator.createPerson("head2", Role.DEPARTMENT_HEAD);
         Person secondStage = TestDataCreator.createPerson("secondStage", Role.SECOND_STAGE_AUTHORITY);
 
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(head1, head2));
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY)).thenReturn(Collections.singletonList(secondStage));
-        when(departmentService.isDepartmentHeadOfPerson(head1, head1)).thenReturn(true);
-        when(departmentService.isDepartmentHeadOfPerson(head2, head1)).thenReturn(true);
-        when(departmentService.isSecondStageAuthorityOfPerson(secondStage, head1)).thenReturn(true);
+        when(departmentService.getDepartmentHeadsOfPerson(head1, MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Collections.singletonList(head2));
+        when(departmentService.getSecondStageAuthoritiesOfPerson(head1, MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY)).thenReturn(Collections.singletonList(secondStage));
 
         List<Person> recipientsForAllowAndRemind = sut.getRecipientsForAllowAndRemind(application);
 
-        assertThat(recipientsForAllowAndRemind).contains(head2, secondStage);
+        assertThat(recipientsForAllowAndRemind).contains(head2, secondStage).doesNotContain(head1);
     }
 
     @Test
@@ -182,13 +172,11 @@ public class RecipientServiceTest {
 
         // given department head
         Person departmentHead = TestDataCreator.createPerson("departmentHead", Role.DEPARTMENT_HEAD);
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(departmentHead));
-        when(departmentService.isDepartmentHeadOfPerson(departmentHead, normalUser)).thenReturn(true);
+        when(departmentService.getDepartmentHeadsOfPerson(normalUser, MailNotification.NOTIFICATION_DEPARTMENT_HEAD)).thenReturn(Arrays.asList(departmentHead));
 
         // given second stage
         Person secondStage = TestDataCreator.createPerson("secondStage", Role.SECOND_STAGE_AUTHORITY);
-        when(personService.getPersonsWithNotificationType(MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY)).thenReturn(Arrays.asList(secondStage));
-        when(departmentService.isSecondStageAuthorityOfPerson(secondStage, normalUser)).thenReturn(true);
+        when(departmentService.getSecondStageAuthoritiesOfPerson(normalUser, MailNotification.NOTIFICATION_SECOND_STAGE_AUTHORITY)).thenReturn(Arrays.asList(secondStage));
 
         List<Person> recipientsForTemporaryAllow = sut.getRecipientsForTemporaryAllow(application);
 
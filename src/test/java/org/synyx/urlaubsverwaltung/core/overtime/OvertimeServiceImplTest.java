@@ -19,6 +19,8 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -382,4 +384,31 @@ public class OvertimeServiceImplTest {
         Assert.assertNotNull("Should not be null", leftOvertime);
         Assert.assertEquals("Wrong left overtime", BigDecimal.ZERO, leftOvertime);
     }
+
+
+    @Test
+    public void ensureCalculatesLeftOvertimeOfSeveralPersonsWithGroupedQueries() throws IllegalAccessException {
+
+        Person person = TestDataCreator.createPerson(1, "muster");
+        Person otherPerson = TestDataCreator.createPerson(2, "other");
+        Person personWithoutOvertime = TestDataCreator.createPerson(3, "none");
+
+        List<Person> persons = Arrays.asList(person, otherPerson, personWithoutOvertime);
+
+        Mockito.when(overtimeDAO.calculateTotalHoursForPersons(persons))
+            .thenReturn(Arrays.asList(new Object[] { 1, BigDecimal.TEN }, new Object[] { 2, new BigDecimal("3") }));
+        Mockito.when(applicationService.getTotalOvertimeReductionOfPersons(persons))
+            .thenReturn(Collections.singletonMap(person, BigDecimal.ONE));
+
+        Map<Person, BigDecimal> leftOvertime = overtimeService.getLeftOvertimeForPersons(persons);
+
+        Assert.assertEquals("Wrong number of entries", 3, leftOvertime.size());
+        Assert.assertEquals("Wrong left overtime", new BigDecimal("9"), leftOvertime.get(person));
+        Assert.assertEquals("Wrong left overtime", new BigDecimal("3"), leftOvertime.get(otherPerson));
+        Assert.assertEquals("Wrong left overtime", BigDecimal.ZERO, leftOvertime.get(personWithoutOvertime));
+
+        Mockito.verify(overtimeDAO, Mockito.never()).calculateTotalHoursForPerson(Mockito.any(Person.class));
+        Mockito.verify(applicationService, Mockito.never())
+            .getTotalOvertimeReductionOfPerson(Mockito.any(Person.class));
+    }
 }
@@ -3,7 +3,11 @@ package org.synyx.urlaubsverwaltung.core.person;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.util.Arrays;
@@ -20,13 +24,15 @@ public class PersonServiceImplTest {
     private PersonService sut;
 
     private PersonDAO personDAO;
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @Before
     public void setUp() {
 
         personDAO = Mockito.mock(PersonDAO.class);
 
-        sut = new PersonServiceImpl(personDAO);
+        applicationEventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        sut = new PersonServiceImpl(personDAO, applicationEventPublisher, 60);
     }
 
 
@@ -107,6 +113,21 @@ public class PersonServiceImplTest {
     }
 
 
+    @Test
+    public void ensurePublishesEventForUpdatedPerson() {
+
+        Person person = TestDataCreator.createPerson();
+        person.setId(1);
+
+        sut.update(person);
+
+        ArgumentCaptor<PersonUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(PersonUpdatedEvent.class);
+        Mockito.verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+
+        Assert.assertEquals("Wrong person", person, eventCaptor.getValue().getPerson());
+    }
+
+
     @Test(expected = IllegalArgumentException.class)
     public void ensureThrowsIfPersonToBeUpdatedHasNoID() {
 
@@ -146,76 +167,48 @@ public class PersonServiceImplTest {
 
 
     @Test
-    public void ensureGetActivePersonsReturnsOnlyPersonsThatHaveNotInactiveRole() {
-
-        Person inactive = TestDataCreator.createPerson("inactive");
-        inactive.setPermissions(Collections.singletonList(Role.INACTIVE));
+    public void ensureGetActivePersonsFiltersPersonsInTheDatabase() {
 
         Person user = TestDataCreator.createPerson("user");
-        user.setPermissions(Collections.singletonList(Role.USER));
-
         Person boss = TestDataCreator.createPerson("boss");
-        boss.setPermissions(Arrays.asList(Role.USER, Role.BOSS));
-
-        Person office = TestDataCreator.createPerson("office");
-        office.setPermissions(Arrays.asList(Role.USER, Role.BOSS, Role.OFFICE));
-
-        List<Person> allPersons = Arrays.asList(inactive, user, boss, office);
 
-        Mockito.when(personDAO.findAll()).thenReturn(allPersons);
+        Mockito.when(personDAO.findActivePersons()).thenReturn(Arrays.asList(user, boss));
 
         List<Person> activePersons = sut.getActivePersons();
 
-        Assert.assertEquals("Wrong number of persons", 3, activePersons.size());
+        Assert.assertEquals("Wrong number of persons", 2, activePersons.size());
 
         Assert.assertTrue("Missing person", activePersons.contains(user));
         Assert.assertTrue("Missing person", activePersons.contains(boss));
-        Assert.assertTrue("Missing person", activePersons.contains(office));
+
+        Mockito.verify(personDAO, Mockito.never()).findAll();
     }
 
 
     @Test
-    public void ensureGetInactivePersonsReturnsOnlyPersonsThatHaveInactiveRole() {
+    public void ensureGetInactivePersonsFiltersPersonsInTheDatabase() {
 
         Person inactive = TestDataCreator.createPerson("inactive");
-        inactive.setPermissions(Collections.singletonList(Role.INACTIVE));
 
-        Person user = TestDataCreator.createPerson("user");
-        user.setPermissions(Collections.singletonList(Role.USER));
-
-        Person boss = TestDataCreator.createPerson("boss");
-        boss.setPermissions(Arrays.asList(Role.USER, Role.BOSS));
-
-        Person office = TestDataCreator.createPerson("office");
-        office.setPermissions(Arrays.asList(Role.USER, Role.BOSS, Role.OFFICE));
-
-        List<Person> allPersons = Arrays.asList(inactive, user, boss, office);
-
-        Mockito.when(personDAO.findAll()).thenReturn(allPersons);
+        Mockito.when(personDAO.findInactivePersons()).thenReturn(Collections.singletonList(inactive));
 
         List<Person> inactivePersons = sut.getInactivePersons();
 
         Assert.assertEquals("Wrong number of persons", 1, inactivePersons.size());
 
         Assert.assertTrue("Missing person", inactivePersons.contains(inactive));
+
+        Mockito.verify(personDAO, Mockito.never()).findAll();
     }
 
 
     @Test
-    public void ensureGetPersonsByRoleReturnsOnlyPersonsWithTheGivenRole() {
-
-        Person user = TestDataCreator.createPerson("user");
-        user.setPermissions(Collections.singletonList(Role.USER));
+    public void ensureGetPersonsByRoleFiltersPersonsInTheDatabase() {
 
         Person boss = TestDataCreator.createPerson("boss");
-        boss.setPermissions(Arrays.asList(Role.USER, Role.BOSS));
-
         Person office = TestDataCreator.createPerson("office");
-        office.setPermissions(Arrays.asList(Role.USER, Role.BOSS, Role.OFFICE));
-
-        List<Person> allPersons = Arrays.asList(user, boss, office);
 
-        Mockito.when(personDAO.findAll()).thenReturn(allPersons);
+        Mockito.when(personDAO.findActivePersonsWithRole(Role.BOSS)).thenReturn(Arrays.asList(boss, office));
 
         List<Person> filteredList = sut.getPersonsByRole(Role.BOSS);
 
@@ -223,28 +216,19 @@ public class PersonServiceImplTest {
 
         Assert.assertTrue("Missing person", filteredList.contains(boss));
         Assert.assertTrue("Missing person", filteredList.contains(office));
+
+        Mockito.verify(personDAO, Mockito.never()).findAll();
     }
 
 
     @Test
-    public void ensureGetPersonsByNotificationTypeReturnsOnlyPersonsWithTheGivenNotificationType() {
-
-        Person user = TestDataCreator.createPerson("user");
-        user.setPermissions(Collections.singletonList(Role.USER));
-        user.setNotifications(Collections.singletonList(MailNotification.NOTIFICATION_USER));
+    public void ensureGetPersonsByNotificationTypeFiltersPersonsInTheDatabase() {
 
         Person boss = TestDataCreator.createPerson("boss");
-        boss.setPermissions(Arrays.asList(Role.USER, Role.BOSS));
-        boss.setNotifications(Arrays.asList(MailNotification.NOTIFICATION_USER, MailNotification.NOTIFICATION_BOSS));
-
         Person office = TestDataCreator.createPerson("office");
-        office.setPermissions(Arrays.asList(Role.USER, Role.BOSS, Role.OFFICE));
-        office.setNotifications(Arrays.asList(MailNotification.NOTIFICATION_USER, MailNotification.NOTIFICATION_BOSS,
-                MailNotification.NOTIFICATION_OFFICE));
-
-        List<Person> allPersons = Arrays.asList(user, boss, office);
 
-        Mockito.when(personDAO.findAll()).thenReturn(allPersons);
+        Mockito.when(personDAO.findActivePersonsWithNotificationType(MailNotification.NOTIFICATION_BOSS))
+            .thenReturn(Arrays.asList(boss, office));
 
         List<Person> filteredList = sut.getPersonsWithNotificationType(MailNotification.NOTIFICATION_BOSS);
 
@@ -252,6 +236,9 @@ public class PersonServiceImplTest {
 
         Assert.assertTrue("Missing person", filteredList.contains(boss));
         Assert.assertTrue("Missing person", filteredList.contains(office));
+
+        Mockito.verify(personDAO).findActivePersonsWithNotificationType(MailNotification.NOTIFICATION_BOSS);
+        Mockito.verify(personDAO, Mockito.never()).findAll();
     }
 
 
@@ -264,7 +251,7 @@ public class PersonServiceImplTest {
 
         List<Person> unsortedPersons = Arrays.asList(shane, carl, rick);
 
-        Mockito.when(personDAO.findAll()).thenReturn(unsortedPersons);
+        Mockito.when(personDAO.findActivePersons()).thenReturn(unsortedPersons);
 
         List<Person> sortedList = sut.getActivePersons();
 
@@ -283,9 +270,7 @@ public class PersonServiceImplTest {
         Person rick = TestDataCreator.createPerson("rick");
 
         List<Person> unsortedPersons = Arrays.asList(shane, carl, rick);
-        unsortedPersons.forEach(person -> person.setPermissions(Collections.singletonList(Role.INACTIVE)));
-
-        Mockito.when(personDAO.findAll()).thenReturn(unsortedPersons);
+        Mockito.when(personDAO.findInactivePersons()).thenReturn(unsortedPersons);
 
         List<Person> sortedList = sut.getInactivePersons();
 
@@ -304,9 +289,7 @@ public class PersonServiceImplTest {
         Person rick = TestDataCreator.createPerson("rick");
 
         List<Person> unsortedPersons = Arrays.asList(shane, carl, rick);
-        unsortedPersons.forEach(person -> person.setPermissions(Collections.singletonList(Role.USER)));
-
-        Mockito.when(personDAO.findAll()).thenReturn(unsortedPersons);
+        Mockito.when(personDAO.findActivePersonsWithRole(Role.USER)).thenReturn(unsortedPersons);
 
         List<Person> sortedList = sut.getPersonsByRole(Role.USER);
 
@@ -325,10 +308,8 @@ public class PersonServiceImplTest {
         Person rick = TestDataCreator.createPerson("rick");
 
         List<Person> unsortedPersons = Arrays.asList(shane, carl, rick);
-        unsortedPersons.forEach(person ->
-                person.setNotifications(Collections.singletonList(MailNotification.NOTIFICATION_USER)));
-
-        Mockito.when(personDAO.findAll()).thenReturn(unsortedPersons);
+        Mockito.when(personDAO.findActivePersonsWithNotificationType(MailNotification.NOTIFICATION_USER))
+            .thenReturn(unsortedPersons);
 
         List<Person> sortedList = sut.getPersonsWithNotificationType(MailNotification.NOTIFICATION_USER);
 
@@ -337,4 +318,77 @@ public class PersonServiceImplTest {
         Assert.assertEquals("Wrong second person", rick, sortedList.get(1));
         Assert.assertEquals("Wrong third person", shane, sortedList.get(2));
     }
+
+
+    @Test
+    public void ensureGetActivePersonSummariesReturnsCachedSortedList() {
+
+        PersonSummary shane = new PersonSummary(1, "shane", "Shane", "Walsh", null);
+        PersonSummary carl = new PersonSummary(2, "carl", "carl", "Grimes", null);
+
+        Mockito.when(personDAO.findActivePersonSummaries()).thenReturn(Arrays.asList(shane, carl));
+
+        sut.getActivePersonSummaries();
+
+        List<PersonSummary> sortedList = sut.getActivePersonSummaries();
+
+        Assert.assertEquals("Wrong number of persons", 2, sortedList.size());
+        Assert.assertEquals("Wrong first person", carl, sortedList.get(0));
+        Assert.assertEquals("Wrong second person", shane, sortedList.get(1));
+
+        Mockito.verify(personDAO, Mockito.times(1)).findActivePersonSummaries();
+    }
+
+
+    @Test
+    public void ensureGetActivePersonSummariesReloadsListAfterPersonIsSaved() {
+
+        Mockito.when(personDAO.findActivePersonSummaries()).thenReturn(Collections.emptyList());
+
+        sut.getActivePersonSummaries();
+        sut.save(TestDataCreator.createPerson());
+        sut.getActivePersonSummaries();
+
+        Mockito.verify(personDAO, Mockito.times(2)).findActivePersonSummaries();
+    }
+
+
+    @Test
+    public void ensureGetActivePersonSummariesReloadsListOnlyAfterSavedPersonHasBeenCommitted() {
+
+        Mockito.when(personDAO.findActivePersonSummaries()).thenReturn(Collections.emptyList());
+
+        sut.getActivePersonSummaries();
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            sut.save(TestDataCreator.createPerson());
+            sut.getActivePersonSummaries();
+
+            Mockito.verify(personDAO, Mockito.times(1)).findActivePersonSummaries();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        sut.getActivePersonSummaries();
+
+        Mockito.verify(personDAO, Mockito.times(2)).findActivePersonSummaries();
+    }
+
+
+    @Test
+    public void ensureGetActivePersonSummariesReloadsListAfterTimeToLive() {
+
+        sut = new PersonServiceImpl(personDAO, applicationEventPublisher, 0);
+
+        Mockito.when(personDAO.findActivePersonSummaries()).thenReturn(Collections.emptyList());
+
+        sut.getActivePersonSummaries();
+        sut.getActivePersonSummaries();
+
+        Mockito.verify(personDAO, Mockito.times(2)).findActivePersonSummaries();
+    }
 }
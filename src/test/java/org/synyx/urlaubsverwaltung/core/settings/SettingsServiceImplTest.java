@@ -0,0 +1,207 @@
+package org.synyx.urlaubsverwaltung.core.settings;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+
+
+/**
+ * Unit test for {@link SettingsServiceImpl}.
+ */
+public class SettingsServiceImplTest {
+
+    private SettingsDAO settingsDAO;
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Before
+    public void setUp() {
+
+        settingsDAO = Mockito.mock(SettingsDAO.class);
+        applicationEventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+    }
+
+
+    @Test
+    public void ensureSettingsAreLoadedOnlyOnceWithinTimeToLive() {
+
+        Settings settings = new Settings();
+        settings.setId(1);
+        Mockito.when(settingsDAO.findOne(1)).thenReturn(settings);
+
+        SettingsService settingsService = new SettingsServiceImpl(settingsDAO, applicationEventPublisher, 60);
+
+        Assert.assertEquals("Wrong settings", Integer.valueOf(1), settingsService.getSettings().getId());
+        Assert.assertEquals("Wrong settings", Integer.valueOf(1), settingsService.getSettings().getId());
+
+        Mockito.verify(settingsDAO, Mockito.times(1)).findOne(1);
+    }
+
+
+    @Test
+    public void ensureSettingsAreReloadedAfterTimeToLive() {
+
+        Mockito.when(settingsDAO.findOne(1)).thenReturn(new Settings());
+
+        SettingsService settingsService = new SettingsServiceImpl(settingsDAO, applicationEventPublisher, 0);
+
+        settingsService.getSettings();
+        settingsService.getSettings();
+
+        Mockito.verify(settingsDAO, Mockito.times(2)).findOne(1);
+    }
+
+
+    @Test
+    public void ensureSavedSettingsReplaceCachedSettings() {
+
+        Mockito.when(settingsDAO.findOne(1)).thenReturn(new Settings());
+
+        Settings savedSettings = new Settings();
+        savedSettings.getWorkingTimeSettings().setOvertimeActive(true);
+        Mockito.when(settingsDAO.save(Mockito.any(Settings.class))).thenReturn(savedSettings);
+
+        SettingsService settingsService = new SettingsServiceImpl(settingsDAO, applicationEventPublisher, 60);
+
+        settingsService.getSettings();
+        settingsService.save(new Settings());
+
+        Assert.assertTrue("Saved settings not cached",
+            settingsService.getSettings().getWorkingTimeSettings().isOvertimeActive());
+
+        Mockito.verify(settingsDAO, Mockito.times(1)).findOne(1);
+    }
+
+
+    @Test
+    public void ensureChangesOfReturnedSettingsDoNotAffectCachedSettings() {
+
+        Mockito.when(settingsDAO.findOne(1)).thenReturn(new Settings());
+
+        SettingsService settingsService = new SettingsServiceImpl(settingsDAO, applicationEventPublisher, 60);
+
+        Settings settings = settingsService.getSettings();
+        settings.getWorkingTimeSettings().setOvertimeActive(true);
+        settings.getCalendarSettings().getGoogleCalendarSettings().setRefreshToken("token");
+
+        Settings cachedSettings = settingsService.getSettings();
+
+        Assert.assertNotSame("Cached settings handed out", settings, cachedSettings);
+        Assert.assertFalse("Cached settings changed", cachedSettings.getWorkingTimeSettings().isOvertimeActive());
+        Assert.assertNull("Cached settings changed",
+            cachedSettings.getCalendarSettings().getGoogleCalendarSettings().getRefreshToken());
+    }
+
+
+    @Test
+    public void ensureChangesOfSavedSettingsDoNotAffectCachedSettings() {
+
+        Settings savedSettings = new Settings();
+        Mockito.when(settingsDAO.save(Mockito.any(Settings.class))).thenReturn(savedSettings);
+
+        SettingsService settingsService = new SettingsServiceImpl(settingsDAO, applicationEventPublisher, 60);
+
+        settingsService.save(new Settings());
+        savedSettings.getMailSettings().setActive(true);
+
+        Assert.assertFalse("Cached settings changed", settingsService.getSettings().getMailSettings().isActive());
+    }
+
+
+    @Test
+    public void ensurePublishesEventOnSave() {
+
+        Settings savedSettings = new Settings();
+        Mockito.when(settingsDAO.save(Mockito.any(Settings.class))).thenReturn(savedSettings);
+
+        new SettingsServiceImpl(settingsDAO, applicationEventPublisher, 60).save(new Settings());
+
+        ArgumentCaptor<SettingsUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(SettingsUpdatedEvent.class);
+        Mockito.verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+
+        Assert.assertSame("Wrong settings", savedSettings, eventCaptor.getValue().getSettings());
+    }
+
+
+    @Test
+    public void ensurePublishedEventDetectsChangedFederalState() {
+
+        Settings settings = new Settings();
+        Mockito.when(settingsDAO.findOne(1)).thenReturn(settings);
+        Mockito.when(settingsDAO.save(Mockito.any(Settings.class)))
+            .thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        SettingsService settingsService = new SettingsServiceImpl(settingsDAO, applicationEventPublisher, 60);
+
+        Settings changedSettings = settingsService.getSettings();
+        changedSettings.getMailSettings().setActive(true);
+        settingsService.save(changedSettings);
+
+        changedSettings = settingsService.getSettings();
+        changedSettings.getWorkingTimeSettings().setFederalState(FederalState.BAYERN);
+        settingsService.save(changedSettings);
+
+        ArgumentCaptor<SettingsUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(SettingsUpdatedEvent.class);
+        Mockito.verify(applicationEventPublisher, Mockito.times(2)).publishEvent(eventCaptor.capture());
+
+        Assert.assertFalse("Work days should not be affected", eventCaptor.getAllValues().get(0).isWorkDaysAffected());
+        Assert.assertTrue("Work days should be affected", eventCaptor.getAllValues().get(1).isWorkDaysAffected());
+    }
+
+
+    @Test
+    public void ensurePublishedEventAffectsWorkDaysIfPreviousSettingsAreUnknown() {
+
+        Mockito.when(settingsDAO.save(Mockito.any(Settings.class))).thenReturn(new Settings());
+
+        new SettingsServiceImpl(settingsDAO, applicationEventPublisher, 60).save(new Settings());
+
+        ArgumentCaptor<SettingsUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(SettingsUpdatedEvent.class);
+        Mockito.verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+
+        Assert.assertTrue("Work days should be affected", eventCaptor.getValue().isWorkDaysAffected());
+    }
+
+
+    @Test(expected = IllegalStateException.class)
+    public void ensureThrowsIfNoSettingsInDatabase() {
+
+        new SettingsServiceImpl(settingsDAO, applicationEventPublisher, 60).getSettings();
+    }
+
+
+    @Test
+    public void ensureCacheHitsAndMissesAreExposedAsMetrics() {
+
+        Mockito.when(settingsDAO.findOne(1)).thenReturn(new Settings());
+
+        SettingsServiceImpl settingsService = new SettingsServiceImpl(settingsDAO, applicationEventPublisher, 60);
+
+        settingsService.getSettings();
+        settingsService.getSettings();
+        settingsService.getSettings();
+
+        Collection<Metric<?>> metrics = settingsService.metrics();
+
+        Assert.assertEquals("Wrong number of hits", 2L, getValue(metrics, "settings.cache.hits"));
+        Assert.assertEquals("Wrong number of misses", 1L, getValue(metrics, "settings.cache.misses"));
+    }
+
+
+    private static Number getValue(Collection<Metric<?>> metrics, String name) {
+
+        return metrics.stream()
+            .filter(metric -> metric.getName().equals(name))
+            .findFirst()
+            .map(Metric::getValue)
+            .orElse(null);
+    }
+}
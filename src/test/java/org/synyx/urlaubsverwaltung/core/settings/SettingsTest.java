@@ -21,4 +21,36 @@ public class SettingsTest {
         Assert.assertNotNull("Should not be null", settings.getMailSettings());
         Assert.assertNotNull("Should not be null", settings.getCalendarSettings());
     }
+
+
+    @Test
+    public void ensureCopyHasSameValuesButDoesNotShareThem() {
+
+        Settings settings = new Settings();
+        settings.setId(1);
+        settings.getAbsenceSettings().setMaximumAnnualVacationDays(30);
+        settings.getWorkingTimeSettings().setFederalState(FederalState.BAYERN);
+        settings.getMailSettings().setHost("mail.test");
+        settings.getCalendarSettings().getExchangeCalendarSettings().setEmail("calendar@test");
+        settings.getCalendarSettings().getGoogleCalendarSettings().setRefreshToken("token");
+
+        Settings copy = settings.copy();
+
+        Assert.assertEquals("Wrong id", Integer.valueOf(1), copy.getId());
+        Assert.assertEquals("Wrong value", Integer.valueOf(30),
+            copy.getAbsenceSettings().getMaximumAnnualVacationDays());
+        Assert.assertEquals("Wrong value", FederalState.BAYERN, copy.getWorkingTimeSettings().getFederalState());
+        Assert.assertEquals("Wrong value", "mail.test", copy.getMailSettings().getHost());
+        Assert.assertEquals("Wrong value", "calendar@test",
+            copy.getCalendarSettings().getExchangeCalendarSettings().getEmail());
+        Assert.assertEquals("Wrong value", "token",
+            copy.getCalendarSettings().getGoogleCalendarSettings().getRefreshToken());
+
+        copy.getMailSettings().setHost("other.test");
+        copy.getCalendarSettings().getGoogleCalendarSettings().setRefreshToken("other");
+
+        Assert.assertEquals("Original changed", "mail.test", settings.getMailSettings().getHost());
+        Assert.assertEquals("Original changed", "token",
+            settings.getCalendarSettings().getGoogleCalendarSettings().getRefreshToken());
+    }
 }
@@ -6,6 +6,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
@@ -15,17 +16,14 @@ import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.settings.Settings;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.core.sicknote.statistics.SickNoteStatisticsService;
 import org.synyx.urlaubsverwaltung.core.sync.CalendarSyncService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
-import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMapping;
-import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMappingService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceType;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.util.Optional;
 
-import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 
 
@@ -42,8 +40,8 @@ public class SickNoteInteractionServiceImplTest {
     private SickNoteCommentService commentService;
     private ApplicationInteractionService applicationInteractionService;
     private CalendarSyncService calendarSyncService;
-    private AbsenceMappingService absenceMappingService;
     private SettingsService settingsService;
+    private SickNoteStatisticsService sickNoteStatisticsService;
 
     private SickNote sickNote;
     private Person person;
@@ -55,16 +53,14 @@ public class SickNoteInteractionServiceImplTest {
         commentService = Mockito.mock(SickNoteCommentService.class);
         applicationInteractionService = Mockito.mock(ApplicationInteractionService.class);
         calendarSyncService = Mockito.mock(CalendarSyncService.class);
-        absenceMappingService = Mockito.mock(AbsenceMappingService.class);
         settingsService = Mockito.mock(SettingsService.class);
+        sickNoteStatisticsService = Mockito.mock(SickNoteStatisticsService.class);
 
-        Mockito.when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(Optional.of("42"));
-        Mockito.when(absenceMappingService.getAbsenceByIdAndType(anyInt(), eq(AbsenceType.SICKNOTE)))
-            .thenReturn(Optional.of(new AbsenceMapping(1, AbsenceType.VACATION, "42")));
         Mockito.when(settingsService.getSettings()).thenReturn(new Settings());
+        Mockito.when(sickNoteService.getById(Mockito.anyInt())).thenReturn(Optional.empty());
 
         sickNoteInteractionService = new SickNoteInteractionServiceImpl(sickNoteService, commentService,
-                applicationInteractionService, calendarSyncService, absenceMappingService, settingsService);
+                applicationInteractionService, calendarSyncService, settingsService, sickNoteStatisticsService);
 
         sickNote = new SickNote();
         sickNote.setId(42);
@@ -93,14 +89,35 @@ public class SickNoteInteractionServiceImplTest {
     }
 
 
+    @Test
+    public void ensureCreatedSickNoteHasDurationDays() {
+
+        sickNote.setEndDate(sickNote.getStartDate().plusDays(42));
+
+        SickNote createdSickNote = sickNoteInteractionService.create(sickNote, person);
+
+        Assert.assertEquals("Wrong duration", Integer.valueOf(42), createdSickNote.getDurationDays());
+    }
+
+
+    @Test
+    public void ensureCreatedSickNoteIsAddedToStatistics() {
+
+        sickNoteInteractionService.create(sickNote, person);
+
+        InOrder inOrder = Mockito.inOrder(sickNoteService, sickNoteStatisticsService);
+        inOrder.verify(sickNoteService).save(sickNote);
+        inOrder.verify(sickNoteStatisticsService).addSickNote(sickNote);
+    }
+
+
     @Test
     public void ensureCreatingSickNoteAddsEventToCalendar() throws Exception {
 
         sickNoteInteractionService.create(sickNote, person);
 
-        Mockito.verify(calendarSyncService).addAbsence(Mockito.any(Absence.class));
-        Mockito.verify(absenceMappingService)
-            .create(Mockito.eq(sickNote.getId()), eq(AbsenceType.SICKNOTE), Mockito.anyString());
+        Mockito.verify(calendarSyncService)
+            .addAbsence(Mockito.eq(sickNote.getId()), eq(AbsenceType.SICKNOTE), Mockito.any(Absence.class));
     }
 
 
@@ -119,13 +136,43 @@ public class SickNoteInteractionServiceImplTest {
     }
 
 
+    @Test
+    public void ensureUpdatedSickNoteHasDurationDays() {
+
+        sickNote.updateDurationDays();
+        sickNote.setEndDate(sickNote.getStartDate().plusDays(7));
+
+        SickNote updatedSickNote = sickNoteInteractionService.update(sickNote, person);
+
+        Assert.assertEquals("Wrong duration", Integer.valueOf(7), updatedSickNote.getDurationDays());
+    }
+
+
+    @Test
+    public void ensureUpdatedSickNoteReplacesStoredSickNoteInStatistics() {
+
+        SickNote storedSickNote = new SickNote();
+        storedSickNote.setId(sickNote.getId());
+        storedSickNote.setStatus(SickNoteStatus.ACTIVE);
+
+        Mockito.when(sickNoteService.getById(sickNote.getId())).thenReturn(Optional.of(storedSickNote));
+
+        sickNoteInteractionService.update(sickNote, person);
+
+        InOrder inOrder = Mockito.inOrder(sickNoteService, sickNoteStatisticsService);
+        inOrder.verify(sickNoteStatisticsService).removeSickNote(storedSickNote);
+        inOrder.verify(sickNoteService).save(sickNote);
+        inOrder.verify(sickNoteStatisticsService).addSickNote(sickNote);
+    }
+
+
     @Test
     public void ensureUpdatingSickNoteUpdatesCalendarEvent() throws Exception {
 
         sickNoteInteractionService.update(sickNote, person);
 
-        Mockito.verify(calendarSyncService).update(Mockito.any(Absence.class), Mockito.anyString());
-        Mockito.verify(absenceMappingService).getAbsenceByIdAndType(anyInt(), Mockito.eq(AbsenceType.SICKNOTE));
+        Mockito.verify(calendarSyncService)
+            .updateAbsence(Mockito.eq(sickNote.getId()), eq(AbsenceType.SICKNOTE), Mockito.any(Absence.class));
     }
 
 
@@ -144,14 +191,28 @@ public class SickNoteInteractionServiceImplTest {
     }
 
 
+    @Test
+    public void ensureCancelledSickNoteIsRemovedFromStatisticsWhileStillActive() {
+
+        Mockito.doAnswer(invocation -> {
+                Assert.assertTrue("Should still be active", ((SickNote) invocation.getArguments()[0]).isActive());
+
+                return null;
+            }).when(sickNoteStatisticsService).removeSickNote(sickNote);
+
+        sickNoteInteractionService.cancel(sickNote, person);
+
+        Mockito.verify(sickNoteStatisticsService).removeSickNote(sickNote);
+        Mockito.verify(sickNoteStatisticsService, Mockito.never()).addSickNote(Mockito.any(SickNote.class));
+    }
+
+
     @Test
     public void ensureCancellingSickNoteDeletesCalendarEvent() throws Exception {
 
         sickNoteInteractionService.cancel(sickNote, person);
 
-        Mockito.verify(absenceMappingService).getAbsenceByIdAndType(Mockito.anyInt(), Mockito.eq(AbsenceType.SICKNOTE));
-        Mockito.verify(calendarSyncService).deleteAbsence(Mockito.anyString());
-        Mockito.verify(absenceMappingService).delete(Mockito.any(AbsenceMapping.class));
+        Mockito.verify(calendarSyncService).deleteAbsence(sickNote.getId(), AbsenceType.SICKNOTE);
     }
 
 
@@ -180,11 +241,14 @@ public class SickNoteInteractionServiceImplTest {
 
         // assert application for leave correctly created
         Mockito.verify(applicationInteractionService).createFromConvertedSickNote(applicationForLeave, person);
+
+        // assert sick note removed from statistics
+        Mockito.verify(sickNoteStatisticsService).removeSickNote(sickNote);
     }
 
 
     @Test
-    public void ensureConvertingSickNoteToVacationUpdatesCalendarEvent() throws Exception {
+    public void ensureConvertingSickNoteToVacationReplacesCalendarEvent() throws Exception {
 
         Application applicationForLeave = new Application();
         applicationForLeave.setStartDate(DateMidnight.now());
@@ -193,16 +257,10 @@ public class SickNoteInteractionServiceImplTest {
         applicationForLeave.setDayLength(DayLength.FULL);
         applicationForLeave.setPerson(TestDataCreator.createPerson());
 
-        AbsenceMapping absenceMapping = new AbsenceMapping();
-        Mockito.when(absenceMappingService.getAbsenceByIdAndType(Mockito.anyInt(), Mockito.eq(AbsenceType.SICKNOTE)))
-            .thenReturn(Optional.of(absenceMapping));
-
         sickNoteInteractionService.convert(sickNote, applicationForLeave, person);
 
-        Mockito.verify(absenceMappingService).getAbsenceByIdAndType(Mockito.anyInt(), Mockito.eq(AbsenceType.SICKNOTE));
-        Mockito.verify(calendarSyncService).update(Mockito.any(Absence.class), Mockito.anyString());
-        Mockito.verify(absenceMappingService).delete(Mockito.eq(absenceMapping));
-        Mockito.verify(absenceMappingService)
-            .create(Mockito.anyInt(), Mockito.eq(AbsenceType.VACATION), Mockito.anyString());
+        Mockito.verify(calendarSyncService).deleteAbsence(sickNote.getId(), AbsenceType.SICKNOTE);
+        Mockito.verify(calendarSyncService)
+            .addAbsence(Mockito.any(Integer.class), Mockito.eq(AbsenceType.VACATION), Mockito.any(Absence.class));
     }
 }
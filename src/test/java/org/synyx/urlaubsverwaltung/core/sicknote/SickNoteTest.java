@@ -151,4 +151,24 @@ public class SickNoteTest {
         Assert.assertEquals("Wrong period end date", endDate, period.getEndDate());
         Assert.assertEquals("Wrong period day length", DayLength.FULL, period.getDayLength());
     }
+
+
+    @Test
+    public void ensureUpdatesDurationDaysToNumberOfDaysBetweenStartAndEndDate() {
+
+        SickNote sickNote = new SickNote();
+        sickNote.setStartDate(new DateMidnight(2016, 12, 30));
+        sickNote.setEndDate(new DateMidnight(2017, 1, 3));
+
+        Assert.assertNull("Duration should not be set yet", sickNote.getDurationDays());
+
+        sickNote.updateDurationDays();
+
+        Assert.assertEquals("Wrong duration", Integer.valueOf(4), sickNote.getDurationDays());
+
+        sickNote.setEndDate(null);
+        sickNote.updateDurationDays();
+
+        Assert.assertNull("Duration should not be set without end date", sickNote.getDurationDays());
+    }
 }
@@ -0,0 +1,344 @@
+package org.synyx.urlaubsverwaltung.core.sicknote.statistics;
+
+import org.joda.time.DateMidnight;
+import org.joda.time.DateTimeConstants;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import org.synyx.urlaubsverwaltung.core.period.DayLength;
+import org.synyx.urlaubsverwaltung.core.settings.FederalState;
+import org.synyx.urlaubsverwaltung.core.settings.Settings;
+import org.synyx.urlaubsverwaltung.core.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteDAO;
+import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteStatus;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkDaysService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeUpdatedEvent;
+import org.synyx.urlaubsverwaltung.test.TestDataCreator;
+
+import java.math.BigDecimal;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+
+/**
+ * Unit test for {@link SickNoteStatisticsService}.
+ */
+public class SickNoteStatisticsServiceTest {
+
+    private SickNoteStatisticsService statisticsService;
+
+    private SickNoteDAO sickNoteDAO;
+    private SickNoteTotalsDAO sickNoteTotalsDAO;
+    private WorkDaysService calendarService;
+
+    private SickNote sickNote;
+
+    @Before
+    public void setUp() {
+
+        sickNoteDAO = Mockito.mock(SickNoteDAO.class);
+        sickNoteTotalsDAO = Mockito.mock(SickNoteTotalsDAO.class);
+        calendarService = Mockito.mock(WorkDaysService.class);
+
+        statisticsService = new SickNoteStatisticsService(sickNoteDAO, sickNoteTotalsDAO, calendarService,
+                Mockito.mock(PlatformTransactionManager.class));
+
+        sickNote = new SickNote();
+        sickNote.setPerson(TestDataCreator.createPerson());
+        sickNote.setStatus(SickNoteStatus.ACTIVE);
+        sickNote.setDayLength(DayLength.FULL);
+        sickNote.setStartDate(new DateMidnight(2015, DateTimeConstants.DECEMBER, 28));
+        sickNote.setEndDate(new DateMidnight(2016, DateTimeConstants.JANUARY, 5));
+
+        Mockito.when(calendarService.getWorkDays(DayLength.FULL, sickNote.getStartDate(),
+                    new DateMidnight(2015, DateTimeConstants.DECEMBER, 31), sickNote.getPerson()))
+            .thenReturn(new BigDecimal("4"));
+        Mockito.when(calendarService.getWorkDays(DayLength.FULL, new DateMidnight(2016, DateTimeConstants.JANUARY, 1),
+                    sickNote.getEndDate(), sickNote.getPerson()))
+            .thenReturn(new BigDecimal("3"));
+        Mockito.when(sickNoteDAO.findAllActiveByYear(Mockito.any(Date.class), Mockito.any(Date.class)))
+            .thenReturn(Collections.singletonList(sickNote));
+        Mockito.when(sickNoteDAO.findNumberOfPersonsWithMinimumOneSickNote(Mockito.any(Date.class),
+                    Mockito.any(Date.class)))
+            .thenReturn(1L);
+    }
+
+
+    private static SickNoteTotals calculatedTotals(int year, int numberOfSickNotes, String numberOfSickDays) {
+
+        SickNoteTotals totals = new SickNoteTotals(year);
+        totals.setNumbersOf(new SickNoteStatistics(year, numberOfSickNotes, new BigDecimal(numberOfSickDays), 0L));
+
+        return totals;
+    }
+
+
+    @Test
+    public void ensureCreatesStatisticsFromStoredTotals() {
+
+        SickNoteTotals totals = calculatedTotals(2016, 5, "12.5");
+
+        Mockito.when(sickNoteTotalsDAO.findByYear(2016)).thenReturn(totals);
+        Mockito.when(sickNoteDAO.findNumberOfPersonsWithMinimumOneSickNote(new DateMidnight(2016, 1, 1).toDate(),
+                    new DateMidnight(2017, 1, 1).toDate()))
+            .thenReturn(3L);
+
+        SickNoteStatistics statistics = statisticsService.createStatistics(2016);
+
+        Assert.assertEquals("Wrong year", 2016, statistics.getYear());
+        Assert.assertEquals("Wrong number of sick notes", 5, statistics.getTotalNumberOfSickNotes());
+        Assert.assertEquals("Wrong number of sick days", new BigDecimal("12.5"), statistics.getTotalNumberOfSickDays());
+        Assert.assertEquals("Wrong number of persons", Long.valueOf(3),
+            statistics.getNumberOfPersonsWithMinimumOneSickNote());
+
+        Mockito.verify(sickNoteDAO, Mockito.never())
+            .findAllActiveByYear(Mockito.any(Date.class), Mockito.any(Date.class));
+        Mockito.verifyZeroInteractions(calendarService);
+    }
+
+
+    @Test
+    public void ensureCalculatesAndStoresTotalsIfThereAreNoStoredTotals() {
+
+        SickNoteTotals stored = new SickNoteTotals(2016);
+
+        Mockito.when(sickNoteTotalsDAO.findByYearForUpdate(2016)).thenReturn(stored);
+
+        SickNoteStatistics statistics = statisticsService.createStatistics(2016);
+
+        Assert.assertEquals("Wrong number of sick notes", 1, statistics.getTotalNumberOfSickNotes());
+        Assert.assertEquals("Wrong number of sick days", new BigDecimal("3"), statistics.getTotalNumberOfSickDays());
+
+        ArgumentCaptor<SickNoteTotals> totalsCaptor = ArgumentCaptor.forClass(SickNoteTotals.class);
+        Mockito.verify(sickNoteTotalsDAO, Mockito.times(2)).save(totalsCaptor.capture());
+
+        List<SickNoteTotals> savedTotals = totalsCaptor.getAllValues();
+        Assert.assertEquals("Wrong year", 2016, savedTotals.get(0).getYear());
+        Assert.assertNotSame("Should store new totals", stored, savedTotals.get(0));
+        Assert.assertSame("Should calculate the locked totals", stored, savedTotals.get(1));
+
+        Assert.assertTrue("Should be calculated", stored.isCalculated());
+        Assert.assertEquals("Wrong number of sick notes", 1, stored.getNumberOfSickNotes());
+        Assert.assertEquals("Wrong number of sick days", new BigDecimal("3"), stored.getNumberOfSickDays());
+    }
+
+
+    @Test
+    public void ensureLocksTotalsBeforeCalculatingThem() {
+
+        Mockito.when(sickNoteTotalsDAO.findByYearForUpdate(2016)).thenReturn(new SickNoteTotals(2016));
+
+        statisticsService.createStatistics(2016);
+
+        InOrder inOrder = Mockito.inOrder(sickNoteTotalsDAO, sickNoteDAO);
+        inOrder.verify(sickNoteTotalsDAO).countByYear(2016);
+        inOrder.verify(sickNoteTotalsDAO).save(Mockito.any(SickNoteTotals.class));
+        inOrder.verify(sickNoteTotalsDAO).findByYearForUpdate(2016);
+        inOrder.verify(sickNoteDAO).findAllActiveByYear(Mockito.any(Date.class), Mockito.any(Date.class));
+    }
+
+
+    @Test
+    public void ensureCalculatesStoredTotalsThatAreNotCalculatedYet() {
+
+        SickNoteTotals stored = new SickNoteTotals(2016);
+
+        Mockito.when(sickNoteTotalsDAO.findByYear(2016)).thenReturn(stored);
+        Mockito.when(sickNoteTotalsDAO.countByYear(2016)).thenReturn(1L);
+        Mockito.when(sickNoteTotalsDAO.findByYearForUpdate(2016)).thenReturn(stored);
+
+        SickNoteStatistics statistics = statisticsService.createStatistics(2016);
+
+        Assert.assertEquals("Wrong number of sick notes", 1, statistics.getTotalNumberOfSickNotes());
+        Assert.assertTrue("Should be calculated", stored.isCalculated());
+
+        Mockito.verify(sickNoteTotalsDAO).save(stored);
+        Mockito.verify(sickNoteTotalsDAO).save(Mockito.any(SickNoteTotals.class));
+    }
+
+
+    @Test
+    public void ensureUsesTotalsStoredConcurrentlyIfStoringTotalsFails() {
+
+        SickNoteTotals storedConcurrently = new SickNoteTotals(2016);
+
+        Mockito.when(sickNoteTotalsDAO.save(Mockito.any(SickNoteTotals.class)))
+            .thenThrow(new DataIntegrityViolationException("UK_SickNoteTotals_year"))
+            .thenReturn(storedConcurrently);
+        Mockito.when(sickNoteTotalsDAO.findByYearForUpdate(2016)).thenReturn(storedConcurrently);
+
+        SickNoteStatistics statistics = statisticsService.createStatistics(2016);
+
+        Assert.assertEquals("Wrong number of sick notes", 1, statistics.getTotalNumberOfSickNotes());
+        Assert.assertTrue("Should be calculated", storedConcurrently.isCalculated());
+        Assert.assertEquals("Wrong number of sick days", new BigDecimal("3"),
+            storedConcurrently.getNumberOfSickDays());
+    }
+
+
+    @Test
+    public void ensureRecalculatingStatisticsCorrectsStoredTotals() {
+
+        SickNoteTotals totals = calculatedTotals(2016, 2, "10");
+
+        Mockito.when(sickNoteTotalsDAO.countByYear(2016)).thenReturn(1L);
+        Mockito.when(sickNoteTotalsDAO.findByYearForUpdate(2016)).thenReturn(totals);
+
+        statisticsService.recalculateStatistics(2016);
+
+        Assert.assertEquals("Wrong number of sick notes", 1, totals.getNumberOfSickNotes());
+        Assert.assertEquals("Wrong number of sick days", new BigDecimal("3"), totals.getNumberOfSickDays());
+
+        Mockito.verify(sickNoteTotalsDAO).save(totals);
+        Mockito.verify(sickNoteTotalsDAO).save(Mockito.any(SickNoteTotals.class));
+    }
+
+
+    @Test
+    public void ensureReturnsYearsOfStoredTotals() {
+
+        Mockito.when(sickNoteTotalsDAO.findYears()).thenReturn(Collections.singletonList(2016));
+
+        Assert.assertEquals("Wrong years", Collections.singletonList(2016), statisticsService.getYearsOfTotals());
+    }
+
+
+    @Test
+    public void ensureAddsSickNoteToTotalsOfStartAndEndYear() {
+
+        SickNoteTotals totals2015 = calculatedTotals(2015, 0, "0");
+        SickNoteTotals totals2016 = calculatedTotals(2016, 1, "2");
+
+        Mockito.when(sickNoteTotalsDAO.countByYear(Mockito.anyInt())).thenReturn(1L);
+        Mockito.when(sickNoteTotalsDAO.findByYearForUpdate(2015)).thenReturn(totals2015);
+        Mockito.when(sickNoteTotalsDAO.findByYearForUpdate(2016)).thenReturn(totals2016);
+
+        statisticsService.addSickNote(sickNote);
+
+        Assert.assertEquals("Wrong number of sick notes", 1, totals2015.getNumberOfSickNotes());
+        Assert.assertEquals("Wrong number of sick days", new BigDecimal("4"), totals2015.getNumberOfSickDays());
+        Assert.assertEquals("Wrong number of sick notes", 2, totals2016.getNumberOfSickNotes());
+        Assert.assertEquals("Wrong number of sick days", new BigDecimal("5"), totals2016.getNumberOfSickDays());
+
+        Mockito.verify(sickNoteTotalsDAO).save(totals2015);
+        Mockito.verify(sickNoteTotalsDAO).save(totals2016);
+    }
+
+
+    @Test
+    public void ensureRemovesSickNoteFromTotals() {
+
+        SickNoteTotals totals2016 = calculatedTotals(2016, 2, "5");
+
+        Mockito.when(sickNoteTotalsDAO.countByYear(Mockito.anyInt())).thenReturn(1L);
+        Mockito.when(sickNoteTotalsDAO.findByYearForUpdate(2016)).thenReturn(totals2016);
+
+        statisticsService.removeSickNote(sickNote);
+
+        Assert.assertEquals("Wrong number of sick notes", 1, totals2016.getNumberOfSickNotes());
+        Assert.assertEquals("Wrong number of sick days", new BigDecimal("2"), totals2016.getNumberOfSickDays());
+
+        Mockito.verify(sickNoteTotalsDAO).save(totals2016);
+        Mockito.verify(sickNoteTotalsDAO).save(Mockito.any(SickNoteTotals.class));
+    }
+
+
+    @Test
+    public void ensureLocksButDoesNotUpdateTotalsThatAreNotCalculatedYet() {
+
+        SickNoteTotals totals2016 = new SickNoteTotals(2016);
+
+        Mockito.when(sickNoteTotalsDAO.countByYear(Mockito.anyInt())).thenReturn(1L);
+        Mockito.when(sickNoteTotalsDAO.findByYearForUpdate(2016)).thenReturn(totals2016);
+
+        statisticsService.addSickNote(sickNote);
+
+        Assert.assertEquals("Wrong number of sick notes", 0, totals2016.getNumberOfSickNotes());
+
+        Mockito.verify(sickNoteTotalsDAO).findByYearForUpdate(2015);
+        Mockito.verify(sickNoteTotalsDAO).findByYearForUpdate(2016);
+        Mockito.verify(sickNoteTotalsDAO, Mockito.never()).save(Mockito.any(SickNoteTotals.class));
+    }
+
+
+    @Test
+    public void ensureStoresAndLocksMissingTotalsBeforeSkippingTheUpdate() {
+
+        SickNoteTotals stored = new SickNoteTotals(2016);
+
+        Mockito.when(sickNoteTotalsDAO.findByYearForUpdate(2016)).thenReturn(stored);
+
+        statisticsService.removeSickNote(sickNote);
+
+        ArgumentCaptor<SickNoteTotals> totalsCaptor = ArgumentCaptor.forClass(SickNoteTotals.class);
+        Mockito.verify(sickNoteTotalsDAO, Mockito.times(2)).save(totalsCaptor.capture());
+
+        Assert.assertEquals("Wrong year", 2015, totalsCaptor.getAllValues().get(0).getYear());
+        Assert.assertEquals("Wrong year", 2016, totalsCaptor.getAllValues().get(1).getYear());
+        Assert.assertFalse("Should not be calculated", totalsCaptor.getAllValues().get(1).isCalculated());
+        Assert.assertEquals("Wrong number of sick notes", 0, stored.getNumberOfSickNotes());
+
+        InOrder inOrder = Mockito.inOrder(sickNoteTotalsDAO);
+        inOrder.verify(sickNoteTotalsDAO).save(Mockito.any(SickNoteTotals.class));
+        inOrder.verify(sickNoteTotalsDAO).findByYearForUpdate(2015);
+    }
+
+
+    @Test
+    public void ensureIgnoresInactiveSickNote() {
+
+        sickNote.setStatus(SickNoteStatus.CANCELLED);
+
+        statisticsService.addSickNote(sickNote);
+        statisticsService.removeSickNote(sickNote);
+
+        Mockito.verifyZeroInteractions(sickNoteTotalsDAO, calendarService);
+    }
+
+
+    @Test
+    public void ensureRemovesAllTotalsAfterWorkingTimeOrSettingsHaveBeenUpdated() {
+
+        statisticsService.onWorkingTimeUpdated(new WorkingTimeUpdatedEvent(TestDataCreator.createPerson()));
+        statisticsService.onSettingsUpdated(new SettingsUpdatedEvent(null, new Settings()));
+
+        Mockito.verify(sickNoteTotalsDAO, Mockito.times(2)).deleteAllInBatch();
+    }
+
+
+    @Test
+    public void ensureRemovesAllTotalsAfterFederalStateHasBeenUpdated() {
+
+        Settings settings = new Settings();
+        settings.getWorkingTimeSettings().setFederalState(FederalState.BAYERN);
+
+        statisticsService.onSettingsUpdated(new SettingsUpdatedEvent(new Settings(), settings));
+
+        Mockito.verify(sickNoteTotalsDAO).deleteAllInBatch();
+    }
+
+
+    @Test
+    public void ensureKeepsTotalsAfterSettingsNotAffectingWorkDaysHaveBeenUpdated() {
+
+        Settings settings = new Settings();
+        settings.getMailSettings().setActive(true);
+
+        statisticsService.onSettingsUpdated(new SettingsUpdatedEvent(new Settings(), settings));
+
+        Mockito.verify(sickNoteTotalsDAO, Mockito.never()).deleteAllInBatch();
+    }
+}
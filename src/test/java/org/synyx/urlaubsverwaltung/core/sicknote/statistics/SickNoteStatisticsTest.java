@@ -55,8 +55,12 @@ public class SickNoteStatisticsTest {
         sickNotes.add(sickNote1);
         sickNotes.add(sickNote2);
 
-        Mockito.when(sickNoteDAO.findNumberOfPersonsWithMinimumOneSickNote(2013)).thenReturn(7L);
-        Mockito.when(sickNoteDAO.findAllActiveByYear(2013)).thenReturn(sickNotes);
+        Mockito.when(sickNoteDAO.findNumberOfPersonsWithMinimumOneSickNote(new DateMidnight(2013, 1, 1).toDate(),
+                    new DateMidnight(2014, 1, 1).toDate()))
+            .thenReturn(7L);
+        Mockito.when(sickNoteDAO.findAllActiveByYear(new DateMidnight(2013, 1, 1).toDate(),
+                    new DateMidnight(2014, 1, 1).toDate()))
+            .thenReturn(sickNotes);
 
         Mockito.when(calendarService.getWorkDays(DayLength.FULL, new DateMidnight(2013, DateTimeConstants.OCTOBER, 7),
                     new DateMidnight(2013, DateTimeConstants.OCTOBER, 11), person))
@@ -100,7 +104,9 @@ public class SickNoteStatisticsTest {
     @Test
     public void testGetAverageDurationOfDiseasePerPersonDivisionByZero() throws Exception {
 
-        Mockito.when(sickNoteDAO.findNumberOfPersonsWithMinimumOneSickNote(2013)).thenReturn(0L);
+        Mockito.when(sickNoteDAO.findNumberOfPersonsWithMinimumOneSickNote(new DateMidnight(2013, 1, 1).toDate(),
+                    new DateMidnight(2014, 1, 1).toDate()))
+            .thenReturn(0L);
 
         statistics = new SickNoteStatistics(2013, sickNoteDAO, calendarService);
 
@@ -111,7 +117,9 @@ public class SickNoteStatisticsTest {
     @Test(expected = IllegalArgumentException.class)
     public void testGetTotalNumberOfSickDaysInvalidDateRange() throws Exception {
 
-        Mockito.when(sickNoteDAO.findAllActiveByYear(2015)).thenReturn(sickNotes);
+        Mockito.when(sickNoteDAO.findAllActiveByYear(new DateMidnight(2015, 1, 1).toDate(),
+                    new DateMidnight(2016, 1, 1).toDate()))
+            .thenReturn(sickNotes);
 
         statistics = new SickNoteStatistics(2015, sickNoteDAO, calendarService);
 
@@ -4,14 +4,21 @@ import liquibase.util.csv.CSVWriter;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.context.MessageSource;
+import org.synyx.urlaubsverwaltung.core.application.domain.VacationCategory;
+import org.synyx.urlaubsverwaltung.core.application.domain.VacationType;
 import org.synyx.urlaubsverwaltung.core.application.service.VacationTypeService;
 import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 import org.synyx.urlaubsverwaltung.web.statistics.ApplicationForLeaveStatistics;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.*;
@@ -44,7 +51,7 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImplTest {
     }
 
     @Test
-    public void writeStatisticsForOnePersonFor2018() {
+    public void writeStatisticsForOnePersonFor2018() throws IOException {
         FilterPeriod period = new FilterPeriod(
                 java.util.Optional.ofNullable("01.01.2018"),
                 java.util.Optional.ofNullable("31.12.2018"));
@@ -75,7 +82,7 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImplTest {
 
         mockMessageSource("applications.statistics.total");
 
-        sut.writeStatistics(period, statistics, csvWriter);
+        sut.writeStatistics(period, statistics.stream(), csvWriter);
 
         verify(csvWriter, times(1))
                 .writeNext(new String[]{"{absence.period}: 01.01.2018 - 31.12.2018"});
@@ -88,7 +95,7 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImplTest {
     }
 
     @Test
-    public void writeStatisticsForTwoPersonsFor2019() {
+    public void writeStatisticsForTwoPersonsFor2019() throws IOException {
         FilterPeriod period = new FilterPeriod(
                 java.util.Optional.ofNullable("01.01.2019"),
                 java.util.Optional.ofNullable("31.12.2019"));
@@ -124,7 +131,7 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImplTest {
 
         mockMessageSource("applications.statistics.total");
 
-        sut.writeStatistics(period, statistics, csvWriter);
+        sut.writeStatistics(period, statistics.stream(), csvWriter);
 
         verify(csvWriter, times(1))
                 .writeNext(new String[]{"{absence.period}: 01.01.2019 - 31.12.2019"});
@@ -138,6 +145,28 @@ public class ApplicationForLeaveStatisticsCsvExportServiceImplTest {
                 .writeNext(new String[]{"personTwoFirstName", "personTwoLastName", "{applications.statistics.total}", "0", "0", "0", "0"});
     }
 
+    @Test
+    public void writeStatisticsResolvesVacationTypesOnceAndFlushesWrittenRows() throws IOException {
+        FilterPeriod period = new FilterPeriod(
+                java.util.Optional.ofNullable("01.01.2019"),
+                java.util.Optional.ofNullable("31.12.2019"));
+
+        VacationType vacationType = TestDataCreator.createVacationType(VacationCategory.HOLIDAY);
+        when(vacationTypeService.getVacationTypes()).thenReturn(Collections.singletonList(vacationType));
+
+        Stream<ApplicationForLeaveStatistics> statistics = IntStream.range(0, 250)
+                .mapToObj(i -> new ApplicationForLeaveStatistics(TestDataCreator.createPerson("person" + i),
+                        Collections.singletonList(vacationType)));
+
+        CSVWriter csvWriter = mock(CSVWriter.class);
+
+        sut.writeStatistics(period, statistics, csvWriter);
+
+        verify(vacationTypeService, times(1)).getVacationTypes();
+        verify(csvWriter, times(3 + 250 * 2)).writeNext(any(String[].class));
+        verify(csvWriter, times(3)).flush();
+    }
+
     private void mockMessageSource(String key) {
         when(messageSource.getMessage(eq(key), any(), any()))
                 .thenReturn(String.format("{%s}", key));
@@ -13,10 +13,19 @@ import org.synyx.urlaubsverwaltung.web.statistics.ApplicationForLeaveStatisticsB
 
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ApplicationForLeaveStatisticsServiceImplTest {
@@ -63,8 +72,8 @@ public class ApplicationForLeaveStatisticsServiceImplTest {
         Person departmentMember = new Person();
         when(departmentService.getManagedMembersOfDepartmentHead(person)).thenReturn(Collections.singletonList(departmentMember));
 
-        when(applicationForLeaveStatisticsBuilder.build(person, filterPeriod.getStartDate(), filterPeriod.getEndDate()))
-                .thenReturn(mock(ApplicationForLeaveStatistics.class));
+        when(applicationForLeaveStatisticsBuilder.build(Collections.singletonList(departmentMember), filterPeriod.getStartDate(), filterPeriod.getEndDate()))
+                .thenReturn(Collections.singletonList(mock(ApplicationForLeaveStatistics.class)));
 
         List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
 
@@ -83,12 +92,39 @@ public class ApplicationForLeaveStatisticsServiceImplTest {
         Person anyPerson = new Person();
         when(personService.getActivePersons()).thenReturn(Collections.singletonList(anyPerson));
 
-        when(applicationForLeaveStatisticsBuilder.build(person, filterPeriod.getStartDate(), filterPeriod.getEndDate()))
-                .thenReturn(mock(ApplicationForLeaveStatistics.class));
+        when(applicationForLeaveStatisticsBuilder.build(Collections.singletonList(anyPerson), filterPeriod.getStartDate(), filterPeriod.getEndDate()))
+                .thenReturn(Collections.singletonList(mock(ApplicationForLeaveStatistics.class)));
 
         List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
 
         assertThat(statistics.size(), is(1));
     }
 
+    @Test
+    public void streamStatisticsBuildsStatisticsChunkByChunk() throws Exception {
+
+        FilterPeriod filterPeriod = new FilterPeriod(java.util.Optional.ofNullable("01.01.2018"), java.util.Optional.ofNullable("31.12.2018"));
+
+        Person person = new Person();
+        person.setPermissions(Collections.singletonList(Role.OFFICE));
+        when(sessionService.getSignedInUser()).thenReturn(person);
+
+        List<Person> persons = IntStream.range(0, ApplicationForLeaveStatisticsServiceImpl.CHUNK_SIZE * 2 + 1)
+                .mapToObj(i -> new Person())
+                .collect(Collectors.toList());
+        when(personService.getActivePersons()).thenReturn(persons);
+
+        when(applicationForLeaveStatisticsBuilder.build(anyListOf(Person.class), eq(filterPeriod.getStartDate()), eq(filterPeriod.getEndDate())))
+                .thenAnswer(invocation -> ((List<Person>) invocation.getArguments()[0]).stream()
+                        .map(p -> mock(ApplicationForLeaveStatistics.class))
+                        .collect(Collectors.toList()));
+
+        Stream<ApplicationForLeaveStatistics> statistics = sut.streamStatistics(filterPeriod);
+
+        verify(applicationForLeaveStatisticsBuilder, never()).build(anyListOf(Person.class), any(), any());
+
+        assertThat(statistics.count(), is((long) persons.size()));
+
+        verify(applicationForLeaveStatisticsBuilder, times(3)).build(anyListOf(Person.class), eq(filterPeriod.getStartDate()), eq(filterPeriod.getEndDate()));
+    }
 }
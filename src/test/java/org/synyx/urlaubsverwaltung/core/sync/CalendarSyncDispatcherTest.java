@@ -0,0 +1,356 @@
+package org.synyx.urlaubsverwaltung.core.sync;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+import org.springframework.data.domain.Pageable;
+
+import org.synyx.urlaubsverwaltung.core.settings.CalendarSettings;
+import org.synyx.urlaubsverwaltung.core.settings.Settings;
+import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
+import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMapping;
+import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceMappingService;
+import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceType;
+import org.synyx.urlaubsverwaltung.core.sync.absence.EventType;
+import org.synyx.urlaubsverwaltung.core.sync.providers.CalendarProvider;
+import org.synyx.urlaubsverwaltung.core.sync.providers.CalendarSyncException;
+import org.synyx.urlaubsverwaltung.core.sync.providers.EventSyncResult;
+import org.synyx.urlaubsverwaltung.test.TestDataCreator;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+/**
+ * Unit test for {@link CalendarSyncDispatcher}.
+ */
+public class CalendarSyncDispatcherTest {
+
+    private static final int BATCH_SIZE = 10;
+
+    private CalendarSyncJobDAO calendarSyncJobDAO;
+    private AbsenceMappingService absenceMappingService;
+    private CalendarProvider calendarProvider;
+
+    private CalendarSyncDispatcher calendarSyncDispatcher;
+    private Absence absence;
+
+    @Before
+    public void setUp() {
+
+        calendarSyncJobDAO = Mockito.mock(CalendarSyncJobDAO.class);
+        when(calendarSyncJobDAO.lease(any(Integer.class), any(Date.class), any(Date.class))).thenReturn(1);
+        absenceMappingService = Mockito.mock(AbsenceMappingService.class);
+        calendarProvider = Mockito.mock(CalendarProvider.class);
+
+        CalendarService calendarService = Mockito.mock(CalendarService.class);
+        when(calendarService.getCalendarProvider()).thenReturn(calendarProvider);
+
+        Settings settings = new Settings();
+        settings.setCalendarSettings(new CalendarSettings());
+
+        SettingsService settingsService = Mockito.mock(SettingsService.class);
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        when(absenceMappingService.getAbsenceByIdAndType(any(Integer.class), any(AbsenceType.class))).thenReturn(
+            Optional.empty());
+
+        calendarSyncDispatcher = new CalendarSyncDispatcher(calendarSyncJobDAO, absenceMappingService,
+                calendarService, settingsService, Runnable::run, BATCH_SIZE, 3, 60);
+
+        absence = new Absence(TestDataCreator.createPerson(), new Date(0), new Date(1000), false,
+                EventType.ALLOWED_APPLICATION);
+    }
+
+
+    private void queue(CalendarSyncJob... jobs) {
+
+        when(calendarSyncJobDAO.findDue(any(Date.class), any(Pageable.class))).thenReturn(Arrays.asList(jobs));
+    }
+
+
+    @Test
+    public void ensureAddsEventsAtOnceAndCreatesMappings() {
+
+        queue(new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.ADD, absence),
+            new CalendarSyncJob(2, AbsenceType.VACATION, CalendarSyncOperation.ADD, absence));
+
+        when(calendarProvider.addAll(anyListOf(Absence.class), any(CalendarSettings.class))).thenReturn(Arrays.asList(
+                EventSyncResult.succeeded("event-1"), EventSyncResult.succeeded(null)));
+
+        calendarSyncDispatcher.requestDispatch();
+
+        verify(calendarProvider).addAll(anyListOf(Absence.class), any(CalendarSettings.class));
+        verify(absenceMappingService).create(1, AbsenceType.VACATION, "event-1");
+        verify(absenceMappingService, never()).create(Mockito.eq(2), any(AbsenceType.class), Mockito.anyString());
+    }
+
+
+    @Test
+    public void ensureUpdatesMappedEvent() {
+
+        when(absenceMappingService.getAbsenceByIdAndType(1, AbsenceType.VACATION)).thenReturn(Optional.of(
+                new AbsenceMapping(1, AbsenceType.VACATION, "event-1")));
+
+        queue(new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.UPDATE, absence));
+
+        calendarSyncDispatcher.dispatch();
+
+        verify(calendarProvider).update(any(Absence.class), Mockito.eq("event-1"), any(CalendarSettings.class));
+        verify(calendarProvider, never()).addAll(anyListOf(Absence.class), any(CalendarSettings.class));
+    }
+
+
+    @Test
+    public void ensureDeletesMappedEventsAtOnceAndDeletesMappings() {
+
+        AbsenceMapping absenceMapping = new AbsenceMapping(1, AbsenceType.SICKNOTE, "event-1");
+
+        when(absenceMappingService.getAbsenceByIdAndType(1, AbsenceType.SICKNOTE)).thenReturn(Optional.of(
+                absenceMapping));
+
+        queue(new CalendarSyncJob(1, AbsenceType.SICKNOTE, CalendarSyncOperation.DELETE),
+            new CalendarSyncJob(2, AbsenceType.SICKNOTE, CalendarSyncOperation.DELETE));
+
+        when(calendarProvider.deleteAll(anyListOf(String.class), any(CalendarSettings.class))).thenReturn(
+            Collections.singletonList(EventSyncResult.succeeded("event-1")));
+
+        calendarSyncDispatcher.dispatch();
+
+        verify(calendarProvider).deleteAll(Mockito.eq(Collections.singletonList("event-1")),
+            any(CalendarSettings.class));
+        verify(absenceMappingService).delete(absenceMapping);
+    }
+
+
+    @Test
+    public void ensureAbsenceAddedAndDeletedAgainIsNotSynced() {
+
+        queue(new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.ADD, absence),
+            new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.UPDATE, absence),
+            new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.DELETE));
+
+        calendarSyncDispatcher.dispatch();
+
+        Mockito.verifyZeroInteractions(calendarProvider);
+    }
+
+
+    @Test
+    public void ensureDeletesSucceededJobsOnly() {
+
+        AbsenceMapping absenceMapping = new AbsenceMapping(2, AbsenceType.SICKNOTE, "event-2");
+
+        when(absenceMappingService.getAbsenceByIdAndType(2, AbsenceType.SICKNOTE)).thenReturn(Optional.of(
+                absenceMapping));
+
+        CalendarSyncJob failingJob = new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.ADD, absence);
+        CalendarSyncJob succeedingJob = new CalendarSyncJob(2, AbsenceType.SICKNOTE, CalendarSyncOperation.DELETE);
+
+        queue(failingJob, succeedingJob);
+
+        when(calendarProvider.deleteAll(anyListOf(String.class), any(CalendarSettings.class))).thenReturn(
+            Collections.singletonList(EventSyncResult.succeeded("event-2")));
+
+        when(calendarProvider.addAll(anyListOf(Absence.class), any(CalendarSettings.class))).thenThrow(
+            new IllegalStateException("Calendar not reachable"));
+
+        long before = System.currentTimeMillis();
+
+        calendarSyncDispatcher.dispatch();
+
+        verify(calendarSyncJobDAO).delete(Collections.singletonList(succeedingJob));
+        verify(calendarSyncJobDAO).save(Collections.singletonList(failingJob));
+
+        Assert.assertFalse("Should be retried", failingJob.isFailed());
+        Assert.assertEquals("Wrong number of attempts", 1, failingJob.getAttempts());
+        Assert.assertEquals("Wrong error", "Calendar not reachable", failingJob.getLastError());
+        Assert.assertTrue("Next attempt should be delayed",
+            failingJob.getNextAttempt().getTime() >= before + 60 * 1000);
+    }
+
+
+    @Test
+    public void ensureDeletesAddedEventAgainIfMappingCanNotBeCreated() {
+
+        CalendarSyncJob job = new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.ADD, absence);
+
+        queue(job);
+
+        when(calendarProvider.addAll(anyListOf(Absence.class), any(CalendarSettings.class))).thenReturn(
+            Collections.singletonList(EventSyncResult.succeeded("event-1")));
+        when(absenceMappingService.create(1, AbsenceType.VACATION, "event-1")).thenThrow(
+            new IllegalStateException("Database not reachable"));
+
+        calendarSyncDispatcher.dispatch();
+
+        verify(calendarProvider).deleteAll(Mockito.eq(Collections.singletonList("event-1")),
+            any(CalendarSettings.class));
+        verify(calendarSyncJobDAO).save(Collections.singletonList(job));
+        verify(calendarSyncJobDAO, never()).delete(anyListOf(CalendarSyncJob.class));
+    }
+
+
+    @Test
+    public void ensureRetriesJobIfProviderReportsEventAsNotAdded() {
+
+        CalendarSyncJob job = new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.ADD, absence);
+
+        queue(job);
+
+        when(calendarProvider.addAll(anyListOf(Absence.class), any(CalendarSettings.class))).thenReturn(
+            Collections.singletonList(EventSyncResult.failed("Quota exceeded")),
+            Collections.singletonList(EventSyncResult.succeeded("event-1")));
+
+        calendarSyncDispatcher.dispatch();
+
+        verify(absenceMappingService, never()).create(any(Integer.class), any(AbsenceType.class),
+            Mockito.anyString());
+        verify(calendarSyncJobDAO).save(Collections.singletonList(job));
+        verify(calendarSyncJobDAO, never()).delete(anyListOf(CalendarSyncJob.class));
+
+        Assert.assertFalse("Should be retried", job.isFailed());
+        Assert.assertEquals("Wrong number of attempts", 1, job.getAttempts());
+        Assert.assertEquals("Wrong error", "Could not add event: Quota exceeded", job.getLastError());
+
+        calendarSyncDispatcher.dispatch();
+
+        verify(absenceMappingService).create(1, AbsenceType.VACATION, "event-1");
+        verify(calendarSyncJobDAO).delete(Collections.singletonList(job));
+    }
+
+
+    @Test
+    public void ensureKeepsMappingAndRetriesJobIfProviderReportsEventAsNotDeleted() {
+
+        AbsenceMapping absenceMapping = new AbsenceMapping(1, AbsenceType.SICKNOTE, "event-1");
+
+        when(absenceMappingService.getAbsenceByIdAndType(1, AbsenceType.SICKNOTE)).thenReturn(Optional.of(
+                absenceMapping));
+
+        CalendarSyncJob job = new CalendarSyncJob(1, AbsenceType.SICKNOTE, CalendarSyncOperation.DELETE);
+
+        queue(job);
+
+        when(calendarProvider.deleteAll(anyListOf(String.class), any(CalendarSettings.class))).thenReturn(
+            Collections.singletonList(EventSyncResult.failed("Calendar not reachable")));
+
+        calendarSyncDispatcher.dispatch();
+
+        verify(absenceMappingService, never()).delete(any(AbsenceMapping.class));
+        verify(calendarSyncJobDAO).save(Collections.singletonList(job));
+
+        Assert.assertFalse("Should be retried", job.isFailed());
+        Assert.assertEquals("Wrong number of attempts", 1, job.getAttempts());
+    }
+
+
+    @Test
+    public void ensureRetriesJobIfEventCanNotBeUpdated() {
+
+        when(absenceMappingService.getAbsenceByIdAndType(1, AbsenceType.VACATION)).thenReturn(Optional.of(
+                new AbsenceMapping(1, AbsenceType.VACATION, "event-1")));
+
+        CalendarSyncJob job = new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.UPDATE, absence);
+
+        queue(job);
+
+        Mockito.doThrow(new CalendarSyncException("Could not update event event-1", null))
+            .when(calendarProvider)
+            .update(any(Absence.class), Mockito.eq("event-1"), any(CalendarSettings.class));
+
+        calendarSyncDispatcher.dispatch();
+
+        verify(calendarSyncJobDAO).save(Collections.singletonList(job));
+        Assert.assertEquals("Wrong number of attempts", 1, job.getAttempts());
+    }
+
+
+    @Test
+    public void ensureJobIsKeptAsFailedAfterMaximumNumberOfAttempts() {
+
+        CalendarSyncJob job = new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.ADD, absence);
+
+        queue(job);
+
+        when(calendarProvider.addAll(anyListOf(Absence.class), any(CalendarSettings.class))).thenThrow(
+            new IllegalStateException("Calendar not reachable"));
+
+        calendarSyncDispatcher.dispatch();
+        calendarSyncDispatcher.dispatch();
+
+        Assert.assertFalse("Should be retried", job.isFailed());
+
+        calendarSyncDispatcher.dispatch();
+
+        Assert.assertTrue("Should not be retried anymore", job.isFailed());
+        Assert.assertEquals("Wrong number of attempts", 3, job.getAttempts());
+    }
+
+
+    @Test
+    public void ensureSkipsJobsOfAbsenceIfAJobOfTheAbsenceCanNotBeLeased() {
+
+        CalendarSyncJob leasedElsewhere = new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.ADD,
+                absence);
+        leasedElsewhere.postpone(new Date(1000));
+
+        CalendarSyncJob followingJob = new CalendarSyncJob(1, AbsenceType.VACATION, CalendarSyncOperation.DELETE);
+        followingJob.postpone(new Date(2000));
+
+        CalendarSyncJob otherJob = new CalendarSyncJob(2, AbsenceType.VACATION, CalendarSyncOperation.ADD, absence);
+        otherJob.postpone(new Date(3000));
+
+        when(calendarSyncJobDAO.lease(any(Integer.class), Mockito.eq(new Date(1000)), any(Date.class))).thenReturn(0);
+
+        queue(leasedElsewhere, followingJob, otherJob);
+
+        when(calendarProvider.addAll(anyListOf(Absence.class), any(CalendarSettings.class))).thenReturn(
+            Collections.singletonList(EventSyncResult.succeeded("event-2")));
+
+        calendarSyncDispatcher.dispatch();
+
+        verify(calendarSyncJobDAO, never()).lease(any(Integer.class), Mockito.eq(new Date(2000)), any(Date.class));
+        verify(absenceMappingService).create(2, AbsenceType.VACATION, "event-2");
+        verify(absenceMappingService, never()).create(Mockito.eq(1), any(AbsenceType.class), Mockito.anyString());
+        verify(calendarSyncJobDAO).delete(Collections.singletonList(otherJob));
+    }
+
+
+    @Test
+    public void ensureNumberOfFailedJobsIsExposedAsMetric() {
+
+        when(calendarSyncJobDAO.countByFailed(false)).thenReturn(4L);
+        when(calendarSyncJobDAO.countByFailed(true)).thenReturn(1L);
+
+        Collection<Metric<?>> metrics = calendarSyncDispatcher.metrics();
+
+        Assert.assertEquals("Wrong number of pending jobs", 4L, getValue(metrics, "calendar.sync.pending"));
+        Assert.assertEquals("Wrong number of failed jobs", 1L, getValue(metrics, "calendar.sync.failed"));
+    }
+
+
+    private static Number getValue(Collection<Metric<?>> metrics, String name) {
+
+        return metrics.stream()
+            .filter(metric -> metric.getName().equals(name))
+            .findFirst()
+            .map(Metric::getValue)
+            .orElse(null);
+    }
+}
@@ -1,16 +1,26 @@
 package org.synyx.urlaubsverwaltung.core.sync;
 
+import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
 import org.synyx.urlaubsverwaltung.core.settings.CalendarSettings;
-import org.synyx.urlaubsverwaltung.core.settings.ExchangeCalendarSettings;
 import org.synyx.urlaubsverwaltung.core.settings.Settings;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.core.sync.absence.Absence;
+import org.synyx.urlaubsverwaltung.core.sync.absence.AbsenceType;
+import org.synyx.urlaubsverwaltung.core.sync.absence.EventType;
 import org.synyx.urlaubsverwaltung.core.sync.providers.exchange.ExchangeCalendarProvider;
+import org.synyx.urlaubsverwaltung.test.TestDataCreator;
+
+import java.util.Date;
 
 import static org.mockito.Mockito.when;
 
@@ -24,9 +34,12 @@ public class CalendarSyncServiceImplTest {
 
     private SettingsService settingsService;
     private CalendarService calendarService;
+    private CalendarSyncJobDAO calendarSyncJobDAO;
+    private CalendarSyncDispatcher calendarSyncDispatcher;
 
     private CalendarSyncService calendarSyncService;
     private Settings settings;
+    private Absence absence;
 
     @Before
     public void setUp() {
@@ -40,64 +53,94 @@ public class CalendarSyncServiceImplTest {
 
         when(calendarService.getCalendarProvider()).thenReturn(Mockito.mock(ExchangeCalendarProvider.class));
 
-        calendarSyncService = new CalendarSyncServiceImpl(settingsService, calendarService);
+        calendarSyncJobDAO = Mockito.mock(CalendarSyncJobDAO.class);
+        calendarSyncDispatcher = Mockito.mock(CalendarSyncDispatcher.class);
+
+        calendarSyncService = new CalendarSyncServiceImpl(settingsService, calendarService, calendarSyncJobDAO,
+                calendarSyncDispatcher);
 
+        absence = new Absence(TestDataCreator.createPerson(), new Date(0), new Date(1000), false,
+                EventType.SICKNOTE);
     }
 
 
-    @Test
-    public void ensureAddsAbsenceToExchangeCalendar() {
+    @After
+    public void tearDown() {
 
-        ExchangeCalendarSettings calendarSettings = settings.getCalendarSettings().getExchangeCalendarSettings();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
 
-        Absence absence = Mockito.mock(Absence.class);
 
-        calendarSyncService.addAbsence(absence);
+    private CalendarSyncJob getQueuedJob() {
 
-        Mockito.verify(calendarService.getCalendarProvider())
-            .add(Mockito.eq(absence), Mockito.eq(settings.getCalendarSettings()));
+        ArgumentCaptor<CalendarSyncJob> jobCaptor = ArgumentCaptor.forClass(CalendarSyncJob.class);
+        Mockito.verify(calendarSyncJobDAO).save(jobCaptor.capture());
+
+        return jobCaptor.getValue();
     }
 
 
     @Test
-    public void ensureUpdatesAbsenceInExchangeCalendar() {
+    public void ensureQueuesJobToAddAbsence() {
 
-        ExchangeCalendarSettings calendarSettings = settings.getCalendarSettings().getExchangeCalendarSettings();
+        calendarSyncService.addAbsence(42, AbsenceType.SICKNOTE, absence);
 
-        Absence absence = Mockito.mock(Absence.class);
-        String eventId = "event-1";
+        CalendarSyncJob job = getQueuedJob();
+        Assert.assertEquals("Wrong absence id", Integer.valueOf(42), job.getAbsenceId());
+        Assert.assertEquals("Wrong absence type", AbsenceType.SICKNOTE, job.getAbsenceType());
+        Assert.assertEquals("Wrong operation", CalendarSyncOperation.ADD, job.getOperation());
+        Assert.assertTrue("Missing absence", job.getAbsence().isPresent());
+        Assert.assertEquals("Wrong start date", absence.getStartDate(), job.getAbsence().get().getStartDate());
+        Assert.assertEquals("Wrong subject", absence.getEventSubject(), job.getAbsence().get().getEventSubject());
+    }
 
-        calendarSyncService.update(absence, eventId);
 
-        Mockito.verify(calendarService.getCalendarProvider())
-            .update(Mockito.eq(absence), Mockito.eq(eventId), Mockito.eq(settings.getCalendarSettings()));
+    @Test
+    public void ensureQueuesJobToUpdateAbsence() {
+
+        calendarSyncService.updateAbsence(42, AbsenceType.VACATION, absence);
+
+        CalendarSyncJob job = getQueuedJob();
+        Assert.assertEquals("Wrong operation", CalendarSyncOperation.UPDATE, job.getOperation());
+        Assert.assertEquals("Wrong absence type", AbsenceType.VACATION, job.getAbsenceType());
     }
 
 
     @Test
-    public void ensureDeletedAbsenceInExchangeCalendar() {
+    public void ensureQueuesJobToDeleteAbsence() {
 
-        ExchangeCalendarSettings calendarSettings = settings.getCalendarSettings().getExchangeCalendarSettings();
+        calendarSyncService.deleteAbsence(42, AbsenceType.VACATION);
 
-        String eventId = "event-1";
+        CalendarSyncJob job = getQueuedJob();
+        Assert.assertEquals("Wrong operation", CalendarSyncOperation.DELETE, job.getOperation());
+        Assert.assertFalse("Absence should be empty", job.getAbsence().isPresent());
+    }
 
-        calendarSyncService.deleteAbsence(eventId);
 
-        Mockito.verify(calendarService.getCalendarProvider())
-            .delete(Mockito.eq(eventId), Mockito.eq(settings.getCalendarSettings()));
+    @Test
+    public void ensureJobsAreProcessedAfterTransactionCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        calendarSyncService.addAbsence(42, AbsenceType.SICKNOTE, absence);
+        calendarSyncService.deleteAbsence(42, AbsenceType.SICKNOTE);
+
+        Mockito.verifyZeroInteractions(calendarSyncDispatcher);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Mockito.verify(calendarSyncDispatcher, Mockito.times(2)).requestDispatch();
     }
 
 
     @Test
     public void ensureChecksExchangeCalendarSettings() {
 
-        ExchangeCalendarSettings calendarSettings = settings.getCalendarSettings().getExchangeCalendarSettings();
-
         calendarSyncService.checkCalendarSyncSettings();
 
         Mockito.verify(calendarService.getCalendarProvider())
                 .checkCalendarSyncSettings(Mockito.any(CalendarSettings.class));
     }
-
-
 }
@@ -0,0 +1,97 @@
+package org.synyx.urlaubsverwaltung.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Unit test for {@link ExpiringCache}.
+ */
+public class ExpiringCacheTest {
+
+    @Test
+    public void ensureValueIsLoadedOnlyOnceWithinTimeToLive() {
+
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>("test", 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assert.assertEquals("Wrong value", Integer.valueOf(1), cache.get("key", key -> loads.incrementAndGet()));
+        Assert.assertEquals("Wrong value", Integer.valueOf(1), cache.get("key", key -> loads.incrementAndGet()));
+
+        Assert.assertEquals("Wrong number of loads", 1, loads.get());
+    }
+
+
+    @Test
+    public void ensureValueIsReloadedAfterTimeToLive() {
+
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>("test", 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", key -> loads.incrementAndGet());
+        cache.get("key", key -> loads.incrementAndGet());
+
+        Assert.assertEquals("Wrong number of loads", 2, loads.get());
+    }
+
+
+    @Test
+    public void ensureValueIsReloadedAfterInvalidation() {
+
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>("test", 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", key -> loads.incrementAndGet());
+        cache.invalidate("key");
+
+        Assert.assertEquals("Wrong value", Integer.valueOf(2), cache.get("key", key -> loads.incrementAndGet()));
+    }
+
+
+    @Test
+    public void ensureValueLoadedDuringInvalidationIsNotCached() {
+
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>("test", 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", key -> {
+            cache.invalidateAll();
+
+            return loads.incrementAndGet();
+        });
+
+        Assert.assertEquals("Wrong value", Integer.valueOf(2), cache.get("key", key -> loads.incrementAndGet()));
+    }
+
+
+    @Test
+    public void ensureExposesHitsAndMissesAsMetrics() {
+
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>("test", 60);
+
+        cache.get("key", key -> 1);
+        cache.get("key", key -> 1);
+        cache.get("key", key -> 1);
+
+        Collection<Metric<?>> metrics = cache.metrics();
+
+        Assert.assertEquals("Wrong number of hits", 2L, getValue(metrics, "test.cache.hits"));
+        Assert.assertEquals("Wrong number of misses", 1L, getValue(metrics, "test.cache.misses"));
+        Assert.assertEquals("Wrong size", 1, getValue(metrics, "test.cache.size"));
+    }
+
+
+    private static Number getValue(Collection<Metric<?>> metrics, String name) {
+
+        return metrics.stream()
+            .filter(metric -> metric.getName().equals(name))
+            .findFirst()
+            .map(Metric::getValue)
+            .orElse(null);
+    }
+}
@@ -0,0 +1,53 @@
+package org.synyx.urlaubsverwaltung.core.util;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Unit test for {@link TransactionUtil}.
+ */
+public class TransactionUtilTest {
+
+    @After
+    public void tearDown() {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+
+    @Test
+    public void ensureRunsActionImmediatelyWithoutTransaction() {
+
+        AtomicInteger runs = new AtomicInteger();
+
+        TransactionUtil.afterCommit(runs::incrementAndGet);
+
+        Assert.assertEquals("Wrong number of runs", 1, runs.get());
+    }
+
+
+    @Test
+    public void ensureRunsActionOnlyAfterCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        AtomicInteger runs = new AtomicInteger();
+
+        TransactionUtil.afterCommit(runs::incrementAndGet);
+
+        Assert.assertEquals("Should not run before commit", 0, runs.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Assert.assertEquals("Wrong number of runs", 1, runs.get());
+    }
+}
@@ -1,8 +1,11 @@
 
 package org.synyx.urlaubsverwaltung.core.workingtime;
 
+import de.jollyday.Holiday;
+
 import org.joda.time.DateMidnight;
 import org.joda.time.DateTimeConstants;
+import org.joda.time.LocalDate;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -19,6 +22,9 @@ import java.io.IOException;
 
 import java.math.BigDecimal;
 
+import java.util.Set;
+import java.util.stream.Collectors;
+
 
 /**
  * Unit test for {@link PublicHolidaysService}.
@@ -273,4 +279,57 @@ public class PublicHolidaysServiceTest {
 
         Assert.assertEquals("Wrong working duration", BigDecimal.ZERO, workingDuration);
     }
+
+
+    @Test
+    public void ensureCalendarIsReusedForSameYearAndFederalState() {
+
+        PublicHolidayCalendar calendar = publicHolidaysService.getCalendar(2015, FederalState.BERLIN);
+
+        Assert.assertSame("Calendar should be reused", calendar,
+            publicHolidaysService.getCalendar(2015, FederalState.BERLIN));
+        Assert.assertNotSame("Calendar should be built per year", calendar,
+            publicHolidaysService.getCalendar(2016, FederalState.BERLIN));
+        Assert.assertNotSame("Calendar should be built per federal state", calendar,
+            publicHolidaysService.getCalendar(2015, FederalState.BAYERN));
+    }
+
+
+    @Test
+    public void ensureWorkingDurationForChristmasEveIsUpdatedIfSettingsChange() {
+
+        DateMidnight testDate = new DateMidnight(2013, DateTimeConstants.DECEMBER, 24);
+
+        Assert.assertEquals("Wrong working duration", new BigDecimal("0.5"),
+            publicHolidaysService.getWorkingDurationOfDate(testDate, state));
+
+        Settings settings = new Settings();
+        settings.getWorkingTimeSettings().setWorkingDurationForChristmasEve(DayLength.ZERO);
+
+        Mockito.when(settingsService.getSettings()).thenReturn(settings);
+
+        Assert.assertEquals("Wrong working duration", BigDecimal.ZERO,
+            publicHolidaysService.getWorkingDurationOfDate(testDate, state));
+    }
+
+
+    @Test
+    public void ensureCalendarContainsSameHolidaysAsHolidayDefinition() {
+
+        PublicHolidayCalendar calendar = publicHolidaysService.getCalendar(2016, FederalState.BAYERN_AUGSBURG);
+
+        Set<LocalDate> holidays = publicHolidaysService.getHolidays(2016, FederalState.BAYERN_AUGSBURG)
+            .stream()
+            .map(Holiday::getDate)
+            .collect(Collectors.toSet());
+
+        DateMidnight day = new DateMidnight(2016, DateTimeConstants.JANUARY, 1);
+
+        while (day.getYear() == 2016) {
+            Assert.assertEquals("Wrong public holiday information for " + day, holidays.contains(day.toLocalDate()),
+                calendar.isPublicHoliday(day));
+
+            day = day.plusDays(1);
+        }
+    }
 }
@@ -1,6 +1,8 @@
 
 package org.synyx.urlaubsverwaltung.core.workingtime;
 
+import de.jollyday.HolidayManager;
+
 import org.joda.time.DateMidnight;
 import org.joda.time.DateTimeConstants;
 
@@ -16,6 +18,8 @@ import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.settings.FederalState;
 import org.synyx.urlaubsverwaltung.core.settings.Settings;
 import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.core.settings.WorkingTimeSettings;
+import org.synyx.urlaubsverwaltung.core.util.DateUtil;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.io.IOException;
@@ -25,9 +29,11 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 
 
 /**
@@ -327,4 +333,129 @@ public class WorkDaysServiceTest {
 
         assertEquals(new BigDecimal("0.0"), workDays);
     }
+
+
+    @Test
+    public void ensureWeekDaysMatchDayByDayCalculationForRandomPeriods() {
+
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200; i++) {
+            DateMidnight start = new DateMidnight(2000, 1, 1).plusDays(random.nextInt(30 * 365));
+            DateMidnight end = start.plusDays(random.nextInt(3 * 365) - 7);
+
+            assertEquals("Wrong week days for " + start + " - " + end, getWeekDaysDayByDay(start, end),
+                instance.getWeekDays(start, end), 0.0);
+        }
+    }
+
+
+    @Test
+    public void ensureWorkDaysMatchDayByDayCalculationForRandomPeriods() {
+
+        Random random = new Random(42);
+
+        DayLength[] dayLengths = DayLength.values();
+        FederalState[] federalStates = FederalState.values();
+
+        for (int i = 0; i < 200; i++) {
+            Settings settings = new Settings();
+            settings.getWorkingTimeSettings()
+                .setWorkingDurationForChristmasEve(dayLengths[random.nextInt(dayLengths.length)]);
+            settings.getWorkingTimeSettings()
+                .setWorkingDurationForNewYearsEve(dayLengths[random.nextInt(dayLengths.length)]);
+            Mockito.when(settingsService.getSettings()).thenReturn(settings);
+
+            for (int dayOfWeek = DateTimeConstants.MONDAY; dayOfWeek <= DateTimeConstants.SUNDAY; dayOfWeek++) {
+                workingTime.setDayLengthForWeekDay(dayOfWeek, dayLengths[random.nextInt(dayLengths.length)]);
+            }
+
+            workingTime.setFederalStateOverride(federalStates[random.nextInt(federalStates.length)]);
+
+            DayLength dayLength = dayLengths[random.nextInt(dayLengths.length)];
+            DateMidnight start = new DateMidnight(2000, 1, 1).plusDays(random.nextInt(30 * 365));
+            DateMidnight end = start.plusDays(random.nextInt(3 * 365) - 7);
+
+            String period = start + " - " + end;
+
+            BigDecimal expected;
+
+            try {
+                expected = getWorkDaysDayByDay(dayLength, start, end, workingTime.getFederalStateOverride().get(),
+                        settings.getWorkingTimeSettings());
+            } catch (ArithmeticException ex) {
+                try {
+                    instance.getWorkDays(dayLength, start, end, person);
+                    fail("Expected ArithmeticException for " + period);
+                } catch (ArithmeticException expectedException) {
+                    // both implementations fail the same way
+                }
+
+                continue;
+            }
+
+            assertEquals("Wrong work days for " + period, expected,
+                instance.getWorkDays(dayLength, start, end, person));
+        }
+    }
+
+
+    private static double getWeekDaysDayByDay(DateMidnight startDate, DateMidnight endDate) {
+
+        double workDays = 0.0;
+
+        DateMidnight day = startDate;
+
+        while (!day.isAfter(endDate)) {
+            if (DateUtil.isWorkDay(day)) {
+                workDays++;
+            }
+
+            day = day.plusDays(1);
+        }
+
+        return workDays;
+    }
+
+
+    /**
+     * Calculates the work days day by day, asking jollyday for every single day instead of using the precomputed
+     * {@link PublicHolidayCalendar}, so a mistake in the calendar is not hidden by the reference calculation.
+     */
+    private BigDecimal getWorkDaysDayByDay(DayLength dayLength, DateMidnight startDate, DateMidnight endDate,
+        FederalState federalState, WorkingTimeSettings workingTimeSettings) {
+
+        HolidayManager holidayManager = HolidayManager.getInstance(Thread.currentThread().getContextClassLoader()
+                    .getResource("Holidays_de.xml"));
+
+        BigDecimal vacationDays = BigDecimal.ZERO;
+
+        DateMidnight day = startDate;
+
+        while (!day.isAfter(endDate)) {
+            BigDecimal duration = DayLength.FULL.getDuration();
+
+            if (holidayManager.isHoliday(day.toLocalDate(), federalState.getCodes())) {
+                if (DateUtil.isChristmasEve(day)) {
+                    duration = workingTimeSettings.getWorkingDurationForChristmasEve().getDuration();
+                } else if (DateUtil.isNewYearsEve(day)) {
+                    duration = workingTimeSettings.getWorkingDurationForNewYearsEve().getDuration();
+                } else {
+                    duration = DayLength.ZERO.getDuration();
+                }
+            }
+
+            BigDecimal workingDuration = workingTime.getDayLengthForWeekDay(day.getDayOfWeek()).getDuration();
+
+            vacationDays = vacationDays.add(duration.multiply(workingDuration));
+
+            day = day.plusDays(1);
+        }
+
+        if (vacationDays.compareTo(BigDecimal.ONE) < 0) {
+            return vacationDays.setScale(1);
+        }
+
+        return vacationDays.multiply(dayLength.getDuration()).setScale(1);
+    }
 }
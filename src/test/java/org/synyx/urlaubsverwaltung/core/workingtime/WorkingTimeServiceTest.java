@@ -9,6 +9,8 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import org.springframework.context.ApplicationEventPublisher;
+
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.settings.FederalState;
 import org.synyx.urlaubsverwaltung.core.settings.Settings;
@@ -16,6 +18,7 @@ import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Optional;
 
@@ -29,14 +32,17 @@ public class WorkingTimeServiceTest {
 
     private WorkingTimeDAO workingTimeDAOMock;
     private SettingsService settingsServiceMock;
+    private ApplicationEventPublisher applicationEventPublisherMock;
 
     @Before
     public void setUp() {
 
         workingTimeDAOMock = Mockito.mock(WorkingTimeDAO.class);
         settingsServiceMock = Mockito.mock(SettingsService.class);
+        applicationEventPublisherMock = Mockito.mock(ApplicationEventPublisher.class);
 
-        workingTimeService = new WorkingTimeService(workingTimeDAOMock, settingsServiceMock);
+        workingTimeService = new WorkingTimeService(workingTimeDAOMock, settingsServiceMock,
+                applicationEventPublisherMock, 60);
     }
 
 
@@ -50,17 +56,16 @@ public class WorkingTimeServiceTest {
 
         Person person = TestDataCreator.createPerson();
         WorkingTime workingTime = new WorkingTime();
+        workingTime.setValidFrom(now.minusMonths(1));
         workingTime.setFederalStateOverride(FederalState.BAYERN);
 
         Mockito.when(settingsServiceMock.getSettings()).thenReturn(settings);
-        Mockito.when(workingTimeDAOMock.findByPersonAndValidityDateEqualsOrMinorDate(Mockito.any(Person.class),
-                    Mockito.any(Date.class)))
-            .thenReturn(workingTime);
+        Mockito.when(workingTimeDAOMock.findByPerson(person)).thenReturn(Collections.singletonList(workingTime));
 
         FederalState federalState = workingTimeService.getFederalStateForPerson(person, now);
 
         Mockito.verifyZeroInteractions(settingsServiceMock);
-        Mockito.verify(workingTimeDAOMock).findByPersonAndValidityDateEqualsOrMinorDate(person, now.toDate());
+        Mockito.verify(workingTimeDAOMock).findByPerson(person);
 
         Assert.assertNotNull("Missing federal state", federalState);
         Assert.assertEquals("Wrong federal state", FederalState.BAYERN, federalState);
@@ -77,17 +82,16 @@ public class WorkingTimeServiceTest {
 
         Person person = TestDataCreator.createPerson();
         WorkingTime workingTime = new WorkingTime();
+        workingTime.setValidFrom(now.minusMonths(1));
         workingTime.setFederalStateOverride(null);
 
         Mockito.when(settingsServiceMock.getSettings()).thenReturn(settings);
-        Mockito.when(workingTimeDAOMock.findByPersonAndValidityDateEqualsOrMinorDate(Mockito.any(Person.class),
-                    Mockito.any(Date.class)))
-            .thenReturn(workingTime);
+        Mockito.when(workingTimeDAOMock.findByPerson(person)).thenReturn(Collections.singletonList(workingTime));
 
         FederalState federalState = workingTimeService.getFederalStateForPerson(person, now);
 
         Mockito.verify(settingsServiceMock).getSettings();
-        Mockito.verify(workingTimeDAOMock).findByPersonAndValidityDateEqualsOrMinorDate(person, now.toDate());
+        Mockito.verify(workingTimeDAOMock).findByPerson(person);
 
         Assert.assertNotNull("Missing federal state", federalState);
         Assert.assertEquals("Wrong federal state", FederalState.BADEN_WUERTTEMBERG, federalState);
@@ -104,14 +108,12 @@ public class WorkingTimeServiceTest {
         settings.getWorkingTimeSettings().setFederalState(FederalState.BADEN_WUERTTEMBERG);
 
         Mockito.when(settingsServiceMock.getSettings()).thenReturn(settings);
-        Mockito.when(workingTimeDAOMock.findByPersonAndValidityDateEqualsOrMinorDate(Mockito.any(Person.class),
-                    Mockito.any(Date.class)))
-            .thenReturn(null);
+        Mockito.when(workingTimeDAOMock.findByPerson(person)).thenReturn(Collections.emptyList());
 
         FederalState federalState = workingTimeService.getFederalStateForPerson(person, now);
 
         Mockito.verify(settingsServiceMock).getSettings();
-        Mockito.verify(workingTimeDAOMock).findByPersonAndValidityDateEqualsOrMinorDate(person, now.toDate());
+        Mockito.verify(workingTimeDAOMock).findByPerson(person);
 
         Assert.assertNotNull("Missing federal state", federalState);
         Assert.assertEquals("Wrong federal state", FederalState.BADEN_WUERTTEMBERG, federalState);
@@ -158,4 +160,75 @@ public class WorkingTimeServiceTest {
 
         Assert.assertFalse("Federal state should be missing", workingTime.getFederalStateOverride().isPresent());
     }
+
+
+    @Test
+    public void ensurePublishesEventOnTouch() {
+
+        Person person = TestDataCreator.createPerson();
+
+        workingTimeService.touch(Arrays.asList(1, 2), Optional.empty(), DateMidnight.now(), person);
+
+        ArgumentCaptor<WorkingTimeUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(WorkingTimeUpdatedEvent.class);
+        Mockito.verify(applicationEventPublisherMock).publishEvent(eventCaptor.capture());
+
+        Assert.assertEquals("Wrong person", person, eventCaptor.getValue().getPerson());
+    }
+
+
+    @Test
+    public void ensureCachesWorkingTimesOfPerson() {
+
+        Person person = TestDataCreator.createPerson();
+        person.setId(1);
+
+        WorkingTime workingTime = TestDataCreator.createWorkingTime();
+        workingTime.setValidFrom(new DateMidnight(2016, 1, 1));
+
+        Mockito.when(workingTimeDAOMock.findByPerson(person)).thenReturn(Collections.singletonList(workingTime));
+
+        Optional<WorkingTime> first = workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(person,
+                new DateMidnight(2016, 6, 1));
+        Optional<WorkingTime> second = workingTimeService.getCurrentOne(person);
+
+        Mockito.verify(workingTimeDAOMock).findByPerson(person);
+        Mockito.verifyNoMoreInteractions(workingTimeDAOMock);
+
+        Assert.assertEquals("Wrong working time", workingTime, first.get());
+        Assert.assertEquals("Wrong working time", workingTime, second.get());
+    }
+
+
+    @Test
+    public void ensureReturnsEmptyOptionalIfPersonHasNoWorkingTimeBeforeDate() {
+
+        Person person = TestDataCreator.createPerson();
+        person.setId(1);
+
+        WorkingTime workingTime = TestDataCreator.createWorkingTime();
+        workingTime.setValidFrom(new DateMidnight(2016, 1, 1));
+
+        Mockito.when(workingTimeDAOMock.findByPerson(person)).thenReturn(Collections.singletonList(workingTime));
+
+        Optional<WorkingTime> optionalWorkingTime = workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(
+                person, new DateMidnight(2015, 12, 31));
+
+        Assert.assertFalse("Working time should be missing", optionalWorkingTime.isPresent());
+    }
+
+
+    @Test
+    public void ensureTouchInvalidatesCachedWorkingTimesOfPerson() {
+
+        Person person = TestDataCreator.createPerson();
+        person.setId(1);
+
+        Mockito.when(workingTimeDAOMock.findByPerson(person)).thenReturn(Collections.emptyList());
+
+        workingTimeService.getCurrentOne(person);
+        workingTimeService.touch(Arrays.asList(1, 2), Optional.empty(), DateMidnight.now(), person);
+        workingTimeService.getCurrentOne(person);
+
+        Mockito.verify(workingTimeDAOMock, Mockito.times(2)).findByPerson(person);
+    }
 }
@@ -0,0 +1,66 @@
+package org.synyx.urlaubsverwaltung.core.workingtime;
+
+import org.joda.time.DateMidnight;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+
+/**
+ * Unit test for {@link WorkingTimeTimeline}.
+ */
+public class WorkingTimeTimelineTest {
+
+    @Test
+    public void ensureReturnsWorkingTimeValidOnGivenDate() {
+
+        WorkingTime first = createWorkingTime(new DateMidnight(2015, 1, 1));
+        WorkingTime second = createWorkingTime(new DateMidnight(2016, 1, 1));
+        WorkingTime third = createWorkingTime(new DateMidnight(2017, 1, 1));
+
+        WorkingTimeTimeline timeline = WorkingTimeTimeline.of(Arrays.asList(third, first, second));
+
+        Assert.assertFalse("Should be empty", timeline.getValidOn(new DateMidnight(2014, 12, 31)).isPresent());
+        Assert.assertEquals("Wrong working time", first, timeline.getValidOn(new DateMidnight(2015, 1, 1)).get());
+        Assert.assertEquals("Wrong working time", first, timeline.getValidOn(new DateMidnight(2015, 12, 31)).get());
+        Assert.assertEquals("Wrong working time", second, timeline.getValidOn(new DateMidnight(2016, 1, 1)).get());
+        Assert.assertEquals("Wrong working time", second, timeline.getValidOn(new DateMidnight(2016, 6, 1)).get());
+        Assert.assertEquals("Wrong working time", third, timeline.getValidOn(new DateMidnight(2020, 1, 1)).get());
+    }
+
+
+    @Test
+    public void ensureReturnsWorkingTimesOrderedByValidFromDate() {
+
+        WorkingTime first = createWorkingTime(new DateMidnight(2015, 1, 1));
+        WorkingTime second = createWorkingTime(new DateMidnight(2016, 1, 1));
+
+        WorkingTimeTimeline timeline = WorkingTimeTimeline.of(Arrays.asList(second, first));
+
+        Assert.assertEquals("Wrong working times", Arrays.asList(first, second), timeline.getWorkingTimes());
+        Assert.assertEquals("Wrong current working time", second, timeline.getCurrent().get());
+    }
+
+
+    @Test
+    public void ensureEmptyTimelineHasNoWorkingTime() {
+
+        WorkingTimeTimeline timeline = WorkingTimeTimeline.of(Collections.emptyList());
+
+        Assert.assertFalse("Should be empty", timeline.getValidOn(DateMidnight.now()).isPresent());
+        Assert.assertFalse("Should be empty", timeline.getCurrent().isPresent());
+        Assert.assertTrue("Should be empty", timeline.getWorkingTimes().isEmpty());
+    }
+
+
+    private static WorkingTime createWorkingTime(DateMidnight validFrom) {
+
+        WorkingTime workingTime = new WorkingTime();
+        workingTime.setValidFrom(validFrom);
+
+        return workingTime;
+    }
+}
@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.restapi.absence;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import org.joda.time.DateMidnight;
 
 import org.junit.Before;
@@ -10,8 +12,11 @@ import org.mockito.Mockito;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import org.synyx.urlaubsverwaltung.core.application.domain.Application;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.core.department.Department;
+import org.synyx.urlaubsverwaltung.core.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.person.PersonService;
@@ -21,6 +26,7 @@ import org.synyx.urlaubsverwaltung.restapi.ApiExceptionHandlerControllerAdvice;
 import org.synyx.urlaubsverwaltung.restapi.absence.AbsenceController;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -42,6 +48,7 @@ public class AbsenceControllerTest {
     private PersonService personServiceMock;
     private SickNoteService sickNoteServiceMock;
     private ApplicationService applicationServiceMock;
+    private DepartmentService departmentServiceMock;
 
     @Before
     public void setUp() {
@@ -49,9 +56,10 @@ public class AbsenceControllerTest {
         personServiceMock = Mockito.mock(PersonService.class);
         applicationServiceMock = Mockito.mock(ApplicationService.class);
         sickNoteServiceMock = Mockito.mock(SickNoteService.class);
+        departmentServiceMock = Mockito.mock(DepartmentService.class);
 
         mockMvc = MockMvcBuilders.standaloneSetup(new AbsenceController(personServiceMock, applicationServiceMock,
-                        sickNoteServiceMock)).setControllerAdvice(new ApiExceptionHandlerControllerAdvice()).build();
+                        sickNoteServiceMock, departmentServiceMock, new ObjectMapper())).setControllerAdvice(new ApiExceptionHandlerControllerAdvice()).build();
     }
 
 
@@ -68,8 +76,10 @@ public class AbsenceControllerTest {
             .getByPersonAndPeriod(Mockito.any(Person.class), Mockito.eq(new DateMidnight(2016, 1, 1)),
                 Mockito.eq(new DateMidnight(2016, 12, 31)));
         Mockito.verify(applicationServiceMock)
-            .getApplicationsForACertainPeriodAndPerson(Mockito.eq(new DateMidnight(2016, 1, 1)),
-                Mockito.eq(new DateMidnight(2016, 12, 31)), Mockito.any(Person.class));
+            .getApplicationSummariesForACertainPeriodAndPersonsAndStates(new DateMidnight(2016, 1, 1),
+                new DateMidnight(2016, 12, 31), Collections.singletonList(person),
+                Arrays.asList(ApplicationStatus.WAITING, ApplicationStatus.TEMPORARY_ALLOWED,
+                    ApplicationStatus.ALLOWED));
         Mockito.verify(personServiceMock).getPersonByID(23);
     }
 
@@ -83,8 +93,8 @@ public class AbsenceControllerTest {
                 new DateMidnight(2016, 5, 20), DayLength.FULL);
         sickNote.setId(1);
 
-        Application vacation = TestDataCreator.createApplication(person, new DateMidnight(2016, 4, 6),
-                new DateMidnight(2016, 4, 6), DayLength.FULL);
+        ApplicationSummary vacation = TestDataCreator.createApplicationSummary(person, new DateMidnight(2016, 4, 6),
+                new DateMidnight(2016, 4, 6), DayLength.FULL, ApplicationStatus.WAITING);
 
         Mockito.when(personServiceMock.getPersonByID(Mockito.anyInt())).thenReturn(Optional.of(person));
 
@@ -92,8 +102,9 @@ public class AbsenceControllerTest {
                     Mockito.any(DateMidnight.class), Mockito.any(DateMidnight.class)))
             .thenReturn(Collections.singletonList(sickNote));
 
-        Mockito.when(applicationServiceMock.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
+        Mockito.when(applicationServiceMock.getApplicationSummariesForACertainPeriodAndPersonsAndStates(
+                    Mockito.any(DateMidnight.class), Mockito.any(DateMidnight.class), Mockito.anyListOf(Person.class),
+                    Mockito.anyListOf(ApplicationStatus.class)))
             .thenReturn(Collections.singletonList(vacation));
 
         mockMvc.perform(get("/api/absences").param("year", "2016").param("person", "23"))
@@ -118,8 +129,8 @@ public class AbsenceControllerTest {
 
         Person person = TestDataCreator.createPerson("muster");
 
-        Application vacation = TestDataCreator.createApplication(person, new DateMidnight(2016, 4, 6),
-                new DateMidnight(2016, 4, 6), DayLength.FULL);
+        ApplicationSummary vacation = TestDataCreator.createApplicationSummary(person, new DateMidnight(2016, 4, 6),
+                new DateMidnight(2016, 4, 6), DayLength.FULL, ApplicationStatus.WAITING);
 
         Mockito.when(personServiceMock.getPersonByID(Mockito.anyInt())).thenReturn(Optional.of(person));
 
@@ -127,8 +138,9 @@ public class AbsenceControllerTest {
                     Mockito.any(DateMidnight.class), Mockito.any(DateMidnight.class)))
             .thenReturn(Collections.singletonList(TestDataCreator.createSickNote(person)));
 
-        Mockito.when(applicationServiceMock.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
+        Mockito.when(applicationServiceMock.getApplicationSummariesForACertainPeriodAndPersonsAndStates(
+                    Mockito.any(DateMidnight.class), Mockito.any(DateMidnight.class), Mockito.anyListOf(Person.class),
+                    Mockito.anyListOf(ApplicationStatus.class)))
             .thenReturn(Collections.singletonList(vacation));
 
         mockMvc.perform(get("/api/absences").param("year", "2016").param("person", "23").param("type", "VACATION"))
@@ -147,8 +159,8 @@ public class AbsenceControllerTest {
 
         Person person = TestDataCreator.createPerson("muster");
 
-        Application vacation = TestDataCreator.createApplication(person, new DateMidnight(2016, 5, 30),
-                new DateMidnight(2016, 6, 1), DayLength.FULL);
+        ApplicationSummary vacation = TestDataCreator.createApplicationSummary(person, new DateMidnight(2016, 5, 30),
+                new DateMidnight(2016, 6, 1), DayLength.FULL, ApplicationStatus.WAITING);
 
         SickNote sickNote = TestDataCreator.createSickNote(person, new DateMidnight(2016, 6, 30),
                 new DateMidnight(2016, 7, 6), DayLength.FULL);
@@ -159,8 +171,9 @@ public class AbsenceControllerTest {
                     Mockito.any(DateMidnight.class), Mockito.any(DateMidnight.class)))
             .thenReturn(Collections.singletonList(sickNote));
 
-        Mockito.when(applicationServiceMock.getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.any(Person.class)))
+        Mockito.when(applicationServiceMock.getApplicationSummariesForACertainPeriodAndPersonsAndStates(
+                    Mockito.any(DateMidnight.class), Mockito.any(DateMidnight.class), Mockito.anyListOf(Person.class),
+                    Mockito.anyListOf(ApplicationStatus.class)))
             .thenReturn(Collections.singletonList(vacation));
 
         mockMvc.perform(get("/api/absences").param("year", "2016").param("month", "6").param("person", "23"))
@@ -251,4 +264,67 @@ public class AbsenceControllerTest {
         mockMvc.perform(get("/api/absences").param("year", "2016").param("person", "23").param("type", "FOO"))
             .andExpect(status().isBadRequest());
     }
+
+
+    @Test
+    public void ensureStreamsAbsencesOfDepartmentMembersLoadedWithSetBasedQueries() throws Exception {
+
+        Person person = TestDataCreator.createPerson("muster");
+        person.setId(1);
+
+        Person otherPerson = TestDataCreator.createPerson("other");
+        otherPerson.setId(2);
+
+        Department department = TestDataCreator.createDepartment();
+        department.setMembers(Arrays.asList(person, otherPerson));
+        Mockito.when(departmentServiceMock.getDepartmentById(42)).thenReturn(Optional.of(department));
+
+        SickNote sickNote = TestDataCreator.createSickNote(otherPerson, new DateMidnight(2016, 5, 19),
+                new DateMidnight(2016, 5, 20), DayLength.FULL);
+        sickNote.setId(1);
+
+        ApplicationSummary vacation = TestDataCreator.createApplicationSummary(person, new DateMidnight(2016, 4, 6),
+                new DateMidnight(2016, 4, 6), DayLength.FULL, ApplicationStatus.WAITING);
+
+        Mockito.when(sickNoteServiceMock.getByPersonsAndPeriod(Arrays.asList(person, otherPerson),
+                    new DateMidnight(2016, 1, 1), new DateMidnight(2016, 12, 31)))
+            .thenReturn(Collections.singletonList(sickNote));
+
+        Mockito.when(applicationServiceMock.getApplicationSummariesForACertainPeriodAndPersonsAndStates(
+                    Mockito.eq(new DateMidnight(2016, 1, 1)), Mockito.eq(new DateMidnight(2016, 12, 31)),
+                    Mockito.eq(Arrays.asList(person, otherPerson)), Mockito.anyListOf(ApplicationStatus.class)))
+            .thenReturn(Collections.singletonList(vacation));
+
+        mockMvc.perform(get("/api/departments/42/absences").param("year", "2016"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/json;charset=UTF-8"))
+            .andExpect(jsonPath("$.response.members", hasSize(2)))
+            .andExpect(jsonPath("$.response.members[0].personLoginName", is("muster")))
+            .andExpect(jsonPath("$.response.members[0].absences", hasSize(1)))
+            .andExpect(jsonPath("$.response.members[0].absences[0].date", is("2016-04-06")))
+            .andExpect(jsonPath("$.response.members[0].absences[0].type", is("VACATION")))
+            .andExpect(jsonPath("$.response.members[1].personLoginName", is("other")))
+            .andExpect(jsonPath("$.response.members[1].absences", hasSize(2)))
+            .andExpect(jsonPath("$.response.members[1].absences[0].date", is("2016-05-19")))
+            .andExpect(jsonPath("$.response.members[1].absences[0].type", is("SICK_NOTE")))
+            .andExpect(jsonPath("$.response.members[1].absences[1].href", is("1")));
+
+        Mockito.verify(sickNoteServiceMock, Mockito.never())
+            .getByPersonAndPeriod(Mockito.any(Person.class), Mockito.any(DateMidnight.class),
+                Mockito.any(DateMidnight.class));
+        Mockito.verify(applicationServiceMock, Mockito.times(1))
+            .getApplicationSummariesForACertainPeriodAndPersonsAndStates(Mockito.any(DateMidnight.class),
+                Mockito.any(DateMidnight.class), Mockito.anyListOf(Person.class),
+                Mockito.anyListOf(ApplicationStatus.class));
+    }
+
+
+    @Test
+    public void ensureBadRequestForAbsencesOfUnknownDepartment() throws Exception {
+
+        Mockito.when(departmentServiceMock.getDepartmentById(42)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/departments/42/absences").param("year", "2016"))
+            .andExpect(status().isBadRequest());
+    }
 }
@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.restapi.availability;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import org.joda.time.DateMidnight;
 
 import org.junit.Before;
@@ -10,14 +12,27 @@ import org.mockito.Mockito;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import org.synyx.urlaubsverwaltung.core.department.Department;
+import org.synyx.urlaubsverwaltung.core.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.person.PersonService;
 import org.synyx.urlaubsverwaltung.restapi.ApiExceptionHandlerControllerAdvice;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
+import java.math.BigDecimal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -30,6 +45,7 @@ public class AvailabilityControllerTest {
 
     private PersonService personServiceMock;
     private AvailabilityService availabilityServiceMock;
+    private DepartmentService departmentServiceMock;
     private Person testPerson;
     private String loginName;
 
@@ -41,9 +57,10 @@ public class AvailabilityControllerTest {
         preparePersonServiceMock();
 
         availabilityServiceMock = Mockito.mock(AvailabilityService.class);
+        departmentServiceMock = Mockito.mock(DepartmentService.class);
 
         mockMvc = MockMvcBuilders.standaloneSetup(new AvailabilityController(availabilityServiceMock,
-                        personServiceMock)).setControllerAdvice(new ApiExceptionHandlerControllerAdvice()).build();
+                        personServiceMock, departmentServiceMock, new ObjectMapper())).setControllerAdvice(new ApiExceptionHandlerControllerAdvice()).build();
     }
 
 
@@ -74,11 +91,153 @@ public class AvailabilityControllerTest {
 
 
     @Test
-    public void ensureRequestsAreOnlyAllowedForADateRangeOfMaxOneMonth() throws Exception {
+    public void ensureRequestsAreAllowedForADateRangeOfMoreThanOneMonth() throws Exception {
 
         mockMvc.perform(get("/api/availabilities").param("from", "2016-01-01")
-                .param("to", "2016-02-01")
+                .param("to", "2016-03-31")
                 .param("person", loginName))
+            .andExpect(status().isOk());
+
+        Mockito.verify(availabilityServiceMock)
+            .getPersonsAvailabilities(new DateMidnight(2016, 1, 1), new DateMidnight(2016, 3, 31), testPerson);
+    }
+
+
+    @Test
+    public void ensureFetchesAvailabilitiesForGivenPersonsAndDepartmentMembers() throws Exception {
+
+        Person otherPerson = TestDataCreator.createPerson("otherPerson");
+        Person departmentMember = TestDataCreator.createPerson("departmentMember");
+
+        Mockito.when(personServiceMock.getPersonByLogin("other")).thenReturn(Optional.of(otherPerson));
+
+        Department department = TestDataCreator.createDepartment();
+        department.setMembers(Arrays.asList(testPerson, departmentMember));
+        Mockito.when(departmentServiceMock.getDepartmentById(42)).thenReturn(Optional.of(department));
+
+        mockMvc.perform(get("/api/availabilities/persons").param("from", "2016-01-01")
+                .param("to", "2016-01-31")
+                .param("person", loginName)
+                .param("person", "other")
+                .param("department", "42"))
+            .andExpect(status().isOk());
+
+        Mockito.verify(availabilityServiceMock)
+            .getPersonsAvailabilities(new DateMidnight(2016, 1, 1), new DateMidnight(2016, 1, 31),
+                Arrays.asList(testPerson, otherPerson, departmentMember));
+    }
+
+
+    @Test
+    public void ensureStreamsAvailabilitiesOfDepartmentMembers() throws Exception {
+
+        Person departmentMember = TestDataCreator.createPerson("departmentMember");
+
+        Department department = TestDataCreator.createDepartment();
+        department.setMembers(Arrays.asList(testPerson, departmentMember));
+        Mockito.when(departmentServiceMock.getDepartmentById(42)).thenReturn(Optional.of(department));
+
+        DateMidnight day = new DateMidnight(2016, 1, 1);
+
+        Mockito.when(availabilityServiceMock.streamPersonsAvailabilities(day, day,
+                    Arrays.asList(testPerson, departmentMember)))
+            .thenReturn(Stream.of(
+                    new AvailabilityList(Collections.singletonList(
+                            new DayAvailability(BigDecimal.ONE, "2016-01-01",
+                                new TimedAbsenceSpans(new ArrayList<>()))), testPerson),
+                    new AvailabilityList(Collections.emptyList(), departmentMember)));
+
+        mockMvc.perform(get("/api/departments/42/availabilities").param("from", "2016-01-01")
+                .param("to", "2016-01-01"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/json;charset=UTF-8"))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].personLoginName", is("testPerson")))
+            .andExpect(jsonPath("$[0].availabilities", hasSize(1)))
+            .andExpect(jsonPath("$[0].availabilities[0].date", is("2016-01-01")))
+            .andExpect(jsonPath("$[1].personLoginName", is("departmentMember")))
+            .andExpect(jsonPath("$[1].availabilities", hasSize(0)));
+    }
+
+
+    @Test
+    public void ensureInternalServerErrorIfAvailabilitiesOfDepartmentMembersCanNotBeStreamed() throws Exception {
+
+        Department department = TestDataCreator.createDepartment();
+        department.setMembers(Collections.singletonList(testPerson));
+        Mockito.when(departmentServiceMock.getDepartmentById(42)).thenReturn(Optional.of(department));
+
+        Mockito.when(availabilityServiceMock.streamPersonsAvailabilities(Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.anyListOf(Person.class)))
+            .thenThrow(new IllegalStateException("Person does not have workingTime configured"));
+
+        mockMvc.perform(get("/api/departments/42/availabilities").param("from", "2016-01-01")
+                .param("to", "2016-01-01"))
+            .andExpect(status().isInternalServerError());
+    }
+
+
+    @Test
+    public void ensureClosesStreamedAvailabilitiesWithErrorIfStreamingFails() throws Exception {
+
+        Person departmentMember = TestDataCreator.createPerson("departmentMember");
+
+        Department department = TestDataCreator.createDepartment();
+        department.setMembers(Arrays.asList(testPerson, departmentMember));
+        Mockito.when(departmentServiceMock.getDepartmentById(42)).thenReturn(Optional.of(department));
+
+        Stream<AvailabilityList> failingStream = Stream.of(testPerson, departmentMember)
+                .map(person -> {
+                    if (person == departmentMember) {
+                        throw new IllegalStateException("failed");
+                    }
+
+                    return new AvailabilityList(Collections.emptyList(), person);
+                });
+
+        Mockito.when(availabilityServiceMock.streamPersonsAvailabilities(Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.anyListOf(Person.class)))
+            .thenReturn(failingStream);
+
+        mockMvc.perform(get("/api/departments/42/availabilities").param("from", "2016-01-01")
+                .param("to", "2016-01-01"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].personLoginName", is("testPerson")))
+            .andExpect(jsonPath("$[1].status", is(500)))
+            .andExpect(jsonPath("$[1].message", is("failed")));
+    }
+
+
+    @Test
+    public void ensureBadRequestForAvailabilitiesOfUnknownDepartment() throws Exception {
+
+        Mockito.when(departmentServiceMock.getDepartmentById(42)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/departments/42/availabilities").param("from", "2016-01-01")
+                .param("to", "2016-01-31"))
+            .andExpect(status().isBadRequest());
+
+        Mockito.verifyZeroInteractions(availabilityServiceMock);
+    }
+
+
+    @Test
+    public void ensureBadRequestForMissingPersonsAndDepartmentParameter() throws Exception {
+
+        mockMvc.perform(get("/api/availabilities/persons").param("from", "2016-01-01").param("to", "2016-01-31"))
+            .andExpect(status().isBadRequest());
+    }
+
+
+    @Test
+    public void ensureBadRequestForUnknownDepartment() throws Exception {
+
+        Mockito.when(departmentServiceMock.getDepartmentById(42)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/availabilities/persons").param("from", "2016-01-01")
+                .param("to", "2016-01-31")
+                .param("department", "42"))
             .andExpect(status().isBadRequest());
     }
 
@@ -6,14 +6,27 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import org.synyx.urlaubsverwaltung.core.application.domain.Application;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.settings.Settings;
+import org.synyx.urlaubsverwaltung.core.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.math.BigDecimal;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 
 /**
@@ -26,6 +39,9 @@ public class AvailabilityServiceTest {
     private AvailabilityService availabilityService;
 
     private FreeTimeAbsenceProvider freeTimeAbsenceProvider;
+    private WorkingTimeService workingTimeService;
+    private SickNoteService sickNoteService;
+    private ApplicationService applicationService;
 
     private Person testPerson;
     private DateMidnight testDateRangeStart;
@@ -38,12 +54,26 @@ public class AvailabilityServiceTest {
         freeTimeAbsenceProvider = Mockito.mock(FreeTimeAbsenceProvider.class);
         timedAbsenceSpansMock = Mockito.mock(TimedAbsenceSpans.class);
 
-        Mockito.when(freeTimeAbsenceProvider.checkForAbsence(
-                Mockito.any(Person.class),
-                Mockito.any(DateMidnight.class)))
+        Mockito.when(freeTimeAbsenceProvider.checkForAbsence(Mockito.any(TimedAbsenceSpans.class),
+                    Mockito.any(PersonAbsenceData.class), Mockito.any(DateMidnight.class)))
             .thenReturn(timedAbsenceSpansMock);
 
-        availabilityService = new AvailabilityService(freeTimeAbsenceProvider);
+        workingTimeService = Mockito.mock(WorkingTimeService.class);
+        Mockito.when(workingTimeService.getByPersons(Mockito.anyListOf(Person.class)))
+            .thenAnswer(invocation -> {
+                List<Person> persons = (List<Person>) invocation.getArguments()[0];
+
+                return persons.stream().map(AvailabilityServiceTest::createWorkingTime).collect(Collectors.toList());
+            });
+
+        sickNoteService = Mockito.mock(SickNoteService.class);
+        applicationService = Mockito.mock(ApplicationService.class);
+
+        SettingsService settingsService = Mockito.mock(SettingsService.class);
+        Mockito.when(settingsService.getSettings()).thenReturn(new Settings());
+
+        availabilityService = new AvailabilityService(freeTimeAbsenceProvider, workingTimeService, sickNoteService,
+                applicationService, settingsService);
 
         testPerson = TestDataCreator.createPerson();
         testDateRangeStart = new DateMidnight(2016, 1, 1);
@@ -57,7 +87,54 @@ public class AvailabilityServiceTest {
         availabilityService.getPersonsAvailabilities(testDateRangeStart, testDateRangeEnd, testPerson);
 
         Mockito.verify(freeTimeAbsenceProvider, Mockito.times(DAYS_IN_TEST_DATE_RANGE))
-            .checkForAbsence(Mockito.eq(testPerson), Mockito.any(DateMidnight.class));
+            .checkForAbsence(Mockito.any(TimedAbsenceSpans.class), Mockito.any(PersonAbsenceData.class),
+                Mockito.any(DateMidnight.class));
+    }
+
+
+    @Test
+    public void ensureLoadsAbsenceDataOnlyOnceForWholeDateRangeAndAllPersons() {
+
+        Person otherPerson = TestDataCreator.createPerson("other");
+        List<Person> persons = Arrays.asList(testPerson, otherPerson);
+
+        List<AvailabilityList> availabilities = availabilityService.getPersonsAvailabilities(testDateRangeStart,
+                testDateRangeEnd, persons);
+
+        Assert.assertEquals("Wrong number of availability lists", 2, availabilities.size());
+        Assert.assertEquals("Wrong person", testPerson.getLoginName(), availabilities.get(0).getPersonLoginName());
+        Assert.assertEquals("Wrong person", otherPerson.getLoginName(), availabilities.get(1).getPersonLoginName());
+
+        Mockito.verify(workingTimeService).getByPersons(persons);
+        Mockito.verify(sickNoteService).getByPersonsAndPeriod(persons, testDateRangeStart, testDateRangeEnd);
+        Mockito.verify(applicationService)
+            .getApplicationsForACertainPeriodAndPersons(testDateRangeStart, testDateRangeEnd, persons);
+        Mockito.verifyNoMoreInteractions(workingTimeService, sickNoteService, applicationService);
+    }
+
+
+    @Test
+    public void ensureProvidesLoadedApplicationsOfPersonToAbsenceProviders() {
+
+        Application application = TestDataCreator.createApplication(testPerson, testDateRangeStart,
+                testDateRangeStart, DayLength.FULL);
+        application.setStatus(ApplicationStatus.ALLOWED);
+
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPersons(testDateRangeStart,
+                    testDateRangeStart, Collections.singletonList(testPerson)))
+            .thenReturn(Collections.singletonList(application));
+
+        availabilityService.getPersonsAvailabilities(testDateRangeStart, testDateRangeStart, testPerson);
+
+        ArgumentCaptor<PersonAbsenceData> captor = ArgumentCaptor.forClass(PersonAbsenceData.class);
+        Mockito.verify(freeTimeAbsenceProvider)
+            .checkForAbsence(Mockito.any(TimedAbsenceSpans.class), captor.capture(), Mockito.eq(testDateRangeStart));
+
+        Assert.assertEquals("Wrong person", testPerson, captor.getValue().getPerson());
+        Assert.assertEquals("Wrong application", application,
+            captor.getValue().getApplication(testDateRangeStart).get());
+        Assert.assertFalse("Should not find application",
+            captor.getValue().getApplication(testDateRangeEnd).isPresent());
     }
 
 
@@ -84,4 +161,32 @@ public class AvailabilityServiceTest {
         Assert.assertEquals("Wrong availability ratio set on return object", expectedAvailabilityRatio,
             availabilityOnDayToTest.getAvailabilityRatio());
     }
+
+
+    @Test
+    public void ensureThrowsBeforeStreamingIfAPersonHasNoWorkingTime() {
+
+        Person personWithoutWorkingTime = TestDataCreator.createPerson("other");
+
+        Mockito.when(workingTimeService.getByPersons(Mockito.anyListOf(Person.class)))
+            .thenReturn(Collections.singletonList(createWorkingTime(testPerson)));
+
+        try {
+            availabilityService.streamPersonsAvailabilities(testDateRangeStart, testDateRangeEnd,
+                Arrays.asList(testPerson, personWithoutWorkingTime));
+            Assert.fail("Should throw if a person has no working time");
+        } catch (IllegalStateException ex) {
+            Mockito.verifyZeroInteractions(freeTimeAbsenceProvider);
+        }
+    }
+
+
+    private static WorkingTime createWorkingTime(Person person) {
+
+        WorkingTime workingTime = TestDataCreator.createWorkingTime();
+        workingTime.setPerson(person);
+        workingTime.setValidFrom(new DateMidnight(2015, 1, 1));
+
+        return workingTime;
+    }
 }
@@ -12,14 +12,14 @@ import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.settings.FederalState;
 import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTime;
-import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeTimeline;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.math.BigDecimal;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 
 /**
@@ -30,34 +30,26 @@ public class FreeTimeAbsenceProviderTest {
     private FreeTimeAbsenceProvider freeTimeAbsenceProvider;
 
     private HolidayAbsenceProvider holidayAbsenceProvider;
-    private WorkingTimeService workingTimeService;
     private TimedAbsenceSpans emptyTimedAbsenceSpans;
     private Person testPerson;
-    private WorkingTime testWorkingTime;
+    private PersonAbsenceData personAbsenceData;
 
     @Before
     public void setUp() {
 
         holidayAbsenceProvider = Mockito.mock(HolidayAbsenceProvider.class);
-        setupDefaultWorkingTimeService();
 
         emptyTimedAbsenceSpans = new TimedAbsenceSpans(new ArrayList<>());
         testPerson = TestDataCreator.createPerson();
 
-        freeTimeAbsenceProvider = new FreeTimeAbsenceProvider(holidayAbsenceProvider, workingTimeService);
-    }
-
+        WorkingTime testWorkingTime = TestDataCreator.createWorkingTime();
+        testWorkingTime.setValidFrom(new DateMidnight(2015, 1, 1));
 
-    private void setupDefaultWorkingTimeService() {
+        personAbsenceData = new PersonAbsenceData(testPerson, FederalState.BADEN_WUERTTEMBERG,
+                WorkingTimeTimeline.of(Collections.singletonList(testWorkingTime)), Collections.emptyList(),
+                Collections.emptyList());
 
-        testWorkingTime = TestDataCreator.createWorkingTime();
-        workingTimeService = Mockito.mock(WorkingTimeService.class);
-        Mockito.when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(Mockito.any(Person.class),
-                    Mockito.any(DateMidnight.class)))
-            .thenReturn(Optional.of(testWorkingTime));
-        Mockito.when(workingTimeService.getFederalStateForPerson(Mockito.any(Person.class),
-                    Mockito.any(DateMidnight.class)))
-            .thenReturn(FederalState.BADEN_WUERTTEMBERG);
+        freeTimeAbsenceProvider = new FreeTimeAbsenceProvider(holidayAbsenceProvider);
     }
 
 
@@ -67,7 +59,7 @@ public class FreeTimeAbsenceProviderTest {
         DateMidnight firstSundayIn2016 = new DateMidnight(2016, 1, 3);
 
         TimedAbsenceSpans updatedTimedAbsenceSpans = freeTimeAbsenceProvider.addAbsence(emptyTimedAbsenceSpans,
-                testPerson, firstSundayIn2016);
+                personAbsenceData, firstSundayIn2016);
 
         List<TimedAbsence> absencesList = updatedTimedAbsenceSpans.getAbsencesList();
 
@@ -84,7 +76,7 @@ public class FreeTimeAbsenceProviderTest {
 
         DateMidnight firstSundayIn2016 = new DateMidnight(2016, 1, 3);
 
-        freeTimeAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, testPerson, firstSundayIn2016);
+        freeTimeAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, personAbsenceData, firstSundayIn2016);
 
         Mockito.verifyNoMoreInteractions(holidayAbsenceProvider);
     }
@@ -95,9 +87,20 @@ public class FreeTimeAbsenceProviderTest {
 
         DateMidnight standardWorkingDay = new DateMidnight(2016, 1, 4);
 
-        freeTimeAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, testPerson, standardWorkingDay);
+        freeTimeAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, personAbsenceData, standardWorkingDay);
 
         Mockito.verify(holidayAbsenceProvider, Mockito.times(1))
-            .checkForAbsence(emptyTimedAbsenceSpans, testPerson, standardWorkingDay);
+            .checkForAbsence(emptyTimedAbsenceSpans, personAbsenceData, standardWorkingDay);
+    }
+
+
+    @Test(expected = IllegalStateException.class)
+    public void ensureThrowsIfPersonHasNoWorkingTime() {
+
+        PersonAbsenceData withoutWorkingTime = new PersonAbsenceData(testPerson, FederalState.BADEN_WUERTTEMBERG,
+                WorkingTimeTimeline.empty(), Collections.emptyList(), Collections.emptyList());
+
+        freeTimeAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, withoutWorkingTime,
+            new DateMidnight(2016, 1, 4));
     }
 }
@@ -9,15 +9,15 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import org.synyx.urlaubsverwaltung.core.period.DayLength;
-import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.settings.FederalState;
 import org.synyx.urlaubsverwaltung.core.workingtime.PublicHolidaysService;
-import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeTimeline;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.math.BigDecimal;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 
@@ -29,11 +29,10 @@ public class HolidayAbsenceProviderTest {
     private HolidayAbsenceProvider holidayAbsenceProvider;
 
     private SickDayAbsenceProvider sickDayAbsenceProvider;
-    private WorkingTimeService workingTimeService;
     private PublicHolidaysService publicHolidaysService;
 
     private TimedAbsenceSpans emptyTimedAbsenceSpans;
-    private Person testPerson;
+    private PersonAbsenceData personAbsenceData;
     private DateMidnight newYearsDay;
     private DateMidnight standardWorkingDay;
 
@@ -41,25 +40,15 @@ public class HolidayAbsenceProviderTest {
     public void setUp() {
 
         emptyTimedAbsenceSpans = new TimedAbsenceSpans(new ArrayList<>());
-        testPerson = TestDataCreator.createPerson();
+        personAbsenceData = new PersonAbsenceData(TestDataCreator.createPerson(), FederalState.BADEN_WUERTTEMBERG,
+                WorkingTimeTimeline.empty(), Collections.emptyList(), Collections.emptyList());
         newYearsDay = new DateMidnight(2016, 1, 1);
         standardWorkingDay = new DateMidnight(2016, 1, 4);
 
         sickDayAbsenceProvider = Mockito.mock(SickDayAbsenceProvider.class);
-        setupWorkingTimeServiceMock();
         setupHolidayServiceMock();
 
-        holidayAbsenceProvider = new HolidayAbsenceProvider(sickDayAbsenceProvider, publicHolidaysService,
-                workingTimeService);
-    }
-
-
-    private void setupWorkingTimeServiceMock() {
-
-        workingTimeService = Mockito.mock(WorkingTimeService.class);
-        Mockito.when(workingTimeService.getFederalStateForPerson(Mockito.any(Person.class),
-                    Mockito.any(DateMidnight.class)))
-            .thenReturn(FederalState.BADEN_WUERTTEMBERG);
+        holidayAbsenceProvider = new HolidayAbsenceProvider(sickDayAbsenceProvider, publicHolidaysService);
     }
 
 
@@ -80,7 +69,7 @@ public class HolidayAbsenceProviderTest {
     public void ensurePersonIsNotAvailableOnHoliDays() {
 
         TimedAbsenceSpans updatedTimedAbsenceSpans = holidayAbsenceProvider.addAbsence(emptyTimedAbsenceSpans,
-                testPerson, newYearsDay);
+                personAbsenceData, newYearsDay);
 
         List<TimedAbsence> absencesList = updatedTimedAbsenceSpans.getAbsencesList();
 
@@ -95,7 +84,7 @@ public class HolidayAbsenceProviderTest {
     @Test
     public void ensureDoesNotCallNextProviderIfAlreadyAbsentForWholeDay() {
 
-        holidayAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, testPerson, newYearsDay);
+        holidayAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, personAbsenceData, newYearsDay);
 
         Mockito.verifyNoMoreInteractions(sickDayAbsenceProvider);
     }
@@ -104,9 +93,9 @@ public class HolidayAbsenceProviderTest {
     @Test
     public void ensureCallsSickDayAbsenceProviderIfNotAbsentForHoliday() {
 
-        holidayAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, testPerson, standardWorkingDay);
+        holidayAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, personAbsenceData, standardWorkingDay);
 
         Mockito.verify(sickDayAbsenceProvider, Mockito.times(1))
-            .checkForAbsence(emptyTimedAbsenceSpans, testPerson, standardWorkingDay);
+            .checkForAbsence(emptyTimedAbsenceSpans, personAbsenceData, standardWorkingDay);
     }
 }
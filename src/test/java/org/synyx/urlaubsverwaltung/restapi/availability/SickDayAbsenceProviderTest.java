@@ -10,8 +10,9 @@ import org.mockito.Mockito;
 
 import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.settings.FederalState;
 import org.synyx.urlaubsverwaltung.core.sicknote.SickNote;
-import org.synyx.urlaubsverwaltung.core.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeTimeline;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.math.BigDecimal;
@@ -28,12 +29,10 @@ public class SickDayAbsenceProviderTest {
 
     private SickDayAbsenceProvider sickDayAbsenceProvider;
 
-    private SickNoteService sickNoteService;
     private VacationAbsenceProvider vacationAbsenceProvider;
 
     private TimedAbsenceSpans emptyTimedAbsenceSpans;
-    private Person testPerson;
-    private SickNote sickNote;
+    private PersonAbsenceData personAbsenceData;
     private DateMidnight sickDay;
     private DateMidnight standardWorkingDay;
 
@@ -41,27 +40,18 @@ public class SickDayAbsenceProviderTest {
     public void setUp() {
 
         emptyTimedAbsenceSpans = new TimedAbsenceSpans(new ArrayList<>());
-        testPerson = TestDataCreator.createPerson();
-        sickNote = TestDataCreator.createSickNote(testPerson, sickDay, sickDay, DayLength.FULL);
         sickDay = new DateMidnight(2016, 1, 4);
         standardWorkingDay = new DateMidnight(2016, 1, 5);
 
-        setupSickNoteServiceMock();
-        vacationAbsenceProvider = Mockito.mock(VacationAbsenceProvider.class);
-
-        sickDayAbsenceProvider = new SickDayAbsenceProvider(vacationAbsenceProvider, sickNoteService);
-    }
+        Person testPerson = TestDataCreator.createPerson();
+        SickNote sickNote = TestDataCreator.createSickNote(testPerson, sickDay, sickDay, DayLength.FULL);
 
+        personAbsenceData = new PersonAbsenceData(testPerson, FederalState.BADEN_WUERTTEMBERG,
+                WorkingTimeTimeline.empty(), Collections.singletonList(sickNote), Collections.emptyList());
 
-    private void setupSickNoteServiceMock() {
-
-        sickNoteService = Mockito.mock(SickNoteService.class);
-
-        Mockito.when(sickNoteService.getByPersonAndPeriod(testPerson, sickDay, sickDay))
-            .thenReturn(Collections.singletonList(sickNote));
+        vacationAbsenceProvider = Mockito.mock(VacationAbsenceProvider.class);
 
-        Mockito.when(sickNoteService.getByPersonAndPeriod(testPerson, standardWorkingDay, standardWorkingDay))
-            .thenReturn(Collections.emptyList());
+        sickDayAbsenceProvider = new SickDayAbsenceProvider(vacationAbsenceProvider);
     }
 
 
@@ -69,7 +59,7 @@ public class SickDayAbsenceProviderTest {
     public void ensurePersonIsNotAvailableOnSickDay() {
 
         TimedAbsenceSpans updatedTimedAbsenceSpans = sickDayAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans,
-                testPerson, sickDay);
+                personAbsenceData, sickDay);
 
         List<TimedAbsence> absencesList = updatedTimedAbsenceSpans.getAbsencesList();
 
@@ -84,7 +74,7 @@ public class SickDayAbsenceProviderTest {
     @Test
     public void ensureDoesNotCallNextProviderIfAlreadyAbsentForWholeDay() {
 
-        sickDayAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, testPerson, sickDay);
+        sickDayAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, personAbsenceData, sickDay);
 
         Mockito.verifyNoMoreInteractions(vacationAbsenceProvider);
     }
@@ -93,9 +83,9 @@ public class SickDayAbsenceProviderTest {
     @Test
     public void ensureCallsVacationAbsenceProviderIfNotAbsentForSickDay() {
 
-        sickDayAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, testPerson, standardWorkingDay);
+        sickDayAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans, personAbsenceData, standardWorkingDay);
 
         Mockito.verify(vacationAbsenceProvider, Mockito.times(1))
-            .checkForAbsence(emptyTimedAbsenceSpans, testPerson, standardWorkingDay);
+            .checkForAbsence(emptyTimedAbsenceSpans, personAbsenceData, standardWorkingDay);
     }
 }
@@ -6,12 +6,11 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
-import org.mockito.Mockito;
-
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
-import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.person.Person;
+import org.synyx.urlaubsverwaltung.core.settings.FederalState;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeTimeline;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.math.BigDecimal;
@@ -28,35 +27,32 @@ public class VacationAbsenceProviderTest {
 
     private VacationAbsenceProvider vacationAbsenceProvider;
 
-    private ApplicationService applicationService;
-
     private TimedAbsenceSpans emptyTimedAbsenceSpans;
-    private Person testPerson;
+    private PersonAbsenceData personAbsenceData;
     private DateMidnight vacationDay;
-    private Application application;
 
     @Before
     public void setUp() {
 
-        applicationService = Mockito.mock(ApplicationService.class);
-
         emptyTimedAbsenceSpans = new TimedAbsenceSpans(new ArrayList<>());
-        testPerson = TestDataCreator.createPerson();
-        application = TestDataCreator.createApplication(testPerson, vacationDay, vacationDay, DayLength.FULL);
         vacationDay = new DateMidnight(2016, 1, 4);
 
-        vacationAbsenceProvider = new VacationAbsenceProvider(applicationService);
+        Person testPerson = TestDataCreator.createPerson();
+        Application application = TestDataCreator.createApplication(testPerson, vacationDay, vacationDay,
+                DayLength.FULL);
+
+        personAbsenceData = new PersonAbsenceData(testPerson, FederalState.BADEN_WUERTTEMBERG,
+                WorkingTimeTimeline.empty(), Collections.emptyList(), Collections.singletonList(application));
+
+        vacationAbsenceProvider = new VacationAbsenceProvider();
     }
 
 
     @Test
-    public void ensurePersonIsNotAvailableOnSickDay() {
-
-        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(vacationDay, vacationDay, testPerson))
-            .thenReturn(Collections.singletonList(application));
+    public void ensurePersonIsNotAvailableOnVacationDay() {
 
         TimedAbsenceSpans updatedTimedAbsenceSpans = vacationAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans,
-                testPerson, vacationDay);
+                personAbsenceData, vacationDay);
 
         List<TimedAbsence> absencesList = updatedTimedAbsenceSpans.getAbsencesList();
 
@@ -73,12 +69,8 @@ public class VacationAbsenceProviderTest {
 
         DateMidnight standardWorkingDay = new DateMidnight(2016, 1, 5);
 
-        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(standardWorkingDay,
-                    standardWorkingDay, testPerson))
-            .thenReturn(Collections.emptyList());
-
         TimedAbsenceSpans updatedTimedAbsenceSpans = vacationAbsenceProvider.checkForAbsence(emptyTimedAbsenceSpans,
-                testPerson, vacationDay);
+                personAbsenceData, standardWorkingDay);
 
         Assert.assertEquals("absence spans changed", emptyTimedAbsenceSpans, updatedTimedAbsenceSpans);
     }
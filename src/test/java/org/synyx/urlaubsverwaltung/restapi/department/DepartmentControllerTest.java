@@ -9,11 +9,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import org.synyx.urlaubsverwaltung.core.department.DepartmentService;
+import org.synyx.urlaubsverwaltung.core.department.DepartmentSummary;
 import org.synyx.urlaubsverwaltung.restapi.ApiExceptionHandlerControllerAdvice;
 
 import java.util.Collections;
+import java.util.Date;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -40,10 +46,26 @@ public class DepartmentControllerTest {
     @Test
     public void ensureReturnsAllDepartments() throws Exception {
 
-        Mockito.when(departmentServiceMock.getAllDepartments()).thenReturn(Collections.emptyList());
+        Mockito.when(departmentServiceMock.getDepartmentSummaries()).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/api/departments")).andExpect(status().isOk());
 
-        Mockito.verify(departmentServiceMock).getAllDepartments();
+        Mockito.verify(departmentServiceMock).getDepartmentSummaries();
+    }
+
+
+    @Test
+    public void ensureReturnsMemberCountOfDepartments() throws Exception {
+
+        DepartmentSummary department = new DepartmentSummary(1, "Admins", "Die Admins", new Date(), false, 3);
+
+        Mockito.when(departmentServiceMock.getDepartmentSummaries()).thenReturn(Collections.singletonList(department));
+
+        mockMvc.perform(get("/api/departments"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.response.departments", hasSize(1)))
+            .andExpect(jsonPath("$.response.departments[0].name", is("Admins")))
+            .andExpect(jsonPath("$.response.departments[0].description", is("Die Admins")))
+            .andExpect(jsonPath("$.response.departments[0].memberCount", is(3)));
     }
 }
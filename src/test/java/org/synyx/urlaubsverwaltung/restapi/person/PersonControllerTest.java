@@ -10,6 +10,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.person.PersonService;
+import org.synyx.urlaubsverwaltung.core.person.PersonSummary;
 import org.synyx.urlaubsverwaltung.restapi.ApiExceptionHandlerControllerAdvice;
 import org.synyx.urlaubsverwaltung.restapi.person.PersonController;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
@@ -47,19 +48,20 @@ public class PersonControllerTest {
     @Test
     public void ensureReturnsAllActivePersons() throws Exception {
 
-        Person person1 = TestDataCreator.createPerson("foo");
-        Person person2 = TestDataCreator.createPerson("bar");
+        PersonSummary person1 = new PersonSummary(1, "foo", "Foo", "Bar", "foo@firma.test");
+        PersonSummary person2 = new PersonSummary(2, "bar", "Bar", "Foo", "bar@firma.test");
 
-        Mockito.when(personServiceMock.getActivePersons()).thenReturn(Arrays.asList(person1, person2));
+        Mockito.when(personServiceMock.getActivePersonSummaries()).thenReturn(Arrays.asList(person1, person2));
 
         mockMvc.perform(get("/api/persons"))
             .andExpect(status().isOk())
             .andExpect(content().contentType("application/json;charset=UTF-8"))
             .andExpect(jsonPath("$.response").exists())
             .andExpect(jsonPath("$.response.persons").exists())
-            .andExpect(jsonPath("$.response.persons", hasSize(2)));
+            .andExpect(jsonPath("$.response.persons", hasSize(2)))
+            .andExpect(jsonPath("$.response.persons[0].ldapName", is("foo")));
 
-        Mockito.verify(personServiceMock).getActivePersons();
+        Mockito.verify(personServiceMock).getActivePersonSummaries();
     }
 
 
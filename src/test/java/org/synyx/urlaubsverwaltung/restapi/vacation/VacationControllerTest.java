@@ -10,8 +10,8 @@ import org.mockito.Mockito;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.core.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.core.period.DayLength;
@@ -22,6 +22,7 @@ import org.synyx.urlaubsverwaltung.restapi.vacation.VacationController;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -61,8 +62,8 @@ public class VacationControllerTest {
             .andExpect(status().isOk());
 
         Mockito.verify(applicationServiceMock)
-            .getApplicationsForACertainPeriodAndState(new DateMidnight(2016, 1, 1), new DateMidnight(2016, 12, 31),
-                ApplicationStatus.ALLOWED);
+            .getApplicationSummariesForACertainPeriodAndStates(new DateMidnight(2016, 1, 1),
+                new DateMidnight(2016, 12, 31), Collections.singletonList(ApplicationStatus.ALLOWED));
         Mockito.verifyZeroInteractions(personServiceMock);
     }
 
@@ -79,8 +80,9 @@ public class VacationControllerTest {
             .andExpect(status().isOk());
 
         Mockito.verify(applicationServiceMock)
-            .getApplicationsForACertainPeriodAndPersonAndState(new DateMidnight(2016, 1, 1),
-                new DateMidnight(2016, 12, 31), person, ApplicationStatus.ALLOWED);
+            .getApplicationSummariesForACertainPeriodAndPersonsAndStates(new DateMidnight(2016, 1, 1),
+                new DateMidnight(2016, 12, 31), Collections.singletonList(person),
+                Collections.singletonList(ApplicationStatus.ALLOWED));
         Mockito.verify(personServiceMock).getPersonByID(23);
     }
 
@@ -88,15 +90,17 @@ public class VacationControllerTest {
     @Test
     public void ensureCorrectConversionOfVacations() throws Exception {
 
-        Application vacation1 = TestDataCreator.createApplication(TestDataCreator.createPerson("foo"),
-                new DateMidnight(2016, 5, 19), new DateMidnight(2016, 5, 20), DayLength.FULL);
-        vacation1.setStatus(ApplicationStatus.ALLOWED);
+        ApplicationSummary vacation1 = TestDataCreator.createApplicationSummary(TestDataCreator.createPerson("foo"),
+                new DateMidnight(2016, 5, 19), new DateMidnight(2016, 5, 20), DayLength.FULL,
+                ApplicationStatus.ALLOWED);
 
-        Application vacation2 = TestDataCreator.createApplication(TestDataCreator.createPerson("bar"),
-                new DateMidnight(2016, 4, 5), new DateMidnight(2016, 4, 10), DayLength.FULL);
+        ApplicationSummary vacation2 = TestDataCreator.createApplicationSummary(TestDataCreator.createPerson("bar"),
+                new DateMidnight(2016, 4, 5), new DateMidnight(2016, 4, 10), DayLength.FULL,
+                ApplicationStatus.ALLOWED);
 
-        Mockito.when(applicationServiceMock.getApplicationsForACertainPeriodAndState(Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.any(ApplicationStatus.class)))
+        Mockito.when(applicationServiceMock.getApplicationSummariesForACertainPeriodAndStates(
+                    Mockito.any(DateMidnight.class), Mockito.any(DateMidnight.class),
+                    Mockito.anyListOf(ApplicationStatus.class)))
             .thenReturn(Arrays.asList(vacation1, vacation2));
 
         mockMvc.perform(get("/api/vacations").param("from", "2016-01-01").param("to", "2016-12-31"))
@@ -108,7 +112,9 @@ public class VacationControllerTest {
             .andExpect(jsonPath("$.response.vacations[0].from", is("2016-05-19")))
             .andExpect(jsonPath("$.response.vacations[0].to", is("2016-05-20")))
             .andExpect(jsonPath("$.response.vacations[0].person").exists())
-            .andExpect(jsonPath("$.response.vacations[0].person.ldapName", is("foo")));
+            .andExpect(jsonPath("$.response.vacations[0].person.ldapName", is("foo")))
+            .andExpect(jsonPath("$.response.vacations[0].type", is("HOLIDAY")))
+            .andExpect(jsonPath("$.response.vacations[0].status", is("ALLOWED")));
     }
 
 
@@ -15,6 +15,7 @@ import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
@@ -52,7 +53,7 @@ public class VacationOverviewServiceTest {
         DateMidnight testDate = DateMidnight.parse("2017-09-01");
         FederalState federalState = FederalState.BADEN_WUERTTEMBERG;
 
-        when(departmentService.getAllDepartments()).thenReturn(Arrays.asList(department));
+        when(departmentService.getDepartmentByName(departmentName)).thenReturn(Optional.of(department));
         when(workingTimeService.getFederalStateForPerson(eq(person), any(DateMidnight.class))).thenReturn(federalState);
         when(publicHolidayService.getWorkingDurationOfDate(any(DateMidnight.class), any(FederalState.class))).thenReturn(DayLength.FULL.getDuration());
 
@@ -63,4 +64,13 @@ public class VacationOverviewServiceTest {
         assertThat(vacationOverviews.get(0).getPerson().getEmail(), is(email));
         assertThat(vacationOverviews.get(0).getDays().get(0).getTypeOfDay(), is(WORKDAY));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void assertNoVacationOverviewsForUnknownDepartment() throws Exception {
+        when(departmentService.getDepartmentByName("Unknown")).thenReturn(Optional.empty());
+
+        List<VacationOverview> vacationOverviews = sut.getVacationOverviews("Unknown", 2017, 9);
+
+        assertThat(vacationOverviews, hasSize(0));
+    }
+}
@@ -10,9 +10,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
 import org.synyx.urlaubsverwaltung.core.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.person.PersonService;
+import org.synyx.urlaubsverwaltung.core.person.PersonUpdatedEvent;
 import org.synyx.urlaubsverwaltung.core.person.Role;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
@@ -40,7 +44,7 @@ public class SessionServiceTest {
         personService = Mockito.mock(PersonService.class);
         departmentService = Mockito.mock(DepartmentService.class);
 
-        sessionService = new SessionService(personService, departmentService);
+        sessionService = new SessionService(personService, departmentService, 60);
 
         // Mock authentication
         Authentication authentication = Mockito.mock(Authentication.class);
@@ -69,9 +73,10 @@ public class SessionServiceTest {
 
 
     @Test
-    public void ensureReturnsPersonForCurrentlySignedInUser() {
+    public void ensureReturnsPersonForCurrentlySignedInUser() throws IllegalAccessException {
 
-        Person person = TestDataCreator.createPerson();
+        Person person = TestDataCreator.createPerson(42, USER_NAME);
+        person.setPermissions(Arrays.asList(Role.USER, Role.OFFICE));
 
         Mockito.when(personService.getPersonByLogin(Mockito.anyString())).thenReturn(Optional.of(person));
 
@@ -79,6 +84,12 @@ public class SessionServiceTest {
 
         Mockito.verify(personService).getPersonByLogin(USER_NAME);
         Assert.assertEquals("Wrong person", person, signedInUser);
+        Assert.assertEquals("Wrong login name", USER_NAME, signedInUser.getLoginName());
+        Assert.assertEquals("Wrong email", person.getEmail(), signedInUser.getEmail());
+        Assert.assertEquals("Wrong name", person.getNiceName(), signedInUser.getNiceName());
+        Assert.assertTrue("Wrong permissions", signedInUser.hasRole(Role.OFFICE));
+        Assert.assertEquals("Wrong notifications", person.getNotifications().size(),
+            signedInUser.getNotifications().size());
     }
 
     @Test(expected = IllegalStateException.class)
@@ -88,6 +99,105 @@ public class SessionServiceTest {
         sessionService.getSignedInUser();
     }
 
+
+    @Test
+    public void ensureLoadsPersonOfSignedInUserOnlyOnce() throws IllegalAccessException {
+
+        Person person = TestDataCreator.createPerson(42, USER_NAME);
+
+        Mockito.when(personService.getPersonByLogin(Mockito.anyString())).thenReturn(Optional.of(person));
+
+        sessionService.getSignedInUser();
+        Person signedInUser = sessionService.getSignedInUser();
+
+        Mockito.verify(personService, Mockito.times(1)).getPersonByLogin(USER_NAME);
+        Assert.assertEquals("Wrong person", person, signedInUser);
+    }
+
+
+    @Test
+    public void ensureReloadsPersonOfSignedInUserAfterPersonUpdate() throws IllegalAccessException {
+
+        Person person = TestDataCreator.createPerson(42, USER_NAME);
+        Person updatedPerson = TestDataCreator.createPerson(42, USER_NAME);
+        updatedPerson.setEmail("updated@test.de");
+
+        Mockito.when(personService.getPersonByLogin(Mockito.anyString()))
+            .thenReturn(Optional.of(person), Optional.of(updatedPerson));
+
+        sessionService.getSignedInUser();
+        sessionService.onPersonUpdated(new PersonUpdatedEvent(updatedPerson));
+
+        Person signedInUser = sessionService.getSignedInUser();
+
+        Mockito.verify(personService, Mockito.times(2)).getPersonByLogin(USER_NAME);
+        Assert.assertEquals("Should use the updated person", "updated@test.de", signedInUser.getEmail());
+    }
+
+
+    @Test
+    public void ensureEvictsPersonOfSignedInUserOnlyAfterPersonUpdateHasBeenCommitted() throws IllegalAccessException {
+
+        Person person = TestDataCreator.createPerson(42, USER_NAME);
+
+        Mockito.when(personService.getPersonByLogin(Mockito.anyString())).thenReturn(Optional.of(person));
+
+        sessionService.getSignedInUser();
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            sessionService.onPersonUpdated(new PersonUpdatedEvent(person));
+            sessionService.getSignedInUser();
+
+            Mockito.verify(personService, Mockito.times(1)).getPersonByLogin(USER_NAME);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        sessionService.getSignedInUser();
+
+        Mockito.verify(personService, Mockito.times(2)).getPersonByLogin(USER_NAME);
+    }
+
+
+    @Test
+    public void ensureReloadsPersonOfSignedInUserAfterTimeToLive() throws IllegalAccessException {
+
+        sessionService = new SessionService(personService, departmentService, 0);
+
+        Person person = TestDataCreator.createPerson(42, USER_NAME);
+
+        Mockito.when(personService.getPersonByLogin(Mockito.anyString())).thenReturn(Optional.of(person));
+
+        sessionService.getSignedInUser();
+        sessionService.getSignedInUser();
+
+        Mockito.verify(personService, Mockito.times(2)).getPersonByLogin(USER_NAME);
+    }
+
+
+    @Test
+    public void ensureChangesOfReturnedPersonDoNotAffectCachedPerson() throws IllegalAccessException {
+
+        Person person = TestDataCreator.createPerson(42, USER_NAME);
+
+        Mockito.when(personService.getPersonByLogin(Mockito.anyString())).thenReturn(Optional.of(person));
+
+        Person signedInUser = sessionService.getSignedInUser();
+        signedInUser.setEmail("changed@test.de");
+        signedInUser.setPermissions(Arrays.asList(Role.USER, Role.BOSS));
+
+        Person cachedUser = sessionService.getSignedInUser();
+
+        Assert.assertNotSame("Should return a person of its own", signedInUser, cachedUser);
+        Assert.assertEquals("Wrong email", USER_NAME + "@test.de", cachedUser.getEmail());
+        Assert.assertFalse("Wrong permissions", cachedUser.hasRole(Role.BOSS));
+        Mockito.verify(personService, Mockito.times(1)).getPersonByLogin(USER_NAME);
+    }
+
     // Access person data ----------------------------------------------------------------------------------------------
 
     @Test
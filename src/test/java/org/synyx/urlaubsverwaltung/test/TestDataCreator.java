@@ -15,6 +15,7 @@ import org.springframework.util.ReflectionUtils;
 import org.synyx.urlaubsverwaltung.core.account.domain.Account;
 import org.synyx.urlaubsverwaltung.core.application.domain.Application;
 import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.core.application.domain.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.core.application.domain.VacationCategory;
 import org.synyx.urlaubsverwaltung.core.application.domain.VacationType;
 import org.synyx.urlaubsverwaltung.core.department.Department;
@@ -146,6 +147,14 @@ public final class TestDataCreator {
 
     // Sick note -------------------------------------------------------------------------------------------------------
 
+    public static ApplicationSummary createApplicationSummary(Person person, DateMidnight startDate,
+        DateMidnight endDate, DayLength dayLength, ApplicationStatus status) {
+
+        return new ApplicationSummary(null, person.getId(), person.getLoginName(), person.getFirstName(),
+                person.getLastName(), person.getEmail(), startDate.toDate(), endDate.toDate(), dayLength, status,
+                VacationCategory.HOLIDAY, "Erholungsurlaub");
+    }
+
     public static SickNote createSickNote(Person person) {
 
         return createSickNote(person, DateMidnight.now(), DateMidnight.now().plusDays(3), DayLength.FULL);
@@ -20,13 +20,15 @@ import org.synyx.urlaubsverwaltung.core.overtime.OvertimeService;
 import org.synyx.urlaubsverwaltung.core.period.DayLength;
 import org.synyx.urlaubsverwaltung.core.person.Person;
 import org.synyx.urlaubsverwaltung.core.workingtime.WorkDaysService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.core.workingtime.WorkingTimeTimeline;
 import org.synyx.urlaubsverwaltung.test.TestDataCreator;
 
 import java.math.BigDecimal;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 
 /**
@@ -42,6 +44,7 @@ public class ApplicationForLeaveStatisticsBuilderTest {
     private VacationDaysService vacationDaysService;
     private OvertimeService overtimeService;
     private VacationTypeService vacationTypeService;
+    private WorkingTimeService workingTimeService;
 
     private ApplicationForLeaveStatisticsBuilder builder;
     private List<VacationType> vacationTypes;
@@ -55,19 +58,20 @@ public class ApplicationForLeaveStatisticsBuilderTest {
         vacationDaysService = Mockito.mock(VacationDaysService.class);
         overtimeService = Mockito.mock(OvertimeService.class);
         vacationTypeService = Mockito.mock(VacationTypeService.class);
+        workingTimeService = Mockito.mock(WorkingTimeService.class);
 
         vacationTypes = TestDataCreator.createVacationTypes();
         Mockito.when(vacationTypeService.getVacationTypes()).thenReturn(vacationTypes);
 
         builder = new ApplicationForLeaveStatisticsBuilder(accountService, applicationService, calendarService,
-                vacationDaysService, overtimeService, vacationTypeService);
+                vacationDaysService, overtimeService, vacationTypeService, workingTimeService);
     }
 
 
     @Test(expected = IllegalArgumentException.class)
     public void ensureThrowsIfTheGivenPersonIsNull() {
 
-        builder.build(null, new DateMidnight(2015, 1, 1), new DateMidnight(2015, 12, 31));
+        builder.build((Person) null, new DateMidnight(2015, 1, 1), new DateMidnight(2015, 12, 31));
     }
 
 
@@ -102,10 +106,14 @@ public class ApplicationForLeaveStatisticsBuilderTest {
         Account account = Mockito.mock(Account.class);
 
         Mockito.when(person.getEmail()).thenReturn("muster@firma.test");
-        Mockito.when(accountService.getHolidaysAccount(2014, person)).thenReturn(Optional.of(account));
-        Mockito.when(vacationDaysService.calculateTotalLeftVacationDays(Mockito.eq(account)))
+        Mockito.when(account.getPerson()).thenReturn(person);
+        Mockito.when(accountService.getHolidaysAccounts(2014, Collections.singletonList(person)))
+            .thenReturn(Collections.singletonList(account));
+        Mockito.when(vacationDaysService.calculateTotalLeftVacationDays(Mockito.eq(account),
+                    Mockito.anyListOf(Application.class), Mockito.any(WorkingTimeTimeline.class)))
             .thenReturn(BigDecimal.TEN);
-        Mockito.when(overtimeService.getLeftOvertimeForPerson(person)).thenReturn(new BigDecimal("9"));
+        Mockito.when(overtimeService.getLeftOvertimeForPersons(Collections.singletonList(person)))
+            .thenReturn(Collections.singletonMap(person, new BigDecimal("9")));
 
         Application holidayWaiting = new Application();
         holidayWaiting.setVacationType(vacationTypes.get(0));
@@ -159,12 +167,14 @@ public class ApplicationForLeaveStatisticsBuilderTest {
         List<Application> applications = Arrays.asList(holidayWaiting, holidayTemporaryAllowed, holidayAllowed,
                 holidayRejected, specialLeaveWaiting, unpaidLeaveAllowed, overTimeWaiting);
 
-        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(from, to, person))
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPersons(from, to,
+                    Collections.singletonList(person)))
             .thenReturn(applications);
 
         // just return 1 day for each application for leave
         Mockito.when(calendarService.getWorkDays(Mockito.any(DayLength.class), Mockito.any(DateMidnight.class),
-                    Mockito.any(DateMidnight.class), Mockito.eq(person)))
+                    Mockito.any(DateMidnight.class), Mockito.eq(person),
+                    Mockito.any(WorkingTimeTimeline.class)))
             .thenReturn(BigDecimal.ONE);
 
         ApplicationForLeaveStatistics statistics = builder.build(person, from, to);
@@ -198,10 +208,14 @@ public class ApplicationForLeaveStatisticsBuilderTest {
         Account account = Mockito.mock(Account.class);
 
         Mockito.when(person.getEmail()).thenReturn("muster@firma.test");
-        Mockito.when(accountService.getHolidaysAccount(2015, person)).thenReturn(Optional.of(account));
-        Mockito.when(vacationDaysService.calculateTotalLeftVacationDays(Mockito.eq(account)))
+        Mockito.when(account.getPerson()).thenReturn(person);
+        Mockito.when(accountService.getHolidaysAccounts(2015, Collections.singletonList(person)))
+            .thenReturn(Collections.singletonList(account));
+        Mockito.when(vacationDaysService.calculateTotalLeftVacationDays(Mockito.eq(account),
+                    Mockito.anyListOf(Application.class), Mockito.any(WorkingTimeTimeline.class)))
             .thenReturn(BigDecimal.TEN);
-        Mockito.when(overtimeService.getLeftOvertimeForPerson(person)).thenReturn(new BigDecimal("9"));
+        Mockito.when(overtimeService.getLeftOvertimeForPersons(Collections.singletonList(person)))
+            .thenReturn(Collections.singletonMap(person, new BigDecimal("9")));
 
         Application holidayAllowed = new Application();
         holidayAllowed.setVacationType(vacationTypes.get(0));
@@ -221,14 +235,17 @@ public class ApplicationForLeaveStatisticsBuilderTest {
 
         List<Application> applications = Arrays.asList(holidayWaiting, holidayAllowed);
 
-        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPerson(from, to, person))
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPersons(from, to,
+                    Collections.singletonList(person)))
             .thenReturn(applications);
 
-        Mockito.when(calendarService.getWorkDays(DayLength.FULL, new DateMidnight(2015, 1, 1),
-                    new DateMidnight(2015, 1, 9), person))
+        Mockito.when(calendarService.getWorkDays(Mockito.eq(DayLength.FULL), Mockito.eq(new DateMidnight(2015, 1, 1)),
+                    Mockito.eq(new DateMidnight(2015, 1, 9)), Mockito.eq(person),
+                    Mockito.any(WorkingTimeTimeline.class)))
             .thenReturn(new BigDecimal("5"));
-        Mockito.when(calendarService.getWorkDays(DayLength.FULL, new DateMidnight(2015, 12, 21),
-                    new DateMidnight(2015, 12, 31), person))
+        Mockito.when(calendarService.getWorkDays(Mockito.eq(DayLength.FULL), Mockito.eq(new DateMidnight(2015, 12, 21)),
+                    Mockito.eq(new DateMidnight(2015, 12, 31)), Mockito.eq(person),
+                    Mockito.any(WorkingTimeTimeline.class)))
             .thenReturn(new BigDecimal("7"));
 
         ApplicationForLeaveStatistics statistics = builder.build(person, from, to);
@@ -256,16 +273,80 @@ public class ApplicationForLeaveStatisticsBuilderTest {
         Person person = Mockito.mock(Person.class);
         Account account = Mockito.mock(Account.class);
 
-        Mockito.when(accountService.getHolidaysAccount(2015, person)).thenReturn(Optional.of(account));
-        Mockito.when(overtimeService.getLeftOvertimeForPerson(person)).thenReturn(new BigDecimal("6.5"));
-        Mockito.when(vacationDaysService.calculateTotalLeftVacationDays(account)).thenReturn(new BigDecimal("8.5"));
+        Mockito.when(account.getPerson()).thenReturn(person);
+        Mockito.when(accountService.getHolidaysAccounts(2015, Collections.singletonList(person)))
+            .thenReturn(Collections.singletonList(account));
+        Mockito.when(overtimeService.getLeftOvertimeForPersons(Collections.singletonList(person)))
+            .thenReturn(Collections.singletonMap(person, new BigDecimal("6.5")));
+        Mockito.when(vacationDaysService.calculateTotalLeftVacationDays(Mockito.eq(account),
+                    Mockito.anyListOf(Application.class), Mockito.any(WorkingTimeTimeline.class)))
+            .thenReturn(new BigDecimal("8.5"));
 
         ApplicationForLeaveStatistics statistics = builder.build(person, from, to);
 
         Assert.assertEquals("Wrong left overtime", new BigDecimal("6.5"), statistics.getLeftOvertime());
         Assert.assertEquals("Wrong left vacation days", new BigDecimal("8.5"), statistics.getLeftVacationDays());
 
-        Mockito.verify(overtimeService).getLeftOvertimeForPerson(person);
-        Mockito.verify(vacationDaysService).calculateTotalLeftVacationDays(account);
+        Mockito.verify(overtimeService).getLeftOvertimeForPersons(Collections.singletonList(person));
+        Mockito.verify(vacationDaysService)
+            .calculateTotalLeftVacationDays(Mockito.eq(account), Mockito.anyListOf(Application.class),
+                Mockito.any(WorkingTimeTimeline.class));
+    }
+
+
+    @Test
+    public void ensureBuildsStatisticsOfSeveralPersonsWithoutQueryingPerPerson() {
+
+        DateMidnight from = new DateMidnight(2015, 1, 1);
+        DateMidnight to = new DateMidnight(2015, 6, 30);
+
+        Person person = TestDataCreator.createPerson("muster");
+        Person otherPerson = TestDataCreator.createPerson("other");
+        List<Person> persons = Arrays.asList(person, otherPerson);
+
+        Application holidayAllowed = new Application();
+        holidayAllowed.setVacationType(vacationTypes.get(0));
+        holidayAllowed.setStartDate(new DateMidnight(2015, 3, 2));
+        holidayAllowed.setEndDate(new DateMidnight(2015, 3, 2));
+        holidayAllowed.setStatus(ApplicationStatus.ALLOWED);
+        holidayAllowed.setDayLength(DayLength.FULL);
+        holidayAllowed.setPerson(otherPerson);
+
+        Application holidayAfterPeriod = new Application();
+        holidayAfterPeriod.setVacationType(vacationTypes.get(0));
+        holidayAfterPeriod.setStartDate(new DateMidnight(2015, 8, 3));
+        holidayAfterPeriod.setEndDate(new DateMidnight(2015, 8, 3));
+        holidayAfterPeriod.setStatus(ApplicationStatus.ALLOWED);
+        holidayAfterPeriod.setDayLength(DayLength.FULL);
+        holidayAfterPeriod.setPerson(otherPerson);
+
+        Mockito.when(applicationService.getApplicationsForACertainPeriodAndPersons(new DateMidnight(2015, 1, 1),
+                    new DateMidnight(2015, 12, 31), persons))
+            .thenReturn(Arrays.asList(holidayAllowed, holidayAfterPeriod));
+        Mockito.when(overtimeService.getLeftOvertimeForPersons(persons))
+            .thenReturn(Collections.singletonMap(person, BigDecimal.ONE));
+        Mockito.when(calendarService.getWorkDays(Mockito.any(DayLength.class), Mockito.any(DateMidnight.class),
+                    Mockito.any(DateMidnight.class), Mockito.any(Person.class),
+                    Mockito.any(WorkingTimeTimeline.class)))
+            .thenReturn(BigDecimal.ONE);
+
+        List<ApplicationForLeaveStatistics> statistics = builder.build(persons, from, to);
+
+        Assert.assertEquals("Wrong number of statistics", 2, statistics.size());
+        Assert.assertEquals("Wrong person", person, statistics.get(0).getPerson());
+        Assert.assertEquals("Wrong left overtime", BigDecimal.ONE, statistics.get(0).getLeftOvertime());
+        Assert.assertEquals("Wrong number of allowed vacation days", BigDecimal.ZERO,
+            statistics.get(0).getTotalAllowedVacationDays());
+        Assert.assertEquals("Wrong person", otherPerson, statistics.get(1).getPerson());
+        Assert.assertEquals("Wrong left overtime", BigDecimal.ZERO, statistics.get(1).getLeftOvertime());
+        Assert.assertEquals("Wrong number of allowed vacation days", BigDecimal.ONE,
+            statistics.get(1).getTotalAllowedVacationDays());
+
+        Mockito.verify(vacationTypeService).getVacationTypes();
+        Mockito.verify(applicationService, Mockito.never())
+            .getApplicationsForACertainPeriodAndPerson(Mockito.any(DateMidnight.class),
+                Mockito.any(DateMidnight.class), Mockito.any(Person.class));
+        Mockito.verify(accountService, Mockito.never()).getHolidaysAccount(Mockito.anyInt(), Mockito.any(Person.class));
+        Mockito.verify(overtimeService, Mockito.never()).getLeftOvertimeForPerson(Mockito.any(Person.class));
     }
 }
@@ -42,7 +42,7 @@ public class ApplicationForLeaveStatisticsTest {
     @Test(expected = IllegalArgumentException.class)
     public void ensureThrowsIfInitializedWithNull() {
 
-        new ApplicationForLeaveStatistics(null, null);
+        new ApplicationForLeaveStatistics(null, (VacationTypeService) null);
     }
 
 